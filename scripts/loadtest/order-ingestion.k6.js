@@ -0,0 +1,76 @@
+// Order ingestion throughput: one-by-one POST /orders against POST /orders/bulk.
+//
+//   k6 run -e BASE_URL=http://localhost:8080 -e MENU_ITEM_IDS=1,2,3 -e BATCH_SIZE=200 \
+//          scripts/loadtest/order-ingestion.k6.js
+//
+// Start the application with --spring.profiles.active=loadtest. Admission control keys its limits
+// on the client address, and every virtual user shares the load generator's address, so the
+// profile turns admission off. The summary prints ingested orders per second for each scenario.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Counter } from 'k6/metrics';
+import exec from 'k6/execution';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const MENU_ITEM_IDS = (__ENV.MENU_ITEM_IDS || '1').split(',').map(Number);
+const BATCH_SIZE = Number(__ENV.BATCH_SIZE || 200);
+const DURATION = __ENV.DURATION || '30s';
+const VUS = Number(__ENV.VUS || 4);
+const RUN_ID = Date.now().toString(36);
+
+const singleOrders = new Counter('orders_single');
+const bulkOrders = new Counter('orders_bulk');
+
+export const options = {
+  scenarios: {
+    single: { executor: 'constant-vus', exec: 'single', vus: VUS, duration: DURATION },
+    bulk: { executor: 'constant-vus', exec: 'bulk', vus: VUS, duration: DURATION, startTime: DURATION },
+  },
+};
+
+function order(sequence) {
+  const items = [];
+  const lines = 1 + (sequence % 4);
+  for (let i = 0; i < lines; i++) {
+    items.push({ menuItemId: MENU_ITEM_IDS[(sequence + i) % MENU_ITEM_IDS.length], quantity: 1 + (i % 3) });
+  }
+  return {
+    clientOrderId: `lt-${RUN_ID}-${exec.vu.idInTest}-${sequence}`,
+    customerName: 'Load Test',
+    customerPhone: '01000000000',
+    customerAddress: 'Load test street',
+    items,
+  };
+}
+
+const params = { headers: { 'Content-Type': 'application/json' } };
+
+export function single() {
+  const res = http.post(`${BASE_URL}/orders`, JSON.stringify(order(exec.scenario.iterationInTest)), params);
+  if (check(res, { 'order created': (r) => r.status === 201 })) {
+    singleOrders.add(1);
+  }
+}
+
+export function bulk() {
+  const first = exec.scenario.iterationInTest * BATCH_SIZE;
+  const orders = [];
+  for (let i = 0; i < BATCH_SIZE; i++) {
+    orders.push(order(1_000_000_000 + first + i));
+  }
+  const res = http.post(`${BASE_URL}/orders/bulk`, JSON.stringify({ orders }), params);
+  if (check(res, { 'batch accepted': (r) => r.status === 200 })) {
+    bulkOrders.add(res.json('data.created'));
+  }
+}
+
+export function handleSummary(data) {
+  const seconds = (d) => Number(d.replace('s', ''));
+  const single = data.metrics.orders_single ? data.metrics.orders_single.values.count : 0;
+  const bulk = data.metrics.orders_bulk ? data.metrics.orders_bulk.values.count : 0;
+  const lines = [
+    `single POST /orders: ${single} orders, ${(single / seconds(DURATION)).toFixed(1)} orders/s`,
+    `bulk POST /orders/bulk (batch ${BATCH_SIZE}): ${bulk} orders, ${(bulk / seconds(DURATION)).toFixed(1)} orders/s`,
+  ];
+  return { stdout: lines.join('\n') + '\n' };
+}
@@ -0,0 +1,97 @@
+// Order tracking under many concurrent connections: the blocking MVC read (port 8080) against the
+// reactive WebFlux + R2DBC read (tracking.reactive.port, 8081). Start the application with
+// --spring.profiles.active=loadtest, which enables the reactive path and turns admission control off.
+//
+//   k6 run -e BLOCKING_URL=http://localhost:8080 -e REACTIVE_URL=http://localhost:8081 \
+//          -e ORDER_IDS=1,2,3 -e MAX_VUS=4000 -e CORES=4 scripts/loadtest/tracking-connections.k6.js
+//
+// Each virtual user is one keep-alive connection that polls an order's status every POLL_SECONDS,
+// like a customer's tracking page. Both scenarios ramp to MAX_VUS; the summary prints, per path,
+// the connections held, throughput, p95 latency and error rate, and connections per core (CORES
+// is the number of cores given to the application). Admission control only guards the servlet
+// port and keys its limits on the client address, which every virtual user shares; left on, it
+// would throttle the blocking path alone and skew the comparison.
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Counter, Rate, Trend } from 'k6/metrics';
+import exec from 'k6/execution';
+
+const BLOCKING_URL = __ENV.BLOCKING_URL || 'http://localhost:8080';
+const REACTIVE_URL = __ENV.REACTIVE_URL || 'http://localhost:8081';
+const ORDER_IDS = (__ENV.ORDER_IDS || '1').split(',').map(Number);
+const MAX_VUS = Number(__ENV.MAX_VUS || 2000);
+const RAMP = __ENV.RAMP || '60s';
+const HOLD = __ENV.HOLD || '60s';
+const POLL_SECONDS = Number(__ENV.POLL_SECONDS || 1);
+const CORES = Number(__ENV.CORES || 1);
+
+const paths = ['blocking', 'reactive'];
+const latency = {};
+const requests = {};
+const errors = {};
+for (const path of paths) {
+  latency[path] = new Trend(`tracking_${path}_duration`, true);
+  requests[path] = new Counter(`tracking_${path}_requests`);
+  errors[path] = new Rate(`tracking_${path}_errors`);
+}
+
+function seconds(duration) {
+  return Number(duration.replace('s', ''));
+}
+
+function scenario(name, startTime) {
+  return {
+    executor: 'ramping-vus',
+    exec: name,
+    startTime,
+    startVUs: 0,
+    stages: [
+      { duration: RAMP, target: MAX_VUS },
+      { duration: HOLD, target: MAX_VUS },
+      { duration: '5s', target: 0 },
+    ],
+    gracefulRampDown: '5s',
+  };
+}
+
+const scenarioSeconds = seconds(RAMP) + seconds(HOLD) + 10;
+
+export const options = {
+  scenarios: {
+    blocking: scenario('blocking', '0s'),
+    reactive: scenario('reactive', `${scenarioSeconds}s`),
+  },
+};
+
+function poll(path, baseUrl) {
+  const orderId = ORDER_IDS[exec.vu.idInTest % ORDER_IDS.length];
+  const res = http.get(`${baseUrl}/orders/${orderId}/status`, { timeout: '10s' });
+  const ok = check(res, { 'status read': (r) => r.status === 200 });
+  latency[path].add(res.timings.duration);
+  requests[path].add(1);
+  errors[path].add(!ok);
+  sleep(POLL_SECONDS);
+}
+
+export function blocking() {
+  poll('blocking', BLOCKING_URL);
+}
+
+export function reactive() {
+  poll('reactive', REACTIVE_URL);
+}
+
+export function handleSummary(data) {
+  const value = (metric, field) => (data.metrics[metric] ? data.metrics[metric].values[field] : 0);
+  const lines = [`${MAX_VUS} polling connections per path, ${CORES} core(s), poll every ${POLL_SECONDS}s`];
+  for (const path of paths) {
+    const count = value(`tracking_${path}_requests`, 'count');
+    const errorRate = value(`tracking_${path}_errors`, 'rate');
+    const sustained = Math.round(MAX_VUS * (1 - errorRate));
+    lines.push(`${path}: ${(count / scenarioSeconds).toFixed(1)} req/s, ` +
+      `p95 ${value(`tracking_${path}_duration`, 'p(95)').toFixed(1)} ms, ` +
+      `errors ${(errorRate * 100).toFixed(2)}%, ` +
+      `~${sustained} connections sustained (${(sustained / CORES).toFixed(0)} per core)`);
+  }
+  return { stdout: lines.join('\n') + '\n' };
+}
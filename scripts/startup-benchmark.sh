@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+# Time from process launch to the first successful POST /orders.
+#
+# Usage: scripts/startup-benchmark.sh [jar|fast-start|crac] [runs]
+#   jar         plain executable jar (mvn package)
+#   fast-start  AOT + AppCDS archive + fast-start profile (mvn -Pfast-start package)
+#   crac        restore from a CRaC checkpoint in target/crac (CRaC JDK; create the checkpoint with
+#               java -XX:CRaCCheckpointTo=target/crac -Dspring.context.checkpoint=onRefresh ... first)
+#
+# Environment: PORT (default 8080), MENU_ITEM_ID (an available menu item, default 1),
+#              NODE_ID (sharding.node-id, default 0),
+#              DB_USER / DB_PASSWORD passed through as spring.datasource credentials.
+set -euo pipefail
+
+MODE="${1:-jar}"
+RUNS="${2:-5}"
+PORT="${PORT:-8080}"
+MENU_ITEM_ID="${MENU_ITEM_ID:-1}"
+NODE_ID="${NODE_ID:-0}"
+JAR_NAME="restaurantorders-0.0.1-SNAPSHOT.jar"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+
+SPRING_ARGS=("--server.port=${PORT}" "--sharding.node-id=${NODE_ID}")
+[[ -n "${DB_USER:-}" ]] && SPRING_ARGS+=("--spring.datasource.username=${DB_USER}")
+[[ -n "${DB_PASSWORD:-}" ]] && SPRING_ARGS+=("--spring.datasource.password=${DB_PASSWORD}")
+
+case "$MODE" in
+  jar)
+    CMD=(java -jar "${ROOT}/target/${JAR_NAME}")
+    ;;
+  fast-start)
+    CMD=(java -XX:SharedArchiveFile="${ROOT}/target/extracted/application.jsa" -Dspring.aot.enabled=true
+         -Dspring.profiles.active=fast-start -jar "${ROOT}/target/extracted/${JAR_NAME}")
+    ;;
+  crac)
+    CMD=(java -XX:CRaCRestoreFrom="${ROOT}/target/crac")
+    SPRING_ARGS=()
+    ;;
+  *)
+    echo "Unknown mode: ${MODE}" >&2
+    exit 1
+    ;;
+esac
+
+ORDER_JSON=$(cat <<JSON
+{"customerName":"Startup Probe","customerPhone":"01000000000","customerAddress":"Benchmark",
+ "notes":"startup-benchmark","items":[{"menuItemId":${MENU_ITEM_ID},"quantity":1}]}
+JSON
+)
+
+now_ms() { date +%s%3N; }
+
+total=0
+for run in $(seq 1 "$RUNS"); do
+  start=$(now_ms)
+  "${CMD[@]}" "${SPRING_ARGS[@]}" > "${ROOT}/target/startup-benchmark-${MODE}.log" 2>&1 &
+  pid=$!
+
+  status=000
+  until [[ "$status" == "201" ]]; do
+    if ! kill -0 "$pid" 2>/dev/null; then
+      echo "Application exited; see target/startup-benchmark-${MODE}.log" >&2
+      exit 1
+    fi
+    status=$(curl -s -o /dev/null -w '%{http_code}' -H 'Content-Type: application/json' \
+      -d "$ORDER_JSON" "http://localhost:${PORT}/orders" || true)
+    [[ "$status" == "201" ]] || sleep 0.05
+  done
+  elapsed=$(( $(now_ms) - start ))
+  total=$(( total + elapsed ))
+  echo "${MODE} run ${run}: first order accepted after ${elapsed} ms"
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+done
+
+echo "${MODE}: mean time to first order $(( total / RUNS )) ms over ${RUNS} runs"
@@ -0,0 +1,84 @@
+package com.restaurant.restaurantorders.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.restaurant.restaurantorders.dto.response.ApiResponse;
+import com.restaurant.restaurantorders.dto.response.CustomerResponse;
+import com.restaurant.restaurantorders.entity.Customer;
+import com.restaurant.restaurantorders.mapper.CustomerMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Customer responses as CustomerController writes them: the entity it used to return against the
+ * customer DTO, both with and without the generated mapping step the controller now pays for.
+ * The ObjectMapper is set up like Spring Boot's (JSR-310 dates as ISO strings).
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.args="CustomerSerializationBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerSerializationBenchmark {
+
+    @Param({"1", "100", "1000"})
+    private int customers;
+
+    private ObjectMapper objectMapper;
+    private CustomerMapper customerMapper;
+    private List<Customer> entities;
+    private List<CustomerResponse> responses;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        customerMapper = Mappers.getMapper(CustomerMapper.class);
+
+        Random random = new Random(7);
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        entities = new ArrayList<>(customers);
+        for (int i = 0; i < customers; i++) {
+            LocalDateTime createdAt = now.minusMinutes(random.nextInt(500_000));
+            entities.add(new Customer(new UUID(random.nextLong(), random.nextLong()), "Customer " + i,
+                    String.format("010%08d", i), i % 3 == 0 ? null : "c" + i + "@example.com",
+                    random.nextInt(1000) + " Nile Street, Cairo", createdAt, createdAt.plusDays(random.nextInt(30))));
+        }
+        responses = customerMapper.toResponses(entities);
+    }
+
+    /**
+     * Former GET /api/customers body: the entities themselves
+     */
+    @Benchmark
+    public byte[] serializeEntities() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(entities));
+    }
+
+    /**
+     * Already mapped DTOs, the serialization cost alone
+     */
+    @Benchmark
+    public byte[] serializeResponses() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(responses));
+    }
+
+    /**
+     * Current GET /api/customers body: generated mapping followed by serialization
+     */
+    @Benchmark
+    public byte[] mapAndSerializeResponses() throws Exception {
+        return objectMapper.writeValueAsBytes(ApiResponse.success(customerMapper.toResponses(entities)));
+    }
+}
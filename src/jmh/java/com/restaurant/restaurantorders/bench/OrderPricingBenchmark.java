@@ -0,0 +1,108 @@
+package com.restaurant.restaurantorders.bench;
+
+import com.restaurant.restaurantorders.entity.Order;
+import com.restaurant.restaurantorders.entity.OrderItem;
+import com.restaurant.restaurantorders.util.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order pricing as OrderService.createOrder and Order.calculateTotal do it: BigDecimal menu prices in,
+ * BigDecimal subtotals and total out. Compares the previous BigDecimal arithmetic with the minor unit
+ * path, including the Money.toMinorUnits and Money.toBigDecimal conversions it pays on every line.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.args="OrderPricingBenchmark -prof gc"
+ * and compare gc.alloc.rate.norm (bytes per operation) alongside the timings.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPricingBenchmark {
+
+    @Param({"3", "12"})
+    private int lines;
+
+    private BigDecimal[] menuPrices;
+    private int[] quantities;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        menuPrices = new BigDecimal[lines];
+        quantities = new int[lines];
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < lines; i++) {
+            menuPrices[i] = BigDecimal.valueOf(500 + random.nextInt(50_000), 2);
+            quantities[i] = 1 + random.nextInt(15);
+            OrderItem item = new OrderItem();
+            item.setQuantity(quantities[i]);
+            item.setPriceAtTime(menuPrices[i]);
+            item.calculateSubtotal();
+            items.add(item);
+        }
+        order = new Order();
+        order.setItems(items);
+    }
+
+    /**
+     * Former createOrder loop: multiply and add per line on BigDecimal
+     */
+    @Benchmark
+    public BigDecimal bigDecimalCreateOrder() {
+        List<OrderItem> items = order.getItems();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            OrderItem item = items.get(i);
+            item.setPriceAtTime(menuPrices[i]);
+            item.setSubtotal(menuPrices[i].multiply(BigDecimal.valueOf(quantities[i])));
+            total = total.add(item.getSubtotal());
+        }
+        order.setTotalAmount(total);
+        return total;
+    }
+
+    /**
+     * Current createOrder loop: toMinorUnits, multiply and toBigDecimal per line, one conversion for the total
+     */
+    @Benchmark
+    public BigDecimal minorUnitCreateOrder() {
+        List<OrderItem> items = order.getItems();
+        long total = 0;
+        for (int i = 0; i < lines; i++) {
+            OrderItem item = items.get(i);
+            item.setPriceAtTime(menuPrices[i]);
+            long subtotal = Money.multiply(Money.toMinorUnits(menuPrices[i]), quantities[i]);
+            item.setSubtotal(Money.toBigDecimal(subtotal));
+            total = Money.add(total, subtotal);
+        }
+        order.setTotalAmount(Money.toBigDecimal(total));
+        return order.getTotalAmount();
+    }
+
+    /**
+     * Former Order.calculateTotal: stream reduce over the BigDecimal subtotals
+     */
+    @Benchmark
+    public BigDecimal bigDecimalCalculateTotal() {
+        return order.getItems().stream()
+                .map(OrderItem::getSubtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * Current Order.calculateTotal
+     */
+    @Benchmark
+    public BigDecimal minorUnitCalculateTotal() {
+        order.calculateTotal();
+        return order.getTotalAmount();
+    }
+}
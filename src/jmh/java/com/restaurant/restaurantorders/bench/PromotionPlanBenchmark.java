@@ -0,0 +1,172 @@
+package com.restaurant.restaurantorders.bench;
+
+import com.restaurant.restaurantorders.entity.Promotion;
+import com.restaurant.restaurantorders.entity.PromotionTarget;
+import com.restaurant.restaurantorders.promotion.PromotionPlan;
+import com.restaurant.restaurantorders.util.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pricing an order against the active promotions: the compiled plan against interpreting every
+ * promotion per order. Promotions are a mix of item and category percentages (some with a happy-hour
+ * window) and two- or three-item combos over a 2,000-item menu in 50 categories.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.args="PromotionPlanBenchmark -prof gc"
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PromotionPlanBenchmark {
+
+    private static final int MENU_ITEMS = 2_000;
+    private static final int CATEGORIES = 50;
+
+    @Param({"10", "1000"})
+    private int promotions;
+
+    @Param({"3", "12"})
+    private int lines;
+
+    private List<Promotion> activePromotions;
+    private Map<Long, Long> categoryOfItem;
+    private PromotionPlan plan;
+    private List<PromotionPlan.Line> order;
+    private LocalDateTime at;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        categoryOfItem = new HashMap<>();
+        for (long menuItemId = 1; menuItemId <= MENU_ITEMS; menuItemId++) {
+            categoryOfItem.put(menuItemId, 1 + menuItemId % CATEGORIES);
+        }
+
+        activePromotions = new ArrayList<>(promotions);
+        for (int i = 0; i < promotions; i++) {
+            Promotion promotion = new Promotion();
+            promotion.setId((long) i + 1);
+            promotion.setName("Promotion " + i);
+            int kind = random.nextInt(10);
+            if (kind < 8) {
+                promotion.setType(Promotion.PromotionType.PERCENT_OFF);
+                promotion.setDiscountBasisPoints(500 + 500 * random.nextInt(6));
+                promotion.addTarget(kind < 6 ? itemTarget(randomItem(random), 1) : categoryTarget(1 + random.nextInt(CATEGORIES)));
+                if (random.nextInt(3) == 0) {
+                    promotion.setDailyFrom(LocalTime.of(17, 0));
+                    promotion.setDailyUntil(LocalTime.of(19, 0));
+                }
+            } else {
+                promotion.setType(Promotion.PromotionType.COMBO);
+                promotion.setComboPrice(BigDecimal.valueOf(5_000 + random.nextInt(20_000), 2));
+                int components = 2 + random.nextInt(2);
+                for (int c = 0; c < components; c++) {
+                    promotion.addTarget(itemTarget(randomItem(random), 1));
+                }
+            }
+            activePromotions.add(promotion);
+        }
+
+        at = LocalDateTime.of(2024, 6, 1, 18, 0);
+        plan = PromotionPlan.compile(activePromotions, categoryOfItem, at.minusDays(1));
+
+        order = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            order.add(new PromotionPlan.Line(randomItem(random), 1 + random.nextInt(3), 1_000 + random.nextInt(20_000)));
+        }
+    }
+
+    /**
+     * Current checkout path: look up each line in the compiled plan
+     */
+    @Benchmark
+    public long compiledPlan() {
+        return plan.apply(order, at).amount();
+    }
+
+    /**
+     * Interpreting the rule definitions per order: every active promotion is checked against every line
+     */
+    @Benchmark
+    public long interpretedRules() {
+        long[] bestBasisPoints = new long[order.size()];
+        long comboSavings = 0;
+        LocalTime time = at.toLocalTime();
+        for (Promotion promotion : activePromotions) {
+            if (promotion.getDailyFrom() != null
+                    && (time.isBefore(promotion.getDailyFrom()) || !time.isBefore(promotion.getDailyUntil()))) {
+                continue;
+            }
+            if (promotion.getType() == Promotion.PromotionType.PERCENT_OFF) {
+                for (int i = 0; i < order.size(); i++) {
+                    long menuItemId = order.get(i).menuItemId();
+                    for (PromotionTarget target : promotion.getTargets()) {
+                        boolean matches = target.getMenuItemId() != null
+                                ? target.getMenuItemId() == menuItemId
+                                : target.getCategoryId().equals(categoryOfItem.get(menuItemId));
+                        if (matches) {
+                            bestBasisPoints[i] = Math.max(bestBasisPoints[i], promotion.getDiscountBasisPoints());
+                        }
+                    }
+                }
+            } else {
+                long regularPrice = 0;
+                boolean complete = true;
+                for (PromotionTarget target : promotion.getTargets()) {
+                    PromotionPlan.Line line = null;
+                    for (PromotionPlan.Line candidate : order) {
+                        if (candidate.menuItemId() == target.getMenuItemId()) {
+                            line = candidate;
+                        }
+                    }
+                    if (line == null) {
+                        complete = false;
+                        break;
+                    }
+                    regularPrice += line.unitPrice() * target.getQuantity();
+                }
+                long comboPrice = Money.toMinorUnits(promotion.getComboPrice());
+                if (complete && regularPrice > comboPrice) {
+                    comboSavings += regularPrice - comboPrice;
+                }
+            }
+        }
+
+        long discount = comboSavings;
+        for (int i = 0; i < order.size(); i++) {
+            PromotionPlan.Line line = order.get(i);
+            discount += Money.percentage(Money.multiply(line.unitPrice(), line.quantity()), (int) bestBasisPoints[i],
+                    RoundingMode.HALF_UP);
+        }
+        return discount;
+    }
+
+    private static long randomItem(Random random) {
+        return 1 + random.nextInt(MENU_ITEMS);
+    }
+
+    private static PromotionTarget itemTarget(long menuItemId, int quantity) {
+        PromotionTarget target = new PromotionTarget();
+        target.setMenuItemId(menuItemId);
+        target.setQuantity(quantity);
+        return target;
+    }
+
+    private static PromotionTarget categoryTarget(long categoryId) {
+        PromotionTarget target = new PromotionTarget();
+        target.setCategoryId(categoryId);
+        return target;
+    }
+}
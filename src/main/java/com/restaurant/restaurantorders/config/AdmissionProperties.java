@@ -0,0 +1,72 @@
+package com.restaurant.restaurantorders.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for admission control on the order and customer endpoints
+ * Bound from admission.* in application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "admission")
+public class AdmissionProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on live token buckets; clients beyond it share one overflow bucket per endpoint group
+     */
+    private int maxBuckets = 100_000;
+
+    /**
+     * Limits applied to endpoint groups without their own entry
+     */
+    private RateLimit defaultRateLimit = new RateLimit(20, 40);
+
+    /**
+     * Per endpoint group limits (orders-read, orders-create, orders-update, customers-read, customers-write)
+     */
+    private Map<String, RateLimit> endpoints = new HashMap<>();
+
+    private Concurrency concurrency = new Concurrency();
+
+    public RateLimit rateLimitFor(String endpoint) {
+        return endpoints.getOrDefault(endpoint, defaultRateLimit);
+    }
+
+    /**
+     * Token bucket settings for one endpoint group
+     */
+    @Data
+    public static class RateLimit {
+        private double permitsPerSecond;
+        private int burst;
+
+        public RateLimit() {
+        }
+
+        public RateLimit(double permitsPerSecond, int burst) {
+            this.permitsPerSecond = permitsPerSecond;
+            this.burst = burst;
+        }
+    }
+
+    /**
+     * Adaptive concurrency limit settings; max-limit should stay around the connection pool size
+     */
+    @Data
+    public static class Concurrency {
+        private boolean enabled = true;
+        private int initialLimit = 10;
+        private int minLimit = 4;
+        // Hikari's default pool size
+        private int maxLimit = 10;
+        private long windowMs = 1000;
+        private int minWindowSamples = 20;
+    }
+}
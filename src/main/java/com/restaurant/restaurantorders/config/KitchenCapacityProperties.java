@@ -0,0 +1,49 @@
+package com.restaurant.restaurantorders.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for the kitchen capacity model and online order admission
+ * Bound from kitchen.capacity.* in application.properties
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "kitchen.capacity")
+public class KitchenCapacityProperties {
+
+    /**
+     * Off by default: ready times are quoted but online orders are never turned away
+     */
+    private boolean admissionEnabled = false;
+
+    /**
+     * Start with online ordering paused (it can be resumed at runtime)
+     */
+    private boolean paused = false;
+
+    /**
+     * Above this wait at the busiest station a growing share of new online orders is refused
+     */
+    private int throttleAfterMinutes = 30;
+
+    /**
+     * At or above this wait every new online order is refused
+     */
+    private int pauseAfterMinutes = 60;
+
+    /**
+     * Items each station prepares at the same time; stations not listed use defaultParallelism
+     */
+    private Map<String, Integer> stationParallelism = new HashMap<>();
+
+    private int defaultParallelism = 4;
+
+    public int parallelismOf(String station) {
+        return Math.max(1, stationParallelism.getOrDefault(station, defaultParallelism));
+    }
+}
@@ -0,0 +1,165 @@
+package com.restaurant.restaurantorders.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.restaurantorders.controller.OrderTrackingHandler;
+import com.restaurant.restaurantorders.repository.ReactiveOrderTrackingRepository;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reactive read path for order tracking
+ * Runs a WebFlux router on its own Reactor Netty port next to the servlet container, backed by an
+ * R2DBC pool, so that thousands of clients polling order status hold event-loop connections
+ * instead of Tomcat threads and JDBC connections. The MVC endpoints are unchanged.
+ * Off by default (tracking.reactive.enabled) until the load test results justify running it.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "tracking.reactive.enabled", havingValue = "true")
+public class ReactiveTrackingConfig {
+
+    /**
+     * One pool per order shard; tracking.reactive.r2dbc.url lists the shards' URLs in shard order.
+     * The pools are wrapped rather than exposed as ConnectionFactory beans: Boot's DataSource
+     * auto-configuration backs off as soon as a ConnectionFactory bean exists.
+     */
+    @Bean
+    public TrackingConnectionPools trackingConnectionPools(@Value("${tracking.reactive.r2dbc.url}") List<String> urls,
+                                                           @Value("${tracking.reactive.r2dbc.username}") String username,
+                                                           @Value("${tracking.reactive.r2dbc.password}") String password,
+                                                           @Value("${tracking.reactive.r2dbc.max-pool-size:20}") int maxPoolSize) {
+        List<ConnectionPool> pools = new ArrayList<>();
+        for (String url : urls) {
+            ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url.trim()).mutate()
+                    .option(ConnectionFactoryOptions.USER, username)
+                    .option(ConnectionFactoryOptions.PASSWORD, password)
+                    .build();
+            pools.add(new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                    .maxSize(maxPoolSize)
+                    .initialSize(Math.min(maxPoolSize, 4))
+                    .maxIdleTime(Duration.ofMinutes(10))
+                    .build()));
+        }
+        return new TrackingConnectionPools(pools);
+    }
+
+    @Bean
+    public ReactiveOrderTrackingRepository reactiveOrderTrackingRepository(TrackingConnectionPools trackingConnectionPools) {
+        return new ReactiveOrderTrackingRepository(trackingConnectionPools.pools.stream()
+                .map(DatabaseClient::create)
+                .toList());
+    }
+
+    @Bean
+    public OrderTrackingHandler orderTrackingHandler(ReactiveOrderTrackingRepository reactiveOrderTrackingRepository) {
+        return new OrderTrackingHandler(reactiveOrderTrackingRepository);
+    }
+
+    @Bean
+    public TrackingServer trackingServer(OrderTrackingHandler orderTrackingHandler,
+                                         ObjectMapper objectMapper,
+                                         @Value("${tracking.reactive.port:8081}") int port,
+                                         @Value("${cors.allowed-origins}") String allowedOrigins) {
+        // Same JSON settings as the MVC side (dates, naming) by reusing Boot's ObjectMapper
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .webFilter(corsFilter(allowedOrigins))
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(orderTrackingHandler.routes(), strategies);
+        return new TrackingServer(httpHandler, port);
+    }
+
+    private static CorsWebFilter corsFilter(String allowedOrigins) {
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.setAllowedOrigins(Arrays.stream(allowedOrigins.split(",")).map(String::trim).toList());
+        cors.setAllowedMethods(List.of("GET", "OPTIONS"));
+        cors.addAllowedHeader("*");
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", cors);
+        return new CorsWebFilter(source);
+    }
+
+    /**
+     * Owns the R2DBC pools and closes them with the application context
+     */
+    public static class TrackingConnectionPools implements DisposableBean {
+
+        private final List<ConnectionPool> pools;
+
+        TrackingConnectionPools(List<ConnectionPool> pools) {
+            this.pools = List.copyOf(pools);
+        }
+
+        @Override
+        public void destroy() {
+            pools.forEach(ConnectionPool::dispose);
+        }
+    }
+
+    /**
+     * Starts and stops the Netty server with the application context
+     */
+    public static class TrackingServer implements SmartLifecycle {
+
+        private final HttpHandler httpHandler;
+        private final int port;
+        private volatile DisposableServer server;
+
+        TrackingServer(HttpHandler httpHandler, int port) {
+            this.httpHandler = httpHandler;
+            this.port = port;
+        }
+
+        @Override
+        public void start() {
+            server = HttpServer.create()
+                    .port(port)
+                    .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                    .bindNow();
+            log.info("Reactive order tracking listening on port {}", server.port());
+        }
+
+        @Override
+        public void stop() {
+            DisposableServer current = server;
+            if (current != null) {
+                current.disposeNow(Duration.ofSeconds(10));
+                server = null;
+            }
+        }
+
+        @Override
+        public boolean isRunning() {
+            return server != null;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.restaurant.restaurantorders.config;
+
+import com.restaurant.restaurantorders.shard.OrderIdGenerator;
+import com.restaurant.restaurantorders.shard.ShardRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DataSource setup for sharded orders
+ * The application sees a single DataSource that routes to the shard chosen by ShardRouter
+ * (shard 0 when none is chosen). Every shard gets the full Flyway schema so that any of them
+ * can hold orders, their items, archive rows and outbox events.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                             ShardingProperties shardingProperties,
+                                             Environment environment) {
+        List<DataSource> shards = new ArrayList<>();
+        shards.add(pool(dataSourceProperties.initializeDataSourceBuilder(), 0, environment));
+
+        for (Map.Entry<Integer, ShardingProperties.Shard> entry : shardingProperties.getShards().entrySet()) {
+            int index = entry.getKey();
+            ShardingProperties.Shard shard = entry.getValue();
+            if (index != shards.size()) {
+                throw new IllegalStateException("sharding.shards must be numbered 1, 2, ... without gaps; found " + index);
+            }
+            DataSourceBuilder<?> builder = DataSourceBuilder.create()
+                    .url(shard.getUrl())
+                    .username(shard.getUsername() != null ? shard.getUsername() : dataSourceProperties.determineUsername())
+                    .password(shard.getPassword() != null ? shard.getPassword() : dataSourceProperties.determinePassword());
+            if (shard.getDriverClassName() != null) {
+                builder.driverClassName(shard.getDriverClassName());
+            }
+            shards.add(pool(builder, index, environment));
+        }
+
+        if (shards.size() > OrderIdGenerator.MAX_SHARDS) {
+            throw new IllegalStateException("At most " + OrderIdGenerator.MAX_SHARDS + " shards are supported");
+        }
+        log.info("Orders are sharded across {} database(s)", shards.size());
+        return new ShardRoutingDataSource(shards);
+    }
+
+    /**
+     * Migrate every shard with the settings Boot configured for the default one
+     */
+    @Bean
+    public FlywayMigrationStrategy shardMigrationStrategy(ShardRoutingDataSource dataSource) {
+        return flyway -> {
+            for (int shard = 0; shard < dataSource.getShardCount(); shard++) {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(dataSource.getShard(shard))
+                        .load()
+                        .migrate();
+            }
+        };
+    }
+
+    /**
+     * Hikari pool for one shard, tuned by the same spring.datasource.hikari.* settings as a single pool
+     */
+    private static HikariDataSource pool(DataSourceBuilder<?> builder, int shard, Environment environment) {
+        HikariDataSource dataSource = builder.type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("shard-" + shard);
+        return dataSource;
+    }
+}
@@ -0,0 +1,52 @@
+package com.restaurant.restaurantorders.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Configuration for sharding orders by branch
+ * Bound from sharding.* in application.properties. Shard 0 is spring.datasource, which also holds
+ * the menu, customers and every order taken before sharding; further shards are listed here.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "sharding")
+public class ShardingProperties {
+
+    /**
+     * Id of this application node (0-15), unique across nodes; part of every order id it generates.
+     * Required; application.properties sets 0 for a single node, and every further node must override it
+     */
+    private Integer nodeId;
+
+    /**
+     * Branch of orders that do not name one
+     */
+    private long defaultBranchId = 1;
+
+    /**
+     * Branch id to shard index; branches not listed go to branch id modulo the shard count
+     */
+    private Map<Long, Integer> branches = new HashMap<>();
+
+    /**
+     * Order shards besides shard 0, keyed by shard index 1, 2, ...
+     */
+    private Map<Integer, Shard> shards = new TreeMap<>();
+
+    /**
+     * Connection settings of one shard; username, password and driver default to spring.datasource
+     */
+    @Data
+    public static class Shard {
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+    }
+}
@@ -0,0 +1,45 @@
+package com.restaurant.restaurantorders.config;
+
+import com.restaurant.restaurantorders.controller.OrderController;
+import com.restaurant.restaurantorders.filter.AdmissionControlFilter;
+import com.restaurant.restaurantorders.service.OrderService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Startup tuning for the fast-start profile
+ * With spring.main.lazy-initialization=true everything is created on first use except the
+ * beans needed to take an order and the beans carrying @Scheduled jobs, which would
+ * otherwise never be scheduled.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.main.lazy-initialization", havingValue = "true")
+public class StartupConfig {
+
+    private static final List<Class<?>> ORDER_PATH = List.of(
+            DataSource.class,
+            AbstractEntityManagerFactoryBean.class,
+            AdmissionControlFilter.class,
+            OrderController.class,
+            OrderService.class);
+
+    @Bean
+    static LazyInitializationExcludeFilter orderPathEagerInitialization() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (ORDER_PATH.stream().anyMatch(type -> type.isAssignableFrom(beanType)) || hasScheduledMethods(beanType));
+    }
+
+    private static boolean hasScheduledMethods(Class<?> beanType) {
+        return !MethodIntrospector.selectMethods(beanType, (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+}
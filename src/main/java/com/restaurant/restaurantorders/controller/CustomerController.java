@@ -1,14 +1,27 @@
 package com.restaurant.restaurantorders.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.restaurantorders.dto.request.CreateCustomerRequest;
+import com.restaurant.restaurantorders.dto.request.UpdateCustomerRequest;
 import com.restaurant.restaurantorders.dto.response.ApiResponse;
-import com.restaurant.restaurantorders.entity.Customer;
+import com.restaurant.restaurantorders.dto.response.CustomerPageResponse;
+import com.restaurant.restaurantorders.dto.response.CustomerResponse;
+import com.restaurant.restaurantorders.dto.response.CustomerSuggestionResponse;
 import com.restaurant.restaurantorders.service.CustomerService;
+import com.restaurant.restaurantorders.service.CustomerSuggestionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -18,16 +31,81 @@ import java.util.UUID;
 @CrossOrigin(origins = "*")
 public class CustomerController {
 
+    private static final int STREAM_FLUSH_EVERY = 500;
+
     private final CustomerService customerService;
+    private final CustomerSuggestionService customerSuggestionService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Customer>>> getAllCustomers() {
-        List<Customer> customers = customerService.findAll();
+    public ResponseEntity<ApiResponse<List<CustomerResponse>>> getAllCustomers() {
+        List<CustomerResponse> customers = customerService.findAll();
         return ResponseEntity.ok(ApiResponse.success(customers));
     }
 
+    /**
+     * POS typeahead by phone digits or name prefix
+     * GET /api/customers/suggest?q=0100&limit=10
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<ApiResponse<List<CustomerSuggestionResponse>>> suggestCustomers(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(customerSuggestionService.suggest(q, limit)));
+    }
+
+    /**
+     * Keyset-paged customer directory
+     * GET /api/customers/page?after={cursor}&size=50&createdSince=2024-01-01T00:00:00&namePrefix=Ah
+     */
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponse<CustomerPageResponse>> getCustomersPage(
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdSince,
+            @RequestParam(required = false) String namePrefix) {
+        try {
+            CustomerPageResponse page = customerService.findPage(after, size, createdSince, namePrefix);
+            return ResponseEntity.ok(ApiResponse.success(page));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error("VALIDATION_ERROR", e.getMessage()));
+        }
+    }
+
+    /**
+     * Full customer directory as newline-delimited JSON, streamed row by row
+     * GET /api/customers/stream?createdSince=2024-01-01T00:00:00&namePrefix=Ah
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCustomers(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdSince,
+            @RequestParam(required = false) String namePrefix) {
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                int[] written = {0};
+                customerService.streamSummaries(createdSince, namePrefix, summary -> {
+                    try {
+                        generator.writeObject(summary);
+                        generator.writeRaw('\n');
+                        if (++written[0] % STREAM_FLUSH_EVERY == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ApiResponse<Customer>> getCustomerById(@PathVariable UUID id) {
+    public ResponseEntity<ApiResponse<CustomerResponse>> getCustomerById(@PathVariable UUID id) {
         return customerService.findById(id)
                 .map(customer -> ResponseEntity.ok(ApiResponse.success(customer)))
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -35,7 +113,7 @@ public class CustomerController {
     }
 
     @GetMapping("/phone/{phone}")
-    public ResponseEntity<ApiResponse<Customer>> getCustomerByPhone(@PathVariable String phone) {
+    public ResponseEntity<ApiResponse<CustomerResponse>> getCustomerByPhone(@PathVariable String phone) {
         return customerService.findByPhone(phone)
                 .map(customer -> ResponseEntity.ok(ApiResponse.success(customer)))
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -43,9 +121,9 @@ public class CustomerController {
     }
 
     @PostMapping
-    public ResponseEntity<ApiResponse<Customer>> createCustomer(@Valid @RequestBody Customer customer) {
+    public ResponseEntity<ApiResponse<CustomerResponse>> createCustomer(@Valid @RequestBody CreateCustomerRequest request) {
         try {
-            Customer createdCustomer = customerService.createCustomer(customer);
+            CustomerResponse createdCustomer = customerService.createCustomer(request);
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(ApiResponse.success("Customer created successfully", createdCustomer));
         } catch (IllegalArgumentException e) {
@@ -55,11 +133,11 @@ public class CustomerController {
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ApiResponse<Customer>> updateCustomer(
+    public ResponseEntity<ApiResponse<CustomerResponse>> updateCustomer(
             @PathVariable UUID id,
-            @Valid @RequestBody Customer customer) {
+            @Valid @RequestBody UpdateCustomerRequest request) {
         try {
-            Customer updatedCustomer = customerService.updateCustomer(id, customer);
+            CustomerResponse updatedCustomer = customerService.updateCustomer(id, request);
             return ResponseEntity.ok(ApiResponse.success("Customer updated successfully", updatedCustomer));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -0,0 +1,63 @@
+package com.restaurant.restaurantorders.controller;
+
+import com.restaurant.restaurantorders.dto.response.ApiResponse;
+import com.restaurant.restaurantorders.dto.response.KitchenCapacityResponse;
+import com.restaurant.restaurantorders.dto.response.KitchenQueueResponse;
+import com.restaurant.restaurantorders.dto.response.PrepTotalsResponse;
+import com.restaurant.restaurantorders.service.KitchenCapacityService;
+import com.restaurant.restaurantorders.service.KitchenQueueService;
+import com.restaurant.restaurantorders.service.PrepStationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST Controller for the kitchen display
+ * Serves the in-memory work queue instead of multi-status order queries
+ */
+@RestController
+@RequestMapping("/kitchen")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "${cors.allowed-origins}")
+public class KitchenController {
+
+    private final KitchenQueueService kitchenQueueService;
+    private final PrepStationService prepStationService;
+    private final KitchenCapacityService kitchenCapacityService;
+
+    /**
+     * Get active orders ordered by status and age, with per-item totals
+     * GET /kitchen/queue
+     */
+    @GetMapping("/queue")
+    public ResponseEntity<ApiResponse<KitchenQueueResponse>> getQueue() {
+        return ResponseEntity.ok(ApiResponse.success(kitchenQueueService.getQueue()));
+    }
+
+    /**
+     * Get quantities of each menu item still to be prepared across open orders
+     * GET /kitchen/prep
+     */
+    @GetMapping("/prep")
+    public ResponseEntity<ApiResponse<PrepTotalsResponse>> getPrepTotals() {
+        return ResponseEntity.ok(ApiResponse.success(prepStationService.getTotals()));
+    }
+
+    /**
+     * Get the prep backlog and wait per station and whether online orders are accepted
+     * GET /kitchen/capacity
+     */
+    @GetMapping("/capacity")
+    public ResponseEntity<ApiResponse<KitchenCapacityResponse>> getCapacity() {
+        return ResponseEntity.ok(ApiResponse.success(kitchenCapacityService.getCapacity()));
+    }
+
+    /**
+     * Pause or resume online ordering on this instance
+     * PUT /kitchen/capacity/paused?paused=true
+     */
+    @PutMapping("/capacity/paused")
+    public ResponseEntity<ApiResponse<KitchenCapacityResponse>> setPaused(@RequestParam boolean paused) {
+        return ResponseEntity.ok(ApiResponse.success(kitchenCapacityService.setPaused(paused)));
+    }
+}
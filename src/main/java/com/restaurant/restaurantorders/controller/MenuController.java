@@ -0,0 +1,85 @@
+package com.restaurant.restaurantorders.controller;
+
+import com.restaurant.restaurantorders.dto.request.BulkMenuUpdateRequest;
+import com.restaurant.restaurantorders.dto.response.ApiResponse;
+import com.restaurant.restaurantorders.dto.response.BulkMenuUpdateResponse;
+import com.restaurant.restaurantorders.dto.response.MenuSearchResponse;
+import com.restaurant.restaurantorders.service.MenuCatalogService;
+import com.restaurant.restaurantorders.service.MenuSearchService;
+import com.restaurant.restaurantorders.service.MenuUpdateService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for the menu
+ */
+@RestController
+@RequestMapping("/menu")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "${cors.allowed-origins}")
+public class MenuController {
+
+    private final MenuSearchService menuSearchService;
+    private final MenuCatalogService menuCatalogService;
+    private final MenuUpdateService menuUpdateService;
+
+    @Value("${menu.cache.max-age-seconds:60}")
+    private long maxAgeSeconds;
+
+    /**
+     * Get the full available menu, pre-rendered per language and served with a strong ETag
+     * GET /menu?lang=ar
+     */
+    @GetMapping
+    public ResponseEntity<byte[]> getMenu(
+            @RequestParam(defaultValue = "en") String lang,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        MenuCatalogService.RenderedMenu menu = menuCatalogService.getMenu(lang);
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = gzip ? menu.gzipEtag() : menu.etag();
+
+        boolean notModified = ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"));
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(etag)
+                .header(HttpHeaders.CACHE_CONTROL, "public, max-age=" + maxAgeSeconds + ", must-revalidate")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (notModified) {
+            return response.build();
+        }
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.contentType(MediaType.APPLICATION_JSON).body(gzip ? menu.gzip() : menu.json());
+    }
+
+    /**
+     * Search available menu items in English or Arabic, tolerant of typos and partial words
+     * GET /menu/search?q=shawarma&limit=10
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponse<List<MenuSearchResponse>>> searchMenu(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(menuSearchService.search(q, limit)));
+    }
+
+    /**
+     * Change availability and/or price of many menu items in one go, e.g. when an ingredient runs out
+     * PATCH /menu/items
+     */
+    @PatchMapping("/items")
+    public ResponseEntity<ApiResponse<BulkMenuUpdateResponse>> updateItems(
+            @Valid @RequestBody BulkMenuUpdateRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(menuUpdateService.updateItems(request)));
+    }
+}
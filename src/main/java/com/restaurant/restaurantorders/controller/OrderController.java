@@ -1,21 +1,37 @@
 package com.restaurant.restaurantorders.controller;
 
+import com.restaurant.restaurantorders.dto.request.BulkCreateOrdersRequest;
 import com.restaurant.restaurantorders.dto.request.CreateOrderRequest;
+import com.restaurant.restaurantorders.dto.request.OrderField;
 import com.restaurant.restaurantorders.dto.request.UpdateOrderStatusRequest;
 import com.restaurant.restaurantorders.dto.response.ApiResponse;
+import com.restaurant.restaurantorders.dto.response.BulkCreateOrdersResponse;
 import com.restaurant.restaurantorders.dto.response.OrderResponse;
+import com.restaurant.restaurantorders.dto.response.OrderTimelineResponse;
+import com.restaurant.restaurantorders.dto.response.StageDurationsResponse;
 import com.restaurant.restaurantorders.entity.Order;
+import com.restaurant.restaurantorders.service.BulkOrderIngestionService;
+import com.restaurant.restaurantorders.service.OrderReadCoalescer;
 import com.restaurant.restaurantorders.service.OrderService;
+import com.restaurant.restaurantorders.service.OrderStatusHistoryService;
+import com.restaurant.restaurantorders.service.ReceiptService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
 /**
  * REST Controller for Order operations
  * Handles HTTP requests for order management
@@ -26,7 +42,11 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin(origins = "${cors.allowed-origins}")
 public class OrderController {
 
-    private final OrderService orderService = new OrderService();
+    private final OrderService orderService;
+    private final OrderReadCoalescer orderReadCoalescer;
+    private final BulkOrderIngestionService bulkOrderIngestionService;
+    private final OrderStatusHistoryService orderStatusHistoryService;
+    private final ReceiptService receiptService;
 
     /**
      * Create a new order
@@ -47,6 +67,18 @@ public class OrderController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    /**
+     * Ingest orders queued by a POS while it was offline
+     * POST /api/v1/orders/bulk
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<ApiResponse<BulkCreateOrdersResponse>> createOrdersBulk(
+            @Valid @RequestBody BulkCreateOrdersRequest request) {
+
+        BulkCreateOrdersResponse result = bulkOrderIngestionService.ingest(request.getOrders());
+        return ResponseEntity.ok(ApiResponse.success(result));
+    }
+
     /**
      * Get order by ID
      * GET /api/v1/orders/{orderId}
@@ -55,7 +87,7 @@ public class OrderController {
     public ResponseEntity<ApiResponse<OrderResponse>> getOrderById(
             @PathVariable Long orderId) {
 
-        OrderResponse order = orderService.getOrderById(orderId);
+        OrderResponse order = orderReadCoalescer.getOrderById(orderId);
 
         ApiResponse<OrderResponse> response = ApiResponse.<OrderResponse>builder()
                 .success(true)
@@ -65,6 +97,19 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get order by ID with only the requested fields
+     * GET /api/v1/orders/{orderId}?fields=id,status,totalAmount,createdAt
+     */
+    @GetMapping(value = "/{orderId}", params = "fields")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getOrderFieldsById(
+            @PathVariable Long orderId,
+            @RequestParam String fields) {
+
+        Map<String, Object> order = orderService.getOrderFields(orderId, OrderField.parse(fields));
+        return ResponseEntity.ok(ApiResponse.success(order));
+    }
+
     /**
      * Get order status
      * GET /api/v1/orders/{orderId}/status
@@ -73,7 +118,7 @@ public class OrderController {
     public ResponseEntity<ApiResponse<String>> getOrderStatus(
             @PathVariable Long orderId) {
 
-        OrderResponse order = orderService.getOrderById(orderId);
+        OrderResponse order = orderReadCoalescer.getOrderById(orderId);
 
         ApiResponse<String> response = ApiResponse.<String>builder()
                 .success(true)
@@ -83,6 +128,41 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get the status history of an order
+     * GET /api/v1/orders/{orderId}/timeline
+     */
+    @GetMapping("/{orderId}/timeline")
+    public ResponseEntity<ApiResponse<OrderTimelineResponse>> getOrderTimeline(
+            @PathVariable Long orderId) {
+
+        OrderTimelineResponse timeline = orderStatusHistoryService.getTimeline(orderId);
+        return ResponseEntity.ok(ApiResponse.success(timeline));
+    }
+
+    /**
+     * Download the printable receipt of an order (supports Range and If-None-Match)
+     * 202 with Retry-After while it is still being rendered, 500 RECEIPT_FAILED once rendering keeps failing
+     * GET /api/v1/orders/{orderId}/receipt
+     */
+    @GetMapping("/{orderId}/receipt")
+    public ResponseEntity<?> getReceipt(@PathVariable Long orderId) {
+        ReceiptService.RenderedReceipt receipt = receiptService.getReceipt(orderId);
+        if (receipt == null) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(ApiResponse.success("Receipt is being rendered, please retry shortly", null));
+        }
+        return ResponseEntity.ok()
+                .eTag(receipt.etag())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                        .filename("receipt-" + orderId + ".html")
+                        .build()
+                        .toString())
+                .contentType(new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8))
+                .body(new FileSystemResource(receipt.path()));
+    }
+
     /**
      * Get all orders with pagination (Admin endpoint - should be in AdminController)
      * GET /api/v1/orders?page=0&size=20&sortBy=createdAt&sortDir=DESC
@@ -116,6 +196,31 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Get orders with pagination and only the requested fields
+     * GET /api/v1/orders?fields=id,status,totalAmount,createdAt&page=0&size=20&status=PENDING
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<ApiResponse<Page<Map<String, Object>>>> getAllOrdersFields(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "DESC") String sortDir,
+            @RequestParam(required = false) String status,
+            @RequestParam String fields) {
+
+        Sort.Direction direction = sortDir.equalsIgnoreCase("ASC")
+                ? Sort.Direction.ASC
+                : Sort.Direction.DESC;
+        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+        Order.OrderStatus orderStatus = status != null && !status.isEmpty()
+                ? Order.OrderStatus.valueOf(status.toUpperCase())
+                : null;
+
+        Page<Map<String, Object>> orders = orderService.getOrdersFields(orderStatus, pageable, OrderField.parse(fields));
+        return ResponseEntity.ok(ApiResponse.success(orders));
+    }
+
     /**
      * Update order status (Admin endpoint - should be in AdminController)
      * PUT /api/v1/orders/{orderId}/status
@@ -143,7 +248,7 @@ public class OrderController {
      */
     @GetMapping("/stats/today")
     public ResponseEntity<ApiResponse<OrderService.TodayStats>> getTodayStats() {
-        OrderService.TodayStats stats = orderService.getTodayStats();
+        OrderService.TodayStats stats = orderReadCoalescer.getTodayStats();
 
         ApiResponse<OrderService.TodayStats> response = ApiResponse.<OrderService.TodayStats>builder()
                 .success(true)
@@ -152,4 +257,13 @@ public class OrderController {
 
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Get duration percentiles per order stage (Admin endpoint - should be in AdminController)
+     * GET /api/v1/orders/stats/stages
+     */
+    @GetMapping("/stats/stages")
+    public ResponseEntity<ApiResponse<StageDurationsResponse>> getStageDurations() {
+        return ResponseEntity.ok(ApiResponse.success(orderStatusHistoryService.getStageDurations()));
+    }
 }
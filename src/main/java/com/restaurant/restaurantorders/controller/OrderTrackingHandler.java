@@ -0,0 +1,83 @@
+package com.restaurant.restaurantorders.controller;
+
+import com.restaurant.restaurantorders.dto.response.ApiResponse;
+import com.restaurant.restaurantorders.repository.ReactiveOrderTrackingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking handlers for order tracking, served by WebFlux on tracking.reactive.port
+ * Same paths and response bodies as the OrderController reads, so clients that poll
+ * an order only change the port.
+ */
+@RequiredArgsConstructor
+public class OrderTrackingHandler {
+
+    private final ReactiveOrderTrackingRepository trackingRepository;
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .GET("/orders/{orderId}/status", this::getOrderStatus)
+                .GET("/orders/{orderId}", this::getOrderById)
+                .build();
+    }
+
+    /**
+     * Get order by ID with items
+     * GET /orders/{orderId}
+     */
+    public Mono<ServerResponse> getOrderById(ServerRequest request) {
+        Long orderId = orderId(request);
+        if (orderId == null) {
+            return badRequest(request);
+        }
+        return trackingRepository.findByIdWithItems(orderId)
+                .flatMap(order -> ok(ApiResponse.success(order)))
+                .switchIfEmpty(Mono.defer(() -> notFound(orderId)));
+    }
+
+    /**
+     * Get only the status of an order
+     * GET /orders/{orderId}/status
+     */
+    public Mono<ServerResponse> getOrderStatus(ServerRequest request) {
+        Long orderId = orderId(request);
+        if (orderId == null) {
+            return badRequest(request);
+        }
+        return trackingRepository.findStatusById(orderId)
+                .flatMap(status -> ok(ApiResponse.success(status)))
+                .switchIfEmpty(Mono.defer(() -> notFound(orderId)));
+    }
+
+    private static Long orderId(ServerRequest request) {
+        try {
+            return Long.valueOf(request.pathVariable("orderId"));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Mono<ServerResponse> ok(ApiResponse<?> body) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+    }
+
+    private static Mono<ServerResponse> notFound(Long orderId) {
+        return ServerResponse.status(HttpStatus.NOT_FOUND)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.error("NOT_FOUND", "Order not found with id: " + orderId));
+    }
+
+    private static Mono<ServerResponse> badRequest(ServerRequest request) {
+        return ServerResponse.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ApiResponse.error("INVALID_ARGUMENT",
+                        "Invalid order id: " + request.pathVariable("orderId")));
+    }
+}
@@ -0,0 +1,115 @@
+package com.restaurant.restaurantorders.controller;
+
+import com.restaurant.restaurantorders.service.FlightRecordingService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Actuator endpoint for on-demand profiling
+ * Starts, stops and downloads a bounded Flight Recorder recording of this instance. As an actuator
+ * endpoint it is served on management.server.port only, never next to the public API.
+ */
+@Component
+@WebEndpoint(id = "profiling")
+@RequiredArgsConstructor
+@ConditionalOnProperty(value = "profiling.enabled", havingValue = "true")
+public class ProfilingEndpoint {
+
+    private final FlightRecordingService flightRecordingService;
+
+    /**
+     * Get the state of the recording
+     * GET /actuator/profiling
+     */
+    @ReadOperation
+    public WebEndpointResponse<Object> getRecording() {
+        return respond(flightRecordingService::status);
+    }
+
+    /**
+     * Start a recording
+     * POST /actuator/profiling {"settings": "profile", "maxAgeSeconds": 600, "maxSizeMb": 100, "durationSeconds": 900}
+     */
+    @WriteOperation
+    public WebEndpointResponse<Object> startRecording(@Nullable String settings,
+                                                      @Nullable Long maxAgeSeconds,
+                                                      @Nullable Long maxSizeMb,
+                                                      @Nullable Long durationSeconds) {
+        return respond(() -> flightRecordingService.start(settings != null ? settings : "default",
+                maxAgeSeconds != null ? Duration.ofSeconds(maxAgeSeconds) : null,
+                maxSizeMb != null ? maxSizeMb * 1024 * 1024 : null,
+                durationSeconds != null ? Duration.ofSeconds(durationSeconds) : null));
+    }
+
+    /**
+     * Stop the running recording
+     * DELETE /actuator/profiling
+     */
+    @DeleteOperation
+    public WebEndpointResponse<Object> stopRecording() {
+        return respond(flightRecordingService::stop);
+    }
+
+    /**
+     * Download the recorded data as a .jfr file (JDK Mission Control, jfr print); the temporary dump
+     * is deleted once it has been streamed
+     * GET /actuator/profiling/{any-name}.jfr
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Object> downloadRecording(@Selector String fileName) {
+        return respond(() -> {
+            try {
+                return deleteAfterRead(flightRecordingService.dump());
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not dump the recording: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    private static WebEndpointResponse<Object> respond(Supplier<Object> operation) {
+        try {
+            return new WebEndpointResponse<>(operation.get());
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(Map.of("error", e.getMessage()), WebEndpointResponse.STATUS_BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(Map.of("error", e.getMessage()), 409);
+        }
+    }
+
+    private static Resource deleteAfterRead(Path file) {
+        return new FileSystemResource(file) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                return new FilterInputStream(super.getInputStream()) {
+                    @Override
+                    public void close() throws IOException {
+                        try {
+                            super.close();
+                        } finally {
+                            Files.deleteIfExists(file);
+                        }
+                    }
+                };
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.restaurant.restaurantorders.controller;
+
+import com.restaurant.restaurantorders.dto.request.CreatePromotionRequest;
+import com.restaurant.restaurantorders.dto.response.ApiResponse;
+import com.restaurant.restaurantorders.dto.response.PromotionResponse;
+import com.restaurant.restaurantorders.service.PromotionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST Controller for promotions applied at checkout
+ */
+@RestController
+@RequestMapping("/promotions")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "${cors.allowed-origins}")
+public class PromotionController {
+
+    private final PromotionService promotionService;
+
+    /**
+     * Get all promotions, newest first
+     * GET /promotions
+     */
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<PromotionResponse>>> getPromotions() {
+        return ResponseEntity.ok(ApiResponse.success(promotionService.getPromotions()));
+    }
+
+    /**
+     * Create a percentage or combo promotion
+     * POST /promotions
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<PromotionResponse>> createPromotion(
+            @Valid @RequestBody CreatePromotionRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(promotionService.createPromotion(request)));
+    }
+
+    /**
+     * Switch a promotion on or off
+     * PUT /promotions/{promotionId}/active?active=false
+     */
+    @PutMapping("/{promotionId}/active")
+    public ResponseEntity<ApiResponse<PromotionResponse>> setActive(
+            @PathVariable Long promotionId,
+            @RequestParam boolean active) {
+        return ResponseEntity.ok(ApiResponse.success(promotionService.setActive(promotionId, active)));
+    }
+}
@@ -0,0 +1,24 @@
+package com.restaurant.restaurantorders.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for replaying queued POS orders in one request
+ * Each order is validated on its own and reported in the response, so one bad order
+ * never rejects the rest of the batch.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateOrdersRequest {
+
+    @NotEmpty(message = "Batch must contain at least one order")
+    @Size(max = 1000, message = "Batch must not exceed 1000 orders")
+    private List<CreateOrderRequest> orders;
+}
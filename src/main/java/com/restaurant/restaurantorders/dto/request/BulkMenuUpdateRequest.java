@@ -0,0 +1,43 @@
+package com.restaurant.restaurantorders.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for changing availability and/or price of many menu items at once
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkMenuUpdateRequest {
+
+    @NotEmpty(message = "At least one menu item update is required")
+    @Size(max = 1000, message = "At most 1000 menu items can be updated at once")
+    @Valid
+    private List<ItemUpdate> items;
+
+    /**
+     * DTO for the change to one menu item; fields left out keep their current value
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemUpdate {
+
+        @NotNull(message = "Menu item ID is required")
+        @Positive(message = "Menu item ID must be positive")
+        private Long menuItemId;
+
+        private Boolean isAvailable;
+
+        @DecimalMin(value = "0.00", message = "Price must not be negative")
+        @Digits(integer = 8, fraction = 2, message = "Invalid price")
+        private BigDecimal price;
+    }
+}
@@ -0,0 +1,31 @@
+package com.restaurant.restaurantorders.dto.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for creating a customer
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateCustomerRequest {
+
+    @NotBlank(message = "Customer name is required")
+    @Size(max = 200, message = "Customer name must not exceed 200 characters")
+    private String name;
+
+    @NotBlank(message = "Customer phone is required")
+    @Pattern(regexp = "^\\+?[0-9]{10,15}$", message = "Invalid phone number format")
+    private String phone;
+
+    @Email(message = "Invalid email format")
+    private String email;
+
+    private String address;
+}
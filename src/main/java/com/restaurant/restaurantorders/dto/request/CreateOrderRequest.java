@@ -6,6 +6,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -16,6 +17,12 @@ import java.util.List;
 @AllArgsConstructor
 public class CreateOrderRequest {
 
+    /**
+     * Branch taking the order; decides the shard it is stored on (sharding.default-branch-id when absent)
+     */
+    @Positive(message = "Branch ID must be positive")
+    private Long branchId;
+
     @NotBlank(message = "Customer name is required")
     @Size(max = 200, message = "Customer name must not exceed 200 characters")
     private String customerName;
@@ -32,6 +39,19 @@ public class CreateOrderRequest {
 
     private String notes;
 
+    /**
+     * Pickup/delivery time of a pre-order. The order is held as SCHEDULED and released to the kitchen
+     * orders.scheduled.prep-lead-minutes before it; absent for orders wanted now.
+     */
+    @Future(message = "Scheduled time must be in the future")
+    private LocalDateTime scheduledFor;
+
+    /**
+     * Id assigned by the POS that took the order; replaying the same id never creates a second order
+     */
+    @Size(max = 64, message = "Client order ID must not exceed 64 characters")
+    private String clientOrderId;
+
     @NotEmpty(message = "Order must contain at least one item")
     @Valid
     private List<OrderItemRequest> items;
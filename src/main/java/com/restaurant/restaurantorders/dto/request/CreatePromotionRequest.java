@@ -0,0 +1,74 @@
+package com.restaurant.restaurantorders.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * DTO for creating a promotion
+ * PERCENT_OFF takes discountPercent off every targeted item or category; COMBO sells one set of the
+ * targeted items (with their quantities) for comboPrice.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreatePromotionRequest {
+
+    @NotBlank(message = "Promotion name is required")
+    @Size(max = 200, message = "Promotion name must not exceed 200 characters")
+    private String name;
+
+    @NotBlank(message = "Promotion type is required")
+    @Pattern(regexp = "PERCENT_OFF|COMBO", message = "Promotion type must be PERCENT_OFF or COMBO")
+    private String type;
+
+    @DecimalMin(value = "0.01", message = "Discount must be at least 0.01%")
+    @DecimalMax(value = "100", message = "Discount must not exceed 100%")
+    @Digits(integer = 3, fraction = 2, message = "Discount can have at most two decimals")
+    private BigDecimal discountPercent;
+
+    @DecimalMin(value = "0.00", message = "Combo price must not be negative")
+    @Digits(integer = 8, fraction = 2, message = "Invalid combo price")
+    private BigDecimal comboPrice;
+
+    private LocalDateTime startsAt;
+
+    private LocalDateTime endsAt;
+
+    /**
+     * Daily window such as a happy hour; both ends or neither. An end before the start runs past midnight.
+     */
+    private LocalTime dailyFrom;
+
+    private LocalTime dailyUntil;
+
+    @NotEmpty(message = "Promotion must target at least one menu item or category")
+    @Valid
+    private List<TargetRequest> targets;
+
+    /**
+     * DTO for a menu item or category the promotion applies to
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TargetRequest {
+
+        @Positive(message = "Menu item ID must be positive")
+        private Long menuItemId;
+
+        @Positive(message = "Category ID must be positive")
+        private Long categoryId;
+
+        @Min(value = 1, message = "Quantity must be at least 1")
+        @Max(value = 99, message = "Quantity must not exceed 99")
+        private Integer quantity;
+    }
+}
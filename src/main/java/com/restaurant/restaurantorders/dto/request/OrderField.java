@@ -0,0 +1,60 @@
+package com.restaurant.restaurantorders.dto.request;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Fields of OrderResponse that can be requested with fields=
+ * The name is both the JSON property and the Order entity attribute.
+ */
+public enum OrderField {
+
+    ID("id"),
+    BRANCH_ID("branchId"),
+    CUSTOMER_NAME("customerName"),
+    CUSTOMER_PHONE("customerPhone"),
+    CUSTOMER_EMAIL("customerEmail"),
+    CUSTOMER_ADDRESS("customerAddress"),
+    TOTAL_AMOUNT("totalAmount"),
+    DISCOUNT_AMOUNT("discountAmount"),
+    STATUS("status"),
+    NOTES("notes"),
+    SCHEDULED_FOR("scheduledFor"),
+    CREATED_AT("createdAt"),
+    ITEMS("items");
+
+    private final String fieldName;
+
+    OrderField(String fieldName) {
+        this.fieldName = fieldName;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Parse a comma-separated field list such as "id,status,totalAmount,createdAt"
+     * id is always included so that results can be told apart
+     */
+    public static Set<OrderField> parse(String fields) {
+        Set<OrderField> parsed = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            parsed.add(fromName(trimmed));
+        }
+        return parsed;
+    }
+
+    private static OrderField fromName(String name) {
+        for (OrderField field : values()) {
+            if (field.fieldName.equals(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown order field: " + name);
+    }
+}
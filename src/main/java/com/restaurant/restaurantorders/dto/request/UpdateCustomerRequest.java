@@ -0,0 +1,29 @@
+package com.restaurant.restaurantorders.dto.request;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for updating a customer
+ * Fields left out (null) keep their current value.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateCustomerRequest {
+
+    @Size(max = 200, message = "Customer name must not exceed 200 characters")
+    private String name;
+
+    @Pattern(regexp = "^\\+?[0-9]{10,15}$", message = "Invalid phone number format")
+    private String phone;
+
+    @Email(message = "Invalid email format")
+    private String email;
+
+    private String address;
+}
@@ -68,16 +68,8 @@ public class ApiResponse<T> {
     @NoArgsConstructor
     @AllArgsConstructor
     public static class ErrorDetails {
-        public ErrorDetails(String code2, String message2, Object details2) {
-			// TODO Auto-generated constructor stub
-		}
-		private String code;
+        private String code;
         private String message;
         private Object details;
     }
-
-	public static ApiResponse<OrderResponse> builder() {
-		// TODO Auto-generated method stub
-		return null;
-	}
 }
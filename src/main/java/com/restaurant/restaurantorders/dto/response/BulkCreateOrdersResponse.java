@@ -0,0 +1,37 @@
+package com.restaurant.restaurantorders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for the outcome of a bulk order ingestion
+ * results are in the order of the request
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkCreateOrdersResponse {
+
+    private int created;
+    private int duplicates;
+    private int rejected;
+    private List<Result> results;
+
+    /**
+     * Outcome of one order: CREATED, DUPLICATE (already ingested; orderId is the existing order) or REJECTED
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Result {
+        private String clientOrderId;
+        private String outcome;
+        private Long orderId;
+        private BigDecimal totalAmount;
+        private String error;
+    }
+}
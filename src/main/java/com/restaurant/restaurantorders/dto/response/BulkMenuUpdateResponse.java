@@ -0,0 +1,20 @@
+package com.restaurant.restaurantorders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the result of a bulk menu update
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkMenuUpdateResponse {
+
+    private Long menuVersion;
+    private Integer updated;
+    private List<Long> menuItemIds;
+}
@@ -0,0 +1,20 @@
+package com.restaurant.restaurantorders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one keyset page of customers
+ * nextCursor is null on the last page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerPageResponse {
+
+    private List<CustomerSummaryResponse> items;
+    private String nextCursor;
+}
@@ -0,0 +1,26 @@
+package com.restaurant.restaurantorders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * DTO for customer response
+ * Same JSON shape the customer endpoints returned when they served the entity itself.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerResponse {
+
+    private UUID id;
+    private String name;
+    private String phone;
+    private String email;
+    private String address;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
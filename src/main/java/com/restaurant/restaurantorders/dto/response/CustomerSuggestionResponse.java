@@ -0,0 +1,20 @@
+package com.restaurant.restaurantorders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * DTO for one POS typeahead suggestion
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSuggestionResponse {
+
+    private UUID id;
+    private String name;
+    private String phone;
+}
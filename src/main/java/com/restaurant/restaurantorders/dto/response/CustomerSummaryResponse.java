@@ -0,0 +1,24 @@
+package com.restaurant.restaurantorders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lean DTO for customer listings
+ * Selected directly by JPQL constructor expressions, never through the entity
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerSummaryResponse {
+
+    private UUID id;
+    private String name;
+    private String phone;
+    private String email;
+    private LocalDateTime createdAt;
+}
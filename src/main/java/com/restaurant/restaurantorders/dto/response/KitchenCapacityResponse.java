@@ -0,0 +1,40 @@
+package com.restaurant.restaurantorders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for the kitchen capacity model and the current online admission state
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenCapacityResponse {
+
+    private LocalDateTime generatedAt;
+    /**
+     * OPEN, THROTTLED (a share of online orders is refused) or PAUSED (all online orders are refused)
+     */
+    private String admission;
+    private boolean paused;
+    private int openOrders;
+    private long maxWaitSeconds;
+    private List<Station> stations;
+
+    /**
+     * DTO for the backlog of one prep station, busiest first
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Station {
+        private String station;
+        private Integer parallelism;
+        private Long backlogSeconds;
+        private Long waitSeconds;
+    }
+}
@@ -0,0 +1,60 @@
+package com.restaurant.restaurantorders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for the kitchen display queue
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KitchenQueueResponse {
+
+    private long version;
+    private LocalDateTime generatedAt;
+    private List<Ticket> orders;
+    private List<ItemTotal> itemTotals;
+
+    /**
+     * DTO for one open order on the kitchen screen
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Ticket {
+        private Long orderId;
+        private String status;
+        private String customerName;
+        private String notes;
+        private LocalDateTime createdAt;
+        private List<TicketLine> items;
+    }
+
+    /**
+     * DTO for one line of a kitchen ticket
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TicketLine {
+        private String menuItemName;
+        private Integer quantity;
+    }
+
+    /**
+     * DTO for the quantity of one menu item across all open orders
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemTotal {
+        private Long menuItemId;
+        private String menuItemName;
+        private Integer quantity;
+    }
+}
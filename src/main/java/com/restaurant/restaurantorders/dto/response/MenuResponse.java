@@ -0,0 +1,49 @@
+package com.restaurant.restaurantorders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO for the full menu in one language
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuResponse {
+
+    private String language;
+    private List<MenuCategory> categories;
+
+    /**
+     * DTO for one menu section with its available items
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MenuCategory {
+        private Long id;
+        private String name;
+        private String description;
+        private String imageUrl;
+        private List<MenuEntry> items;
+    }
+
+    /**
+     * DTO for one available menu item
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MenuEntry {
+        private Long id;
+        private String name;
+        private String description;
+        private BigDecimal price;
+        private String imageUrl;
+        private Boolean isFeatured;
+    }
+}
@@ -0,0 +1,23 @@
+package com.restaurant.restaurantorders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for one menu search hit
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MenuSearchResponse {
+
+    private Long id;
+    private String name;
+    private String nameAr;
+    private BigDecimal price;
+    private String imageUrl;
+    private float score;
+}
@@ -17,13 +17,17 @@ import java.util.List;
 public class OrderResponse {
 
     private Long id;
+    private Long branchId;
     private String customerName;
     private String customerPhone;
     private String customerEmail;
     private String customerAddress;
     private BigDecimal totalAmount;
+    private BigDecimal discountAmount;
     private String status;
     private String notes;
+    private LocalDateTime scheduledFor;
+    private LocalDateTime estimatedReadyAt;
     private LocalDateTime createdAt;
     private List<OrderItemResponse> items;
 
@@ -0,0 +1,33 @@
+package com.restaurant.restaurantorders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for the status history of one order, oldest transition first
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTimelineResponse {
+
+    private Long orderId;
+    private List<Entry> events;
+
+    /**
+     * DTO for one transition; millisInPreviousStatus is null for the first entry
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private String fromStatus;
+        private String toStatus;
+        private LocalDateTime changedAt;
+        private Long millisInPreviousStatus;
+    }
+}
@@ -0,0 +1,33 @@
+package com.restaurant.restaurantorders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for outstanding quantities per menu item at the prep stations
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrepTotalsResponse {
+
+    private LocalDateTime generatedAt;
+    private int openOrders;
+    private List<Item> items;
+
+    /**
+     * DTO for the outstanding quantity of one menu item
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long menuItemId;
+        private String menuItemName;
+        private Integer quantity;
+    }
+}
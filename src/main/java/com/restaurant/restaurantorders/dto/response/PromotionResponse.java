@@ -0,0 +1,43 @@
+package com.restaurant.restaurantorders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * DTO for promotion response
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PromotionResponse {
+
+    private Long id;
+    private String name;
+    private String type;
+    private BigDecimal discountPercent;
+    private BigDecimal comboPrice;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private LocalTime dailyFrom;
+    private LocalTime dailyUntil;
+    private Boolean active;
+    private List<Target> targets;
+
+    /**
+     * DTO for a promotion target in response
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Target {
+        private Long menuItemId;
+        private Long categoryId;
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,24 @@
+package com.restaurant.restaurantorders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO for the state of the on-demand Flight Recorder recording
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordingStatusResponse {
+
+    private String state;
+    private String settings;
+    private Instant startedAt;
+    private Instant stopsAt;
+    private Long maxAgeSeconds;
+    private Long maxSizeBytes;
+    private Long sizeBytes;
+}
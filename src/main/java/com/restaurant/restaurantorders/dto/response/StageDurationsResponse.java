@@ -0,0 +1,38 @@
+package com.restaurant.restaurantorders.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for time spent per order stage, as recorded by this instance
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StageDurationsResponse {
+
+    private LocalDateTime generatedAt;
+    private LocalDateTime since;
+    private List<Stage> stages;
+
+    /**
+     * DTO for the duration percentiles of one transition, in milliseconds
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Stage {
+        private String fromStatus;
+        private String toStatus;
+        private long count;
+        private long meanMillis;
+        private long p50Millis;
+        private long p90Millis;
+        private long p99Millis;
+        private long maxMillis;
+    }
+}
@@ -0,0 +1,47 @@
+package com.restaurant.restaurantorders.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity for order_items_archive table
+ * Items of an archived order; the menu item is kept as a plain id so that
+ * archived rows never block menu clean-up
+ */
+@Entity
+@Table(name = "order_items_archive")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedOrderItem {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "order_id", nullable = false)
+    private ArchivedOrder order;
+
+    @Column(name = "menu_item_id")
+    private Long menuItemId;
+
+    @Column(name = "menu_item_name", nullable = false, length = 200)
+    private String menuItemName;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "price_at_time", nullable = false, precision = 10, scale = 2)
+    private BigDecimal priceAtTime;
+
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal subtotal;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -1,5 +1,6 @@
 package com.restaurant.restaurantorders.entity;
 
+import com.restaurant.restaurantorders.event.MenuEntityListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -16,6 +17,7 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "menu_items")
+@EntityListeners(MenuEntityListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -56,6 +58,18 @@ public class MenuItem {
     @Column(name = "display_order")
     private Integer displayOrder = 0;
 
+    /**
+     * Kitchen station that prepares this item (GRILL, FRYER, ...), used by the capacity model
+     */
+    @Column(name = "prep_station", nullable = false, length = 50)
+    private String prepStation = "KITCHEN";
+
+    /**
+     * Station time one unit takes to prepare, in seconds
+     */
+    @Column(name = "prep_seconds", nullable = false)
+    private Integer prepSeconds = 120;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -1,5 +1,6 @@
 package com.restaurant.restaurantorders.entity;
 
+import com.restaurant.restaurantorders.util.Money;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -23,10 +24,15 @@ import java.util.List;
 @AllArgsConstructor
 public class Order {
 
+    /**
+     * Assigned by OrderIdGenerator before insert; encodes the shard holding the order
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "branch_id", nullable = false)
+    private Long branchId;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id")
     private Customer customer;
@@ -46,6 +52,12 @@ public class Order {
     @Column(name = "total_amount", nullable = false, precision = 10, scale = 2)
     private BigDecimal totalAmount;
 
+    /**
+     * Promotion discount taken off the item subtotals; totalAmount is already net of it
+     */
+    @Column(name = "discount_amount", nullable = false, precision = 10, scale = 2)
+    private BigDecimal discountAmount = Money.toBigDecimal(0);
+
     @Enumerated(EnumType.STRING)
     @Column(length = 50)
     private OrderStatus status = OrderStatus.PENDING;
@@ -53,6 +65,15 @@ public class Order {
     @Column(columnDefinition = "TEXT")
     private String notes;
 
+    /**
+     * Requested pickup/delivery time of a pre-order; null for orders wanted as soon as possible
+     */
+    @Column(name = "scheduled_for")
+    private LocalDateTime scheduledFor;
+
+    @Column(name = "client_order_id", length = 64, unique = true)
+    private String clientOrderId;
+
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items = new ArrayList<>();
 
@@ -72,15 +93,18 @@ public class Order {
 
     // Helper method to calculate total
     public void calculateTotal() {
-        this.totalAmount = items.stream()
-                .map(OrderItem::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long total = 0;
+        for (OrderItem item : items) {
+            total = Money.add(total, Money.toMinorUnits(item.getSubtotal()));
+        }
+        this.totalAmount = Money.toBigDecimal(Money.subtract(total, Money.toMinorUnits(discountAmount)));
     }
 
     /**
      * Order status enum
      */
     public enum OrderStatus {
+        SCHEDULED,
         PENDING,
         CONFIRMED,
         PREPARING,
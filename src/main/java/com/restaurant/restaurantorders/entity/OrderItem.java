@@ -1,5 +1,6 @@
 package com.restaurant.restaurantorders.entity;
 
+import com.restaurant.restaurantorders.util.Money;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -50,6 +51,6 @@ public class OrderItem {
 
     // Helper method to calculate subtotal
     public void calculateSubtotal() {
-        this.subtotal = this.priceAtTime.multiply(BigDecimal.valueOf(this.quantity));
+        this.subtotal = Money.toBigDecimal(Money.multiply(Money.toMinorUnits(this.priceAtTime), this.quantity));
     }
 }
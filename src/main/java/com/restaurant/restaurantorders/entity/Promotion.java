@@ -0,0 +1,93 @@
+package com.restaurant.restaurantorders.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPA Entity for promotions table
+ * A discount applied when orders are priced; the rules are compiled into a PromotionPlan
+ * whenever promotions or the menu change
+ */
+@Entity
+@Table(name = "promotions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Promotion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 200)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private PromotionType type;
+
+    /**
+     * PERCENT_OFF: share taken off the targeted items, in basis points (1500 = 15%)
+     */
+    @Column(name = "discount_basis_points")
+    private Integer discountBasisPoints;
+
+    /**
+     * COMBO: price of one complete set of the targeted items
+     */
+    @Column(name = "combo_price", precision = 10, scale = 2)
+    private BigDecimal comboPrice;
+
+    @Column(name = "starts_at")
+    private LocalDateTime startsAt;
+
+    @Column(name = "ends_at")
+    private LocalDateTime endsAt;
+
+    /**
+     * Daily window (e.g. happy hour); until may be earlier than from for a window past midnight
+     */
+    @Column(name = "daily_from")
+    private LocalTime dailyFrom;
+
+    @Column(name = "daily_until")
+    private LocalTime dailyUntil;
+
+    @Column(name = "is_active", nullable = false)
+    private Boolean isActive = true;
+
+    @OneToMany(mappedBy = "promotion", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<PromotionTarget> targets = new ArrayList<>();
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Helper method to add targets
+    public void addTarget(PromotionTarget target) {
+        targets.add(target);
+        target.setPromotion(this);
+    }
+
+    /**
+     * Promotion type enum
+     */
+    public enum PromotionType {
+        PERCENT_OFF,
+        COMBO
+    }
+}
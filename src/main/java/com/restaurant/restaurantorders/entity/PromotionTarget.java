@@ -0,0 +1,35 @@
+package com.restaurant.restaurantorders.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * JPA Entity for promotion_targets table
+ * A menu item or a whole category a promotion applies to; for combos, a menu item and how many of it a set needs
+ */
+@Entity
+@Table(name = "promotion_targets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PromotionTarget {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "promotion_id", nullable = false)
+    private Promotion promotion;
+
+    @Column(name = "menu_item_id")
+    private Long menuItemId;
+
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private Integer quantity = 1;
+}
@@ -0,0 +1,14 @@
+package com.restaurant.restaurantorders.event;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Published by CustomerService when a customer was deleted
+ */
+@Value
+public class CustomerDeletedEvent {
+
+    UUID customerId;
+}
@@ -0,0 +1,16 @@
+package com.restaurant.restaurantorders.event;
+
+import lombok.Value;
+
+import java.util.UUID;
+
+/**
+ * Published by CustomerService when a customer was created or updated
+ */
+@Value
+public class CustomerSavedEvent {
+
+    UUID customerId;
+    String name;
+    String phone;
+}
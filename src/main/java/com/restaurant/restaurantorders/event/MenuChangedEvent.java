@@ -0,0 +1,36 @@
+package com.restaurant.restaurantorders.event;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published when menu items or categories were created, updated or deleted
+ * An empty id list means the whole menu may have changed.
+ */
+@Value
+public class MenuChangedEvent {
+
+    List<Long> menuItemIds;
+
+    /**
+     * Menu version a bulk update recorded the change under; 0 for changes saved through the entities
+     */
+    long version;
+
+    public static MenuChangedEvent of(Long menuItemId) {
+        return new MenuChangedEvent(List.of(menuItemId), 0);
+    }
+
+    public static MenuChangedEvent of(List<Long> menuItemIds, long version) {
+        return new MenuChangedEvent(List.copyOf(menuItemIds), version);
+    }
+
+    public static MenuChangedEvent all() {
+        return new MenuChangedEvent(List.of(), 0);
+    }
+
+    public boolean isFullReload() {
+        return menuItemIds.isEmpty();
+    }
+}
@@ -0,0 +1,34 @@
+package com.restaurant.restaurantorders.event;
+
+import com.restaurant.restaurantorders.entity.Category;
+import com.restaurant.restaurantorders.entity.MenuItem;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on MenuItem and Category
+ * Turns every insert, update and delete of a menu item or category into a MenuChangedEvent,
+ * whichever code path wrote it. Hibernate obtains this listener from the Spring context.
+ */
+@Component
+@RequiredArgsConstructor
+public class MenuEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(Object entity) {
+        if (entity instanceof MenuItem menuItem) {
+            eventPublisher.publishEvent(MenuChangedEvent.of(menuItem.getId()));
+        } else if (entity instanceof Category) {
+            // A category rename, reorder or deactivation affects every item in it
+            eventPublisher.publishEvent(MenuChangedEvent.all());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.restaurant.restaurantorders.event;
+
+import com.restaurant.restaurantorders.entity.Order;
+import com.restaurant.restaurantorders.entity.OrderItem;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Published by OrderService when a new order has been persisted.
+ * Carries an immutable copy of the order so listeners never touch the managed entity.
+ */
+@Value
+public class OrderCreatedEvent {
+
+    Long orderId;
+    Order.OrderStatus status;
+    String customerName;
+    String notes;
+    LocalDateTime scheduledFor;
+    LocalDateTime createdAt;
+    List<Line> lines;
+
+    public static OrderCreatedEvent from(Order order) {
+        return new OrderCreatedEvent(
+                order.getId(),
+                order.getStatus(),
+                order.getCustomerName(),
+                order.getNotes(),
+                order.getScheduledFor(),
+                order.getCreatedAt(),
+                linesOf(order));
+    }
+
+    public static List<Line> linesOf(Order order) {
+        return order.getItems().stream()
+                .map(OrderCreatedEvent::lineOf)
+                .toList();
+    }
+
+    private static Line lineOf(OrderItem item) {
+        Long menuItemId = item.getMenuItem() != null ? item.getMenuItem().getId() : null;
+        return new Line(menuItemId, item.getMenuItemName(), item.getQuantity());
+    }
+
+    /**
+     * One order line as seen by event listeners
+     */
+    @Value
+    public static class Line {
+        Long menuItemId;
+        String menuItemName;
+        int quantity;
+    }
+}
@@ -0,0 +1,20 @@
+package com.restaurant.restaurantorders.event;
+
+import com.restaurant.restaurantorders.entity.Order;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by OrderService when an order moves from one status to another.
+ * oldStatusSince is when the order entered oldStatus, so listeners can time the stage without a read.
+ */
+@Value
+public class OrderStatusChangedEvent {
+
+    Long orderId;
+    Order.OrderStatus oldStatus;
+    Order.OrderStatus newStatus;
+    LocalDateTime oldStatusSince;
+    LocalDateTime changedAt;
+}
@@ -0,0 +1,12 @@
+package com.restaurant.restaurantorders.event;
+
+import lombok.Value;
+
+/**
+ * Published when a promotion was created, changed or switched on or off
+ */
+@Value
+public class PromotionsChangedEvent {
+
+    Long promotionId;
+}
@@ -1,6 +1,7 @@
 package com.restaurant.restaurantorders.exception;
 
 import com.restaurant.restaurantorders.dto.response.ApiResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -56,6 +57,55 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    /**
+     * Handle online orders refused because the kitchen is too far behind
+     */
+    @ExceptionHandler(KitchenBusyException.class)
+    public ResponseEntity<ApiResponse<Void>> handleKitchenBusyException(
+            KitchenBusyException ex) {
+
+        ApiResponse<Void> response = ApiResponse.error(
+                "KITCHEN_BUSY",
+                ex.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    /**
+     * Handle receipt downloads refused while the rendering queue is full
+     */
+    @ExceptionHandler(ReceiptsBusyException.class)
+    public ResponseEntity<ApiResponse<Void>> handleReceiptsBusyException(
+            ReceiptsBusyException ex) {
+
+        ApiResponse<Void> response = ApiResponse.error(
+                "RECEIPTS_BUSY",
+                ex.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    /**
+     * Handle receipts that could not be rendered
+     */
+    @ExceptionHandler(ReceiptFailedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleReceiptFailedException(
+            ReceiptFailedException ex) {
+
+        ApiResponse<Void> response = ApiResponse.error(
+                "RECEIPT_FAILED",
+                ex.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+    }
+
     /**
      * Handle illegal state exceptions (business logic errors)
      */
@@ -0,0 +1,18 @@
+package com.restaurant.restaurantorders.exception;
+
+/**
+ * Thrown when the kitchen backlog is too long to take another online order
+ */
+public class KitchenBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public KitchenBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,11 @@
+package com.restaurant.restaurantorders.exception;
+
+/**
+ * Thrown when a receipt could not be rendered after every allowed attempt
+ */
+public class ReceiptFailedException extends RuntimeException {
+
+    public ReceiptFailedException(String message) {
+        super(message);
+    }
+}
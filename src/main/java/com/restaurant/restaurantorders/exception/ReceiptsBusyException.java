@@ -0,0 +1,18 @@
+package com.restaurant.restaurantorders.exception;
+
+/**
+ * Thrown when a receipt has to be rendered but the rendering queue is full
+ */
+public class ReceiptsBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ReceiptsBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,183 @@
+package com.restaurant.restaurantorders.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.restaurantorders.config.AdmissionProperties;
+import com.restaurant.restaurantorders.dto.response.ApiResponse;
+import com.restaurant.restaurantorders.util.AdaptiveConcurrencyLimiter;
+import com.restaurant.restaurantorders.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.security.Principal;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the order and customer endpoints.
+ * <ol>
+ *     <li>A token bucket per client and endpoint group rejects callers over their rate with 429.</li>
+ *     <li>An adaptive concurrency limit sheds load with 503 once latency shows the database
+ *     is saturating, before requests start queueing on the connection pool.</li>
+ * </ol>
+ * Both checks are lock-free; rejections and the current limit are exported as metrics.
+ * A client is the authenticated principal, or the remote address for anonymous calls; nothing the
+ * caller merely asserts (such as an API key header) selects a bucket, so a new value per request
+ * cannot buy a fresh bucket. The number of buckets is capped: past admission.max-buckets, new clients
+ * share one overflow bucket per endpoint group until idle buckets are purged.
+ */
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final String OVERFLOW_CLIENT = "overflow";
+
+    private final AdmissionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> rejectionCounters = new ConcurrentHashMap<>();
+
+    public AdmissionControlFilter(AdmissionProperties properties, MeterRegistry meterRegistry,
+                                  ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+
+        AdmissionProperties.Concurrency concurrency = properties.getConcurrency();
+        this.concurrencyLimiter = new AdaptiveConcurrencyLimiter(
+                concurrency.getInitialLimit(),
+                concurrency.getMinLimit(),
+                concurrency.getMaxLimit(),
+                concurrency.getWindowMs(), TimeUnit.MILLISECONDS,
+                concurrency.getMinWindowSamples());
+
+        Gauge.builder("admission.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("admission.concurrency.in_flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+        Gauge.builder("admission.concurrency.rtt_baseline_ms", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLongRttMillis)
+                .register(meterRegistry);
+        Gauge.builder("admission.rate_limit.buckets", buckets, ConcurrentHashMap::size)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || endpointOf(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        String endpoint = endpointOf(request);
+        long now = System.nanoTime();
+
+        long waitNanos = bucketFor(clientOf(request), endpoint).tryAcquire(now);
+        if (waitNanos > 0) {
+            rejected(endpoint, "rate_limited");
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfterSeconds,
+                    "RATE_LIMITED", "Too many requests, retry in " + retryAfterSeconds + "s");
+            return;
+        }
+
+        if (!properties.getConcurrency().isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (!concurrencyLimiter.tryAcquire()) {
+            rejected(endpoint, "overloaded");
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1,
+                    "OVERLOADED", "Service is busy, please retry shortly");
+            return;
+        }
+
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            if (completed) {
+                concurrencyLimiter.release(System.nanoTime() - now);
+            } else {
+                concurrencyLimiter.releaseWithoutSample();
+            }
+        }
+    }
+
+    /**
+     * Drop buckets that have refilled completely; they carry no state worth keeping
+     */
+    @Scheduled(fixedDelayString = "${admission.bucket-purge-interval-ms:60000}")
+    public void purgeIdleBuckets() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    private TokenBucket bucketFor(String client, String endpoint) {
+        String key = client + '|' + endpoint;
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= properties.getMaxBuckets()) {
+            key = OVERFLOW_CLIENT + '|' + endpoint;
+        }
+        AdmissionProperties.RateLimit limit = properties.rateLimitFor(endpoint);
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(limit.getPermitsPerSecond(), limit.getBurst()));
+    }
+
+    private static String clientOf(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "addr:" + request.getRemoteAddr();
+    }
+
+    /**
+     * Map a request to its endpoint group, or null when it is not admission-controlled
+     */
+    static String endpointOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+
+        if (path.equals("/orders") || path.startsWith("/orders/")) {
+            return switch (method) {
+                case "GET" -> "orders-read";
+                case "POST" -> "orders-create";
+                default -> "orders-update";
+            };
+        }
+        if (path.equals("/api/customers") || path.startsWith("/api/customers/")) {
+            return "GET".equals(method) ? "customers-read" : "customers-write";
+        }
+        return null;
+    }
+
+    private void rejected(String endpoint, String reason) {
+        rejectionCounters.computeIfAbsent(endpoint + '|' + reason, key -> Counter.builder("admission.rejected")
+                        .tag("endpoint", endpoint)
+                        .tag("reason", reason)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds,
+                        String code, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error(code, message));
+    }
+}
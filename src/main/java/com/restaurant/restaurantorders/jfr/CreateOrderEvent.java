@@ -0,0 +1,41 @@
+package com.restaurant.restaurantorders.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event around OrderService.createOrder
+ * Lookup is the menu read on the shared shard, persist the write transaction on the branch's
+ * shard including the idempotency check and the commit.
+ */
+@Name("restaurant.CreateOrder")
+@Label("Create Order")
+@Category({"Restaurant Orders", "Orders"})
+@Description("Order creation with its menu lookup and persist phases")
+@StackTrace(false)
+public class CreateOrderEvent extends jdk.jfr.Event {
+
+    @Label("Order Id")
+    public long orderId;
+
+    @Label("Branch")
+    public long branchId;
+
+    @Label("Shard")
+    public int shard;
+
+    @Label("Lines")
+    public int lines;
+
+    @Label("Lookup Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long lookupTime;
+
+    @Label("Persist Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long persistTime;
+}
@@ -0,0 +1,27 @@
+package com.restaurant.restaurantorders.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event around OrderService.getTodayStats (only calls that reach the database)
+ */
+@Name("restaurant.TodayStats")
+@Label("Today Stats")
+@Category({"Restaurant Orders", "Orders"})
+@Description("Today's statistics summed over every shard")
+@StackTrace(false)
+public class TodayStatsEvent extends jdk.jfr.Event {
+
+    @Label("Shards")
+    public int shards;
+
+    @Label("Today Orders")
+    public long todayOrders;
+
+    @Label("Pending Orders")
+    public long pendingOrders;
+}
@@ -0,0 +1,30 @@
+package com.restaurant.restaurantorders.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event around OrderService.updateOrderStatus
+ */
+@Name("restaurant.UpdateOrderStatus")
+@Label("Update Order Status")
+@Category({"Restaurant Orders", "Orders"})
+@Description("Status transition of one order, including its transaction")
+@StackTrace(false)
+public class UpdateOrderStatusEvent extends jdk.jfr.Event {
+
+    @Label("Order Id")
+    public long orderId;
+
+    @Label("Shard")
+    public int shard;
+
+    @Label("From Status")
+    public String fromStatus;
+
+    @Label("To Status")
+    public String toStatus;
+}
@@ -0,0 +1,46 @@
+package com.restaurant.restaurantorders.mapper;
+
+import com.restaurant.restaurantorders.dto.request.CreateCustomerRequest;
+import com.restaurant.restaurantorders.dto.request.UpdateCustomerRequest;
+import com.restaurant.restaurantorders.dto.response.CustomerResponse;
+import com.restaurant.restaurantorders.entity.Customer;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+
+import java.util.List;
+
+/**
+ * Maps customers between the entity and the customer DTOs
+ * The implementation is generated by MapStruct at compile time as plain getter/setter calls,
+ * so mapping involves no reflection at runtime.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface CustomerMapper {
+
+    CustomerResponse toResponse(Customer customer);
+
+    List<CustomerResponse> toResponses(List<Customer> customers);
+
+    /**
+     * New, unsaved customer; id and timestamps are assigned on persist
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    Customer toEntity(CreateCustomerRequest request);
+
+    /**
+     * Apply a partial update; fields left null keep their value. The phone is left to the caller,
+     * which has to check that a new number is not in use
+     */
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "phone", ignore = true)
+    @Mapping(target = "createdAt", ignore = true)
+    @Mapping(target = "updatedAt", ignore = true)
+    void updateEntity(UpdateCustomerRequest request, @MappingTarget Customer customer);
+}
@@ -0,0 +1,40 @@
+package com.restaurant.restaurantorders.mapper;
+
+import com.restaurant.restaurantorders.dto.response.OrderResponse;
+import com.restaurant.restaurantorders.entity.ArchivedOrder;
+import com.restaurant.restaurantorders.entity.ArchivedOrderItem;
+import com.restaurant.restaurantorders.entity.Order;
+import com.restaurant.restaurantorders.entity.OrderItem;
+import org.mapstruct.Condition;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+
+import java.util.Collection;
+
+/**
+ * Maps live and archived orders to OrderResponse
+ * Generated by MapStruct at compile time like CustomerMapper. The ready time is quoted at creation
+ * and set by OrderService, never read from the order.
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface OrderMapper {
+
+    @Mapping(target = "estimatedReadyAt", ignore = true)
+    OrderResponse toResponse(Order order);
+
+    @Mapping(target = "estimatedReadyAt", ignore = true)
+    OrderResponse toResponse(ArchivedOrder order);
+
+    OrderResponse.OrderItemResponse toItemResponse(OrderItem item);
+
+    OrderResponse.OrderItemResponse toItemResponse(ArchivedOrderItem item);
+
+    /**
+     * Orders without items keep items null in the response, as before the mapper existed
+     */
+    @Condition
+    default boolean isNotEmpty(Collection<?> collection) {
+        return collection != null && !collection.isEmpty();
+    }
+}
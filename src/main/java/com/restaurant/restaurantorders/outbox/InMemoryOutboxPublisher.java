@@ -0,0 +1,31 @@
+package com.restaurant.restaurantorders.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Stand-in publisher that keeps delivered messages in memory, for tests and local runs
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.publisher", havingValue = "memory")
+public class InMemoryOutboxPublisher implements OutboxPublisher {
+
+    private final List<OutboxMessage> published = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(OutboxMessage message) {
+        published.add(message);
+    }
+
+    public List<OutboxMessage> getPublished() {
+        return new ArrayList<>(published);
+    }
+
+    public void clear() {
+        published.clear();
+    }
+}
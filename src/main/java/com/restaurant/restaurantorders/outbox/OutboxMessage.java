@@ -0,0 +1,19 @@
+package com.restaurant.restaurantorders.outbox;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * One order event handed to an OutboxPublisher
+ * id increases with commit order per aggregate and can be used by consumers to drop duplicates.
+ */
+@Value
+public class OutboxMessage {
+
+    Long id;
+    Long aggregateId;
+    String eventType;
+    String payload;
+    LocalDateTime createdAt;
+}
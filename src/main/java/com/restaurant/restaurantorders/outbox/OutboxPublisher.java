@@ -0,0 +1,14 @@
+package com.restaurant.restaurantorders.outbox;
+
+/**
+ * Delivers order events to downstream integrations (delivery partner, SMS, accounting)
+ * Called by the outbox relay only, never on the checkout path. Messages of one order arrive in id order;
+ * a message is retried until publish returns, so delivery is at-least-once.
+ */
+public interface OutboxPublisher {
+
+    /**
+     * Publish one message; an exception marks only this message for retry with backoff
+     */
+    void publish(OutboxMessage message) throws Exception;
+}
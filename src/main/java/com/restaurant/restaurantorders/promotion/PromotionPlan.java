@@ -0,0 +1,308 @@
+package com.restaurant.restaurantorders.promotion;
+
+import com.restaurant.restaurantorders.entity.Promotion;
+import com.restaurant.restaurantorders.entity.PromotionTarget;
+import com.restaurant.restaurantorders.util.Money;
+
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiled, immutable form of the active promotions, rebuilt whenever promotions or the menu change.
+ * Compilation resolves everything that does not depend on an order: category promotions are expanded to
+ * the menu items currently in the category, every menu item gets its percentage rules pre-sorted best
+ * first, and combos are indexed by each item they contain. Pricing an order then only looks up its own
+ * items, so its cost follows the order's lines and the promotions touching them, not how many promotions
+ * are active. Validity dates and daily windows (happy hour) are checked at pricing time.
+ * <p>
+ * Discounts never stack on the same unit: complete combo sets are taken first, biggest saving per set
+ * first, and the units left over get the best percentage rule active at that time.
+ */
+public final class PromotionPlan {
+
+    public static final PromotionPlan EMPTY = new PromotionPlan(Map.of(), Map.of(), 0);
+
+    private static final int MAX_BASIS_POINTS = 10_000;
+
+    private final Map<Long, PercentRule[]> percentRulesByItem;
+    private final Map<Long, ComboRule[]> combosByItem;
+    private final int promotionCount;
+
+    private PromotionPlan(Map<Long, PercentRule[]> percentRulesByItem, Map<Long, ComboRule[]> combosByItem,
+                          int promotionCount) {
+        this.percentRulesByItem = percentRulesByItem;
+        this.combosByItem = combosByItem;
+        this.promotionCount = promotionCount;
+    }
+
+    /**
+     * Compile promotions against the current menu
+     *
+     * @param categoryOfItem category id of every menu item
+     * @param now promotions that ended before this are left out
+     */
+    public static PromotionPlan compile(Collection<Promotion> promotions, Map<Long, Long> categoryOfItem,
+                                        LocalDateTime now) {
+        Map<Long, List<Long>> itemsByCategory = new HashMap<>();
+        categoryOfItem.forEach((menuItemId, categoryId) ->
+                itemsByCategory.computeIfAbsent(categoryId, id -> new ArrayList<>()).add(menuItemId));
+
+        Map<Long, List<PercentRule>> percentRules = new HashMap<>();
+        Map<Long, List<ComboRule>> combos = new HashMap<>();
+        int compiled = 0;
+
+        for (Promotion promotion : promotions) {
+            if (!Boolean.TRUE.equals(promotion.getIsActive())
+                    || (promotion.getEndsAt() != null && !promotion.getEndsAt().isAfter(now))) {
+                continue;
+            }
+            Window window = new Window(promotion.getStartsAt(), promotion.getEndsAt(),
+                    promotion.getDailyFrom(), promotion.getDailyUntil());
+
+            if (promotion.getType() == Promotion.PromotionType.PERCENT_OFF) {
+                if (promotion.getDiscountBasisPoints() == null || promotion.getDiscountBasisPoints() <= 0) {
+                    continue;
+                }
+                PercentRule rule = new PercentRule(promotion.getId(), promotion.getName(),
+                        Math.min(promotion.getDiscountBasisPoints(), MAX_BASIS_POINTS), window);
+                Set<Long> menuItemIds = new HashSet<>();
+                for (PromotionTarget target : promotion.getTargets()) {
+                    if (target.getMenuItemId() != null) {
+                        menuItemIds.add(target.getMenuItemId());
+                    }
+                    if (target.getCategoryId() != null) {
+                        menuItemIds.addAll(itemsByCategory.getOrDefault(target.getCategoryId(), List.of()));
+                    }
+                }
+                for (Long menuItemId : menuItemIds) {
+                    percentRules.computeIfAbsent(menuItemId, id -> new ArrayList<>()).add(rule);
+                }
+                compiled++;
+            } else if (promotion.getType() == Promotion.PromotionType.COMBO) {
+                Map<Long, Integer> components = new LinkedHashMap<>();
+                for (PromotionTarget target : promotion.getTargets()) {
+                    if (target.getMenuItemId() != null) {
+                        components.merge(target.getMenuItemId(), Math.max(1, target.getQuantity()), Integer::sum);
+                    }
+                }
+                if (components.isEmpty() || promotion.getComboPrice() == null) {
+                    continue;
+                }
+                long[] menuItemIds = new long[components.size()];
+                int[] quantities = new int[components.size()];
+                int i = 0;
+                for (Map.Entry<Long, Integer> component : components.entrySet()) {
+                    menuItemIds[i] = component.getKey();
+                    quantities[i] = component.getValue();
+                    i++;
+                }
+                ComboRule rule = new ComboRule(promotion.getId(), promotion.getName(), menuItemIds, quantities,
+                        Money.toMinorUnits(promotion.getComboPrice()), window);
+                for (long menuItemId : menuItemIds) {
+                    combos.computeIfAbsent(menuItemId, id -> new ArrayList<>()).add(rule);
+                }
+                compiled++;
+            }
+        }
+
+        Comparator<PercentRule> bestFirst = Comparator.comparingInt(PercentRule::basisPoints).reversed()
+                .thenComparingLong(PercentRule::promotionId);
+        Map<Long, PercentRule[]> percentIndex = new HashMap<>(percentRules.size() * 2);
+        percentRules.forEach((menuItemId, rules) -> {
+            rules.sort(bestFirst);
+            percentIndex.put(menuItemId, rules.toArray(new PercentRule[0]));
+        });
+        Map<Long, ComboRule[]> comboIndex = new HashMap<>(combos.size() * 2);
+        combos.forEach((menuItemId, rules) -> comboIndex.put(menuItemId, rules.toArray(new ComboRule[0])));
+
+        return new PromotionPlan(Map.copyOf(percentIndex), Map.copyOf(comboIndex), compiled);
+    }
+
+    /**
+     * Promotions compiled into this plan
+     */
+    public int getPromotionCount() {
+        return promotionCount;
+    }
+
+    /**
+     * Discount for an order's lines priced at the given time
+     */
+    public Discount apply(List<Line> lines, LocalDateTime at) {
+        if (lines.isEmpty() || (percentRulesByItem.isEmpty() && combosByItem.isEmpty())) {
+            return Discount.NONE;
+        }
+
+        // Lines of the same item are pooled: a combo may take units from any of them
+        Map<Long, Integer> positions = new HashMap<>(lines.size() * 2);
+        long[] menuItemIds = new long[lines.size()];
+        long[] unitPrices = new long[lines.size()];
+        int[] remaining = new int[lines.size()];
+        int items = 0;
+        for (Line line : lines) {
+            Integer position = positions.putIfAbsent(line.menuItemId(), items);
+            if (position == null) {
+                position = items++;
+                menuItemIds[position] = line.menuItemId();
+                unitPrices[position] = line.unitPrice();
+            }
+            remaining[position] += line.quantity();
+        }
+
+        Map<Long, AppliedPromotion> applied = new LinkedHashMap<>();
+        long total = 0;
+
+        List<PricedCombo> candidates = comboCandidates(menuItemIds, unitPrices, items, positions, at);
+        for (PricedCombo candidate : candidates) {
+            ComboRule combo = candidate.rule;
+            int sets = Integer.MAX_VALUE;
+            for (int c = 0; c < combo.menuItemIds.length; c++) {
+                sets = Math.min(sets, remaining[positions.get(combo.menuItemIds[c])] / combo.quantities[c]);
+            }
+            if (sets == 0) {
+                continue;
+            }
+            for (int c = 0; c < combo.menuItemIds.length; c++) {
+                remaining[positions.get(combo.menuItemIds[c])] -= sets * combo.quantities[c];
+            }
+            long amount = Money.multiply(candidate.savingPerSet, sets);
+            total = Money.add(total, amount);
+            addApplied(applied, combo.promotionId, combo.name, amount);
+        }
+
+        for (int i = 0; i < items; i++) {
+            PercentRule[] rules = remaining[i] > 0 ? percentRulesByItem.get(menuItemIds[i]) : null;
+            if (rules == null) {
+                continue;
+            }
+            for (PercentRule rule : rules) {
+                if (rule.window.contains(at)) {
+                    long amount = Money.percentage(Money.multiply(unitPrices[i], remaining[i]), rule.basisPoints,
+                            RoundingMode.HALF_UP);
+                    total = Money.add(total, amount);
+                    addApplied(applied, rule.promotionId, rule.name, amount);
+                    break;
+                }
+            }
+        }
+
+        return total == 0 ? Discount.NONE : new Discount(total, List.copyOf(applied.values()));
+    }
+
+    /**
+     * Combos touching the order that are active, fully present and cheaper than their items, biggest saving first
+     */
+    private List<PricedCombo> comboCandidates(long[] menuItemIds, long[] unitPrices, int items,
+                                              Map<Long, Integer> positions, LocalDateTime at) {
+        Set<ComboRule> touched = null;
+        for (int i = 0; i < items; i++) {
+            ComboRule[] rules = combosByItem.get(menuItemIds[i]);
+            if (rules != null) {
+                if (touched == null) {
+                    touched = new LinkedHashSet<>();
+                }
+                for (ComboRule rule : rules) {
+                    touched.add(rule);
+                }
+            }
+        }
+        if (touched == null) {
+            return List.of();
+        }
+
+        List<PricedCombo> candidates = new ArrayList<>(touched.size());
+        for (ComboRule rule : touched) {
+            if (!rule.window.contains(at)) {
+                continue;
+            }
+            long regularPrice = 0;
+            boolean complete = true;
+            for (int c = 0; c < rule.menuItemIds.length && complete; c++) {
+                Integer position = positions.get(rule.menuItemIds[c]);
+                if (position == null) {
+                    complete = false;
+                } else {
+                    regularPrice = Money.add(regularPrice, Money.multiply(unitPrices[position], rule.quantities[c]));
+                }
+            }
+            if (complete && regularPrice > rule.comboPrice) {
+                candidates.add(new PricedCombo(rule, regularPrice - rule.comboPrice));
+            }
+        }
+        candidates.sort(Comparator.comparingLong(PricedCombo::savingPerSet).reversed());
+        return candidates;
+    }
+
+    private static void addApplied(Map<Long, AppliedPromotion> applied, long promotionId, String name, long amount) {
+        applied.merge(promotionId, new AppliedPromotion(promotionId, name, amount),
+                (existing, added) -> new AppliedPromotion(promotionId, name, Money.add(existing.amount(), added.amount())));
+    }
+
+    /**
+     * One order line as priced: unit price in minor units
+     */
+    public record Line(long menuItemId, int quantity, long unitPrice) {
+    }
+
+    /**
+     * Total discount of an order in minor units and the promotions it came from
+     */
+    public record Discount(long amount, List<AppliedPromotion> applied) {
+
+        public static final Discount NONE = new Discount(0, List.of());
+    }
+
+    public record AppliedPromotion(long promotionId, String name, long amount) {
+    }
+
+    private record PercentRule(long promotionId, String name, int basisPoints, Window window) {
+    }
+
+    private record ComboRule(long promotionId, String name, long[] menuItemIds, int[] quantities, long comboPrice,
+                             Window window) {
+
+        // Identity semantics: each rule is one compiled promotion, deduplicated when several of its items are ordered
+        @Override
+        public boolean equals(Object other) {
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+
+    private record PricedCombo(ComboRule rule, long savingPerSet) {
+    }
+
+    /**
+     * Validity period and optional daily window; a window whose end is before its start runs past midnight
+     */
+    private record Window(LocalDateTime startsAt, LocalDateTime endsAt, LocalTime dailyFrom, LocalTime dailyUntil) {
+
+        boolean contains(LocalDateTime at) {
+            if ((startsAt != null && at.isBefore(startsAt)) || (endsAt != null && !at.isBefore(endsAt))) {
+                return false;
+            }
+            if (dailyFrom == null || dailyUntil == null) {
+                return true;
+            }
+            LocalTime time = at.toLocalTime();
+            return dailyFrom.isBefore(dailyUntil)
+                    ? !time.isBefore(dailyFrom) && time.isBefore(dailyUntil)
+                    : !time.isBefore(dailyFrom) || time.isBefore(dailyUntil);
+        }
+    }
+}
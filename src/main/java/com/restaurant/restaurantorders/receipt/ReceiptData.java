@@ -0,0 +1,58 @@
+package com.restaurant.restaurantorders.receipt;
+
+import com.restaurant.restaurantorders.entity.ArchivedOrder;
+import com.restaurant.restaurantorders.entity.ArchivedOrderItem;
+import com.restaurant.restaurantorders.entity.Order;
+import com.restaurant.restaurantorders.entity.OrderItem;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Everything printed on a receipt, copied out of the order so rendering never touches an entity.
+ * version is the order's last update time in epoch milliseconds; a newer version replaces an older receipt.
+ */
+public record ReceiptData(long orderId, long version, Long branchId, String customerName, String customerPhone,
+                          Order.OrderStatus status, LocalDateTime createdAt, LocalDateTime scheduledFor,
+                          List<Line> lines, BigDecimal discountAmount, BigDecimal totalAmount) {
+
+    public static ReceiptData of(Order order) {
+        return new ReceiptData(order.getId(), versionOf(order.getUpdatedAt(), order.getCreatedAt()),
+                order.getBranchId(), order.getCustomerName(), order.getCustomerPhone(), order.getStatus(),
+                order.getCreatedAt(), order.getScheduledFor(),
+                order.getItems().stream().map(ReceiptData::lineOf).toList(),
+                order.getDiscountAmount(), order.getTotalAmount());
+    }
+
+    public static ReceiptData of(ArchivedOrder order) {
+        return new ReceiptData(order.getId(), versionOf(order.getUpdatedAt(), order.getCreatedAt()),
+                order.getBranchId(), order.getCustomerName(), order.getCustomerPhone(), order.getStatus(),
+                order.getCreatedAt(), order.getScheduledFor(),
+                order.getItems().stream().map(ReceiptData::lineOf).toList(),
+                order.getDiscountAmount(), order.getTotalAmount());
+    }
+
+    private static Line lineOf(OrderItem item) {
+        Long menuItemId = item.getMenuItem() != null ? item.getMenuItem().getId() : null;
+        return new Line(menuItemId, item.getMenuItemName(), item.getQuantity(), item.getPriceAtTime(), item.getSubtotal());
+    }
+
+    private static Line lineOf(ArchivedOrderItem item) {
+        return new Line(item.getMenuItemId(), item.getMenuItemName(), item.getQuantity(), item.getPriceAtTime(),
+                item.getSubtotal());
+    }
+
+    private static long versionOf(LocalDateTime updatedAt, LocalDateTime createdAt) {
+        LocalDateTime changedAt = updatedAt != null ? updatedAt : createdAt;
+        return changedAt != null ? changedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() : 0;
+    }
+
+    /**
+     * One printed order line, with the name and price stored on the order at the time
+     */
+    public record Line(Long menuItemId, String menuItemName, int quantity, BigDecimal priceAtTime,
+                       BigDecimal subtotal) {
+    }
+}
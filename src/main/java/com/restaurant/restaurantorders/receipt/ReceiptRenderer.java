@@ -0,0 +1,109 @@
+package com.restaurant.restaurantorders.receipt;
+
+import com.restaurant.restaurantorders.entity.Order;
+import com.restaurant.restaurantorders.util.Money;
+import org.springframework.web.util.HtmlUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Renders a receipt as a self-contained, printable HTML page in English and Arabic.
+ * Labels are printed in both languages; item names use the name stored on the order with the
+ * Arabic menu name under it when one is known. The layout fits 80 mm receipt printers.
+ */
+public final class ReceiptRenderer {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static final String STYLE = "body{font-family:sans-serif;font-size:12px;width:72mm;margin:0 auto}" +
+            "h1{font-size:16px;text-align:center;margin:4px 0}table{width:100%;border-collapse:collapse}" +
+            "td,th{padding:2px 0;vertical-align:top}.num{text-align:right;white-space:nowrap}" +
+            ".ar{direction:rtl;unicode-bidi:embed;color:#444}.total td{border-top:1px solid #000;font-weight:bold}" +
+            ".void{border:2px solid #000;text-align:center;font-weight:bold;margin:6px 0}" +
+            "@media print{@page{size:80mm auto;margin:0}}";
+
+    private ReceiptRenderer() {
+    }
+
+    /**
+     * @param arabicNames Arabic menu names by menu item id; lines without one print the stored name only
+     */
+    public static byte[] render(ReceiptData receipt, Map<Long, String> arabicNames) {
+        StringBuilder html = new StringBuilder(2048 + receipt.lines().size() * 256);
+        html.append("<!DOCTYPE html><html lang=\"en\"><head><meta charset=\"UTF-8\"><title>Receipt #")
+                .append(receipt.orderId()).append("</title><style>").append(STYLE).append("</style></head><body>");
+
+        html.append("<h1>Receipt <span class=\"ar\">إيصال</span></h1>");
+        if (receipt.status() == Order.OrderStatus.CANCELLED) {
+            html.append("<div class=\"void\">CANCELLED <span class=\"ar\">ملغي</span></div>");
+        }
+
+        html.append("<table>");
+        row(html, "Order", "رقم الطلب", String.valueOf(receipt.orderId()));
+        if (receipt.branchId() != null) {
+            row(html, "Branch", "الفرع", String.valueOf(receipt.branchId()));
+        }
+        if (receipt.createdAt() != null) {
+            row(html, "Date", "التاريخ", DATE_TIME.format(receipt.createdAt()));
+        }
+        if (receipt.scheduledFor() != null) {
+            row(html, "Ready at", "موعد الاستلام", DATE_TIME.format(receipt.scheduledFor()));
+        }
+        row(html, "Customer", "العميل", receipt.customerName());
+        row(html, "Phone", "الهاتف", receipt.customerPhone());
+        html.append("</table><hr>");
+
+        html.append("<table><tr><th align=\"left\">Item <span class=\"ar\">الصنف</span></th>")
+                .append("<th class=\"num\">Qty <span class=\"ar\">الكمية</span></th>")
+                .append("<th class=\"num\">Price <span class=\"ar\">السعر</span></th>")
+                .append("<th class=\"num\">Total <span class=\"ar\">المجموع</span></th></tr>");
+        long itemsTotal = 0;
+        for (ReceiptData.Line line : receipt.lines()) {
+            html.append("<tr><td>").append(escape(line.menuItemName()));
+            String arabicName = line.menuItemId() != null ? arabicNames.get(line.menuItemId()) : null;
+            if (arabicName != null && !arabicName.isBlank()) {
+                html.append("<br><span class=\"ar\">").append(escape(arabicName)).append("</span>");
+            }
+            html.append("</td><td class=\"num\">").append(line.quantity())
+                    .append("</td><td class=\"num\">").append(amount(line.priceAtTime()))
+                    .append("</td><td class=\"num\">").append(amount(line.subtotal())).append("</td></tr>");
+            if (line.subtotal() != null) {
+                itemsTotal = Money.add(itemsTotal, Money.toMinorUnits(line.subtotal()));
+            }
+        }
+        html.append("</table><hr><table>");
+
+        BigDecimal discount = receipt.discountAmount();
+        if (discount != null && discount.signum() != 0) {
+            totalRow(html, "Subtotal", "المجموع الفرعي", amount(Money.toBigDecimal(itemsTotal)), false);
+            totalRow(html, "Discount", "الخصم", "-" + amount(discount), false);
+        }
+        totalRow(html, "Total", "الإجمالي", amount(receipt.totalAmount()), true);
+        html.append("</table><p style=\"text-align:center\">Thank you <span class=\"ar\">شكراً لكم</span></p>")
+                .append("</body></html>");
+        return html.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void row(StringBuilder html, String label, String labelAr, String value) {
+        html.append("<tr><td>").append(label).append(" <span class=\"ar\">").append(labelAr)
+                .append("</span></td><td class=\"num\">").append(escape(value)).append("</td></tr>");
+    }
+
+    private static void totalRow(StringBuilder html, String label, String labelAr, String value, boolean total) {
+        html.append(total ? "<tr class=\"total\">" : "<tr>").append("<td>").append(label)
+                .append(" <span class=\"ar\">").append(labelAr).append("</span></td><td class=\"num\">")
+                .append(value).append("</td></tr>");
+    }
+
+    private static String amount(BigDecimal value) {
+        return value != null ? value.setScale(Money.SCALE, RoundingMode.HALF_UP).toPlainString() : "";
+    }
+
+    private static String escape(String value) {
+        return value != null ? HtmlUtils.htmlEscape(value, StandardCharsets.UTF_8.name()) : "";
+    }
+}
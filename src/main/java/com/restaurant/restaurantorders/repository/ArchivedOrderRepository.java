@@ -0,0 +1,49 @@
+package com.restaurant.restaurantorders.repository;
+
+import com.restaurant.restaurantorders.entity.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for ArchivedOrder entity
+ * Provides read access to archived orders and the set-based copy used by the archiver
+ */
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    /**
+     * Find archived order with items (fetch join to avoid N+1 queries)
+     */
+    @Query("SELECT o FROM ArchivedOrder o LEFT JOIN FETCH o.items WHERE o.id = :orderId")
+    ArchivedOrder findByIdWithItems(Long orderId);
+
+    /**
+     * Copy the given orders into the archive table
+     */
+    @Modifying
+    @Query(value = "INSERT INTO orders_archive (id, branch_id, customer_id, customer_name, customer_phone, customer_email, " +
+            "customer_address, total_amount, discount_amount, status, notes, scheduled_for, client_order_id, created_at, " +
+            "updated_at, archived_at) " +
+            "SELECT id, branch_id, customer_id, customer_name, customer_phone, customer_email, customer_address, " +
+            "total_amount, discount_amount, status, notes, scheduled_for, client_order_id, created_at, updated_at, " +
+            ":archivedAt " +
+            "FROM orders WHERE id IN (:orderIds)",
+            nativeQuery = true)
+    int copyOrders(List<Long> orderIds, LocalDateTime archivedAt);
+
+    /**
+     * Copy the items of the given orders into the archive table
+     */
+    @Modifying
+    @Query(value = "INSERT INTO order_items_archive (id, order_id, menu_item_id, menu_item_name, quantity, " +
+            "price_at_time, subtotal, created_at) " +
+            "SELECT id, order_id, menu_item_id, menu_item_name, quantity, price_at_time, subtotal, created_at " +
+            "FROM order_items WHERE order_id IN (:orderIds)",
+            nativeQuery = true)
+    int copyOrderItems(List<Long> orderIds);
+}
@@ -1,20 +1,47 @@
-package com.restaurant.restaurantorders.repository;
-
-import com.restaurant.restaurantorders.entity.Customer;
-import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.stereotype.Repository;
-
-import java.util.Optional;
-import java.util.UUID;
-
-@Repository
-public interface CustomerRepository extends JpaRepository<Customer, UUID> {
-
-    Optional<Customer> findByPhone(String phone);
-
-    Optional<Customer> findByEmail(String email);
-
-    boolean existsByPhone(String phone);
-
-    boolean existsByEmail(String email);
-}
+package com.restaurant.restaurantorders.repository;
+
+import com.restaurant.restaurantorders.dto.response.CustomerSummaryResponse;
+import com.restaurant.restaurantorders.entity.Customer;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface CustomerRepository extends JpaRepository<Customer, UUID>, CustomerRepositoryCustom {
+
+    Optional<Customer> findByPhone(String phone);
+
+    Optional<Customer> findByEmail(String email);
+
+    boolean existsByPhone(String phone);
+
+    boolean existsByEmail(String email);
+
+    /**
+     * First keyset page of customer summaries, ordered by (createdAt, id)
+     */
+    @Query("SELECT new com.restaurant.restaurantorders.dto.response.CustomerSummaryResponse(" +
+            "c.id, c.name, c.phone, c.email, c.createdAt) FROM Customer c " +
+            "WHERE c.createdAt >= :since AND c.name LIKE :namePattern ESCAPE '!' " +
+            "ORDER BY c.createdAt, c.id")
+    List<CustomerSummaryResponse> findSummaries(LocalDateTime since, String namePattern, Pageable pageable);
+
+    /**
+     * Next keyset page of customer summaries, strictly after the (createdAt, id) cursor
+     */
+    @Query("SELECT new com.restaurant.restaurantorders.dto.response.CustomerSummaryResponse(" +
+            "c.id, c.name, c.phone, c.email, c.createdAt) FROM Customer c " +
+            "WHERE c.createdAt >= :since AND c.name LIKE :namePattern ESCAPE '!' " +
+            "AND (c.createdAt > :afterCreatedAt OR (c.createdAt = :afterCreatedAt AND c.id > :afterId)) " +
+            "ORDER BY c.createdAt, c.id")
+    List<CustomerSummaryResponse> findSummariesAfter(LocalDateTime since, String namePattern,
+                                                     LocalDateTime afterCreatedAt, UUID afterId,
+                                                     Pageable pageable);
+
+}
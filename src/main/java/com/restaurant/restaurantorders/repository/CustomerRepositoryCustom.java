@@ -0,0 +1,18 @@
+package com.restaurant.restaurantorders.repository;
+
+import com.restaurant.restaurantorders.dto.response.CustomerSummaryResponse;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Customer queries that need per-statement JDBC settings
+ */
+public interface CustomerRepositoryCustom {
+
+    /**
+     * Stream all matching customer summaries, ordered by (createdAt, id), without reading the whole
+     * result first. The stream holds its connection until it is closed.
+     */
+    Stream<CustomerSummaryResponse> streamSummaries(LocalDateTime since, String namePattern);
+}
@@ -0,0 +1,45 @@
+package com.restaurant.restaurantorders.repository;
+
+import com.restaurant.restaurantorders.dto.response.CustomerSummaryResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of CustomerRepositoryCustom
+ * Connector/J reads a whole result set into memory unless the statement's fetch size is
+ * Integer.MIN_VALUE, which makes it stream row by row; other drivers reject a negative fetch size
+ * and honour an ordinary one. Only this statement streams, so the rest of the application keeps
+ * client-side prepared statements and buffered results.
+ */
+public class CustomerRepositoryCustomImpl implements CustomerRepositoryCustom {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<CustomerSummaryResponse> streamSummaries(LocalDateTime since, String namePattern) {
+        return entityManager.createQuery("SELECT new com.restaurant.restaurantorders.dto.response.CustomerSummaryResponse(" +
+                        "c.id, c.name, c.phone, c.email, c.createdAt) FROM Customer c " +
+                        "WHERE c.createdAt >= :since AND c.name LIKE :namePattern ESCAPE '!' " +
+                        "ORDER BY c.createdAt, c.id", CustomerSummaryResponse.class)
+                .setParameter("since", since)
+                .setParameter("namePattern", namePattern)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, streamingFetchSize())
+                .getResultStream();
+    }
+
+    private int streamingFetchSize() {
+        boolean mysql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect;
+        return mysql ? MYSQL_STREAMING_FETCH_SIZE : FETCH_SIZE;
+    }
+}
@@ -2,9 +2,13 @@ package com.restaurant.restaurantorders.repository;
 
 import com.restaurant.restaurantorders.entity.MenuItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -40,4 +44,64 @@ public interface MenuItemRepository extends JpaRepository<MenuItem, Long> {
      */
     @Query("SELECT m FROM MenuItem m JOIN FETCH m.category c WHERE m.isAvailable = true AND c.isActive = true ORDER BY c.displayOrder, m.displayOrder")
     List<MenuItem> findAllAvailableWithCategory();
+
+    /**
+     * Get (id, prepStation, prepSeconds) of every menu item for the kitchen capacity model
+     */
+    @Query("SELECT m.id, m.prepStation, m.prepSeconds FROM MenuItem m")
+    List<Object[]> findPrepWeights();
+
+    /**
+     * Get (id, prepStation, prepSeconds) of the given menu items
+     */
+    @Query("SELECT m.id, m.prepStation, m.prepSeconds FROM MenuItem m WHERE m.id IN :ids")
+    List<Object[]> findPrepWeightsByIds(Collection<Long> ids);
+
+    /**
+     * Get (id, categoryId) of every menu item, for expanding category promotions to items
+     */
+    @Query("SELECT m.id, m.category.id FROM MenuItem m")
+    List<Object[]> findCategoryIds();
+
+    /**
+     * Find which of the given menu item ids exist
+     */
+    @Query("SELECT m.id FROM MenuItem m WHERE m.id IN :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    /**
+     * Current menu version
+     */
+    @Query(value = "SELECT version FROM menu_version WHERE id = 1", nativeQuery = true)
+    Long findMenuVersion();
+
+    /**
+     * Bump the menu version; the row stays locked until the transaction ends
+     */
+    @Modifying
+    @Query(value = "UPDATE menu_version SET version = version + 1 WHERE id = 1", nativeQuery = true)
+    int incrementMenuVersion();
+
+    /**
+     * Record the menu items changed under a version (comma-separated ids)
+     */
+    @Modifying
+    @Query(value = "INSERT INTO menu_changes (version, menu_item_ids, changed_at) VALUES (:version, :menuItemIds, :changedAt)",
+            nativeQuery = true)
+    int insertMenuChange(long version, String menuItemIds, LocalDateTime changedAt);
+
+    /**
+     * Find (version, menuItemIds) of the changes recorded after a version, oldest first
+     */
+    @Query(value = "SELECT version, menu_item_ids FROM menu_changes WHERE version > :version ORDER BY version",
+            nativeQuery = true)
+    List<Object[]> findMenuChangesSince(long version);
+
+    /**
+     * Delete menu changes recorded before the cutoff; instances that missed them reload the whole menu
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM menu_changes WHERE changed_at < :cutoff", nativeQuery = true)
+    int deleteMenuChangesBefore(LocalDateTime cutoff);
 }
@@ -4,18 +4,21 @@ import com.restaurant.restaurantorders.entity.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Order entity
  * Provides database access methods for orders
  */
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
 
     /**
      * Find orders by status
@@ -49,4 +52,58 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
      */
     @Query("SELECT o FROM Order o LEFT JOIN FETCH o.items WHERE o.id = :orderId")
     Order findByIdWithItems(Long orderId);
+
+    /**
+     * Find orders in any of the given statuses with their items
+     */
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.status IN :statuses")
+    List<Order> findByStatusInWithItems(Collection<Order.OrderStatus> statuses);
+
+    /**
+     * Find order by the id the POS assigned to it
+     */
+    Optional<Order> findByClientOrderId(String clientOrderId);
+
+    /**
+     * Find (clientOrderId, id) pairs of orders already ingested under the given client ids
+     */
+    @Query("SELECT o.clientOrderId, o.id FROM Order o WHERE o.clientOrderId IN :clientOrderIds")
+    List<Object[]> findIdsByClientOrderIds(Collection<String> clientOrderIds);
+
+    /**
+     * Find (id, scheduledFor) pairs of orders waiting for release (served by the status index)
+     */
+    @Query("SELECT o.id, o.scheduledFor FROM Order o WHERE o.status = 'SCHEDULED'")
+    List<Object[]> findScheduledOrders();
+
+    /**
+     * Move a scheduled order to PENDING unless something else changed its status first
+     */
+    @Modifying
+    @Query(value = "UPDATE orders SET status = 'PENDING', updated_at = :releasedAt WHERE id = :orderId AND status = 'SCHEDULED'",
+            nativeQuery = true)
+    int releaseScheduled(Long orderId, LocalDateTime releasedAt);
+
+    /**
+     * Find ids of terminal orders older than the cutoff, locking them for archival.
+     * SKIP LOCKED lets several nodes archive concurrently without waiting on each other.
+     */
+    @Query(value = "SELECT id FROM orders WHERE status IN ('DELIVERED', 'CANCELLED') AND created_at < :cutoff " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Long> findArchivableOrderIds(LocalDateTime cutoff, int limit);
+
+    /**
+     * Delete the items of the given orders (used after they were copied to the archive)
+     */
+    @Modifying
+    @Query(value = "DELETE FROM order_items WHERE order_id IN (:orderIds)", nativeQuery = true)
+    int deleteItemsByOrderIds(List<Long> orderIds);
+
+    /**
+     * Delete the given orders (used after they were copied to the archive)
+     */
+    @Modifying
+    @Query(value = "DELETE FROM orders WHERE id IN (:orderIds)", nativeQuery = true)
+    int deleteByOrderIds(List<Long> orderIds);
 }
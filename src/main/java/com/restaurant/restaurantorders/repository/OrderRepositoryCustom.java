@@ -0,0 +1,40 @@
+package com.restaurant.restaurantorders.repository;
+
+import com.restaurant.restaurantorders.dto.request.OrderField;
+import com.restaurant.restaurantorders.entity.Order;
+import jakarta.persistence.Tuple;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Projection queries for sparse order reads, and inserts of orders with pre-assigned ids
+ * Only the columns of the requested fields are selected; items are never joined here.
+ */
+public interface OrderRepositoryCustom {
+
+    /**
+     * Insert a new order whose id was assigned up front (save() would merge it and select it first)
+     */
+    Order insert(Order order);
+
+    /**
+     * Page of orders (optionally of one status) with only the given fields, keyed by field name.
+     * Sort properties are selected as well, so pages from several shards can be merged.
+     */
+    Page<Tuple> findProjected(Set<OrderField> fields, Order.OrderStatus status, Pageable pageable);
+
+    /**
+     * One order with only the given fields, keyed by field name
+     */
+    Optional<Tuple> findProjectedById(Long orderId, Set<OrderField> fields);
+
+    /**
+     * Items of the given orders as (orderId, id, menuItemName, quantity, priceAtTime, subtotal)
+     */
+    List<Tuple> findItemTuples(Collection<Long> orderIds);
+}
@@ -0,0 +1,115 @@
+package com.restaurant.restaurantorders.repository;
+
+import com.restaurant.restaurantorders.dto.request.OrderField;
+import com.restaurant.restaurantorders.entity.Order;
+import com.restaurant.restaurantorders.entity.OrderItem;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Criteria-based implementation of OrderRepositoryCustom
+ */
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Order insert(Order order) {
+        entityManager.persist(order);
+        return order;
+    }
+
+    @Override
+    public Page<Tuple> findProjected(Set<OrderField> fields, Order.OrderStatus status, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Order> order = query.from(Order.class);
+        List<Selection<?>> selections = selections(order, fields);
+        Set<String> selected = new HashSet<>();
+        fields.forEach(field -> selected.add(field.getFieldName()));
+        for (Sort.Order sortOrder : pageable.getSort()) {
+            if (selected.add(sortOrder.getProperty())) {
+                selections.add(order.get(sortOrder.getProperty()).alias(sortOrder.getProperty()));
+            }
+        }
+        query.multiselect(selections);
+        if (status != null) {
+            query.where(cb.equal(order.get("status"), status));
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), order, cb));
+
+        List<Tuple> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(status));
+    }
+
+    @Override
+    public Optional<Tuple> findProjectedById(Long orderId, Set<OrderField> fields) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Order> order = query.from(Order.class);
+        query.multiselect(selections(order, fields)).where(cb.equal(order.get("id"), orderId));
+        return entityManager.createQuery(query).getResultStream().findFirst();
+    }
+
+    @Override
+    public List<Tuple> findItemTuples(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<OrderItem> item = query.from(OrderItem.class);
+        query.multiselect(
+                        item.get("order").get("id").alias("orderId"),
+                        item.get("id").alias("id"),
+                        item.get("menuItemName").alias("menuItemName"),
+                        item.get("quantity").alias("quantity"),
+                        item.get("priceAtTime").alias("priceAtTime"),
+                        item.get("subtotal").alias("subtotal"))
+                .where(item.get("order").get("id").in(orderIds))
+                .orderBy(cb.asc(item.get("order").get("id")), cb.asc(item.get("id")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private List<Selection<?>> selections(Root<Order> order, Set<OrderField> fields) {
+        List<Selection<?>> selections = new ArrayList<>();
+        for (OrderField field : fields) {
+            if (field != OrderField.ITEMS) {
+                selections.add(order.get(field.getFieldName()).alias(field.getFieldName()));
+            }
+        }
+        return selections;
+    }
+
+    private long count(Order.OrderStatus status) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Order> order = query.from(Order.class);
+        query.select(cb.count(order));
+        if (status != null) {
+            query.where(cb.equal(order.get("status"), status));
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,29 @@
+package com.restaurant.restaurantorders.repository;
+
+import com.restaurant.restaurantorders.entity.OrderStatusEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for OrderStatusEvent entity
+ * Read side of the status history; rows are written with JDBC batches
+ */
+@Repository
+public interface OrderStatusEventRepository extends JpaRepository<OrderStatusEvent, Long> {
+
+    /**
+     * Timeline of one order, oldest transition first
+     */
+    List<OrderStatusEvent> findByOrderIdOrderByIdAsc(Long orderId);
+
+    /**
+     * Transitions since the given time, grouped by order and in the order they happened
+     */
+    @Query(value = "SELECT * FROM order_status_events WHERE changed_at >= :since ORDER BY order_id, id",
+            nativeQuery = true)
+    List<OrderStatusEvent> findChangedSince(LocalDateTime since);
+}
@@ -0,0 +1,72 @@
+package com.restaurant.restaurantorders.repository;
+
+import com.restaurant.restaurantorders.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for OutboxEvent entity
+ * Provides the relay's non-locking scan, its short status updates and its lease
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Oldest pending events that are due, skipping any order with an earlier event still backing off
+     * (plain read, no locks on the rows checkout inserts)
+     */
+    @Query(value = "SELECT * FROM outbox_events e WHERE e.status = 'PENDING' AND e.next_attempt_at <= :now " +
+            "AND NOT EXISTS (SELECT 1 FROM outbox_events b WHERE b.aggregate_id = e.aggregate_id " +
+            "AND b.status = 'PENDING' AND b.id < e.id AND b.next_attempt_at > :now) " +
+            "ORDER BY e.id LIMIT :limit", nativeQuery = true)
+    List<OutboxEvent> findDue(LocalDateTime now, int limit);
+
+    /**
+     * Mark the given events as delivered
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = 'PUBLISHED', e.publishedAt = :publishedAt WHERE e.id IN :ids")
+    int markPublished(List<Long> ids, LocalDateTime publishedAt);
+
+    /**
+     * Record a failed delivery attempt and when to try again
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.nextAttemptAt = :nextAttemptAt, " +
+            "e.lastError = :error WHERE e.id = :id")
+    int markFailed(Long id, LocalDateTime nextAttemptAt, String error);
+
+    /**
+     * Record the last failed attempt and stop retrying; the row stays for inspection and manual replay
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = 'FAILED', e.attempts = e.attempts + 1, e.lastError = :error " +
+            "WHERE e.id = :id")
+    int park(Long id, String error);
+
+    /**
+     * Take or renew the relay lease; returns 1 when the caller holds it until expiresAt
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE outbox_relay_lease SET owner = :owner, expires_at = :expiresAt " +
+            "WHERE name = 'relay' AND (owner = :owner OR expires_at < :now)", nativeQuery = true)
+    int acquireRelayLease(String owner, LocalDateTime now, LocalDateTime expiresAt);
+
+    /**
+     * Delete delivered events older than the cutoff
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM outbox_events WHERE published_at < :cutoff LIMIT :limit", nativeQuery = true)
+    int deletePublishedBefore(LocalDateTime cutoff, int limit);
+}
@@ -0,0 +1,33 @@
+package com.restaurant.restaurantorders.repository;
+
+import com.restaurant.restaurantorders.entity.Promotion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository interface for Promotion entity
+ */
+@Repository
+public interface PromotionRepository extends JpaRepository<Promotion, Long> {
+
+    /**
+     * Find active promotions with their targets, for compiling the promotion plan
+     */
+    @Query("SELECT DISTINCT p FROM Promotion p LEFT JOIN FETCH p.targets WHERE p.isActive = true")
+    List<Promotion> findAllActiveWithTargets();
+
+    /**
+     * Find all promotions with their targets, newest first
+     */
+    @Query("SELECT DISTINCT p FROM Promotion p LEFT JOIN FETCH p.targets ORDER BY p.id DESC")
+    List<Promotion> findAllWithTargets();
+
+    /**
+     * Find one promotion with its targets
+     */
+    @Query("SELECT p FROM Promotion p LEFT JOIN FETCH p.targets WHERE p.id = :promotionId")
+    Promotion findByIdWithTargets(Long promotionId);
+}
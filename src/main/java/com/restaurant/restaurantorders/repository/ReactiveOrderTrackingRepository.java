@@ -0,0 +1,116 @@
+package com.restaurant.restaurantorders.repository;
+
+import com.restaurant.restaurantorders.dto.response.OrderResponse;
+import com.restaurant.restaurantorders.shard.OrderIdGenerator;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Non-blocking order reads for the tracking endpoints
+ * Mirrors OrderRepository.findByIdWithItems (with the same fallback to the archive tables
+ * as OrderService) and adds a status-only projection for polling clients. Reads go to the
+ * shard encoded in the order id; there is one client per shard, in shard order.
+ */
+public class ReactiveOrderTrackingRepository {
+
+    private static final String ORDER_WITH_ITEMS = "SELECT o.id, o.branch_id, o.customer_name, o.customer_phone, o.customer_email, " +
+            "o.customer_address, o.total_amount, o.discount_amount, o.status, o.notes, o.scheduled_for, o.created_at, " +
+            "i.id AS item_id, i.menu_item_name, i.quantity, i.price_at_time, i.subtotal FROM %s o LEFT JOIN %s i " +
+            "ON i.order_id = o.id WHERE o.id = :orderId ORDER BY i.id";
+
+    private static final String STATUS = "SELECT status FROM %s WHERE id = :orderId";
+
+    private final List<DatabaseClient> shards;
+
+    public ReactiveOrderTrackingRepository(List<DatabaseClient> shards) {
+        this.shards = List.copyOf(shards);
+    }
+
+    /**
+     * Find order with items, in the live tables first and then in the archive
+     */
+    public Mono<OrderResponse> findByIdWithItems(Long orderId) {
+        DatabaseClient databaseClient = shardOf(orderId);
+        if (databaseClient == null) {
+            return Mono.empty();
+        }
+        return findByIdWithItems(databaseClient, orderId, "orders", "order_items")
+                .switchIfEmpty(Mono.defer(() ->
+                        findByIdWithItems(databaseClient, orderId, "orders_archive", "order_items_archive")));
+    }
+
+    /**
+     * Find only the status of an order
+     */
+    public Mono<String> findStatusById(Long orderId) {
+        DatabaseClient databaseClient = shardOf(orderId);
+        if (databaseClient == null) {
+            return Mono.empty();
+        }
+        return findStatusById(databaseClient, orderId, "orders")
+                .switchIfEmpty(Mono.defer(() -> findStatusById(databaseClient, orderId, "orders_archive")));
+    }
+
+    private DatabaseClient shardOf(Long orderId) {
+        int shard = OrderIdGenerator.shardOf(orderId);
+        return shard < shards.size() ? shards.get(shard) : null;
+    }
+
+    private static Mono<OrderResponse> findByIdWithItems(DatabaseClient databaseClient, Long orderId,
+                                                         String orders, String orderItems) {
+        return databaseClient.sql(String.format(ORDER_WITH_ITEMS, orders, orderItems))
+                .bind("orderId", orderId)
+                .map(row -> row)
+                .all()
+                .collectList()
+                .flatMap(rows -> rows.isEmpty() ? Mono.empty() : Mono.just(toOrderResponse(rows)));
+    }
+
+    private static Mono<String> findStatusById(DatabaseClient databaseClient, Long orderId, String orders) {
+        return databaseClient.sql(String.format(STATUS, orders))
+                .bind("orderId", orderId)
+                .map(row -> row.get("status", String.class))
+                .one();
+    }
+
+    private static OrderResponse toOrderResponse(List<? extends Readable> rows) {
+        Readable first = rows.get(0);
+        OrderResponse response = new OrderResponse();
+        response.setId(first.get("id", Long.class));
+        response.setBranchId(first.get("branch_id", Long.class));
+        response.setCustomerName(first.get("customer_name", String.class));
+        response.setCustomerPhone(first.get("customer_phone", String.class));
+        response.setCustomerEmail(first.get("customer_email", String.class));
+        response.setCustomerAddress(first.get("customer_address", String.class));
+        response.setTotalAmount(first.get("total_amount", BigDecimal.class));
+        response.setDiscountAmount(first.get("discount_amount", BigDecimal.class));
+        response.setStatus(first.get("status", String.class));
+        response.setNotes(first.get("notes", String.class));
+        response.setScheduledFor(first.get("scheduled_for", LocalDateTime.class));
+        response.setCreatedAt(first.get("created_at", LocalDateTime.class));
+
+        List<OrderResponse.OrderItemResponse> items = new ArrayList<>();
+        for (Readable row : rows) {
+            Long itemId = row.get("item_id", Long.class);
+            if (itemId != null) {
+                items.add(new OrderResponse.OrderItemResponse(
+                        itemId,
+                        row.get("menu_item_name", String.class),
+                        row.get("quantity", Integer.class),
+                        row.get("price_at_time", BigDecimal.class),
+                        row.get("subtotal", BigDecimal.class)));
+            }
+        }
+        // Same shape as the MVC mapping, which leaves items unset for an order without lines
+        if (!items.isEmpty()) {
+            response.setItems(items);
+        }
+        return response;
+    }
+}
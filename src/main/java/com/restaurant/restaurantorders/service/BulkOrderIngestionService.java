@@ -0,0 +1,329 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.config.ShardingProperties;
+import com.restaurant.restaurantorders.dto.request.CreateOrderRequest;
+import com.restaurant.restaurantorders.dto.response.BulkCreateOrdersResponse;
+import com.restaurant.restaurantorders.entity.MenuItem;
+import com.restaurant.restaurantorders.entity.Order;
+import com.restaurant.restaurantorders.event.OrderCreatedEvent;
+import com.restaurant.restaurantorders.promotion.PromotionPlan;
+import com.restaurant.restaurantorders.repository.OrderRepository;
+import com.restaurant.restaurantorders.shard.OrderIdGenerator;
+import com.restaurant.restaurantorders.shard.ShardRouter;
+import com.restaurant.restaurantorders.util.Money;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for bulk order ingestion (offline POS sync)
+ * All orders of a batch are validated and priced against one menu and promotion snapshot, then written
+ * with JDBC batch inserts in chunks, one short transaction per chunk on the shard of the orders'
+ * branches. clientOrderId makes replays idempotent: an order already ingested is reported as
+ * DUPLICATE, never inserted twice.
+ */
+@Slf4j
+@Service
+public class BulkOrderIngestionService {
+
+    private static final String INSERT_ORDER = "INSERT INTO orders (id, branch_id, customer_name, customer_phone, " +
+            "customer_email, customer_address, total_amount, discount_amount, status, notes, scheduled_for, client_order_id, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_ORDER_ITEM = "INSERT INTO order_items (order_id, menu_item_id, " +
+            "menu_item_name, quantity, price_at_time, subtotal, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final MenuItemCache menuItemCache;
+    private final OrderRepository orderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final OrderIdGenerator orderIdGenerator;
+    private final ShardingProperties shardingProperties;
+    private final ScheduledOrderService scheduledOrderService;
+    private final PromotionService promotionService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public BulkOrderIngestionService(MenuItemCache menuItemCache,
+                                     OrderRepository orderRepository,
+                                     JdbcTemplate jdbcTemplate,
+                                     ShardRouter shardRouter,
+                                     OrderIdGenerator orderIdGenerator,
+                                     ShardingProperties shardingProperties,
+                                     ScheduledOrderService scheduledOrderService,
+                                     PromotionService promotionService,
+                                     ApplicationEventPublisher eventPublisher,
+                                     Validator validator,
+                                     @Value("${orders.bulk.chunk-size:100}") int chunkSize) {
+        this.menuItemCache = menuItemCache;
+        this.orderRepository = orderRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.orderIdGenerator = orderIdGenerator;
+        this.shardingProperties = shardingProperties;
+        this.scheduledOrderService = scheduledOrderService;
+        this.promotionService = promotionService;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Ingest a batch of orders; results are reported per order in request order
+     */
+    public BulkCreateOrdersResponse ingest(List<CreateOrderRequest> requests) {
+        long started = System.nanoTime();
+        BulkCreateOrdersResponse.Result[] results = new BulkCreateOrdersResponse.Result[requests.size()];
+
+        Map<Long, MenuItem> menu = menuItemCache.getAll(requests.stream()
+                .filter(request -> request.getItems() != null)
+                .flatMap(request -> request.getItems().stream())
+                .map(CreateOrderRequest.OrderItemRequest::getMenuItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        PromotionPlan promotions = promotionService.currentPlan();
+        LocalDateTime pricedAt = LocalDateTime.now();
+        Map<String, Long> existing = findExisting(requests.stream()
+                .map(CreateOrderRequest::getClientOrderId)
+                .filter(id -> id != null && !id.isBlank())
+                .toList());
+
+        Map<Integer, List<PricedOrder>> acceptedByShard = new TreeMap<>();
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            CreateOrderRequest request = requests.get(i);
+            String clientOrderId = request.getClientOrderId();
+            String error = validate(request);
+            if (error != null) {
+                results[i] = rejected(clientOrderId, error);
+            } else if (!seen.add(clientOrderId)) {
+                results[i] = rejected(clientOrderId, "Duplicate clientOrderId in batch");
+            } else if (existing.containsKey(clientOrderId)) {
+                results[i] = duplicate(clientOrderId, existing.get(clientOrderId));
+            } else {
+                PricedOrder priced = price(i, request, menu, promotions, pricedAt);
+                if (priced.error != null) {
+                    results[i] = rejected(clientOrderId, priced.error);
+                } else {
+                    acceptedByShard.computeIfAbsent(shardRouter.shardForBranch(priced.branchId),
+                            shard -> new ArrayList<>()).add(priced);
+                }
+            }
+        }
+
+        acceptedByShard.forEach((shard, accepted) -> {
+            for (int from = 0; from < accepted.size(); from += chunkSize) {
+                insertChunk(shard, accepted.subList(from, Math.min(from + chunkSize, accepted.size())), results);
+            }
+        });
+
+        BulkCreateOrdersResponse response = summarize(results);
+        log.info("Bulk ingestion of {} orders: {} created, {} duplicates, {} rejected in {} ms",
+                requests.size(), response.getCreated(), response.getDuplicates(), response.getRejected(),
+                (System.nanoTime() - started) / 1_000_000);
+        return response;
+    }
+
+    private String validate(CreateOrderRequest request) {
+        if (request.getClientOrderId() == null || request.getClientOrderId().isBlank()) {
+            return "clientOrderId is required for bulk ingestion";
+        }
+        Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+        }
+        return null;
+    }
+
+    private PricedOrder price(int index, CreateOrderRequest request, Map<Long, MenuItem> menu,
+                              PromotionPlan promotions, LocalDateTime pricedAt) {
+        List<PricedLine> lines = new ArrayList<>(request.getItems().size());
+        List<PromotionPlan.Line> promotionLines = new ArrayList<>(request.getItems().size());
+        long total = 0;
+        for (CreateOrderRequest.OrderItemRequest item : request.getItems()) {
+            MenuItem menuItem = menu.get(item.getMenuItemId());
+            if (menuItem == null) {
+                return PricedOrder.rejected(index, request, "Menu item not found with id: " + item.getMenuItemId());
+            }
+            if (!Boolean.TRUE.equals(menuItem.getIsAvailable())) {
+                return PricedOrder.rejected(index, request, "Menu item is not available: " + menuItem.getName());
+            }
+            long unitPrice = Money.toMinorUnits(menuItem.getPrice());
+            long subtotal = Money.multiply(unitPrice, item.getQuantity());
+            lines.add(new PricedLine(menuItem, item.getQuantity(), unitPrice, subtotal));
+            promotionLines.add(new PromotionPlan.Line(menuItem.getId(), item.getQuantity(), unitPrice));
+            total = Money.add(total, subtotal);
+        }
+        long discount = promotions.apply(promotionLines, pricedAt).amount();
+        long branchId = request.getBranchId() != null ? request.getBranchId() : shardingProperties.getDefaultBranchId();
+        return new PricedOrder(index, request, branchId, Money.subtract(total, discount), discount, lines, null);
+    }
+
+    /**
+     * Insert one chunk in its own transaction on the given shard. If a concurrent replay inserted some
+     * of the same client ids first, those become DUPLICATE and the rest of the chunk is retried.
+     */
+    private void insertChunk(int shard, List<PricedOrder> chunk, BulkCreateOrdersResponse.Result[] results) {
+        List<Long> orderIds;
+        try {
+            orderIds = shardRouter.write(shard, () -> insert(shard, chunk));
+        } catch (DuplicateKeyException e) {
+            Map<String, Long> existing = findExisting(chunk.stream().map(order -> order.request.getClientOrderId()).toList());
+            List<PricedOrder> remaining = new ArrayList<>();
+            for (PricedOrder order : chunk) {
+                Long existingId = existing.get(order.request.getClientOrderId());
+                if (existingId != null) {
+                    results[order.index] = duplicate(order.request.getClientOrderId(), existingId);
+                } else {
+                    remaining.add(order);
+                }
+            }
+            if (remaining.size() == chunk.size()) {
+                throw e;
+            }
+            if (!remaining.isEmpty()) {
+                insertChunk(shard, remaining, results);
+            }
+            return;
+        }
+
+        for (int i = 0; i < chunk.size(); i++) {
+            PricedOrder order = chunk.get(i);
+            results[order.index] = new BulkCreateOrdersResponse.Result(order.request.getClientOrderId(), "CREATED",
+                    orderIds.get(i), Money.toBigDecimal(order.total), null);
+        }
+    }
+
+    private List<Long> insert(int shard, List<PricedOrder> chunk) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp createdAt = Timestamp.valueOf(now);
+
+        List<Long> orderIds = new ArrayList<>(chunk.size());
+        List<Order.OrderStatus> statuses = new ArrayList<>(chunk.size());
+        for (PricedOrder order : chunk) {
+            orderIds.add(orderIdGenerator.nextId(shard));
+            statuses.add(scheduledOrderService.initialStatus(order.request.getScheduledFor()));
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                PricedOrder order = chunk.get(i);
+                CreateOrderRequest request = order.request;
+                ps.setLong(1, orderIds.get(i));
+                ps.setLong(2, order.branchId);
+                ps.setString(3, request.getCustomerName());
+                ps.setString(4, request.getCustomerPhone());
+                ps.setString(5, request.getCustomerEmail());
+                ps.setString(6, request.getCustomerAddress());
+                ps.setBigDecimal(7, Money.toBigDecimal(order.total));
+                ps.setBigDecimal(8, Money.toBigDecimal(order.discount));
+                ps.setString(9, statuses.get(i).name());
+                ps.setString(10, request.getNotes());
+                ps.setTimestamp(11, request.getScheduledFor() != null ? Timestamp.valueOf(request.getScheduledFor()) : null);
+                ps.setString(12, request.getClientOrderId());
+                ps.setTimestamp(13, createdAt);
+                ps.setTimestamp(14, createdAt);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return chunk.size();
+            }
+        });
+
+        List<Object[]> itemRows = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            for (PricedLine line : chunk.get(i).lines) {
+                itemRows.add(new Object[]{orderIds.get(i), line.menuItem.getId(), line.menuItem.getName(),
+                        line.quantity, Money.toBigDecimal(line.unitPrice), Money.toBigDecimal(line.subtotal), createdAt});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM, itemRows);
+
+        for (int i = 0; i < chunk.size(); i++) {
+            PricedOrder order = chunk.get(i);
+            eventPublisher.publishEvent(new OrderCreatedEvent(orderIds.get(i), statuses.get(i),
+                    order.request.getCustomerName(), order.request.getNotes(), order.request.getScheduledFor(), now,
+                    order.lines.stream()
+                            .map(line -> new OrderCreatedEvent.Line(line.menuItem.getId(), line.menuItem.getName(), line.quantity))
+                            .toList()));
+        }
+        return orderIds;
+    }
+
+    /**
+     * Orders already ingested under the given client ids, looked up on every shard
+     */
+    private Map<String, Long> findExisting(Collection<String> clientOrderIds) {
+        Map<String, Long> existing = new HashMap<>();
+        if (!clientOrderIds.isEmpty()) {
+            for (List<Object[]> rows : shardRouter.readAll(() -> orderRepository.findIdsByClientOrderIds(clientOrderIds))) {
+                for (Object[] row : rows) {
+                    existing.put((String) row[0], (Long) row[1]);
+                }
+            }
+        }
+        return existing;
+    }
+
+    private static BulkCreateOrdersResponse summarize(BulkCreateOrdersResponse.Result[] results) {
+        int created = 0;
+        int duplicates = 0;
+        int rejected = 0;
+        for (BulkCreateOrdersResponse.Result result : results) {
+            switch (result.getOutcome()) {
+                case "CREATED" -> created++;
+                case "DUPLICATE" -> duplicates++;
+                default -> rejected++;
+            }
+        }
+        return new BulkCreateOrdersResponse(created, duplicates, rejected, List.of(results));
+    }
+
+    private static BulkCreateOrdersResponse.Result rejected(String clientOrderId, String error) {
+        return new BulkCreateOrdersResponse.Result(clientOrderId, "REJECTED", null, null, error);
+    }
+
+    private static BulkCreateOrdersResponse.Result duplicate(String clientOrderId, Long orderId) {
+        return new BulkCreateOrdersResponse.Result(clientOrderId, "DUPLICATE", orderId, null, null);
+    }
+
+    private record PricedLine(MenuItem menuItem, int quantity, long unitPrice, long subtotal) {
+    }
+
+    /**
+     * total is net of the promotion discount
+     */
+    private record PricedOrder(int index, CreateOrderRequest request, long branchId, long total, long discount,
+                               List<PricedLine> lines, String error) {
+
+        static PricedOrder rejected(int index, CreateOrderRequest request, String error) {
+            return new PricedOrder(index, request, 0, 0, 0, List.of(), error);
+        }
+    }
+}
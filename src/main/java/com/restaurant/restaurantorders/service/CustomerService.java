@@ -1,93 +1,188 @@
-package com.restaurant.restaurantorders.service;
-
-import com.restaurant.restaurantorders.entity.Customer;
-import com.restaurant.restaurantorders.repository.CustomerRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
-
-@Service
-@RequiredArgsConstructor
-public class CustomerService {
-
-    private final CustomerRepository customerRepository;
-
-    @Transactional
-    public Customer findOrCreateCustomer(String name, String phone, String address, String email) {
-        return customerRepository.findByPhone(phone)
-                .map(existingCustomer -> {
-                    if (name != null) existingCustomer.setName(name);
-                    if (address != null) existingCustomer.setAddress(address);
-                    if (email != null) existingCustomer.setEmail(email);
-                    return customerRepository.save(existingCustomer);
-                })
-                .orElseGet(() -> {
-                    Customer newCustomer = new Customer();
-                    newCustomer.setName(name);
-                    newCustomer.setPhone(phone);
-                    newCustomer.setAddress(address);
-                    newCustomer.setEmail(email);
-                    return customerRepository.save(newCustomer);
-                });
-    }
-
-    public Optional<Customer> findById(UUID id) {
-        return customerRepository.findById(id);
-    }
-
-    public Optional<Customer> findByPhone(String phone) {
-        return customerRepository.findByPhone(phone);
-    }
-
-    public Optional<Customer> findByEmail(String email) {
-        return customerRepository.findByEmail(email);
-    }
-
-    public List<Customer> findAll() {
-        return customerRepository.findAll();
-    }
-
-    @Transactional
-    public Customer createCustomer(Customer customer) {
-        if (customerRepository.existsByPhone(customer.getPhone())) {
-            throw new IllegalArgumentException("Customer with phone " + customer.getPhone() + " already exists");
-        }
-        return customerRepository.save(customer);
-    }
-
-    @Transactional
-    public Customer updateCustomer(UUID id, Customer customerDetails) {
-        Customer customer = customerRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Customer not found with id: " + id));
-
-        if (customerDetails.getName() != null) {
-            customer.setName(customerDetails.getName());
-        }
-        if (customerDetails.getPhone() != null && !customerDetails.getPhone().equals(customer.getPhone())) {
-            if (customerRepository.existsByPhone(customerDetails.getPhone())) {
-                throw new IllegalArgumentException("Phone number already in use");
-            }
-            customer.setPhone(customerDetails.getPhone());
-        }
-        if (customerDetails.getEmail() != null) {
-            customer.setEmail(customerDetails.getEmail());
-        }
-        if (customerDetails.getAddress() != null) {
-            customer.setAddress(customerDetails.getAddress());
-        }
-
-        return customerRepository.save(customer);
-    }
-
-    @Transactional
-    public void deleteCustomer(UUID id) {
-        if (!customerRepository.existsById(id)) {
-            throw new IllegalArgumentException("Customer not found with id: " + id);
-        }
-        customerRepository.deleteById(id);
-    }
-}
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.dto.request.CreateCustomerRequest;
+import com.restaurant.restaurantorders.dto.request.UpdateCustomerRequest;
+import com.restaurant.restaurantorders.dto.response.CustomerPageResponse;
+import com.restaurant.restaurantorders.dto.response.CustomerResponse;
+import com.restaurant.restaurantorders.dto.response.CustomerSummaryResponse;
+import com.restaurant.restaurantorders.entity.Customer;
+import com.restaurant.restaurantorders.event.CustomerDeletedEvent;
+import com.restaurant.restaurantorders.event.CustomerSavedEvent;
+import com.restaurant.restaurantorders.mapper.CustomerMapper;
+import com.restaurant.restaurantorders.repository.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+public class CustomerService {
+
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final CustomerRepository customerRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CustomerMapper customerMapper;
+
+    @Transactional
+    public Customer findOrCreateCustomer(String name, String phone, String address, String email) {
+        Customer customer = customerRepository.findByPhone(phone)
+                .map(existingCustomer -> {
+                    if (name != null) existingCustomer.setName(name);
+                    if (address != null) existingCustomer.setAddress(address);
+                    if (email != null) existingCustomer.setEmail(email);
+                    return customerRepository.save(existingCustomer);
+                })
+                .orElseGet(() -> {
+                    Customer newCustomer = new Customer();
+                    newCustomer.setName(name);
+                    newCustomer.setPhone(phone);
+                    newCustomer.setAddress(address);
+                    newCustomer.setEmail(email);
+                    return customerRepository.save(newCustomer);
+                });
+        publishSaved(customer);
+        return customer;
+    }
+
+    public Optional<CustomerResponse> findById(UUID id) {
+        return customerRepository.findById(id).map(customerMapper::toResponse);
+    }
+
+    public Optional<CustomerResponse> findByPhone(String phone) {
+        return customerRepository.findByPhone(phone).map(customerMapper::toResponse);
+    }
+
+    public Optional<Customer> findByEmail(String email) {
+        return customerRepository.findByEmail(email);
+    }
+
+    public List<CustomerResponse> findAll() {
+        return customerMapper.toResponses(customerRepository.findAll());
+    }
+
+    /**
+     * Get one keyset page of customer summaries
+     * The cursor is opaque to clients; pass back nextCursor from the previous page.
+     */
+    @Transactional(readOnly = true)
+    public CustomerPageResponse findPage(String cursor, int size, LocalDateTime createdSince, String namePrefix) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        LocalDateTime since = createdSince != null ? createdSince : BEGINNING;
+        String namePattern = likePrefix(namePrefix);
+        PageRequest limit = PageRequest.ofSize(pageSize);
+
+        List<CustomerSummaryResponse> items;
+        if (cursor == null || cursor.isBlank()) {
+            items = customerRepository.findSummaries(since, namePattern, limit);
+        } else {
+            Cursor after = decodeCursor(cursor);
+            items = customerRepository.findSummariesAfter(since, namePattern, after.createdAt(), after.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (items.size() == pageSize) {
+            CustomerSummaryResponse last = items.get(items.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        return new CustomerPageResponse(items, nextCursor);
+    }
+
+    /**
+     * Stream every matching customer summary to the consumer without holding them in memory
+     */
+    @Transactional(readOnly = true)
+    public void streamSummaries(LocalDateTime createdSince, String namePrefix,
+                                Consumer<CustomerSummaryResponse> consumer) {
+        LocalDateTime since = createdSince != null ? createdSince : BEGINNING;
+        try (Stream<CustomerSummaryResponse> summaries =
+                     customerRepository.streamSummaries(since, likePrefix(namePrefix))) {
+            summaries.forEach(consumer);
+        }
+    }
+
+    @Transactional
+    public CustomerResponse createCustomer(CreateCustomerRequest request) {
+        if (customerRepository.existsByPhone(request.getPhone())) {
+            throw new IllegalArgumentException("Customer with phone " + request.getPhone() + " already exists");
+        }
+        Customer savedCustomer = customerRepository.save(customerMapper.toEntity(request));
+        publishSaved(savedCustomer);
+        return customerMapper.toResponse(savedCustomer);
+    }
+
+    @Transactional
+    public CustomerResponse updateCustomer(UUID id, UpdateCustomerRequest customerDetails) {
+        Customer customer = customerRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Customer not found with id: " + id));
+
+        if (customerDetails.getPhone() != null && !customerDetails.getPhone().equals(customer.getPhone())) {
+            if (customerRepository.existsByPhone(customerDetails.getPhone())) {
+                throw new IllegalArgumentException("Phone number already in use");
+            }
+            customer.setPhone(customerDetails.getPhone());
+        }
+        customerMapper.updateEntity(customerDetails, customer);
+
+        // Flush so @PreUpdate has stamped updatedAt before the response is mapped
+        Customer savedCustomer = customerRepository.saveAndFlush(customer);
+        publishSaved(savedCustomer);
+        return customerMapper.toResponse(savedCustomer);
+    }
+
+    @Transactional
+    public void deleteCustomer(UUID id) {
+        if (!customerRepository.existsById(id)) {
+            throw new IllegalArgumentException("Customer not found with id: " + id);
+        }
+        customerRepository.deleteById(id);
+        eventPublisher.publishEvent(new CustomerDeletedEvent(id));
+    }
+
+    private void publishSaved(Customer customer) {
+        eventPublisher.publishEvent(new CustomerSavedEvent(customer.getId(), customer.getName(), customer.getPhone()));
+    }
+
+    private static String likePrefix(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return "%";
+        }
+        String escaped = prefix.trim()
+                .replace("!", "!!")
+                .replace("%", "!%")
+                .replace("_", "!_");
+        return escaped + "%";
+    }
+
+    private static String encodeCursor(LocalDateTime createdAt, UUID id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Cursor decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private record Cursor(LocalDateTime createdAt, UUID id) {
+    }
+}
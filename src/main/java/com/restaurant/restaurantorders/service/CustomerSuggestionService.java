@@ -0,0 +1,105 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.dto.response.CustomerSuggestionResponse;
+import com.restaurant.restaurantorders.event.CustomerDeletedEvent;
+import com.restaurant.restaurantorders.event.CustomerSavedEvent;
+import com.restaurant.restaurantorders.util.CustomerPrefixIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Service class for POS customer typeahead
+ * Answers phone and name prefix lookups from an in-memory index kept in sync with CustomerService.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CustomerSuggestionService {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final CustomerService customerService;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Consumer<CustomerPrefixIndex>> pendingChanges = new ArrayList<>();
+    private CustomerPrefixIndex index = new CustomerPrefixIndex();
+    private boolean loaded;
+
+    /**
+     * Get up to limit customers matching a phone prefix (digits only) or a name prefix
+     */
+    public List<CustomerSuggestionResponse> suggest(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+        boolean phoneQuery = query.chars().allMatch(c -> Character.isDigit(c) || c == '+' || c == ' ' || c == '-');
+
+        List<CustomerPrefixIndex.Match> matches;
+        lock.readLock().lock();
+        try {
+            matches = phoneQuery ? index.searchPhone(query, max) : index.searchName(query, max);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return matches.stream()
+                .map(match -> new CustomerSuggestionResponse(match.id(), match.name(), match.phone()))
+                .toList();
+    }
+
+    /**
+     * Build the index from the customers table once the application is up.
+     * Changes committed while the load runs are queued and replayed on top of it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        CustomerPrefixIndex fresh = new CustomerPrefixIndex();
+        fresh.startBulkLoad();
+        customerService.streamSummaries(null, null,
+                customer -> fresh.put(customer.getId(), customer.getName(), customer.getPhone()));
+        fresh.finishBulkLoad();
+
+        lock.writeLock().lock();
+        try {
+            pendingChanges.forEach(change -> change.accept(fresh));
+            pendingChanges.clear();
+            index = fresh;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Customer typeahead index loaded with {} customers", fresh.size());
+    }
+
+    @TransactionalEventListener
+    public void onCustomerSaved(CustomerSavedEvent event) {
+        apply(index -> index.put(event.getCustomerId(), event.getName(), event.getPhone()));
+    }
+
+    @TransactionalEventListener
+    public void onCustomerDeleted(CustomerDeletedEvent event) {
+        apply(index -> index.remove(event.getCustomerId()));
+    }
+
+    private void apply(Consumer<CustomerPrefixIndex> change) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                pendingChanges.add(change);
+            }
+            change.accept(index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
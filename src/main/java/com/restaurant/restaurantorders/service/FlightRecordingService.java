@@ -0,0 +1,161 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.dto.response.RecordingStatusResponse;
+import com.restaurant.restaurantorders.jfr.CreateOrderEvent;
+import com.restaurant.restaurantorders.jfr.TodayStatsEvent;
+import com.restaurant.restaurantorders.jfr.UpdateOrderStatusEvent;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Service class for on-demand Flight Recorder recordings
+ * At most one recording runs at a time. It is bounded three ways: it keeps only the last maxAge
+ * of data, at most maxSize bytes on disk, and stops by itself after maxDuration. The order events
+ * in the jfr package are always enabled in it; other JDK events follow the chosen .jfc settings.
+ * A stopped recording stays available for download until the next one starts.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(value = "profiling.enabled", havingValue = "true")
+public class FlightRecordingService {
+
+    private final Duration maxAgeLimit;
+    private final long maxSizeLimit;
+    private final Duration maxDurationLimit;
+    private final Path dumpDirectory;
+
+    private Recording recording;
+    private String settings;
+
+    public FlightRecordingService(@Value("${profiling.recording.max-age-minutes:30}") long maxAgeMinutes,
+                                  @Value("${profiling.recording.max-size-mb:250}") long maxSizeMb,
+                                  @Value("${profiling.recording.max-duration-minutes:60}") long maxDurationMinutes,
+                                  @Value("${profiling.recording.dump-directory:${java.io.tmpdir}}") Path dumpDirectory) {
+        this.maxAgeLimit = Duration.ofMinutes(maxAgeMinutes);
+        this.maxSizeLimit = maxSizeMb * 1024 * 1024;
+        this.maxDurationLimit = Duration.ofMinutes(maxDurationMinutes);
+        this.dumpDirectory = dumpDirectory;
+    }
+
+    /**
+     * Start a recording with the given .jfc settings ("default" or "profile"); bounds default to the
+     * configured limits and may only be lowered. A previous recording is discarded.
+     */
+    public synchronized RecordingStatusResponse start(String settingsName, Duration maxAge, Long maxSizeBytes, Duration duration) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        Duration age = bounded("maxAge", maxAge, maxAgeLimit);
+        Duration length = bounded("duration", duration, maxDurationLimit);
+        long size = maxSizeBytes != null ? maxSizeBytes : maxSizeLimit;
+        if (size <= 0 || size > maxSizeLimit) {
+            throw new IllegalArgumentException("maxSizeBytes must be between 1 and " + maxSizeLimit);
+        }
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settingsName);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown recording settings: " + settingsName);
+        }
+
+        if (recording != null) {
+            recording.close();
+        }
+        Recording started = new Recording(configuration);
+        started.setName("restaurant-orders");
+        started.setToDisk(true);
+        started.setMaxAge(age);
+        started.setMaxSize(size);
+        started.setDuration(length);
+        started.enable(CreateOrderEvent.class).withThreshold(Duration.ZERO);
+        started.enable(UpdateOrderStatusEvent.class).withThreshold(Duration.ZERO);
+        started.enable(TodayStatsEvent.class).withThreshold(Duration.ZERO);
+        started.start();
+
+        recording = started;
+        settings = settingsName;
+        log.info("Flight recording started with {} settings, max age {}, max size {} bytes, stops after {}",
+                settingsName, age, size, length);
+        return status();
+    }
+
+    /**
+     * Stop the running recording, keeping its data for download
+     */
+    public synchronized RecordingStatusResponse stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("No recording is running");
+        }
+        recording.stop();
+        log.info("Flight recording stopped");
+        return status();
+    }
+
+    public synchronized RecordingStatusResponse status() {
+        if (recording == null) {
+            return new RecordingStatusResponse(RecordingState.NEW.name(), null, null, null, null, null, null);
+        }
+        Instant stopsAt = recording.getStartTime() != null && recording.getDuration() != null
+                ? recording.getStartTime().plus(recording.getDuration())
+                : null;
+        return new RecordingStatusResponse(
+                recording.getState().name(),
+                settings,
+                recording.getStartTime(),
+                recording.getState() == RecordingState.STOPPED ? recording.getStopTime() : stopsAt,
+                recording.getMaxAge() != null ? recording.getMaxAge().toSeconds() : null,
+                recording.getMaxSize(),
+                recording.getSize());
+    }
+
+    /**
+     * Write the data of the current recording (running or stopped) to a new temporary file;
+     * the caller streams it and deletes it
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null || (recording.getState() != RecordingState.RUNNING
+                && recording.getState() != RecordingState.STOPPED)) {
+            throw new IllegalStateException("No recording to download");
+        }
+        Path file = Files.createTempFile(dumpDirectory, "restaurant-orders-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private static Duration bounded(String name, Duration requested, Duration limit) {
+        if (requested == null) {
+            return limit;
+        }
+        if (requested.isNegative() || requested.isZero() || requested.compareTo(limit) > 0) {
+            throw new IllegalArgumentException(name + " must be between 1 second and " + limit.toSeconds() + " seconds");
+        }
+        return requested;
+    }
+}
@@ -0,0 +1,332 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.config.KitchenCapacityProperties;
+import com.restaurant.restaurantorders.dto.request.CreateOrderRequest;
+import com.restaurant.restaurantorders.dto.response.KitchenCapacityResponse;
+import com.restaurant.restaurantorders.entity.MenuItem;
+import com.restaurant.restaurantorders.entity.Order;
+import com.restaurant.restaurantorders.event.MenuChangedEvent;
+import com.restaurant.restaurantorders.event.OrderCreatedEvent;
+import com.restaurant.restaurantorders.event.OrderStatusChangedEvent;
+import com.restaurant.restaurantorders.exception.KitchenBusyException;
+import com.restaurant.restaurantorders.repository.MenuItemRepository;
+import com.restaurant.restaurantorders.repository.OrderRepository;
+import com.restaurant.restaurantorders.shard.OrderIdGenerator;
+import com.restaurant.restaurantorders.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service class for the kitchen capacity model
+ * Every open order (PENDING through PREPARING) adds its prep work to the stations that make its
+ * items: quantity times the item's prep seconds. Each station divides its backlog by the items it
+ * prepares in parallel to get its wait. Counters are atomics updated after commit, so a quote
+ * never locks or queries. New orders are quoted an estimated ready time, and new online orders
+ * (those without a POS clientOrderId) are refused with a growing probability once the wait at the
+ * busiest station the basket needs passes throttle-after-minutes, and always past
+ * pause-after-minutes or while ordering is paused by hand. Pre-orders and POS orders are never refused.
+ * The backlog and the pause flag are per instance: order events are local, so orders created or
+ * closed on other nodes only show up when the open orders are re-read from every shard, at startup
+ * and every resync-ms.
+ */
+@Slf4j
+@Service
+public class KitchenCapacityService {
+
+    private static final Set<Order.OrderStatus> OPEN_STATUSES = EnumSet.of(
+            Order.OrderStatus.PENDING,
+            Order.OrderStatus.CONFIRMED,
+            Order.OrderStatus.PREPARING);
+
+    private static final String DEFAULT_STATION = "KITCHEN";
+    private static final int DEFAULT_PREP_SECONDS = 120;
+    private static final long PAUSED_RETRY_AFTER_SECONDS = 300;
+    private static final long MIN_RETRY_AFTER_SECONDS = 60;
+
+    private final KitchenCapacityProperties properties;
+    private final MenuItemRepository menuItemRepository;
+    private final OrderRepository orderRepository;
+    private final ShardRouter shardRouter;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, Station> stations = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, PrepWeight> weights = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, OrderWork> openOrders = new ConcurrentHashMap<>();
+    private final Counter pausedRejections;
+    private final Counter throttledRejections;
+    private volatile boolean paused;
+
+    public KitchenCapacityService(KitchenCapacityProperties properties,
+                                  MenuItemRepository menuItemRepository,
+                                  OrderRepository orderRepository,
+                                  ShardRouter shardRouter,
+                                  MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.menuItemRepository = menuItemRepository;
+        this.orderRepository = orderRepository;
+        this.shardRouter = shardRouter;
+        this.meterRegistry = meterRegistry;
+        this.paused = properties.isPaused();
+        this.pausedRejections = Counter.builder("kitchen.capacity.rejected").tag("reason", "paused")
+                .register(meterRegistry);
+        this.throttledRejections = Counter.builder("kitchen.capacity.rejected").tag("reason", "throttled")
+                .register(meterRegistry);
+        Gauge.builder("kitchen.capacity.open_orders", openOrders, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Quote the ready time of a new order against the backlog of the stations it needs, refusing it
+     * first if it is an online order those stations cannot take. menuItems must hold every item of the request.
+     */
+    public LocalDateTime admit(List<CreateOrderRequest.OrderItemRequest> items, Map<Long, MenuItem> menuItems,
+                               boolean online) {
+        Map<String, Long> work = new HashMap<>();
+        for (CreateOrderRequest.OrderItemRequest item : items) {
+            MenuItem menuItem = menuItems.get(item.getMenuItemId());
+            if (menuItem != null) {
+                work.merge(stationName(menuItem.getPrepStation()),
+                        (long) prepSeconds(menuItem.getPrepSeconds()) * item.getQuantity(), Long::sum);
+            }
+        }
+
+        // A busy grill does not hold up a basket of drinks
+        long currentWait = 0;
+        long readyIn = 0;
+        for (Map.Entry<String, Long> entry : work.entrySet()) {
+            Station station = station(entry.getKey());
+            currentWait = Math.max(currentWait, station.waitSeconds());
+            readyIn = Math.max(readyIn, (Math.max(0, station.backlogSeconds.get()) + entry.getValue()) / station.parallelism);
+        }
+
+        if (online && properties.isAdmissionEnabled()) {
+            refuseIfBusy(currentWait);
+        }
+        return LocalDateTime.now().plusSeconds(readyIn);
+    }
+
+    public KitchenCapacityResponse getCapacity() {
+        List<KitchenCapacityResponse.Station> result = new ArrayList<>();
+        long maxWait = 0;
+        for (Station station : stations.values()) {
+            long wait = station.waitSeconds();
+            maxWait = Math.max(maxWait, wait);
+            result.add(new KitchenCapacityResponse.Station(station.name, station.parallelism,
+                    station.backlogSeconds.get(), wait));
+        }
+        result.sort(Comparator.comparing(KitchenCapacityResponse.Station::getWaitSeconds).reversed());
+
+        String admission = paused || maxWait >= properties.getPauseAfterMinutes() * 60L ? "PAUSED"
+                : maxWait > properties.getThrottleAfterMinutes() * 60L ? "THROTTLED"
+                : "OPEN";
+        return new KitchenCapacityResponse(LocalDateTime.now(), properties.isAdmissionEnabled() ? admission : "OPEN",
+                paused, openOrders.size(), maxWait, result);
+    }
+
+    /**
+     * Pause or resume online ordering on this instance
+     */
+    public KitchenCapacityResponse setPaused(boolean paused) {
+        this.paused = paused;
+        log.info("Online ordering {}", paused ? "paused" : "resumed");
+        return getCapacity();
+    }
+
+    /**
+     * Load prep weights and the work of every open order once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        loadWeights(menuItemRepository.findPrepWeights());
+        int recovered = resync();
+        log.info("Kitchen capacity recovered {} open orders over {} stations", recovered, stations.size());
+    }
+
+    /**
+     * Replace the in-memory backlog with the open orders of every shard, picking up orders created or
+     * closed on other instances. An order changed while the shards are read is off until the next resync.
+     */
+    @Scheduled(fixedDelayString = "${kitchen.capacity.resync-ms:60000}",
+            initialDelayString = "${kitchen.capacity.resync-ms:60000}")
+    public synchronized int resync() {
+        List<List<OrderCreatedEvent>> shards = shardRouter.readAll(() ->
+                orderRepository.findByStatusInWithItems(OPEN_STATUSES).stream()
+                        .map(OrderCreatedEvent::from)
+                        .toList());
+
+        Map<Long, OrderWork> fresh = new HashMap<>();
+        Map<Station, Long> backlog = new HashMap<>();
+        for (List<OrderCreatedEvent> orders : shards) {
+            for (OrderCreatedEvent order : orders) {
+                OrderWork work = workOf(order.getLines());
+                fresh.put(order.getOrderId(), work);
+                for (int i = 0; i < work.stations.length; i++) {
+                    backlog.merge(work.stations[i], work.seconds[i], Long::sum);
+                }
+            }
+        }
+        openOrders.clear();
+        openOrders.putAll(fresh);
+        for (Station station : stations.values()) {
+            station.backlogSeconds.set(backlog.getOrDefault(station, 0L));
+        }
+        return fresh.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        if (event.isFullReload()) {
+            loadWeights(menuItemRepository.findPrepWeights());
+        } else {
+            loadWeights(menuItemRepository.findPrepWeightsByIds(event.getMenuItemIds()));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        if (OPEN_STATUSES.contains(event.getStatus())) {
+            open(event.getOrderId(), event.getLines());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        boolean wasOpen = OPEN_STATUSES.contains(event.getOldStatus());
+        boolean isOpen = OPEN_STATUSES.contains(event.getNewStatus());
+
+        if (wasOpen && !isOpen) {
+            close(event.getOrderId());
+        } else if (!wasOpen && isOpen) {
+            // A released pre-order or a re-opened order: its lines are not in memory
+            List<OrderCreatedEvent.Line> lines = shardRouter.read(OrderIdGenerator.shardOf(event.getOrderId()), () -> {
+                Order order = orderRepository.findByIdWithItems(event.getOrderId());
+                return order != null ? OrderCreatedEvent.linesOf(order) : null;
+            });
+            if (lines != null) {
+                open(event.getOrderId(), lines);
+            }
+        }
+    }
+
+    private void refuseIfBusy(long currentWait) {
+        if (paused) {
+            pausedRejections.increment();
+            throw new KitchenBusyException("Online ordering is paused, please try again later",
+                    PAUSED_RETRY_AFTER_SECONDS);
+        }
+        long throttleAfter = properties.getThrottleAfterMinutes() * 60L;
+        long pauseAfter = Math.max(properties.getPauseAfterMinutes() * 60L, throttleAfter + 1);
+        if (currentWait <= throttleAfter) {
+            return;
+        }
+        // Refuse a share of orders that grows linearly from 0 at the throttle threshold to 1 at the pause threshold
+        double refuseShare = (double) (currentWait - throttleAfter) / (pauseAfter - throttleAfter);
+        if (refuseShare >= 1 || ThreadLocalRandom.current().nextDouble() < refuseShare) {
+            throttledRejections.increment();
+            throw new KitchenBusyException("The kitchen is about " + (currentWait / 60)
+                    + " minutes behind, please try again later",
+                    Math.max(MIN_RETRY_AFTER_SECONDS, currentWait - throttleAfter));
+        }
+    }
+
+    private synchronized void open(Long orderId, List<OrderCreatedEvent.Line> lines) {
+        OrderWork work = workOf(lines);
+        if (openOrders.putIfAbsent(orderId, work) == null) {
+            for (int i = 0; i < work.stations.length; i++) {
+                work.stations[i].backlogSeconds.addAndGet(work.seconds[i]);
+            }
+        }
+    }
+
+    private synchronized void close(Long orderId) {
+        OrderWork work = openOrders.remove(orderId);
+        if (work != null) {
+            for (int i = 0; i < work.stations.length; i++) {
+                work.stations[i].backlogSeconds.addAndGet(-work.seconds[i]);
+            }
+        }
+    }
+
+    private OrderWork workOf(List<OrderCreatedEvent.Line> lines) {
+        Map<Station, Long> work = new HashMap<>();
+        for (OrderCreatedEvent.Line line : lines) {
+            PrepWeight weight = line.getMenuItemId() != null ? weights.get(line.getMenuItemId()) : null;
+            Station station = weight != null ? weight.station : station(DEFAULT_STATION);
+            int seconds = weight != null ? weight.seconds : DEFAULT_PREP_SECONDS;
+            work.merge(station, (long) seconds * line.getQuantity(), Long::sum);
+        }
+
+        Station[] orderStations = work.keySet().toArray(new Station[0]);
+        long[] orderSeconds = new long[orderStations.length];
+        for (int i = 0; i < orderStations.length; i++) {
+            orderSeconds[i] = work.get(orderStations[i]);
+        }
+        return new OrderWork(orderStations, orderSeconds);
+    }
+
+    private void loadWeights(List<Object[]> rows) {
+        for (Object[] row : rows) {
+            weights.put((Long) row[0], new PrepWeight(station(stationName((String) row[1])), prepSeconds((Integer) row[2])));
+        }
+    }
+
+    private Station station(String name) {
+        return stations.computeIfAbsent(name, stationName -> {
+            Station station = new Station(stationName, properties.parallelismOf(stationName));
+            Gauge.builder("kitchen.capacity.wait_seconds", station, Station::waitSeconds)
+                    .tag("station", stationName)
+                    .register(meterRegistry);
+            return station;
+        });
+    }
+
+    private static String stationName(String prepStation) {
+        return prepStation != null && !prepStation.isBlank() ? prepStation.trim().toUpperCase() : DEFAULT_STATION;
+    }
+
+    private static int prepSeconds(Integer prepSeconds) {
+        return prepSeconds != null && prepSeconds > 0 ? prepSeconds : DEFAULT_PREP_SECONDS;
+    }
+
+    private static final class Station {
+        private final String name;
+        private final int parallelism;
+        private final AtomicLong backlogSeconds = new AtomicLong();
+
+        Station(String name, int parallelism) {
+            this.name = name;
+            this.parallelism = parallelism;
+        }
+
+        long waitSeconds() {
+            return Math.max(0, backlogSeconds.get()) / parallelism;
+        }
+    }
+
+    private record PrepWeight(Station station, int seconds) {
+    }
+
+    /**
+     * Prep work an open order put on each station, subtracted again when it leaves the open statuses
+     */
+    private record OrderWork(Station[] stations, long[] seconds) {
+    }
+}
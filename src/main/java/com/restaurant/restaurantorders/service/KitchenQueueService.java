@@ -0,0 +1,239 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.dto.response.KitchenQueueResponse;
+import com.restaurant.restaurantorders.entity.Order;
+import com.restaurant.restaurantorders.event.OrderCreatedEvent;
+import com.restaurant.restaurantorders.event.OrderStatusChangedEvent;
+import com.restaurant.restaurantorders.repository.OrderRepository;
+import com.restaurant.restaurantorders.shard.OrderIdGenerator;
+import com.restaurant.restaurantorders.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.With;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service class for the kitchen display queue
+ * Keeps every active order (PENDING through READY) in memory, ordered by status and age,
+ * so the kitchen screen is served without touching the database.
+ * The queue is per instance: it is loaded from the database at startup and then follows the order
+ * events committed on this node only. With several nodes taking orders, point the kitchen screen at
+ * one node and route order writes for that kitchen to it, or its queue misses the other nodes' changes
+ * until the next restart.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class KitchenQueueService {
+
+    private static final Set<Order.OrderStatus> ACTIVE_STATUSES = EnumSet.of(
+            Order.OrderStatus.PENDING,
+            Order.OrderStatus.CONFIRMED,
+            Order.OrderStatus.PREPARING,
+            Order.OrderStatus.READY);
+
+    private static final Comparator<Ticket> QUEUE_ORDER = Comparator
+            .comparing(Ticket::getStatus)
+            .thenComparing(Ticket::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Ticket::getOrderId);
+
+    private final OrderRepository orderRepository;
+    private final ShardRouter shardRouter;
+
+    private final ConcurrentHashMap<Long, Ticket> tickets = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<Ticket> queue = new ConcurrentSkipListSet<>(QUEUE_ORDER);
+    private final ConcurrentHashMap<Long, ItemCounter> itemTotals = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile KitchenQueueResponse snapshot;
+
+    /**
+     * Get the current kitchen queue
+     * The response is rebuilt only when the queue changed since the last read.
+     */
+    public KitchenQueueResponse getQueue() {
+        KitchenQueueResponse current = snapshot;
+        if (current != null && current.getVersion() == version.get()) {
+            return current;
+        }
+        current = buildSnapshot();
+        snapshot = current;
+        return current;
+    }
+
+    /**
+     * Load active orders from every shard once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        List<List<OrderCreatedEvent>> shards = shardRouter.readAll(() ->
+                orderRepository.findByStatusInWithItems(ACTIVE_STATUSES).stream()
+                        .map(OrderCreatedEvent::from)
+                        .toList());
+        int recovered = 0;
+        for (List<OrderCreatedEvent> activeOrders : shards) {
+            for (OrderCreatedEvent order : activeOrders) {
+                tickets.computeIfAbsent(order.getOrderId(), id -> {
+                    Ticket ticket = Ticket.from(order);
+                    enqueue(ticket);
+                    return ticket;
+                });
+            }
+            recovered += activeOrders.size();
+        }
+        version.incrementAndGet();
+        log.info("Kitchen queue recovered {} active orders", recovered);
+    }
+
+    @TransactionalEventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        if (!ACTIVE_STATUSES.contains(event.getStatus())) {
+            return;
+        }
+        tickets.compute(event.getOrderId(), (id, existing) -> {
+            if (existing != null) {
+                dequeue(existing);
+            }
+            Ticket ticket = Ticket.from(event);
+            enqueue(ticket);
+            return ticket;
+        });
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        Order.OrderStatus newStatus = event.getNewStatus();
+        boolean active = ACTIVE_STATUSES.contains(newStatus);
+        // An order re-entering the queue is read before touching the map: compute holds the bin lock
+        // for the whole call, so it must not wait on the database
+        Ticket loaded = active && !tickets.containsKey(event.getOrderId()) ? loadTicket(event.getOrderId()) : null;
+        tickets.compute(event.getOrderId(), (id, existing) -> {
+            if (existing != null) {
+                dequeue(existing);
+            }
+            if (!active) {
+                return null;
+            }
+            Ticket ticket = existing != null ? existing.withStatus(newStatus) : loaded;
+            if (ticket != null) {
+                enqueue(ticket);
+            }
+            return ticket;
+        });
+        version.incrementAndGet();
+    }
+
+    /**
+     * Load a ticket for an order that re-entered the active statuses (e.g. re-opened after cancel)
+     */
+    private Ticket loadTicket(Long orderId) {
+        return shardRouter.read(OrderIdGenerator.shardOf(orderId), () -> {
+            Order order = orderRepository.findByIdWithItems(orderId);
+            return order != null ? Ticket.from(OrderCreatedEvent.from(order)) : null;
+        });
+    }
+
+    private void enqueue(Ticket ticket) {
+        queue.add(ticket);
+        for (OrderCreatedEvent.Line line : ticket.getLines()) {
+            if (line.getMenuItemId() == null) {
+                continue;
+            }
+            itemTotals.computeIfAbsent(line.getMenuItemId(), id -> new ItemCounter(line.getMenuItemName()))
+                    .quantity.addAndGet(line.getQuantity());
+        }
+    }
+
+    private void dequeue(Ticket ticket) {
+        queue.remove(ticket);
+        for (OrderCreatedEvent.Line line : ticket.getLines()) {
+            if (line.getMenuItemId() == null) {
+                continue;
+            }
+            ItemCounter counter = itemTotals.get(line.getMenuItemId());
+            if (counter != null) {
+                counter.quantity.addAndGet(-line.getQuantity());
+            }
+        }
+    }
+
+    private KitchenQueueResponse buildSnapshot() {
+        long snapshotVersion = version.get();
+
+        List<KitchenQueueResponse.Ticket> orders = new ArrayList<>(queue.size());
+        for (Ticket ticket : queue) {
+            List<KitchenQueueResponse.TicketLine> lines = ticket.getLines().stream()
+                    .map(line -> new KitchenQueueResponse.TicketLine(line.getMenuItemName(), line.getQuantity()))
+                    .toList();
+            orders.add(new KitchenQueueResponse.Ticket(
+                    ticket.getOrderId(),
+                    ticket.getStatus().toString(),
+                    ticket.getCustomerName(),
+                    ticket.getNotes(),
+                    ticket.getCreatedAt(),
+                    lines));
+        }
+
+        List<KitchenQueueResponse.ItemTotal> totals = new ArrayList<>();
+        itemTotals.forEach((menuItemId, counter) -> {
+            int quantity = counter.quantity.get();
+            if (quantity > 0) {
+                totals.add(new KitchenQueueResponse.ItemTotal(menuItemId, counter.name, quantity));
+            }
+        });
+        totals.sort(Comparator.comparing(KitchenQueueResponse.ItemTotal::getQuantity).reversed());
+
+        return new KitchenQueueResponse(snapshotVersion, LocalDateTime.now(), orders, totals);
+    }
+
+    /**
+     * Immutable queue entry for one active order
+     */
+    @Value
+    @With
+    static class Ticket {
+        Long orderId;
+        Order.OrderStatus status;
+        String customerName;
+        String notes;
+        LocalDateTime createdAt;
+        List<OrderCreatedEvent.Line> lines;
+
+        static Ticket from(OrderCreatedEvent event) {
+            return new Ticket(
+                    event.getOrderId(),
+                    event.getStatus(),
+                    event.getCustomerName(),
+                    event.getNotes(),
+                    event.getCreatedAt(),
+                    event.getLines());
+        }
+    }
+
+    /**
+     * Running quantity of one menu item across open orders
+     */
+    private static final class ItemCounter {
+        private final String name;
+        private final AtomicInteger quantity = new AtomicInteger();
+
+        private ItemCounter(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.restaurant.restaurantorders.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.restaurantorders.dto.response.ApiResponse;
+import com.restaurant.restaurantorders.dto.response.MenuResponse;
+import com.restaurant.restaurantorders.entity.Category;
+import com.restaurant.restaurantorders.entity.MenuItem;
+import com.restaurant.restaurantorders.event.MenuChangedEvent;
+import com.restaurant.restaurantorders.repository.MenuItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Service class for the full menu payload
+ * The menu is rendered once per menu version into ready-to-send bytes for each language,
+ * plain and gzip-compressed, with a strong ETag derived from the content. Menu requests
+ * then only pick a byte array; a MenuItem or Category change invalidates the rendering
+ * and the next request (or the change listener) renders the new version.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MenuCatalogService {
+
+    public static final List<String> LANGUAGES = List.of("en", "ar");
+
+    private final MenuItemRepository menuItemRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile RenderedCatalog catalog;
+
+    /**
+     * Rendered menu for a language (en or ar), rendering the current version first if needed
+     */
+    public RenderedMenu getMenu(String language) {
+        RenderedCatalog current = catalog;
+        if (current == null || current.version != version.get()) {
+            current = render();
+        }
+        RenderedMenu menu = current.menus.get(language);
+        return menu != null ? menu : current.menus.get(LANGUAGES.get(0));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        render();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        version.incrementAndGet();
+        render();
+    }
+
+    private synchronized RenderedCatalog render() {
+        long renderingVersion = version.get();
+        RenderedCatalog current = catalog;
+        if (current != null && current.version == renderingVersion) {
+            return current;
+        }
+
+        List<MenuItem> menuItems = menuItemRepository.findAllAvailableWithCategory();
+        Map<String, RenderedMenu> menus = new HashMap<>();
+        for (String language : LANGUAGES) {
+            menus.put(language, renderMenu(language, menuItems));
+        }
+
+        RenderedCatalog rendered = new RenderedCatalog(renderingVersion, menus);
+        catalog = rendered;
+        log.info("Rendered menu version {} ({} items)", renderingVersion, menuItems.size());
+        return rendered;
+    }
+
+    private RenderedMenu renderMenu(String language, List<MenuItem> menuItems) {
+        boolean arabic = "ar".equals(language);
+        Map<Long, MenuResponse.MenuCategory> categories = new LinkedHashMap<>();
+        for (MenuItem menuItem : menuItems) {
+            Category category = menuItem.getCategory();
+            MenuResponse.MenuCategory section = categories.computeIfAbsent(category.getId(), id ->
+                    new MenuResponse.MenuCategory(id,
+                            localized(arabic, category.getName(), category.getNameAr()),
+                            category.getDescription(),
+                            category.getImageUrl(),
+                            new ArrayList<>()));
+            section.getItems().add(new MenuResponse.MenuEntry(
+                    menuItem.getId(),
+                    localized(arabic, menuItem.getName(), menuItem.getNameAr()),
+                    localized(arabic, menuItem.getDescription(), menuItem.getDescriptionAr()),
+                    menuItem.getPrice(),
+                    menuItem.getImageUrl(),
+                    menuItem.getIsFeatured()));
+        }
+
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(
+                    ApiResponse.success(new MenuResponse(language, new ArrayList<>(categories.values()))));
+            String tag = contentHash(json);
+            return new RenderedMenu(json, gzip(json), "\"" + tag + "\"", "\"" + tag + "-gz\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render menu", e);
+        }
+    }
+
+    private static String localized(boolean arabic, String value, String valueAr) {
+        return arabic && valueAr != null && !valueAr.isBlank() ? valueAr : value;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String contentHash(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record RenderedCatalog(long version, Map<String, RenderedMenu> menus) {
+    }
+
+    /**
+     * One language of the menu, ready to write to the response
+     * The ETags are strong and differ per content coding, as the bytes differ.
+     */
+    public record RenderedMenu(byte[] json, byte[] gzip, String etag, String gzipEtag) {
+    }
+}
@@ -0,0 +1,171 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.entity.MenuItem;
+import com.restaurant.restaurantorders.event.MenuChangedEvent;
+import com.restaurant.restaurantorders.repository.MenuItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory copy of every menu item for pricing orders
+ * createOrder and bulk ingestion read prices and availability from here instead of querying the
+ * menu per order. After a menu change commits, only the changed items are read again and replaced,
+ * so the next order is priced with the new price or availability without reloading the menu.
+ * Bulk updates made on other instances are found by polling the menu version and refreshing the
+ * items recorded under the versions missed. The known version only advances over versions read from
+ * menu_changes in order, so a version committed elsewhere is never skipped; versions this instance
+ * applied itself are not refreshed twice. When changes it missed were already deleted, the whole menu
+ * is reloaded. Cached items are detached and shared between threads; they must not be modified.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MenuItemCache {
+
+    private final MenuItemRepository menuItemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentHashMap<Long, MenuItem> items = new ConcurrentHashMap<>();
+    private final AtomicLong knownVersion = new AtomicLong(-1);
+    private final ConcurrentSkipListSet<Long> appliedLocally = new ConcurrentSkipListSet<>();
+
+    /**
+     * Menu items by id; ids not cached yet are read from the database, unknown ids are left out
+     */
+    public Map<Long, MenuItem> getAll(Collection<Long> menuItemIds) {
+        Map<Long, MenuItem> found = new HashMap<>();
+        List<Long> missing = null;
+        for (Long menuItemId : menuItemIds) {
+            MenuItem menuItem = menuItemId != null ? items.get(menuItemId) : null;
+            if (menuItem != null) {
+                found.put(menuItemId, menuItem);
+            } else if (menuItemId != null) {
+                if (missing == null) {
+                    missing = new ArrayList<>();
+                }
+                missing.add(menuItemId);
+            }
+        }
+        if (missing != null) {
+            for (MenuItem menuItem : menuItemRepository.findAllById(missing)) {
+                put(menuItem);
+                found.put(menuItem.getId(), menuItem);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Menu version this instance has applied
+     */
+    public long getVersion() {
+        return knownVersion.get();
+    }
+
+    /**
+     * Load the whole menu once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        // Version first: a change committed while loading is polled again rather than missed
+        Long version = menuItemRepository.findMenuVersion();
+        reloadAll();
+        knownVersion.accumulateAndGet(version != null ? version : 0, Math::max);
+        log.info("Menu item cache loaded {} items at menu version {}", items.size(), knownVersion.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        if (event.getVersion() > knownVersion.get()) {
+            appliedLocally.add(event.getVersion());
+        }
+        if (event.isFullReload()) {
+            reloadAll();
+            return;
+        }
+        Set<Long> removed = new HashSet<>(event.getMenuItemIds());
+        for (MenuItem menuItem : menuItemRepository.findAllById(event.getMenuItemIds())) {
+            removed.remove(menuItem.getId());
+            put(menuItem);
+        }
+        removed.forEach(items::remove);
+    }
+
+    /**
+     * Pick up bulk updates made on other instances and announce them here as menu changes
+     */
+    @Scheduled(fixedDelayString = "${menu.version-poll-interval-ms:5000}")
+    public void pollVersion() {
+        long known = knownVersion.get();
+        if (known < 0) {
+            return;
+        }
+        Long current = menuItemRepository.findMenuVersion();
+        if (current == null || current <= known) {
+            return;
+        }
+
+        // Versions are contiguous; a gap means the changes were deleted before this instance read them
+        long applied = known;
+        Set<Long> changed = new LinkedHashSet<>();
+        for (Object[] row : menuItemRepository.findMenuChangesSince(known)) {
+            long version = ((Number) row[0]).longValue();
+            if (version != applied + 1) {
+                break;
+            }
+            applied = version;
+            if (!appliedLocally.contains(version)) {
+                for (String menuItemId : ((String) row[1]).split(",")) {
+                    changed.add(Long.valueOf(menuItemId.trim()));
+                }
+            }
+        }
+
+        if (applied < current && applied == known) {
+            log.warn("Menu changes after version {} are gone, reloading the whole menu at version {}", known, current);
+            eventPublisher.publishEvent(MenuChangedEvent.all());
+            applied = current;
+        } else if (!changed.isEmpty()) {
+            log.info("Menu version {} -> {}: refreshing {} menu items", known, applied, changed.size());
+            eventPublisher.publishEvent(MenuChangedEvent.of(List.copyOf(changed), applied));
+        }
+        knownVersion.set(applied);
+        appliedLocally.headSet(applied, true).clear();
+    }
+
+    private void reloadAll() {
+        Set<Long> removed = new HashSet<>(items.keySet());
+        for (MenuItem menuItem : menuItemRepository.findAll()) {
+            removed.remove(menuItem.getId());
+            put(menuItem);
+        }
+        removed.forEach(items::remove);
+    }
+
+    /**
+     * Refreshes can finish out of order; an older read never replaces a newer one
+     */
+    private void put(MenuItem menuItem) {
+        items.merge(menuItem.getId(), menuItem, (cached, fresh) ->
+                cached.getUpdatedAt() != null && fresh.getUpdatedAt() != null
+                        && fresh.getUpdatedAt().isBefore(cached.getUpdatedAt()) ? cached : fresh);
+    }
+}
@@ -0,0 +1,84 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.dto.response.MenuSearchResponse;
+import com.restaurant.restaurantorders.entity.MenuItem;
+import com.restaurant.restaurantorders.event.MenuChangedEvent;
+import com.restaurant.restaurantorders.repository.MenuItemRepository;
+import com.restaurant.restaurantorders.util.MenuSearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service class for bilingual menu search
+ * Queries hit an immutable in-memory index; menu changes swap in a new index
+ * in which only the changed items were re-analyzed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MenuSearchService {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final MenuItemRepository menuItemRepository;
+
+    private volatile MenuSearchIndex index = MenuSearchIndex.empty();
+
+    /**
+     * Search available menu items by English or Arabic name and description
+     */
+    public List<MenuSearchResponse> search(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return index.search(query, max).stream()
+                .map(hit -> {
+                    MenuSearchIndex.Document document = hit.getDocument();
+                    return new MenuSearchResponse(document.getId(), document.getName(), document.getNameAr(),
+                            document.getPrice(), document.getImageUrl(), hit.getScore());
+                })
+                .toList();
+    }
+
+    /**
+     * Build the index from the whole menu once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        index = MenuSearchIndex.of(menuItemRepository.findAll().stream().map(this::toDocument).toList());
+        log.info("Menu search index built with {} items", index.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onMenuChanged(MenuChangedEvent event) {
+        if (event.isFullReload()) {
+            rebuild();
+            return;
+        }
+        List<MenuItem> changed = menuItemRepository.findAllById(event.getMenuItemIds());
+        Set<Long> removed = new HashSet<>(event.getMenuItemIds());
+        changed.forEach(menuItem -> removed.remove(menuItem.getId()));
+        index = index.with(changed.stream().map(this::toDocument).toList(), removed);
+    }
+
+    private MenuSearchIndex.Document toDocument(MenuItem menuItem) {
+        return new MenuSearchIndex.Document(
+                menuItem.getId(),
+                menuItem.getName(),
+                menuItem.getNameAr(),
+                menuItem.getDescription(),
+                menuItem.getDescriptionAr(),
+                menuItem.getPrice(),
+                menuItem.getImageUrl(),
+                Boolean.TRUE.equals(menuItem.getIsAvailable()));
+    }
+}
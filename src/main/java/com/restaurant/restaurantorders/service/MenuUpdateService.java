@@ -0,0 +1,113 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.dto.request.BulkMenuUpdateRequest;
+import com.restaurant.restaurantorders.dto.response.BulkMenuUpdateResponse;
+import com.restaurant.restaurantorders.event.MenuChangedEvent;
+import com.restaurant.restaurantorders.exception.ResourceNotFoundException;
+import com.restaurant.restaurantorders.repository.MenuItemRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for bulk menu changes (e.g. every dish using an ingredient that ran out)
+ * All changes are applied with set-based UPDATE ... JOIN statements instead of one entity save
+ * per item, then recorded under a new menu version. Bulk statements bypass the JPA entity
+ * listener, so the MenuChangedEvent is published here, listing exactly the changed items.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MenuUpdateService {
+
+    private static final int ROWS_PER_STATEMENT = 500;
+
+    private static final String UPDATE_ITEMS = "UPDATE menu_items m JOIN (%s) u ON m.id = u.id " +
+            "SET m.price = COALESCE(u.price, m.price), m.is_available = COALESCE(u.is_available, m.is_available), " +
+            "m.updated_at = ?";
+
+    private final MenuItemRepository menuItemRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${menu.changes.retention-hours:24}")
+    private int changesRetentionHours;
+
+    /**
+     * Apply availability and price changes; all or nothing
+     */
+    @Transactional
+    public BulkMenuUpdateResponse updateItems(BulkMenuUpdateRequest request) {
+        Set<Long> menuItemIds = new LinkedHashSet<>();
+        for (BulkMenuUpdateRequest.ItemUpdate update : request.getItems()) {
+            if (!menuItemIds.add(update.getMenuItemId())) {
+                throw new IllegalArgumentException("Menu item listed more than once: " + update.getMenuItemId());
+            }
+            if (update.getIsAvailable() == null && update.getPrice() == null) {
+                throw new IllegalArgumentException("Nothing to change for menu item: " + update.getMenuItemId());
+            }
+        }
+        Set<Long> missing = new LinkedHashSet<>(menuItemIds);
+        menuItemRepository.findExistingIds(menuItemIds).forEach(missing::remove);
+        if (!missing.isEmpty()) {
+            throw new ResourceNotFoundException("Menu items not found with ids: " + missing);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<BulkMenuUpdateRequest.ItemUpdate> updates = request.getItems();
+        int updated = 0;
+        for (int from = 0; from < updates.size(); from += ROWS_PER_STATEMENT) {
+            updated += update(updates.subList(from, Math.min(from + ROWS_PER_STATEMENT, updates.size())), now);
+        }
+
+        menuItemRepository.incrementMenuVersion();
+        long version = menuItemRepository.findMenuVersion();
+        menuItemRepository.insertMenuChange(version,
+                menuItemIds.stream().map(String::valueOf).collect(Collectors.joining(",")), now);
+
+        List<Long> changed = List.copyOf(menuItemIds);
+        eventPublisher.publishEvent(MenuChangedEvent.of(changed, version));
+        log.info("Bulk menu update of {} items as menu version {}", changed.size(), version);
+        return new BulkMenuUpdateResponse(version, updated, changed);
+    }
+
+    /**
+     * Keep menu_changes to the window in which other instances poll them
+     */
+    @Scheduled(cron = "${menu.changes.cleanup-cron:0 45 * * * *}")
+    public void deleteOldChanges() {
+        int deleted = menuItemRepository.deleteMenuChangesBefore(LocalDateTime.now().minusHours(changesRetentionHours));
+        if (deleted > 0) {
+            log.info("Deleted {} menu changes older than {} hours", deleted, changesRetentionHours);
+        }
+    }
+
+    private int update(List<BulkMenuUpdateRequest.ItemUpdate> updates, LocalDateTime now) {
+        StringBuilder rows = new StringBuilder("SELECT ? AS id, CAST(? AS DECIMAL(10, 2)) AS price, ? AS is_available");
+        List<Object> args = new ArrayList<>(updates.size() * 3 + 1);
+        for (int i = 0; i < updates.size(); i++) {
+            if (i > 0) {
+                rows.append(" UNION ALL SELECT ?, ?, ?");
+            }
+            BulkMenuUpdateRequest.ItemUpdate update = updates.get(i);
+            args.add(update.getMenuItemId());
+            args.add(update.getPrice());
+            args.add(update.getIsAvailable());
+        }
+        args.add(Timestamp.valueOf(now));
+        return jdbcTemplate.update(String.format(UPDATE_ITEMS, rows), args.toArray());
+    }
+}
@@ -0,0 +1,71 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.shard.ShardRouter;
+import com.restaurant.restaurantorders.shard.ShardRoutingDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically moves old terminal orders to the archive tables.
+ * Batches are small and separated by a pause so the archiver never holds
+ * long locks or competes with checkout traffic for the connection pool.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "orders.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class OrderArchiveScheduler {
+
+    private final OrderArchiveService orderArchiveService;
+    private final ShardRouter shardRouter;
+
+    @Value("${orders.archive.retention-days:90}")
+    private int retentionDays;
+
+    @Value("${orders.archive.batch-size:500}")
+    private int batchSize;
+
+    @Value("${orders.archive.batch-pause-ms:200}")
+    private long batchPauseMs;
+
+    @Value("${orders.archive.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(cron = "${orders.archive.cron:0 0 4 * * *}")
+    public void archiveOldOrders() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        shardRouter.forEachShard(() -> archiveShard(cutoff));
+    }
+
+    /**
+     * Archive the shard selected by the ShardRouter; each batch is its own transaction on that shard
+     */
+    private void archiveShard(LocalDateTime cutoff) {
+        int archived = 0;
+
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int moved = orderArchiveService.archiveBatch(cutoff, batchSize);
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(batchPauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} orders created before {} on shard {}", archived, cutoff,
+                    ShardRoutingDataSource.currentShard());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.repository.ArchivedOrderRepository;
+import com.restaurant.restaurantorders.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service class for order archival
+ * Moves terminal orders out of the hot tables, one small batch per transaction
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderArchiveService {
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+
+    /**
+     * Archive one batch of DELIVERED/CANCELLED orders created before the cutoff.
+     * Returns the number of orders moved; zero means there is nothing left to do.
+     */
+    @Transactional
+    public int archiveBatch(LocalDateTime cutoff, int batchSize) {
+        List<Long> orderIds = orderRepository.findArchivableOrderIds(cutoff, batchSize);
+        if (orderIds.isEmpty()) {
+            return 0;
+        }
+
+        archivedOrderRepository.copyOrders(orderIds, LocalDateTime.now());
+        archivedOrderRepository.copyOrderItems(orderIds);
+        orderRepository.deleteItemsByOrderIds(orderIds);
+        return orderRepository.deleteByOrderIds(orderIds);
+    }
+}
@@ -0,0 +1,67 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.dto.response.OrderResponse;
+import com.restaurant.restaurantorders.event.OrderCreatedEvent;
+import com.restaurant.restaurantorders.event.OrderStatusChangedEvent;
+import com.restaurant.restaurantorders.util.SingleFlight;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-flight layer in front of the hot OrderService reads.
+ * Concurrent identical getOrderById/getTodayStats calls share one database round trip.
+ * Entries are dropped as soon as a write to the same order commits, so a read that
+ * starts after a write never observes the state from before it.
+ */
+@Service
+public class OrderReadCoalescer {
+
+    private static final String TODAY_STATS_KEY = "today";
+
+    private final OrderService orderService;
+    private final SingleFlight<Long, OrderResponse> orderFlights;
+    private final SingleFlight<String, OrderService.TodayStats> statsFlights;
+
+    public OrderReadCoalescer(OrderService orderService,
+                              @Value("${orders.coalescing.order-freshness-ms:0}") long orderFreshnessMs,
+                              @Value("${orders.coalescing.stats-freshness-ms:250}") long statsFreshnessMs) {
+        this.orderService = orderService;
+        this.orderFlights = new SingleFlight<>(orderFreshnessMs, TimeUnit.MILLISECONDS);
+        this.statsFlights = new SingleFlight<>(statsFreshnessMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get order by ID, sharing the query with identical concurrent calls
+     */
+    public OrderResponse getOrderById(Long orderId) {
+        return orderFlights.execute(orderId, () -> orderService.getOrderById(orderId));
+    }
+
+    /**
+     * Get today's statistics, sharing the queries with identical concurrent calls
+     */
+    public OrderService.TodayStats getTodayStats() {
+        return statsFlights.execute(TODAY_STATS_KEY, orderService::getTodayStats);
+    }
+
+    @TransactionalEventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        statsFlights.forget(TODAY_STATS_KEY);
+    }
+
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        orderFlights.forget(event.getOrderId());
+        statsFlights.forget(TODAY_STATS_KEY);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.coalescing.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        orderFlights.purgeExpired();
+        statsFlights.purgeExpired();
+    }
+}
@@ -1,55 +1,148 @@
 package com.restaurant.restaurantorders.service;
 
 import com.restaurant.restaurantorders.dto.request.CreateOrderRequest;
+import com.restaurant.restaurantorders.dto.request.OrderField;
 import com.restaurant.restaurantorders.dto.response.OrderResponse;
+import com.restaurant.restaurantorders.entity.ArchivedOrder;
 import com.restaurant.restaurantorders.entity.MenuItem;
 import com.restaurant.restaurantorders.entity.Order;
 import com.restaurant.restaurantorders.entity.OrderItem;
+import com.restaurant.restaurantorders.event.OrderCreatedEvent;
+import com.restaurant.restaurantorders.event.OrderStatusChangedEvent;
 import com.restaurant.restaurantorders.exception.ResourceNotFoundException;
-import com.restaurant.restaurantorders.repository.MenuItemRepository;
+import com.restaurant.restaurantorders.config.ShardingProperties;
+import com.restaurant.restaurantorders.jfr.CreateOrderEvent;
+import com.restaurant.restaurantorders.jfr.TodayStatsEvent;
+import com.restaurant.restaurantorders.jfr.UpdateOrderStatusEvent;
+import com.restaurant.restaurantorders.mapper.OrderMapper;
+import com.restaurant.restaurantorders.promotion.PromotionPlan;
+import com.restaurant.restaurantorders.repository.ArchivedOrderRepository;
 import com.restaurant.restaurantorders.repository.OrderRepository;
+import com.restaurant.restaurantorders.shard.OrderIdGenerator;
+import com.restaurant.restaurantorders.shard.ShardRouter;
+import com.restaurant.restaurantorders.shard.ShardedPages;
+import com.restaurant.restaurantorders.util.Money;
+import jakarta.persistence.Tuple;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
 /**
  * Service class for Order operations
- * Handles business logic for order management
+ * Handles business logic for order management. Orders live on the shard of their branch:
+ * single-order operations run on the shard encoded in the order id, listings and
+ * statistics query every shard and merge the results here.
  */
 @Service
 @RequiredArgsConstructor
 public class OrderService {
 
     private final OrderRepository orderRepository;
-    private final MenuItemRepository menuItemRepository;
+    private final MenuItemCache menuItemCache;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    private final OrderIdGenerator orderIdGenerator;
+    private final ShardingProperties shardingProperties;
+    private final ScheduledOrderService scheduledOrderService;
+    private final KitchenCapacityService kitchenCapacityService;
+    private final PromotionService promotionService;
+    private final OrderMapper orderMapper;
 
     /**
      * Create a new order
+     * Menu items come from the menu item cache (the shared shard on a miss); the order is then written on
+     * its branch's shard.
+     * Online orders (no POS clientOrderId) go through kitchen admission before anything is written;
+     * the response carries the ready time quoted at creation. Active promotions are applied from the
+     * compiled promotion plan and stored as the order's discount.
+     * Recorded as a CreateOrderEvent; phase timings are only taken while a recording wants the event.
      */
-    @Transactional
     public OrderResponse createOrder(CreateOrderRequest request) {
+        CreateOrderEvent jfrEvent = new CreateOrderEvent();
+        jfrEvent.begin();
+        boolean timed = jfrEvent.isEnabled();
+        long started = timed ? System.nanoTime() : 0;
+
+        long branchId = request.getBranchId() != null ? request.getBranchId() : shardingProperties.getDefaultBranchId();
+        int shard = shardRouter.shardForBranch(branchId);
+
+        Map<Long, MenuItem> menuItems = menuItemCache.getAll(request.getItems().stream()
+                .map(CreateOrderRequest.OrderItemRequest::getMenuItemId)
+                .toList());
+        long lookedUp = timed ? System.nanoTime() : 0;
+
+        // A pre-order is ready when it was ordered for; it does not compete for the current backlog
+        Order.OrderStatus initialStatus = scheduledOrderService.initialStatus(request.getScheduledFor());
+        LocalDateTime estimatedReadyAt = initialStatus == Order.OrderStatus.SCHEDULED
+                ? request.getScheduledFor()
+                : kitchenCapacityService.admit(request.getItems(), menuItems, request.getClientOrderId() == null);
+
+        OrderResponse response = shardRouter.write(shard, () -> {
+            // A replayed POS order returns the order created the first time
+            if (request.getClientOrderId() != null) {
+                Order existing = orderRepository.findByClientOrderId(request.getClientOrderId()).orElse(null);
+                if (existing != null) {
+                    return orderMapper.toResponse(existing);
+                }
+            }
+            return createOrder(request, branchId, shard, initialStatus, menuItems);
+        });
+        response.setEstimatedReadyAt(estimatedReadyAt);
+
+        jfrEvent.end();
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.orderId = response.getId();
+            jfrEvent.branchId = branchId;
+            jfrEvent.shard = shard;
+            jfrEvent.lines = request.getItems().size();
+            jfrEvent.lookupTime = lookedUp - started;
+            jfrEvent.persistTime = System.nanoTime() - lookedUp;
+            jfrEvent.commit();
+        }
+        return response;
+    }
+
+    private OrderResponse createOrder(CreateOrderRequest request, long branchId, int shard,
+                                      Order.OrderStatus initialStatus, Map<Long, MenuItem> menuItems) {
         // Create order entity
         Order order = new Order();
+        order.setId(orderIdGenerator.nextId(shard));
+        order.setBranchId(branchId);
         order.setCustomerName(request.getCustomerName());
         order.setCustomerPhone(request.getCustomerPhone());
         order.setCustomerEmail(request.getCustomerEmail());
         order.setCustomerAddress(request.getCustomerAddress());
         order.setNotes(request.getNotes());
-        order.setStatus(Order.OrderStatus.PENDING);
+        order.setClientOrderId(request.getClientOrderId());
+        order.setScheduledFor(request.getScheduledFor());
+        order.setStatus(initialStatus);
 
-        // Process order items
-        BigDecimal totalAmount = BigDecimal.ZERO;
+        // Process order items; prices are summed in minor units and converted once per amount
+        long totalAmount = 0;
+        List<PromotionPlan.Line> pricedLines = new ArrayList<>(request.getItems().size());
 
         for (CreateOrderRequest.OrderItemRequest itemRequest : request.getItems()) {
-            MenuItem menuItem = menuItemRepository.findById(itemRequest.getMenuItemId())
-                    .orElseThrow(() -> new ResourceNotFoundException(
-                            "Menu item not found with id: " + itemRequest.getMenuItemId()));
+            MenuItem menuItem = menuItems.get(itemRequest.getMenuItemId());
+            if (menuItem == null) {
+                throw new ResourceNotFoundException("Menu item not found with id: " + itemRequest.getMenuItemId());
+            }
 
             if (!menuItem.getIsAvailable()) {
                 throw new IllegalStateException(
@@ -61,117 +154,265 @@ public class OrderService {
             orderItem.setMenuItemName(menuItem.getName());
             orderItem.setQuantity(itemRequest.getQuantity());
             orderItem.setPriceAtTime(menuItem.getPrice());
-            orderItem.calculateSubtotal();
+
+            long subtotal = Money.multiply(Money.toMinorUnits(menuItem.getPrice()), itemRequest.getQuantity());
+            orderItem.setSubtotal(Money.toBigDecimal(subtotal));
 
             order.addOrderItem(orderItem);
-            totalAmount = totalAmount.add(orderItem.getSubtotal());
+            totalAmount = Money.add(totalAmount, subtotal);
+            pricedLines.add(new PromotionPlan.Line(menuItem.getId(), itemRequest.getQuantity(),
+                    Money.toMinorUnits(menuItem.getPrice())));
         }
 
-        order.setTotalAmount(totalAmount);
+        PromotionPlan.Discount discount = promotionService.currentPlan().apply(pricedLines, LocalDateTime.now());
+        order.setDiscountAmount(Money.toBigDecimal(discount.amount()));
+        order.setTotalAmount(Money.toBigDecimal(Money.subtract(totalAmount, discount.amount())));
 
         // Save order
-        Order savedOrder = orderRepository.save(order);
+        Order savedOrder = orderRepository.insert(order);
+        eventPublisher.publishEvent(OrderCreatedEvent.from(savedOrder));
 
-        return mapToOrderResponse(savedOrder);
+        return orderMapper.toResponse(savedOrder);
     }
 
     /**
      * Get order by ID
+     * Falls back to the archive for old orders moved out of the hot tables
      */
-    @Transactional(readOnly = true)
     public OrderResponse getOrderById(Long orderId) {
-        Order order = orderRepository.findByIdWithItems(orderId);
-        if (order == null) {
-            throw new ResourceNotFoundException("Order not found with id: " + orderId);
-        }
-        return mapToOrderResponse(order);
+        return shardRouter.read(shardOf(orderId), () -> {
+            Order order = orderRepository.findByIdWithItems(orderId);
+            if (order != null) {
+                return orderMapper.toResponse(order);
+            }
+
+            ArchivedOrder archivedOrder = archivedOrderRepository.findByIdWithItems(orderId);
+            if (archivedOrder == null) {
+                throw new ResourceNotFoundException("Order not found with id: " + orderId);
+            }
+            return orderMapper.toResponse(archivedOrder);
+        });
     }
 
     /**
      * Get all orders with pagination
      */
-    @Transactional(readOnly = true)
     public Page<OrderResponse> getAllOrders(Pageable pageable) {
-        return orderRepository.findAll(pageable)
-                .map(this::mapToOrderResponse);
+        Pageable perShard = ShardedPages.perShard(pageable);
+        List<Page<OrderResponse>> pages = shardRouter.readAll(() -> orderRepository.findAll(perShard)
+                .map(orderMapper::toResponse));
+        return ShardedPages.merge(pages, pageable, OrderService::responseProperty);
     }
 
     /**
      * Get orders by status
      */
-    @Transactional(readOnly = true)
     public Page<OrderResponse> getOrdersByStatus(Order.OrderStatus status, Pageable pageable) {
-        return orderRepository.findByStatusOrderByCreatedAtDesc(status, pageable)
-                .map(this::mapToOrderResponse);
+        Pageable perShard = ShardedPages.perShard(pageable);
+        List<Page<OrderResponse>> pages = shardRouter.readAll(() -> orderRepository
+                .findByStatusOrderByCreatedAtDesc(status, perShard)
+                .map(orderMapper::toResponse));
+        // The query orders by creation time ahead of any requested sort
+        Pageable merged = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                Sort.by(Sort.Direction.DESC, "createdAt").and(pageable.getSort()));
+        return ShardedPages.merge(pages, merged, OrderService::responseProperty);
+    }
+
+    /**
+     * Get order by ID with only the requested fields
+     * Reads just those columns, and order_items only when items is requested
+     */
+    public Map<String, Object> getOrderFields(Long orderId, Set<OrderField> fields) {
+        return shardRouter.read(shardOf(orderId), () -> {
+            Tuple tuple = orderRepository.findProjectedById(orderId, fields).orElse(null);
+            if (tuple == null) {
+                ArchivedOrder archivedOrder = archivedOrderRepository.findByIdWithItems(orderId);
+                if (archivedOrder == null) {
+                    throw new ResourceNotFoundException("Order not found with id: " + orderId);
+                }
+                return selectFields(orderMapper.toResponse(archivedOrder), fields);
+            }
+            return mapTuples(List.of(tuple), fields).get(0);
+        });
+    }
+
+    /**
+     * Get orders (optionally of one status) with pagination and only the requested fields
+     */
+    public Page<Map<String, Object>> getOrdersFields(Order.OrderStatus status, Pageable pageable, Set<OrderField> fields) {
+        Pageable perShard = ShardedPages.perShard(pageable);
+        List<Page<Tuple>> pages = shardRouter.readAll(() -> orderRepository.findProjected(fields, status, perShard));
+        Page<Tuple> page = ShardedPages.merge(pages, pageable, Tuple::get);
+
+        // Items are read on the shard of each order
+        Map<Integer, List<Tuple>> byShard = new TreeMap<>();
+        for (Tuple tuple : page.getContent()) {
+            byShard.computeIfAbsent(shardOf(tuple.get(OrderField.ID.getFieldName(), Long.class)),
+                    shard -> new ArrayList<>()).add(tuple);
+        }
+        Map<Long, Map<String, Object>> byId = new HashMap<>();
+        byShard.forEach((shard, tuples) -> shardRouter.read(shard, () -> mapTuples(tuples, fields))
+                .forEach(order -> byId.put((Long) order.get(OrderField.ID.getFieldName()), order)));
+
+        List<Map<String, Object>> orders = page.getContent().stream()
+                .map(tuple -> byId.get(tuple.get(OrderField.ID.getFieldName(), Long.class)))
+                .toList();
+        return new PageImpl<>(orders, pageable, page.getTotalElements());
     }
 
     /**
      * Update order status
      */
-    @Transactional
     public OrderResponse updateOrderStatus(Long orderId, Order.OrderStatus newStatus) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
+        UpdateOrderStatusEvent jfrEvent = new UpdateOrderStatusEvent();
+        jfrEvent.begin();
+        int shard = shardOf(orderId);
 
-        order.setStatus(newStatus);
-        Order updatedOrder = orderRepository.save(order);
+        OrderResponse response = shardRouter.write(shard, () -> {
+            Order order = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + orderId));
 
-        return mapToOrderResponse(updatedOrder);
+            Order.OrderStatus oldStatus = order.getStatus();
+            if (jfrEvent.isEnabled()) {
+                jfrEvent.fromStatus = oldStatus.name();
+            }
+            // Only status changes touch an order after creation, so updatedAt is when oldStatus began
+            LocalDateTime oldStatusSince = order.getUpdatedAt() != null ? order.getUpdatedAt() : order.getCreatedAt();
+            order.setStatus(newStatus);
+            Order updatedOrder = orderRepository.save(order);
+
+            if (oldStatus != newStatus) {
+                eventPublisher.publishEvent(new OrderStatusChangedEvent(
+                        orderId, oldStatus, newStatus, oldStatusSince, LocalDateTime.now()));
+            }
+
+            return orderMapper.toResponse(updatedOrder);
+        });
+
+        jfrEvent.end();
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.orderId = orderId;
+            jfrEvent.shard = shard;
+            jfrEvent.toStatus = newStatus.name();
+            jfrEvent.commit();
+        }
+        return response;
     }
 
     /**
-     * Get today's statistics
+     * Get today's statistics, summed over all shards
      */
-    @Transactional(readOnly = true)
     public TodayStats getTodayStats() {
+        TodayStatsEvent jfrEvent = new TodayStatsEvent();
+        jfrEvent.begin();
         LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
 
-        List<Order> todayOrders = orderRepository.findTodayOrders(startOfDay);
-        long pendingCount = orderRepository.countByStatus(Order.OrderStatus.PENDING);
-        Double revenue = orderRepository.getTodayRevenue(startOfDay);
+        List<TodayStats> shardStats = shardRouter.readAll(() -> {
+            List<Order> todayOrders = orderRepository.findTodayOrders(startOfDay);
+            long pendingCount = orderRepository.countByStatus(Order.OrderStatus.PENDING);
+            Double revenue = orderRepository.getTodayRevenue(startOfDay);
+
+            TodayStats stats = new TodayStats();
+            stats.setTodayOrdersCount(todayOrders.size());
+            stats.setPendingOrdersCount(pendingCount);
+            stats.setTodayRevenue(revenue != null ? BigDecimal.valueOf(revenue) : BigDecimal.ZERO);
+            return stats;
+        });
 
         TodayStats stats = new TodayStats();
-        stats.setTodayOrdersCount(todayOrders.size());
-        stats.setPendingOrdersCount(pendingCount);
-        stats.setTodayRevenue(revenue != null ? BigDecimal.valueOf(revenue) : BigDecimal.ZERO);
+        stats.setTodayRevenue(BigDecimal.ZERO);
+        for (TodayStats shard : shardStats) {
+            stats.setTodayOrdersCount(stats.getTodayOrdersCount() + shard.getTodayOrdersCount());
+            stats.setPendingOrdersCount(stats.getPendingOrdersCount() + shard.getPendingOrdersCount());
+            stats.setTodayRevenue(stats.getTodayRevenue().add(shard.getTodayRevenue()));
+        }
 
+        jfrEvent.end();
+        if (jfrEvent.shouldCommit()) {
+            jfrEvent.shards = shardStats.size();
+            jfrEvent.todayOrders = stats.getTodayOrdersCount();
+            jfrEvent.pendingOrders = stats.getPendingOrdersCount();
+            jfrEvent.commit();
+        }
         return stats;
     }
 
     /**
-     * Map Order entity to OrderResponse DTO
+     * Shard holding an order; ids that point at no configured shard cannot exist
      */
-    private OrderResponse mapToOrderResponse(Order order) {
-        OrderResponse response = new OrderResponse();
-        response.setId(order.getId());
-        response.setCustomerName(order.getCustomerName());
-        response.setCustomerPhone(order.getCustomerPhone());
-        response.setCustomerEmail(order.getCustomerEmail());
-        response.setCustomerAddress(order.getCustomerAddress());
-        response.setTotalAmount(order.getTotalAmount());
-        response.setStatus(order.getStatus().toString());
-        response.setNotes(order.getNotes());
-        response.setCreatedAt(order.getCreatedAt());
-
-        // Map order items if loaded
-        if (order.getItems() != null && !order.getItems().isEmpty()) {
-            List<OrderResponse.OrderItemResponse> items = order.getItems().stream()
-                    .map(this::mapToOrderItemResponse)
-                    .toList();
-            response.setItems(items);
+    private int shardOf(Long orderId) {
+        int shard = OrderIdGenerator.shardOf(orderId);
+        if (!shardRouter.isShard(shard)) {
+            throw new ResourceNotFoundException("Order not found with id: " + orderId);
         }
+        return shard;
+    }
 
-        return response;
+    /**
+     * Sort key of a mapped order for merging pages; admin listings sort by OrderResponse properties
+     */
+    private static Object responseProperty(OrderResponse response, String property) {
+        return new BeanWrapperImpl(response).getPropertyValue(property);
     }
 
-    private OrderResponse.OrderItemResponse mapToOrderItemResponse(OrderItem item) {
-        OrderResponse.OrderItemResponse response = new OrderResponse.OrderItemResponse();
-        response.setId(item.getId());
-        response.setMenuItemName(item.getMenuItemName());
-        response.setQuantity(item.getQuantity());
-        response.setPriceAtTime(item.getPriceAtTime());
-        response.setSubtotal(item.getSubtotal());
-        return response;
+    /**
+     * Map projected order rows to field maps, attaching items with one query when requested
+     */
+    private List<Map<String, Object>> mapTuples(List<Tuple> tuples, Set<OrderField> fields) {
+        List<Map<String, Object>> orders = new ArrayList<>(tuples.size());
+        Map<Long, List<OrderResponse.OrderItemResponse>> itemsByOrder = new HashMap<>();
+        for (Tuple tuple : tuples) {
+            Map<String, Object> order = new LinkedHashMap<>();
+            for (OrderField field : fields) {
+                if (field == OrderField.ITEMS) {
+                    List<OrderResponse.OrderItemResponse> items = new ArrayList<>();
+                    itemsByOrder.put(tuple.get(OrderField.ID.getFieldName(), Long.class), items);
+                    order.put(field.getFieldName(), items);
+                } else {
+                    Object value = tuple.get(field.getFieldName());
+                    order.put(field.getFieldName(), value instanceof Order.OrderStatus status ? status.toString() : value);
+                }
+            }
+            orders.add(order);
+        }
+
+        if (!itemsByOrder.isEmpty()) {
+            for (Tuple item : orderRepository.findItemTuples(itemsByOrder.keySet())) {
+                itemsByOrder.get(item.get("orderId", Long.class)).add(new OrderResponse.OrderItemResponse(
+                        item.get("id", Long.class),
+                        item.get("menuItemName", String.class),
+                        item.get("quantity", Integer.class),
+                        item.get("priceAtTime", BigDecimal.class),
+                        item.get("subtotal", BigDecimal.class)));
+            }
+        }
+        return orders;
+    }
+
+    /**
+     * Trim a fully mapped order to the requested fields
+     */
+    private Map<String, Object> selectFields(OrderResponse response, Set<OrderField> fields) {
+        Map<String, Object> order = new LinkedHashMap<>();
+        for (OrderField field : fields) {
+            Object value = switch (field) {
+                case ID -> response.getId();
+                case BRANCH_ID -> response.getBranchId();
+                case CUSTOMER_NAME -> response.getCustomerName();
+                case CUSTOMER_PHONE -> response.getCustomerPhone();
+                case CUSTOMER_EMAIL -> response.getCustomerEmail();
+                case CUSTOMER_ADDRESS -> response.getCustomerAddress();
+                case TOTAL_AMOUNT -> response.getTotalAmount();
+                case DISCOUNT_AMOUNT -> response.getDiscountAmount();
+                case STATUS -> response.getStatus();
+                case NOTES -> response.getNotes();
+                case SCHEDULED_FOR -> response.getScheduledFor();
+                case CREATED_AT -> response.getCreatedAt();
+                case ITEMS -> response.getItems() != null ? response.getItems() : List.of();
+            };
+            order.put(field.getFieldName(), value);
+        }
+        return order;
     }
 
     /**
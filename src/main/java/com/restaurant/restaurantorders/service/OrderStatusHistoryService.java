@@ -0,0 +1,211 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.dto.response.OrderTimelineResponse;
+import com.restaurant.restaurantorders.dto.response.StageDurationsResponse;
+import com.restaurant.restaurantorders.entity.Order;
+import com.restaurant.restaurantorders.entity.OrderStatusEvent;
+import com.restaurant.restaurantorders.event.OrderCreatedEvent;
+import com.restaurant.restaurantorders.event.OrderStatusChangedEvent;
+import com.restaurant.restaurantorders.exception.ResourceNotFoundException;
+import com.restaurant.restaurantorders.repository.ArchivedOrderRepository;
+import com.restaurant.restaurantorders.repository.OrderRepository;
+import com.restaurant.restaurantorders.repository.OrderStatusEventRepository;
+import com.restaurant.restaurantorders.shard.OrderIdGenerator;
+import com.restaurant.restaurantorders.shard.ShardRouter;
+import com.restaurant.restaurantorders.util.DurationHistogram;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service class for the append-only order status history
+ * Every transition becomes a row of order_status_events in the transaction of the change itself.
+ * Rows are collected per transaction and written with one JDBC batch just before commit, so a bulk
+ * chunk of hundreds of orders costs one batch and nothing is read before writing.
+ * After commit the time spent in the previous status is added to an in-memory histogram per stage,
+ * which serves duration percentiles without querying the history.
+ */
+@Slf4j
+@Service
+public class OrderStatusHistoryService {
+
+    private static final String INSERT_EVENT = "INSERT INTO order_status_events (order_id, from_status, to_status, " +
+            "changed_at) VALUES (?, ?, ?, ?)";
+
+    private static final long MAX_TRACKED_MILLIS = Duration.ofDays(7).toMillis();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OrderStatusEventRepository orderStatusEventRepository;
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ShardRouter shardRouter;
+    private final int warmupHours;
+
+    private final ConcurrentHashMap<Stage, DurationHistogram> stages = new ConcurrentHashMap<>();
+    private volatile LocalDateTime since = LocalDateTime.now();
+
+    public OrderStatusHistoryService(JdbcTemplate jdbcTemplate,
+                                     OrderStatusEventRepository orderStatusEventRepository,
+                                     OrderRepository orderRepository,
+                                     ArchivedOrderRepository archivedOrderRepository,
+                                     ShardRouter shardRouter,
+                                     @Value("${orders.status-history.warmup-hours:24}") int warmupHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.orderStatusEventRepository = orderStatusEventRepository;
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.shardRouter = shardRouter;
+        this.warmupHours = warmupHours;
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        LocalDateTime createdAt = event.getCreatedAt() != null ? event.getCreatedAt() : LocalDateTime.now();
+        pendingRows().add(new Object[]{event.getOrderId(), null, event.getStatus().name(), Timestamp.valueOf(createdAt)});
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        pendingRows().add(new Object[]{event.getOrderId(), event.getOldStatus().name(), event.getNewStatus().name(),
+                Timestamp.valueOf(event.getChangedAt())});
+    }
+
+    @TransactionalEventListener
+    public void recordStage(OrderStatusChangedEvent event) {
+        if (event.getOldStatusSince() != null) {
+            record(event.getOldStatus(), event.getNewStatus(),
+                    Duration.between(event.getOldStatusSince(), event.getChangedAt()).toMillis());
+        }
+    }
+
+    /**
+     * Seed the stage histograms from the recent history of every shard once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        LocalDateTime from = LocalDateTime.now().minusHours(warmupHours);
+        List<List<OrderStatusEvent>> shards = shardRouter.readAll(() -> orderStatusEventRepository.findChangedSince(from));
+        int recorded = 0;
+        for (List<OrderStatusEvent> events : shards) {
+            OrderStatusEvent previous = null;
+            for (OrderStatusEvent event : events) {
+                if (previous != null && previous.getOrderId().equals(event.getOrderId()) && event.getFromStatus() != null) {
+                    record(event.getFromStatus(), event.getToStatus(),
+                            Duration.between(previous.getChangedAt(), event.getChangedAt()).toMillis());
+                    recorded++;
+                }
+                previous = event;
+            }
+        }
+        since = from;
+        log.info("Stage durations warmed up with {} transitions since {}", recorded, from);
+    }
+
+    /**
+     * Get the status history of one order, including archived orders
+     */
+    public OrderTimelineResponse getTimeline(Long orderId) {
+        int shard = OrderIdGenerator.shardOf(orderId);
+        if (!shardRouter.isShard(shard)) {
+            throw new ResourceNotFoundException("Order not found with id: " + orderId);
+        }
+        List<OrderStatusEvent> events = shardRouter.read(shard, () -> {
+            List<OrderStatusEvent> found = orderStatusEventRepository.findByOrderIdOrderByIdAsc(orderId);
+            // Orders placed before the history existed have no events
+            if (found.isEmpty() && !orderRepository.existsById(orderId) && !archivedOrderRepository.existsById(orderId)) {
+                throw new ResourceNotFoundException("Order not found with id: " + orderId);
+            }
+            return found;
+        });
+
+        List<OrderTimelineResponse.Entry> entries = new ArrayList<>(events.size());
+        LocalDateTime previousChangedAt = null;
+        for (OrderStatusEvent event : events) {
+            Long millisInPreviousStatus = previousChangedAt != null
+                    ? Duration.between(previousChangedAt, event.getChangedAt()).toMillis()
+                    : null;
+            entries.add(new OrderTimelineResponse.Entry(
+                    event.getFromStatus() != null ? event.getFromStatus().name() : null,
+                    event.getToStatus().name(),
+                    event.getChangedAt(),
+                    millisInPreviousStatus));
+            previousChangedAt = event.getChangedAt();
+        }
+        return new OrderTimelineResponse(orderId, entries);
+    }
+
+    /**
+     * Get duration percentiles per stage, in status order
+     */
+    public StageDurationsResponse getStageDurations() {
+        List<StageDurationsResponse.Stage> result = stages.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(Comparator
+                        .comparing(Stage::from)
+                        .thenComparing(Stage::to)))
+                .map(entry -> {
+                    DurationHistogram histogram = entry.getValue();
+                    return new StageDurationsResponse.Stage(
+                            entry.getKey().from().name(),
+                            entry.getKey().to().name(),
+                            histogram.getTotalCount(),
+                            histogram.getMean(),
+                            histogram.getValueAtPercentile(50),
+                            histogram.getValueAtPercentile(90),
+                            histogram.getValueAtPercentile(99),
+                            histogram.getMaxValue());
+                })
+                .toList();
+        return new StageDurationsResponse(LocalDateTime.now(), since, result);
+    }
+
+    private void record(Order.OrderStatus from, Order.OrderStatus to, long millis) {
+        stages.computeIfAbsent(new Stage(from, to), stage -> new DurationHistogram(MAX_TRACKED_MILLIS)).record(millis);
+    }
+
+    /**
+     * Rows of the current transaction, inserted as one batch before it commits
+     */
+    @SuppressWarnings("unchecked")
+    private List<Object[]> pendingRows() {
+        List<Object[]> rows = (List<Object[]>) TransactionSynchronizationManager.getResource(this);
+        if (rows != null) {
+            return rows;
+        }
+        List<Object[]> newRows = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(this, newRows);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                jdbcTemplate.batchUpdate(INSERT_EVENT, newRows);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResource(OrderStatusHistoryService.this);
+            }
+        });
+        return newRows;
+    }
+
+    private record Stage(Order.OrderStatus from, Order.OrderStatus to) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.entity.OutboxEvent;
+import com.restaurant.restaurantorders.outbox.OutboxMessage;
+import com.restaurant.restaurantorders.outbox.OutboxPublisher;
+import com.restaurant.restaurantorders.repository.OutboxEventRepository;
+import com.restaurant.restaurantorders.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Polls the outbox for due events in batches and hands them to the OutboxPublisher one by one.
+ * <ul>
+ *     <li>Ordering: events leave in id order, and an order whose oldest pending event is
+ *     backing off holds back its later events, so consumers see each order's events in sequence.</li>
+ *     <li>At-least-once: rows are marked published only after the publisher returned;
+ *     a crash in between re-delivers them.</li>
+ *     <li>Failures: a failing event backs off on its own without stalling other orders, and is parked
+ *     as FAILED after outbox.relay.max-attempts; a parked event no longer holds back its order.</li>
+ *     <li>Isolation from checkout: the scan is a plain read and status updates touch rows by id,
+ *     so a slow downstream never holds locks that order inserts could wait on.</li>
+ * </ul>
+ * Every node may run the relay; a lease row makes one node at a time do the work, which keeps the
+ * per-order ordering. The lease is renewed before each batch and must outlast the slowest batch.
+ * Each shard has its own outbox and lease next to its orders; shards are relayed one after the other.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxPublisher outboxPublisher;
+    private final ShardRouter shardRouter;
+
+    @Value("${outbox.relay.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.relay.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll;
+
+    @Value("${outbox.relay.initial-backoff-ms:1000}")
+    private long initialBackoffMs;
+
+    @Value("${outbox.relay.max-backoff-ms:300000}")
+    private long maxBackoffMs;
+
+    @Value("${outbox.relay.max-attempts:20}")
+    private int maxAttempts;
+
+    @Value("${outbox.relay.lease-ms:30000}")
+    private long leaseMs;
+
+    @Value("${outbox.relay.retention-hours:24}")
+    private int retentionHours;
+
+    private final String leaseOwner = UUID.randomUUID().toString();
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:500}")
+    public void relay() {
+        shardRouter.forEachShard(this::relayShard);
+    }
+
+    private void relayShard() {
+        for (int batch = 0; batch < maxBatchesPerPoll; batch++) {
+            if (!holdLease() || !relayBatch()) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Take or renew the relay lease; false while another node holds it
+     */
+    boolean holdLease() {
+        LocalDateTime now = LocalDateTime.now();
+        return outboxEventRepository.acquireRelayLease(leaseOwner, now, now.plusNanos(leaseMs * 1_000_000)) == 1;
+    }
+
+    /**
+     * Publish one batch; returns true when a full batch went out cleanly and more may be waiting
+     */
+    boolean relayBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> due = outboxEventRepository.findDue(now, batchSize);
+        if (due.isEmpty()) {
+            return false;
+        }
+
+        Set<Long> failedOrders = new HashSet<>();
+        List<Long> published = new ArrayList<>();
+        for (OutboxEvent event : due) {
+            // Later events of an order that just failed wait until it is delivered or parked
+            if (failedOrders.contains(event.getAggregateId())) {
+                continue;
+            }
+            try {
+                outboxPublisher.publish(toMessage(event));
+                published.add(event.getId());
+            } catch (Exception e) {
+                failedOrders.add(event.getAggregateId());
+                recordFailure(event, now, e);
+            }
+        }
+
+        if (!published.isEmpty()) {
+            outboxEventRepository.markPublished(published, LocalDateTime.now());
+        }
+        return failedOrders.isEmpty() && due.size() == batchSize;
+    }
+
+    private void recordFailure(OutboxEvent event, LocalDateTime now, Exception e) {
+        int attempts = event.getAttempts() + 1;
+        String error = truncate(String.valueOf(e.getMessage()));
+        if (attempts >= maxAttempts) {
+            outboxEventRepository.park(event.getId(), error);
+            log.error("Giving up on outbox event {} ({} for order {}) after {} attempts",
+                    event.getId(), event.getEventType(), event.getAggregateId(), attempts, e);
+            return;
+        }
+        LocalDateTime retryAt = now.plusNanos(backoffMs(event.getAttempts()) * 1_000_000);
+        outboxEventRepository.markFailed(event.getId(), retryAt, error);
+        log.warn("Publishing outbox event {} failed (attempt {}), retrying at {}",
+                event.getId(), attempts, retryAt, e);
+    }
+
+    @Scheduled(cron = "${outbox.relay.cleanup-cron:0 15 * * * *}")
+    public void deletePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        shardRouter.forEachShard(() -> {
+            int deleted;
+            do {
+                deleted = outboxEventRepository.deletePublishedBefore(cutoff, batchSize * 10);
+            } while (deleted > 0);
+        });
+    }
+
+    private long backoffMs(int attempts) {
+        return Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts, 20));
+    }
+
+    private static OutboxMessage toMessage(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateId(), event.getEventType(),
+                event.getPayload(), event.getCreatedAt());
+    }
+
+    private static String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
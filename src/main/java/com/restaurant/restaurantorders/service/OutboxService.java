@@ -0,0 +1,61 @@
+package com.restaurant.restaurantorders.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.restaurantorders.entity.OutboxEvent;
+import com.restaurant.restaurantorders.event.OrderCreatedEvent;
+import com.restaurant.restaurantorders.event.OrderStatusChangedEvent;
+import com.restaurant.restaurantorders.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Service class for the order event outbox
+ * Listens synchronously, so each event row is inserted in the transaction of the order change
+ * itself: both commit or neither does. Delivery happens later in OutboxRelay.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    public static final String ORDER_CREATED = "OrderCreated";
+    public static final String ORDER_STATUS_CHANGED = "OrderStatusChanged";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        append(event.getOrderId(), ORDER_CREATED, event);
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        append(event.getOrderId(), ORDER_STATUS_CHANGED, event);
+    }
+
+    private void append(Long orderId, String eventType, Object event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + eventType + " for order " + orderId, e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateId(orderId);
+        outboxEvent.setEventType(eventType);
+        outboxEvent.setPayload(payload);
+        outboxEvent.setCreatedAt(now);
+        outboxEvent.setNextAttemptAt(now);
+        outboxEventRepository.save(outboxEvent);
+    }
+}
@@ -0,0 +1,210 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.dto.response.PrepTotalsResponse;
+import com.restaurant.restaurantorders.entity.Order;
+import com.restaurant.restaurantorders.event.OrderCreatedEvent;
+import com.restaurant.restaurantorders.event.OrderStatusChangedEvent;
+import com.restaurant.restaurantorders.repository.OrderRepository;
+import com.restaurant.restaurantorders.shard.OrderIdGenerator;
+import com.restaurant.restaurantorders.shard.ShardRouter;
+import com.restaurant.restaurantorders.util.LongIntHashMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Service class for prep-station totals
+ * Maintains how many of each menu item are still to be prepared across open orders.
+ * Counters are primitive (long menu item id to int quantity) so updates at peak
+ * do not box or allocate per line. The lines of each open order are kept in a pooled slab
+ * of parallel arrays, chained per order and recycled through a free list when the order
+ * closes, so opening and closing orders does not allocate either once the slab has grown.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PrepStationService {
+
+    /**
+     * Statuses in which an order's items still have to be prepared
+     */
+    private static final Set<Order.OrderStatus> OUTSTANDING_STATUSES = EnumSet.of(
+            Order.OrderStatus.PENDING,
+            Order.OrderStatus.CONFIRMED,
+            Order.OrderStatus.PREPARING);
+
+    private static final int NO_LINE = -1;
+
+    /**
+     * Offset of the stored first-line slot; keeps an order without lines (NO_LINE) distinct from
+     * an absent order, which LongIntHashMap reports as zero
+     */
+    private static final int HANDLE_OFFSET = 2;
+
+    private final OrderRepository orderRepository;
+    private final ShardRouter shardRouter;
+
+    private final Object lock = new Object();
+    private final LongIntHashMap outstanding = new LongIntHashMap(256);
+    private final LongIntHashMap openOrders = new LongIntHashMap(256);
+    private final LongIntHashMap nameSlots = new LongIntHashMap(256);
+    private final List<String> menuItemNames = new ArrayList<>();
+
+    // Line slab: slot i is one order line, chained to the order's next line through lineNext
+    private long[] lineMenuItemIds = new long[1024];
+    private int[] lineQuantities = new int[1024];
+    private int[] lineNext = new int[1024];
+    private int usedLines;
+    private int freeLine = NO_LINE;
+
+    /**
+     * Get outstanding quantities per menu item, largest first
+     */
+    public PrepTotalsResponse getTotals() {
+        long[] menuItemIds;
+        int[] quantities;
+        String[] names;
+        int openOrderCount;
+
+        synchronized (lock) {
+            menuItemIds = new long[outstanding.size()];
+            quantities = new int[outstanding.size()];
+            names = new String[outstanding.size()];
+            int[] position = {0};
+            outstanding.forEach((menuItemId, quantity) -> {
+                menuItemIds[position[0]] = menuItemId;
+                quantities[position[0]] = quantity;
+                names[position[0]] = menuItemNames.get(nameSlots.get(menuItemId) - 1);
+                position[0]++;
+            });
+            openOrderCount = openOrders.size();
+        }
+
+        List<PrepTotalsResponse.Item> items = new ArrayList<>(menuItemIds.length);
+        for (int i = 0; i < menuItemIds.length; i++) {
+            if (quantities[i] > 0) {
+                items.add(new PrepTotalsResponse.Item(menuItemIds[i], names[i], quantities[i]));
+            }
+        }
+        items.sort(Comparator.comparing(PrepTotalsResponse.Item::getQuantity).reversed());
+
+        return new PrepTotalsResponse(LocalDateTime.now(), openOrderCount, items);
+    }
+
+    /**
+     * Load outstanding orders from every shard once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        List<List<OrderCreatedEvent>> shards = shardRouter.readAll(() ->
+                orderRepository.findByStatusInWithItems(OUTSTANDING_STATUSES).stream()
+                        .map(OrderCreatedEvent::from)
+                        .toList());
+        int recovered = 0;
+        for (List<OrderCreatedEvent> orders : shards) {
+            for (OrderCreatedEvent order : orders) {
+                open(order.getOrderId(), order.getLines());
+            }
+            recovered += orders.size();
+        }
+        log.info("Prep-station totals recovered from {} open orders", recovered);
+    }
+
+    @TransactionalEventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        if (OUTSTANDING_STATUSES.contains(event.getStatus())) {
+            open(event.getOrderId(), event.getLines());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        boolean wasOutstanding = OUTSTANDING_STATUSES.contains(event.getOldStatus());
+        boolean isOutstanding = OUTSTANDING_STATUSES.contains(event.getNewStatus());
+
+        if (wasOutstanding && !isOutstanding) {
+            close(event.getOrderId());
+        } else if (!wasOutstanding && isOutstanding) {
+            // e.g. an order re-opened after CANCELLED: its lines are not in memory any more
+            List<OrderCreatedEvent.Line> lines = shardRouter.read(OrderIdGenerator.shardOf(event.getOrderId()), () -> {
+                Order order = orderRepository.findByIdWithItems(event.getOrderId());
+                return order != null ? OrderCreatedEvent.linesOf(order) : null;
+            });
+            if (lines != null) {
+                open(event.getOrderId(), lines);
+            }
+        }
+    }
+
+    private void open(long orderId, List<OrderCreatedEvent.Line> lines) {
+        synchronized (lock) {
+            if (openOrders.get(orderId) != 0) {
+                return;
+            }
+            int head = NO_LINE;
+            for (OrderCreatedEvent.Line line : lines) {
+                if (line.getMenuItemId() == null) {
+                    continue;
+                }
+                long menuItemId = line.getMenuItemId();
+                int slot = allocateLine();
+                lineMenuItemIds[slot] = menuItemId;
+                lineQuantities[slot] = line.getQuantity();
+                lineNext[slot] = head;
+                head = slot;
+                outstanding.addTo(menuItemId, line.getQuantity());
+                if (nameSlots.get(menuItemId) == 0) {
+                    menuItemNames.add(line.getMenuItemName());
+                    nameSlots.put(menuItemId, menuItemNames.size());
+                }
+            }
+            openOrders.put(orderId, head + HANDLE_OFFSET);
+        }
+    }
+
+    private void close(long orderId) {
+        synchronized (lock) {
+            int handle = openOrders.remove(orderId);
+            if (handle == 0) {
+                return;
+            }
+            int slot = handle - HANDLE_OFFSET;
+            while (slot != NO_LINE) {
+                outstanding.addTo(lineMenuItemIds[slot], -lineQuantities[slot]);
+                int next = lineNext[slot];
+                lineNext[slot] = freeLine;
+                freeLine = slot;
+                slot = next;
+            }
+        }
+    }
+
+    /**
+     * Take a slot from the free list, growing the slab when it is exhausted; caller holds the lock
+     */
+    private int allocateLine() {
+        if (freeLine != NO_LINE) {
+            int slot = freeLine;
+            freeLine = lineNext[slot];
+            return slot;
+        }
+        if (usedLines == lineMenuItemIds.length) {
+            int capacity = usedLines << 1;
+            lineMenuItemIds = Arrays.copyOf(lineMenuItemIds, capacity);
+            lineQuantities = Arrays.copyOf(lineQuantities, capacity);
+            lineNext = Arrays.copyOf(lineNext, capacity);
+        }
+        return usedLines++;
+    }
+}
@@ -0,0 +1,196 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.dto.request.CreatePromotionRequest;
+import com.restaurant.restaurantorders.dto.response.PromotionResponse;
+import com.restaurant.restaurantorders.entity.Promotion;
+import com.restaurant.restaurantorders.entity.PromotionTarget;
+import com.restaurant.restaurantorders.event.MenuChangedEvent;
+import com.restaurant.restaurantorders.event.PromotionsChangedEvent;
+import com.restaurant.restaurantorders.exception.ResourceNotFoundException;
+import com.restaurant.restaurantorders.promotion.PromotionPlan;
+import com.restaurant.restaurantorders.repository.MenuItemRepository;
+import com.restaurant.restaurantorders.repository.PromotionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service class for promotions
+ * Promotions live next to the menu on the shared shard. The active ones are compiled into an immutable
+ * PromotionPlan at startup and again after every promotion or menu change; pricing only reads the
+ * current plan, never the promotion tables. Change events are local, so the plan is also recompiled
+ * every promotions.reload-interval-ms to pick up changes made on other instances.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PromotionService {
+
+    private static final int PERCENT_DECIMALS = 2;
+
+    private final PromotionRepository promotionRepository;
+    private final MenuItemRepository menuItemRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile PromotionPlan plan = PromotionPlan.EMPTY;
+
+    /**
+     * Plan to price orders with; one snapshot should be used for a whole order or batch
+     */
+    public PromotionPlan currentPlan() {
+        return plan;
+    }
+
+    /**
+     * Get all promotions, newest first
+     */
+    public List<PromotionResponse> getPromotions() {
+        return promotionRepository.findAllWithTargets().stream()
+                .map(this::mapToPromotionResponse)
+                .toList();
+    }
+
+    /**
+     * Create a promotion; it applies to orders priced once the transaction has committed
+     */
+    @Transactional
+    public PromotionResponse createPromotion(CreatePromotionRequest request) {
+        Promotion.PromotionType type = Promotion.PromotionType.valueOf(request.getType());
+        if ((request.getDailyFrom() == null) != (request.getDailyUntil() == null)
+                || (request.getDailyFrom() != null && request.getDailyFrom().equals(request.getDailyUntil()))) {
+            throw new IllegalArgumentException("A daily window needs a different start and end time");
+        }
+        if (request.getStartsAt() != null && request.getEndsAt() != null
+                && !request.getEndsAt().isAfter(request.getStartsAt())) {
+            throw new IllegalArgumentException("Promotion must end after it starts");
+        }
+
+        Promotion promotion = new Promotion();
+        promotion.setName(request.getName());
+        promotion.setType(type);
+        promotion.setStartsAt(request.getStartsAt());
+        promotion.setEndsAt(request.getEndsAt());
+        promotion.setDailyFrom(request.getDailyFrom());
+        promotion.setDailyUntil(request.getDailyUntil());
+
+        if (type == Promotion.PromotionType.PERCENT_OFF) {
+            BigDecimal discountPercent = request.getDiscountPercent();
+            if (discountPercent == null) {
+                throw new IllegalArgumentException("A PERCENT_OFF promotion needs discountPercent");
+            }
+            if (discountPercent.stripTrailingZeros().scale() > PERCENT_DECIMALS) {
+                throw new IllegalArgumentException("discountPercent can have at most two decimals");
+            }
+            promotion.setDiscountBasisPoints(discountPercent.movePointRight(PERCENT_DECIMALS).intValueExact());
+        } else {
+            if (request.getComboPrice() == null) {
+                throw new IllegalArgumentException("A COMBO promotion needs comboPrice");
+            }
+            promotion.setComboPrice(request.getComboPrice());
+        }
+
+        for (CreatePromotionRequest.TargetRequest targetRequest : request.getTargets()) {
+            if ((targetRequest.getMenuItemId() == null) == (targetRequest.getCategoryId() == null)) {
+                throw new IllegalArgumentException("Each target needs either a menuItemId or a categoryId");
+            }
+            if (type == Promotion.PromotionType.COMBO && targetRequest.getCategoryId() != null) {
+                throw new IllegalArgumentException("Combo targets must be menu items");
+            }
+            PromotionTarget target = new PromotionTarget();
+            target.setMenuItemId(targetRequest.getMenuItemId());
+            target.setCategoryId(targetRequest.getCategoryId());
+            target.setQuantity(targetRequest.getQuantity() != null ? targetRequest.getQuantity() : 1);
+            promotion.addTarget(target);
+        }
+
+        Promotion savedPromotion = promotionRepository.save(promotion);
+        eventPublisher.publishEvent(new PromotionsChangedEvent(savedPromotion.getId()));
+        return mapToPromotionResponse(savedPromotion);
+    }
+
+    /**
+     * Switch a promotion on or off
+     */
+    @Transactional
+    public PromotionResponse setActive(Long promotionId, boolean active) {
+        Promotion promotion = promotionRepository.findByIdWithTargets(promotionId);
+        if (promotion == null) {
+            throw new ResourceNotFoundException("Promotion not found with id: " + promotionId);
+        }
+        promotion.setIsActive(active);
+        eventPublisher.publishEvent(new PromotionsChangedEvent(promotionId));
+        return mapToPromotionResponse(promotion);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        compile();
+    }
+
+    @Scheduled(fixedDelayString = "${promotions.reload-interval-ms:60000}",
+            initialDelayString = "${promotions.reload-interval-ms:60000}")
+    public void reload() {
+        compile();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPromotionsChanged(PromotionsChangedEvent event) {
+        compile();
+    }
+
+    /**
+     * Items moving between categories, or new items in a promoted category, change what category promotions cover
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMenuChanged(MenuChangedEvent event) {
+        compile();
+    }
+
+    private synchronized void compile() {
+        long started = System.nanoTime();
+        Map<Long, Long> categoryOfItem = new HashMap<>();
+        for (Object[] row : menuItemRepository.findCategoryIds()) {
+            categoryOfItem.put((Long) row[0], (Long) row[1]);
+        }
+        PromotionPlan compiled = PromotionPlan.compile(promotionRepository.findAllActiveWithTargets(), categoryOfItem,
+                LocalDateTime.now());
+        plan = compiled;
+        log.debug("Compiled {} promotions in {} ms", compiled.getPromotionCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Map Promotion entity to PromotionResponse DTO
+     */
+    private PromotionResponse mapToPromotionResponse(Promotion promotion) {
+        PromotionResponse response = new PromotionResponse();
+        response.setId(promotion.getId());
+        response.setName(promotion.getName());
+        response.setType(promotion.getType().toString());
+        if (promotion.getDiscountBasisPoints() != null) {
+            response.setDiscountPercent(BigDecimal.valueOf(promotion.getDiscountBasisPoints(), PERCENT_DECIMALS));
+        }
+        response.setComboPrice(promotion.getComboPrice());
+        response.setStartsAt(promotion.getStartsAt());
+        response.setEndsAt(promotion.getEndsAt());
+        response.setDailyFrom(promotion.getDailyFrom());
+        response.setDailyUntil(promotion.getDailyUntil());
+        response.setActive(promotion.getIsActive());
+        response.setTargets(promotion.getTargets().stream()
+                .map(target -> new PromotionResponse.Target(target.getMenuItemId(), target.getCategoryId(),
+                        target.getQuantity()))
+                .toList());
+        return response;
+    }
+}
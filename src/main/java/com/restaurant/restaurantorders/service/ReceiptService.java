@@ -0,0 +1,320 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.entity.ArchivedOrder;
+import com.restaurant.restaurantorders.entity.Order;
+import com.restaurant.restaurantorders.event.OrderCreatedEvent;
+import com.restaurant.restaurantorders.event.OrderStatusChangedEvent;
+import com.restaurant.restaurantorders.exception.ReceiptFailedException;
+import com.restaurant.restaurantorders.exception.ReceiptsBusyException;
+import com.restaurant.restaurantorders.exception.ResourceNotFoundException;
+import com.restaurant.restaurantorders.receipt.ReceiptData;
+import com.restaurant.restaurantorders.receipt.ReceiptRenderer;
+import com.restaurant.restaurantorders.repository.ArchivedOrderRepository;
+import com.restaurant.restaurantorders.repository.OrderRepository;
+import com.restaurant.restaurantorders.shard.OrderIdGenerator;
+import com.restaurant.restaurantorders.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Service class for printable receipts
+ * Receipts are rendered after the order commits, on a fixed pool of workers fed by a bounded
+ * queue, and kept on local disk as {orderId}-{version}.html. When the queue is full a new
+ * order's receipt is not queued at all (it is rendered on its first download instead), and a
+ * download that needs rendering is refused with Retry-After, so a rush never builds an
+ * unbounded backlog or slows order taking. A cancelled order gets a new, voided version.
+ * A failed rendering is recorded and retried on the next download, up to max-attempts; after that
+ * the download fails with RECEIPT_FAILED instead of being told to retry, until the order changes.
+ * The receipt index and the failures are per instance; the index is rebuilt from the directory at startup.
+ */
+@Slf4j
+@Service
+public class ReceiptService {
+
+    private static final Pattern FILE_NAME = Pattern.compile("(\\d+)-(\\d+)\\.html");
+    private static final long BUSY_RETRY_AFTER_SECONDS = 5;
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final ShardRouter shardRouter;
+    private final MenuItemCache menuItemCache;
+    private final Path directory;
+    private final Duration retention;
+    private final int maxAttempts;
+    private final ThreadPoolExecutor workers;
+    private final Counter rejected;
+
+    private final ConcurrentHashMap<Long, RenderedReceipt> receipts = new ConcurrentHashMap<>();
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<Long, FailedReceipt> failures = new ConcurrentHashMap<>();
+
+    public ReceiptService(OrderRepository orderRepository,
+                          ArchivedOrderRepository archivedOrderRepository,
+                          ShardRouter shardRouter,
+                          MenuItemCache menuItemCache,
+                          MeterRegistry meterRegistry,
+                          @Value("${receipts.directory:${java.io.tmpdir}/restaurant-receipts}") String directory,
+                          @Value("${receipts.workers:2}") int workers,
+                          @Value("${receipts.queue-capacity:200}") int queueCapacity,
+                          @Value("${receipts.retention-days:7}") int retentionDays,
+                          @Value("${receipts.max-attempts:3}") int maxAttempts) {
+        this.orderRepository = orderRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.shardRouter = shardRouter;
+        this.menuItemCache = menuItemCache;
+        this.directory = Paths.get(directory);
+        this.retention = Duration.ofDays(retentionDays);
+        this.maxAttempts = maxAttempts;
+
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "receipt-renderer-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.rejected = Counter.builder("receipts.rejected").register(meterRegistry);
+        Gauge.builder("receipts.queue.size", this.workers, executor -> executor.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Rendered receipt of an order, or null if it has just been queued for rendering
+     *
+     * @throws ReceiptFailedException if every attempt to render it failed
+     */
+    public RenderedReceipt getReceipt(Long orderId) {
+        RenderedReceipt receipt = receipts.get(orderId);
+        if (receipt != null && Files.exists(receipt.path())) {
+            return receipt;
+        }
+
+        // Not rendered here yet: skipped during a rush, removed by retention, or taken on another instance
+        if (!exists(orderId)) {
+            throw new ResourceNotFoundException("Order not found with id: " + orderId);
+        }
+        FailedReceipt failure = failures.get(orderId);
+        if (failure != null && failure.attempts() >= maxAttempts) {
+            throw new ReceiptFailedException("The receipt of order " + orderId + " could not be rendered");
+        }
+        if (!submit(orderId)) {
+            throw new ReceiptsBusyException("Receipts are being printed for many orders, please try again shortly",
+                    BUSY_RETRY_AFTER_SECONDS);
+        }
+        return null;
+    }
+
+    /**
+     * Index the receipts already on disk once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void indexExisting() throws IOException {
+        Files.createDirectories(directory);
+        int indexed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.html")) {
+            for (Path file : files) {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    keep(Long.parseLong(matcher.group(1)), new RenderedReceipt(Long.parseLong(matcher.group(2)), file));
+                    indexed++;
+                }
+            }
+        }
+        log.info("Indexed {} receipts in {}", indexed, directory);
+    }
+
+    @TransactionalEventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        if (!submit(event.getOrderId())) {
+            log.debug("Receipt queue full, order {} is rendered on first download", event.getOrderId());
+        }
+    }
+
+    /**
+     * A cancelled order's receipt is re-rendered as void
+     */
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.getNewStatus() == Order.OrderStatus.CANCELLED) {
+            failures.remove(event.getOrderId());
+            submit(event.getOrderId());
+        }
+    }
+
+    @Scheduled(cron = "${receipts.cleanup-cron:0 45 4 * * *}")
+    public void deleteExpired() {
+        Instant cutoff = Instant.now().minus(retention);
+        int deleted = 0;
+        for (Map.Entry<Long, RenderedReceipt> entry : receipts.entrySet()) {
+            Path path = entry.getValue().path();
+            try {
+                if (!Files.exists(path) || Files.getLastModifiedTime(path).toInstant().isBefore(cutoff)) {
+                    receipts.remove(entry.getKey(), entry.getValue());
+                    Files.deleteIfExists(path);
+                    deleted++;
+                }
+            } catch (IOException e) {
+                log.warn("Could not delete receipt {}", path, e);
+            }
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} receipts older than {} days", deleted, retention.toDays());
+        }
+        failures.values().removeIf(failure -> failure.failedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Queue a rendering unless one is already waiting; false when the queue is full
+     */
+    private boolean submit(Long orderId) {
+        if (!queued.add(orderId)) {
+            return true;
+        }
+        try {
+            workers.execute(() -> render(orderId));
+            return true;
+        } catch (RejectedExecutionException e) {
+            queued.remove(orderId);
+            rejected.increment();
+            return false;
+        }
+    }
+
+    private void render(Long orderId) {
+        // Leave the queue first: a change committed while this job reads the order queues another job
+        queued.remove(orderId);
+        try {
+            ReceiptData data = load(orderId);
+            if (data == null) {
+                return;
+            }
+            RenderedReceipt current = receipts.get(orderId);
+            if (current != null && current.version() >= data.version() && Files.exists(current.path())) {
+                return;
+            }
+
+            Map<Long, String> arabicNames = new HashMap<>();
+            menuItemCache.getAll(data.lines().stream()
+                            .map(ReceiptData.Line::menuItemId)
+                            .filter(Objects::nonNull)
+                            .distinct()
+                            .toList())
+                    .forEach((menuItemId, menuItem) -> arabicNames.put(menuItemId, menuItem.getNameAr()));
+
+            Files.createDirectories(directory);
+            Path target = directory.resolve(orderId + "-" + data.version() + ".html");
+            Path temp = Files.createTempFile(directory, "receipt-", ".tmp");
+            try {
+                Files.write(temp, ReceiptRenderer.render(data, arabicNames));
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            keep(orderId, new RenderedReceipt(data.version(), target));
+            failures.remove(orderId);
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Rendering the receipt of order {} failed (attempt {})", orderId, failed(orderId), e);
+        } catch (RuntimeException e) {
+            log.error("Rendering the receipt of order {} failed (attempt {})", orderId, failed(orderId), e);
+        }
+    }
+
+    private int failed(Long orderId) {
+        return failures.merge(orderId, new FailedReceipt(1, Instant.now()),
+                (previous, failure) -> new FailedReceipt(previous.attempts() + 1, failure.failedAt())).attempts();
+    }
+
+    /**
+     * Keep the newest version of an order's receipt and delete the file it replaces
+     */
+    private void keep(Long orderId, RenderedReceipt receipt) {
+        Path[] superseded = new Path[1];
+        receipts.compute(orderId, (id, current) -> {
+            if (current == null || current.version() < receipt.version()) {
+                superseded[0] = current != null && !current.path().equals(receipt.path()) ? current.path() : null;
+                return receipt;
+            }
+            superseded[0] = current.path().equals(receipt.path()) ? null : receipt.path();
+            return current;
+        });
+        if (superseded[0] != null) {
+            try {
+                Files.deleteIfExists(superseded[0]);
+            } catch (IOException e) {
+                log.warn("Could not delete superseded receipt {}", superseded[0], e);
+            }
+        }
+    }
+
+    private ReceiptData load(Long orderId) {
+        int shard = OrderIdGenerator.shardOf(orderId);
+        if (!shardRouter.isShard(shard)) {
+            return null;
+        }
+        return shardRouter.read(shard, () -> {
+            Order order = orderRepository.findByIdWithItems(orderId);
+            if (order != null) {
+                return ReceiptData.of(order);
+            }
+            ArchivedOrder archivedOrder = archivedOrderRepository.findByIdWithItems(orderId);
+            return archivedOrder != null ? ReceiptData.of(archivedOrder) : null;
+        });
+    }
+
+    private boolean exists(Long orderId) {
+        int shard = OrderIdGenerator.shardOf(orderId);
+        return shardRouter.isShard(shard) && shardRouter.read(shard, () ->
+                orderRepository.existsById(orderId) || archivedOrderRepository.existsById(orderId));
+    }
+
+    private record FailedReceipt(int attempts, Instant failedAt) {
+    }
+
+    /**
+     * A receipt file on local disk; the version doubles as its ETag
+     */
+    public record RenderedReceipt(long version, Path path) {
+
+        public String etag() {
+            return "\"" + version + "\"";
+        }
+    }
+}
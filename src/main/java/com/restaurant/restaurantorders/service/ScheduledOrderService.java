@@ -0,0 +1,199 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.entity.Order;
+import com.restaurant.restaurantorders.event.OrderCreatedEvent;
+import com.restaurant.restaurantorders.event.OrderStatusChangedEvent;
+import com.restaurant.restaurantorders.repository.OrderRepository;
+import com.restaurant.restaurantorders.shard.OrderIdGenerator;
+import com.restaurant.restaurantorders.shard.ShardRouter;
+import com.restaurant.restaurantorders.util.TimingWheel;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service class for pre-orders
+ * A scheduled order waits as SCHEDULED until its prep-start time (scheduledFor minus the prep lead)
+ * and is then released to PENDING, where the kitchen picks it up. Pending releases live in a
+ * hierarchical timing wheel instead of being polled from the database: adding or cancelling one is
+ * O(1) and each tick only touches the orders due in it. The wheel is loaded from every shard at
+ * startup and resynced periodically, which picks up pre-orders taken on other nodes. Releases are
+ * conditional updates, so an order released by another node, cancelled or moved on by hand is left
+ * alone; a release that fails goes back into the wheel with an exponential backoff.
+ */
+@Slf4j
+@Service
+public class ScheduledOrderService {
+
+    private final OrderRepository orderRepository;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration prepLead;
+    private final long tickMillis;
+    private final long retryInitialMillis;
+    private final long retryMaxMillis;
+    private final TimingWheel<Long> wheel;
+
+    private final ConcurrentHashMap<Long, TimingWheel.Timeout<Long>> timers = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Integer> failedReleases = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "scheduled-orders");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ScheduledOrderService(OrderRepository orderRepository,
+                                 ShardRouter shardRouter,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${orders.scheduled.prep-lead-minutes:30}") long prepLeadMinutes,
+                                 @Value("${orders.scheduled.tick-ms:1000}") long tickMillis,
+                                 @Value("${orders.scheduled.wheel-size:64}") int wheelSize,
+                                 @Value("${orders.scheduled.retry-initial-ms:5000}") long retryInitialMillis,
+                                 @Value("${orders.scheduled.retry-max-ms:300000}") long retryMaxMillis) {
+        this.orderRepository = orderRepository;
+        this.shardRouter = shardRouter;
+        this.eventPublisher = eventPublisher;
+        this.prepLead = Duration.ofMinutes(prepLeadMinutes);
+        this.tickMillis = tickMillis;
+        this.retryInitialMillis = retryInitialMillis;
+        this.retryMaxMillis = retryMaxMillis;
+        this.wheel = new TimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    /**
+     * Status a new order starts in: SCHEDULED while its prep-start time lies ahead, PENDING otherwise
+     */
+    public Order.OrderStatus initialStatus(LocalDateTime scheduledFor) {
+        return scheduledFor != null && releaseTimeOf(scheduledFor).isAfter(LocalDateTime.now())
+                ? Order.OrderStatus.SCHEDULED
+                : Order.OrderStatus.PENDING;
+    }
+
+    public LocalDateTime releaseTimeOf(LocalDateTime scheduledFor) {
+        return scheduledFor.minus(prepLead);
+    }
+
+    /**
+     * Load every scheduled order into the wheel once the application is up, then start ticking
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        int loaded = resync();
+        ticker.scheduleAtFixedRate(() -> tick(System.currentTimeMillis()), tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        log.info("Scheduled-order wheel loaded {} orders", loaded);
+    }
+
+    /**
+     * Bring the wheel in line with the scheduled orders of every shard: add the ones taken on other
+     * nodes and drop the ones released or cancelled there. Timers added while the shards are read are
+     * kept; an order changed meanwhile is corrected at the next resync.
+     */
+    @Scheduled(fixedDelayString = "${orders.scheduled.resync-ms:60000}",
+            initialDelayString = "${orders.scheduled.resync-ms:60000}")
+    public synchronized int resync() {
+        Set<Long> known = new HashSet<>(timers.keySet());
+        Map<Long, LocalDateTime> scheduled = new HashMap<>();
+        for (List<Object[]> rows : shardRouter.readAll(orderRepository::findScheduledOrders)) {
+            for (Object[] row : rows) {
+                scheduled.put((Long) row[0], (LocalDateTime) row[1]);
+            }
+        }
+
+        known.removeAll(scheduled.keySet());
+        known.forEach(this::unschedule);
+        scheduled.forEach(this::schedule);
+        return scheduled.size();
+    }
+
+    @TransactionalEventListener
+    public void onOrderCreated(OrderCreatedEvent event) {
+        if (event.getStatus() == Order.OrderStatus.SCHEDULED) {
+            schedule(event.getOrderId(), event.getScheduledFor());
+        }
+    }
+
+    /**
+     * A scheduled order that left SCHEDULED some other way (cancelled, released by hand) needs no timer
+     */
+    @TransactionalEventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.getOldStatus() == Order.OrderStatus.SCHEDULED) {
+            unschedule(event.getOrderId());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    private void schedule(Long orderId, LocalDateTime scheduledFor) {
+        // Without a pickup time there is nothing to wait for
+        long releaseAt = scheduledFor != null
+                ? releaseTimeOf(scheduledFor).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : 0;
+        timers.computeIfAbsent(orderId, id -> wheel.schedule(id, releaseAt));
+    }
+
+    private void unschedule(Long orderId) {
+        failedReleases.remove(orderId);
+        TimingWheel.Timeout<Long> timeout = timers.remove(orderId);
+        if (timeout != null) {
+            wheel.cancel(timeout);
+        }
+    }
+
+    /**
+     * Release every order that fell due by nowMillis; called by the ticker
+     */
+    void tick(long nowMillis) {
+        for (Long orderId : wheel.advanceTo(nowMillis)) {
+            timers.remove(orderId);
+            try {
+                release(orderId);
+                failedReleases.remove(orderId);
+            } catch (RuntimeException e) {
+                // Keep ticking; the order goes back into the wheel and is tried again after a backoff
+                int failures = failedReleases.merge(orderId, 1, Integer::sum);
+                long backoff = Math.min(retryInitialMillis << Math.min(failures - 1, 20), retryMaxMillis);
+                timers.computeIfAbsent(orderId, id -> wheel.schedule(id, nowMillis + backoff));
+                log.error("Release of scheduled order {} failed ({} in a row); retrying in {} ms",
+                        orderId, failures, backoff, e);
+            }
+        }
+    }
+
+    private void release(Long orderId) {
+        shardRouter.write(OrderIdGenerator.shardOf(orderId), () -> {
+            Order order = orderRepository.findById(orderId).orElse(null);
+            if (order == null || order.getStatus() != Order.OrderStatus.SCHEDULED) {
+                return null;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            if (orderRepository.releaseScheduled(orderId, now) == 1) {
+                eventPublisher.publishEvent(new OrderStatusChangedEvent(orderId, Order.OrderStatus.SCHEDULED,
+                        Order.OrderStatus.PENDING, order.getUpdatedAt(), now));
+            }
+            return null;
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package com.restaurant.restaurantorders.shard;
+
+import com.restaurant.restaurantorders.config.ShardingProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Generates globally unique order ids that carry the shard holding the order.
+ * Layout, most significant first: 31 bits of seconds since 2020-01-01 UTC, 6 bits shard,
+ * 4 bits node, 12 bits sequence. Ids stay below 2^53 so JavaScript clients read them exactly,
+ * and they grow with time so ORDER BY id still follows creation order.
+ * A node that issues more than 4096 ids in one second borrows from the next second.
+ */
+@Component
+public class OrderIdGenerator {
+
+    private static final long EPOCH_SECONDS = 1_577_836_800L;
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final int NODE_BITS = 4;
+    private static final int SHARD_BITS = 6;
+
+    private static final int NODE_SHIFT = SEQUENCE_BITS;
+    private static final int SHARD_SHIFT = SEQUENCE_BITS + NODE_BITS;
+    private static final int TIME_SHIFT = SEQUENCE_BITS + NODE_BITS + SHARD_BITS;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    public static final int MAX_SHARDS = 1 << SHARD_BITS;
+    public static final int MAX_NODES = 1 << NODE_BITS;
+
+    /**
+     * Ids below this were assigned by AUTO_INCREMENT before sharding; those orders are on shard 0
+     */
+    private static final long FIRST_GENERATED_ID = 1L << 40;
+
+    private final int nodeId;
+    private long lastSecond = -1;
+    private long sequence;
+
+    public OrderIdGenerator(ShardingProperties properties) {
+        if (properties.getNodeId() == null) {
+            throw new IllegalStateException("sharding.node-id must be set to a value unique to this node (0 to "
+                    + (MAX_NODES - 1) + ")");
+        }
+        if (properties.getNodeId() < 0 || properties.getNodeId() >= MAX_NODES) {
+            throw new IllegalArgumentException("sharding.node-id must be between 0 and " + (MAX_NODES - 1));
+        }
+        this.nodeId = properties.getNodeId();
+    }
+
+    /**
+     * Next id for an order stored on the given shard
+     */
+    public synchronized long nextId(int shard) {
+        if (shard < 0 || shard >= MAX_SHARDS) {
+            throw new IllegalArgumentException("Shard out of range: " + shard);
+        }
+        long second = System.currentTimeMillis() / 1000 - EPOCH_SECONDS;
+        if (second > lastSecond) {
+            lastSecond = second;
+            sequence = 0;
+        } else if (sequence == MAX_SEQUENCE) {
+            lastSecond++;
+            sequence = 0;
+        } else {
+            sequence++;
+        }
+        return (lastSecond << TIME_SHIFT) | ((long) shard << SHARD_SHIFT) | ((long) nodeId << NODE_SHIFT) | sequence;
+    }
+
+    /**
+     * Shard holding the order with this id
+     */
+    public static int shardOf(long orderId) {
+        if (orderId < FIRST_GENERATED_ID) {
+            return ShardRoutingDataSource.DEFAULT_SHARD;
+        }
+        return (int) ((orderId >>> SHARD_SHIFT) & (MAX_SHARDS - 1));
+    }
+}
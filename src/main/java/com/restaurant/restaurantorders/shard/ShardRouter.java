@@ -0,0 +1,162 @@
+package com.restaurant.restaurantorders.shard;
+
+import com.restaurant.restaurantorders.config.ShardingProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs work against one order shard, or against every shard (scatter-gather).
+ * The shard is selected before the transaction starts, so the transaction and every repository
+ * call inside it use that shard's connection. Switching shards inside a running transaction
+ * would silently keep using the old connection and is rejected instead.
+ */
+@Slf4j
+@Component
+public class ShardRouter implements DisposableBean {
+
+    private final ShardRoutingDataSource dataSource;
+    private final ShardingProperties properties;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final ExecutorService scatterExecutor;
+
+    public ShardRouter(ShardRoutingDataSource dataSource,
+                       ShardingProperties properties,
+                       PlatformTransactionManager transactionManager) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+
+        AtomicInteger threads = new AtomicInteger();
+        this.scatterExecutor = Executors.newFixedThreadPool(Math.max(1, dataSource.getShardCount()), runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        properties.getBranches().forEach((branchId, shard) -> {
+            if (!isShard(shard)) {
+                throw new IllegalStateException("Branch " + branchId + " is mapped to unknown shard " + shard);
+            }
+        });
+    }
+
+    public int shardCount() {
+        return dataSource.getShardCount();
+    }
+
+    public boolean isShard(int shard) {
+        return shard >= 0 && shard < dataSource.getShardCount();
+    }
+
+    /**
+     * Shard holding the orders of a branch
+     */
+    public int shardForBranch(long branchId) {
+        Integer shard = properties.getBranches().get(branchId);
+        return shard != null ? shard : (int) Math.floorMod(branchId, (long) dataSource.getShardCount());
+    }
+
+    /**
+     * Run work in a read-only transaction on the given shard
+     */
+    public <T> T read(int shard, Supplier<T> work) {
+        return onShard(shard, () -> readTransaction.execute(status -> work.get()));
+    }
+
+    /**
+     * Run work in a read-write transaction on the given shard
+     */
+    public <T> T write(int shard, Supplier<T> work) {
+        return onShard(shard, () -> writeTransaction.execute(status -> work.get()));
+    }
+
+    /**
+     * Run work on the given shard without opening a transaction; transactions it starts use that shard
+     */
+    public void run(int shard, Runnable work) {
+        onShard(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run work on each shard in turn, e.g. for scheduled maintenance
+     */
+    public void forEachShard(Runnable work) {
+        for (int shard = 0; shard < dataSource.getShardCount(); shard++) {
+            run(shard, work);
+        }
+    }
+
+    /**
+     * Run work in a read-only transaction on every shard in parallel; results are in shard order
+     */
+    public <T> List<T> readAll(Supplier<T> work) {
+        int shards = dataSource.getShardCount();
+        if (shards == 1) {
+            return List.of(read(0, work));
+        }
+
+        List<Future<T>> futures = new ArrayList<>(shards);
+        for (int shard = 0; shard < shards; shard++) {
+            int target = shard;
+            futures.add(scatterExecutor.submit(() -> read(target, work)));
+        }
+        List<T> results = new ArrayList<>(shards);
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading from all shards", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Reading from all shards failed", e.getCause());
+        }
+        return results;
+    }
+
+    private <T> T onShard(int shard, Supplier<T> work) {
+        if (!isShard(shard)) {
+            throw new IllegalArgumentException("Unknown shard: " + shard);
+        }
+        Integer previous = ShardRoutingDataSource.selectedShard();
+        int current = ShardRoutingDataSource.currentShard();
+        if (current != shard && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Cannot switch to shard " + shard
+                    + " inside a transaction on shard " + current);
+        }
+        ShardRoutingDataSource.select(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardRoutingDataSource.select(previous);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scatterExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,66 @@
+package com.restaurant.restaurantorders.shard;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * Scatter-gather paging: every shard returns its first offset + size rows in the requested order,
+ * the rows are merged and the requested page is cut from the merged list. Cost grows with the
+ * page number, which is fine for admin listings that are read from the first pages.
+ */
+public final class ShardedPages {
+
+    private ShardedPages() {
+    }
+
+    /**
+     * The request each shard runs: page 0, large enough to contain the requested page
+     */
+    public static Pageable perShard(Pageable pageable) {
+        return PageRequest.of(0, Math.toIntExact(pageable.getOffset() + pageable.getPageSize()), pageable.getSort());
+    }
+
+    /**
+     * Merge per-shard pages (fetched with perShard) into the requested page.
+     * Values are compared like MySQL orders them: nulls first when ascending, last when descending.
+     */
+    public static <T> Page<T> merge(List<Page<T>> shardPages, Pageable pageable, BiFunction<T, String, Object> property) {
+        List<T> rows = new ArrayList<>();
+        long total = 0;
+        for (Page<T> shardPage : shardPages) {
+            rows.addAll(shardPage.getContent());
+            total += shardPage.getTotalElements();
+        }
+        Comparator<T> comparator = comparator(pageable.getSort(), property);
+        if (comparator != null) {
+            rows.sort(comparator);
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), rows.size());
+        int to = Math.min(from + pageable.getPageSize(), rows.size());
+        return new PageImpl<>(new ArrayList<>(rows.subList(from, to)), pageable, total);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Comparator<T> comparator(Sort sort, BiFunction<T, String, Object> property) {
+        Comparator<T> comparator = null;
+        for (Sort.Order order : sort) {
+            Comparator<Comparable> values = Comparator.nullsFirst(Comparator.naturalOrder());
+            Comparator<T> byProperty = Comparator.comparing(
+                    row -> (Comparable) property.apply(row, order.getProperty()), values);
+            if (order.isDescending()) {
+                byProperty = byProperty.reversed();
+            }
+            comparator = comparator == null ? byProperty : comparator.thenComparing(byProperty);
+        }
+        return comparator;
+    }
+}
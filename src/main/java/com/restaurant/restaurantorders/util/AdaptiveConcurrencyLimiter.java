@@ -0,0 +1,138 @@
+package com.restaurant.restaurantorders.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free adaptive concurrency limit using a gradient of round-trip times.
+ * <p>
+ * Each completed request contributes a latency sample. Once per window the average
+ * sample (short-term RTT) is compared with a slowly moving long-term RTT: when latency
+ * rises above its baseline the gradient drops below 1 and the limit shrinks, otherwise
+ * the limit grows by roughly sqrt(limit), the queue allowance in Little's law terms.
+ * Only the thread that wins the window CAS recomputes the limit; every other request
+ * touches just an AtomicInteger and two LongAdders.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private static final double SMOOTHING = 0.2;
+    private static final double LONG_RTT_DECAY = 0.05;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final int minWindowSamples;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlightInWindow = new AtomicInteger();
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final LongAdder rttSum = new LongAdder();
+    private final LongAdder rttCount = new LongAdder();
+
+    private volatile int limit;
+    private volatile double longRttNanos;
+    private volatile double lastRttNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      long window, TimeUnit unit, int minWindowSamples) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limits: " + minLimit + ".." + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.windowNanos = unit.toNanos(window);
+        this.minWindowSamples = minWindowSamples;
+    }
+
+    /**
+     * Try to start a request; every successful call must be paired with {@link #release(long)}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                maxInFlightInWindow.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Finish a request and record how long it took
+     */
+    public void release(long rttNanos) {
+        inFlight.decrementAndGet();
+        rttSum.add(rttNanos);
+        rttCount.increment();
+
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && rttCount.sum() >= minWindowSamples
+                && windowStart.compareAndSet(start, now)) {
+            updateLimit();
+        }
+    }
+
+    /**
+     * Finish a request without a usable latency sample (e.g. it failed fast)
+     */
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    private void updateLimit() {
+        long count = rttCount.sumThenReset();
+        long sum = rttSum.sumThenReset();
+        int peakInFlight = maxInFlightInWindow.getAndSet(inFlight.get());
+        if (count == 0) {
+            return;
+        }
+
+        double shortRtt = (double) sum / count;
+        double longRtt = longRttNanos == 0 ? shortRtt : longRttNanos * (1 - LONG_RTT_DECAY) + shortRtt * LONG_RTT_DECAY;
+        // Recover quickly after a long overload instead of treating the slow period as the new normal
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        longRttNanos = longRtt;
+        lastRttNanos = shortRtt;
+
+        int currentLimit = limit;
+        double gradient = Math.max(0.5, Math.min(1.0, longRtt / shortRtt));
+        double queueAllowance = Math.sqrt(currentLimit);
+        double target = currentLimit * gradient + queueAllowance;
+
+        // Do not grow while the traffic never came close to the limit; the sample says nothing about it
+        if (target > currentLimit && peakInFlight < currentLimit / 2) {
+            return;
+        }
+
+        // Round towards the target: plain rounding stalls once a smoothed step is under half a permit,
+        // which kept the limit far above minLimit under sustained overload
+        double smoothed = currentLimit * (1 - SMOOTHING) + target * SMOOTHING;
+        long next = target < currentLimit ? (long) Math.floor(smoothed) : (long) Math.ceil(smoothed);
+        limit = (int) Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public double getLongRttMillis() {
+        return longRttNanos / 1_000_000d;
+    }
+
+    public double getLastRttMillis() {
+        return lastRttNanos / 1_000_000d;
+    }
+}
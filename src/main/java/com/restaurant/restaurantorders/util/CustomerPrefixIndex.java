@@ -0,0 +1,629 @@
+package com.restaurant.restaurantorders.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/**
+ * Compact prefix index over customer phone numbers and names, built from sorted primitive arrays.
+ * <ul>
+ *     <li>Phones are reduced to their digits and encoded into one long that sorts like the digit
+ *     string, so a prefix lookup is two binary searches over a long[].</li>
+ *     <li>Every word of a normalized name is a (slot, offset) reference packed into a long and kept
+ *     sorted by the word it points at; no per-word String is allocated.</li>
+ *     <li>Customer ids live in parallel long arrays behind an open-addressing int table.</li>
+ * </ul>
+ * Memory is roughly 150-200 bytes per customer including the name strings.
+ * Not thread-safe: callers guard reads and writes with a read/write lock.
+ */
+public final class CustomerPrefixIndex {
+
+    /** Maximum digits kept from a phone number (E.164 allows 15) */
+    public static final int MAX_PHONE_DIGITS = 15;
+
+    private static final int MAX_NAME_SCAN = 5_000;
+    private static final long PLUS_FLAG = 1L << 62;
+    private static final long[] POW11 = new long[MAX_PHONE_DIGITS + 1];
+
+    static {
+        POW11[0] = 1;
+        for (int i = 1; i <= MAX_PHONE_DIGITS; i++) {
+            POW11[i] = POW11[i - 1] * 11;
+        }
+    }
+
+    // customer slots
+    private long[] idMsb;
+    private long[] idLsb;
+    private long[] phoneKeys;
+    private String[] displayNames;
+    private String[] normalizedNames;
+    private int slotCount;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    // UUID -> slot (stores slot + 1, 0 = empty)
+    private int[] idTable;
+    private int idTableSize;
+
+    // phone index sorted by (key, slot)
+    private long[] phoneIndexKeys;
+    private int[] phoneIndexSlots;
+    private int phoneIndexCount;
+
+    // name word index: (slot << 16 | offset) sorted by word text, then slot
+    private long[] wordRefs;
+    private int wordCount;
+
+    private boolean bulkMode;
+
+    public CustomerPrefixIndex() {
+        this(1024);
+    }
+
+    public CustomerPrefixIndex(int expectedCustomers) {
+        int capacity = Math.max(16, expectedCustomers);
+        idMsb = new long[capacity];
+        idLsb = new long[capacity];
+        phoneKeys = new long[capacity];
+        displayNames = new String[capacity];
+        normalizedNames = new String[capacity];
+        idTable = new int[tableCapacityFor(capacity)];
+        phoneIndexKeys = new long[capacity];
+        phoneIndexSlots = new int[capacity];
+        wordRefs = new long[capacity * 2];
+    }
+
+    public int size() {
+        return idTableSize;
+    }
+
+    /**
+     * Start a bulk load: entries are appended unsorted until {@link #finishBulkLoad()}
+     */
+    public void startBulkLoad() {
+        bulkMode = true;
+    }
+
+    /**
+     * Sort everything appended since {@link #startBulkLoad()} in one pass
+     */
+    public void finishBulkLoad() {
+        bulkMode = false;
+        sortPhoneIndex();
+        sortWordIndex();
+    }
+
+    /**
+     * Insert or replace a customer
+     */
+    public void put(UUID id, String name, String phone) {
+        int existing = findSlot(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (existing >= 0) {
+            unindex(existing);
+            fill(existing, name, phone);
+            index(existing);
+            return;
+        }
+
+        int slot = allocateSlot();
+        idMsb[slot] = id.getMostSignificantBits();
+        idLsb[slot] = id.getLeastSignificantBits();
+        fill(slot, name, phone);
+        insertId(slot);
+        index(slot);
+    }
+
+    public void remove(UUID id) {
+        int slot = findSlot(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (slot < 0) {
+            return;
+        }
+        unindex(slot);
+        deleteId(slot);
+        displayNames[slot] = null;
+        normalizedNames[slot] = null;
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    /**
+     * Customers whose phone digits start with the given digits, in phone order
+     */
+    public List<Match> searchPhone(String digitsPrefix, int limit) {
+        String digits = phoneDigits(digitsPrefix);
+        List<Match> matches = new ArrayList<>(Math.min(limit, 16));
+        if (digits.isEmpty()) {
+            return matches;
+        }
+        long low = encodeDigits(digits);
+        long high = low + POW11[MAX_PHONE_DIGITS - digits.length()] - 1;
+
+        int i = lowerBound(low);
+        while (i < phoneIndexCount && phoneIndexKeys[i] <= high && matches.size() < limit) {
+            matches.add(matchOf(phoneIndexSlots[i]));
+            i++;
+        }
+        return matches;
+    }
+
+    /**
+     * Customers with a name word starting with each query word, in name order
+     */
+    public List<Match> searchName(String query, int limit) {
+        String normalized = normalizeName(query);
+        List<Match> matches = new ArrayList<>(Math.min(limit, 16));
+        if (normalized.isEmpty()) {
+            return matches;
+        }
+        String[] queryWords = normalized.split(" ");
+        String driver = queryWords[0];
+        for (String word : queryWords) {
+            if (word.length() > driver.length()) {
+                driver = word;
+            }
+        }
+
+        int lastSlot = -1;
+        int scanned = 0;
+        for (int i = lowerBoundWord(driver); i < wordCount && scanned < MAX_NAME_SCAN && matches.size() < limit; i++, scanned++) {
+            long ref = wordRefs[i];
+            if (!wordStartsWith(ref, driver)) {
+                break;
+            }
+            int slot = (int) (ref >>> 16);
+            if (slot == lastSlot || containsSlot(matches, slot)) {
+                continue;
+            }
+            lastSlot = slot;
+            if (matchesAllWords(normalizedNames[slot], queryWords)) {
+                matches.add(matchOf(slot));
+            }
+        }
+        return matches;
+    }
+
+    // ---- slots ----
+
+    private void fill(int slot, String name, String phone) {
+        displayNames[slot] = name;
+        normalizedNames[slot] = normalizeName(name);
+        String digits = phoneDigits(phone);
+        long key = digits.isEmpty() ? 0 : encodeDigits(digits);
+        if (phone != null && phone.trim().startsWith("+")) {
+            key |= PLUS_FLAG;
+        }
+        phoneKeys[slot] = key;
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (slotCount == idMsb.length) {
+            int capacity = idMsb.length * 2;
+            idMsb = Arrays.copyOf(idMsb, capacity);
+            idLsb = Arrays.copyOf(idLsb, capacity);
+            phoneKeys = Arrays.copyOf(phoneKeys, capacity);
+            displayNames = Arrays.copyOf(displayNames, capacity);
+            normalizedNames = Arrays.copyOf(normalizedNames, capacity);
+        }
+        return slotCount++;
+    }
+
+    private Match matchOf(int slot) {
+        return new Match(new UUID(idMsb[slot], idLsb[slot]), displayNames[slot], decodePhone(phoneKeys[slot]));
+    }
+
+    private boolean containsSlot(List<Match> matches, int slot) {
+        for (Match match : matches) {
+            if (match.id().getMostSignificantBits() == idMsb[slot]
+                    && match.id().getLeastSignificantBits() == idLsb[slot]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ---- id table ----
+
+    private int findSlot(long msb, long lsb) {
+        int mask = idTable.length - 1;
+        int i = hash(msb, lsb) & mask;
+        while (idTable[i] != 0) {
+            int slot = idTable[i] - 1;
+            if (idMsb[slot] == msb && idLsb[slot] == lsb) {
+                return slot;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void insertId(int slot) {
+        if ((idTableSize + 1) * 10 >= idTable.length * 6) {
+            rehashIds(idTable.length * 2);
+        }
+        placeId(slot);
+        idTableSize++;
+    }
+
+    private void placeId(int slot) {
+        int mask = idTable.length - 1;
+        int i = hash(idMsb[slot], idLsb[slot]) & mask;
+        while (idTable[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        idTable[i] = slot + 1;
+    }
+
+    private void deleteId(int slot) {
+        int mask = idTable.length - 1;
+        int i = hash(idMsb[slot], idLsb[slot]) & mask;
+        while (idTable[i] != slot + 1) {
+            i = (i + 1) & mask;
+        }
+        int gap = i;
+        i = (i + 1) & mask;
+        while (idTable[i] != 0) {
+            int other = idTable[i] - 1;
+            int ideal = hash(idMsb[other], idLsb[other]) & mask;
+            if (((i - ideal) & mask) >= ((i - gap) & mask)) {
+                idTable[gap] = idTable[i];
+                gap = i;
+            }
+            i = (i + 1) & mask;
+        }
+        idTable[gap] = 0;
+        idTableSize--;
+    }
+
+    private void rehashIds(int capacity) {
+        int[] old = idTable;
+        idTable = new int[capacity];
+        for (int entry : old) {
+            if (entry != 0) {
+                placeId(entry - 1);
+            }
+        }
+    }
+
+    private static int hash(long msb, long lsb) {
+        long h = (msb ^ lsb) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int tableCapacityFor(int entries) {
+        return Integer.highestOneBit(Math.max(entries * 2, 16) - 1) << 1;
+    }
+
+    // ---- phone index ----
+
+    private void index(int slot) {
+        long phoneKey = phoneKeys[slot] & ~PLUS_FLAG;
+        if (phoneKey != 0) {
+            insertPhone(phoneKey, slot);
+        }
+        String normalized = normalizedNames[slot];
+        int start = 0;
+        for (int i = 0; i <= normalized.length() && i <= 0xFFFF; i++) {
+            if (i == normalized.length() || normalized.charAt(i) == ' ') {
+                if (i > start) {
+                    insertWord(((long) slot << 16) | start);
+                }
+                start = i + 1;
+            }
+        }
+    }
+
+    private void unindex(int slot) {
+        long phoneKey = phoneKeys[slot] & ~PLUS_FLAG;
+        if (phoneKey != 0) {
+            removePhone(phoneKey, slot);
+        }
+        String normalized = normalizedNames[slot];
+        int start = 0;
+        for (int i = 0; i <= normalized.length() && i <= 0xFFFF; i++) {
+            if (i == normalized.length() || normalized.charAt(i) == ' ') {
+                if (i > start) {
+                    removeWord(((long) slot << 16) | start);
+                }
+                start = i + 1;
+            }
+        }
+    }
+
+    private void insertPhone(long key, int slot) {
+        if (phoneIndexCount == phoneIndexKeys.length) {
+            phoneIndexKeys = Arrays.copyOf(phoneIndexKeys, phoneIndexCount * 2);
+            phoneIndexSlots = Arrays.copyOf(phoneIndexSlots, phoneIndexCount * 2);
+        }
+        if (bulkMode) {
+            phoneIndexKeys[phoneIndexCount] = key;
+            phoneIndexSlots[phoneIndexCount++] = slot;
+            return;
+        }
+        int at = lowerBound(key);
+        while (at < phoneIndexCount && phoneIndexKeys[at] == key && phoneIndexSlots[at] < slot) {
+            at++;
+        }
+        System.arraycopy(phoneIndexKeys, at, phoneIndexKeys, at + 1, phoneIndexCount - at);
+        System.arraycopy(phoneIndexSlots, at, phoneIndexSlots, at + 1, phoneIndexCount - at);
+        phoneIndexKeys[at] = key;
+        phoneIndexSlots[at] = slot;
+        phoneIndexCount++;
+    }
+
+    private void removePhone(long key, int slot) {
+        for (int at = lowerBound(key); at < phoneIndexCount && phoneIndexKeys[at] == key; at++) {
+            if (phoneIndexSlots[at] == slot) {
+                System.arraycopy(phoneIndexKeys, at + 1, phoneIndexKeys, at, phoneIndexCount - at - 1);
+                System.arraycopy(phoneIndexSlots, at + 1, phoneIndexSlots, at, phoneIndexCount - at - 1);
+                phoneIndexCount--;
+                return;
+            }
+        }
+    }
+
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = phoneIndexCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (phoneIndexKeys[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * One-off sort after a bulk load; sorts a permutation by (key, slot) and applies it
+     */
+    private void sortPhoneIndex() {
+        long[] keys = phoneIndexKeys;
+        int[] slots = phoneIndexSlots;
+        int[] permutation = IntStream.range(0, phoneIndexCount).boxed()
+                .sorted((a, b) -> keys[a] != keys[b] ? Long.compare(keys[a], keys[b]) : Integer.compare(slots[a], slots[b]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        int[] sortedSlots = new int[phoneIndexKeys.length];
+        long[] sortedKeys = new long[phoneIndexKeys.length];
+        for (int i = 0; i < phoneIndexCount; i++) {
+            sortedKeys[i] = keys[permutation[i]];
+            sortedSlots[i] = slots[permutation[i]];
+        }
+        phoneIndexKeys = sortedKeys;
+        phoneIndexSlots = sortedSlots;
+    }
+
+    // ---- name word index ----
+
+    private void insertWord(long ref) {
+        if (wordCount == wordRefs.length) {
+            wordRefs = Arrays.copyOf(wordRefs, wordCount * 2);
+        }
+        if (bulkMode) {
+            wordRefs[wordCount++] = ref;
+            return;
+        }
+        int at = lowerBoundRef(ref);
+        System.arraycopy(wordRefs, at, wordRefs, at + 1, wordCount - at);
+        wordRefs[at] = ref;
+        wordCount++;
+    }
+
+    private void removeWord(long ref) {
+        int at = lowerBoundRef(ref);
+        if (at < wordCount && wordRefs[at] == ref) {
+            System.arraycopy(wordRefs, at + 1, wordRefs, at, wordCount - at - 1);
+            wordCount--;
+        }
+    }
+
+    private int lowerBoundRef(long ref) {
+        int low = 0;
+        int high = wordCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareRefs(wordRefs[mid], ref) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int lowerBoundWord(String prefix) {
+        int low = 0;
+        int high = wordCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareWordTo(wordRefs[mid], prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void sortWordIndex() {
+        long[] refs = Arrays.copyOf(wordRefs, wordCount);
+        long[] sorted = Arrays.stream(refs).boxed()
+                .sorted(this::compareRefs)
+                .mapToLong(Long::longValue)
+                .toArray();
+        System.arraycopy(sorted, 0, wordRefs, 0, wordCount);
+    }
+
+    private int compareRefs(long a, long b) {
+        String textA = normalizedNames[(int) (a >>> 16)];
+        String textB = normalizedNames[(int) (b >>> 16)];
+        int i = (int) (a & 0xFFFF);
+        int j = (int) (b & 0xFFFF);
+        while (true) {
+            char ca = i < textA.length() ? textA.charAt(i) : ' ';
+            char cb = j < textB.length() ? textB.charAt(j) : ' ';
+            boolean endA = ca == ' ';
+            boolean endB = cb == ' ';
+            if (endA || endB) {
+                if (endA && endB) {
+                    return Long.compare(a, b);
+                }
+                return endA ? -1 : 1;
+            }
+            if (ca != cb) {
+                return Character.compare(ca, cb);
+            }
+            i++;
+            j++;
+        }
+    }
+
+    /**
+     * Compare the word at ref with a prefix; words starting with the prefix compare as equal or greater
+     */
+    private int compareWordTo(long ref, String prefix) {
+        String text = normalizedNames[(int) (ref >>> 16)];
+        int i = (int) (ref & 0xFFFF);
+        for (int k = 0; k < prefix.length(); k++, i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (c == ' ') {
+                return -1;
+            }
+            if (c != prefix.charAt(k)) {
+                return Character.compare(c, prefix.charAt(k));
+            }
+        }
+        return 0;
+    }
+
+    private boolean wordStartsWith(long ref, String prefix) {
+        return compareWordTo(ref, prefix) == 0;
+    }
+
+    private static boolean matchesAllWords(String normalizedName, String[] queryWords) {
+        for (String queryWord : queryWords) {
+            if (!hasWordWithPrefix(normalizedName, queryWord)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasWordWithPrefix(String text, String prefix) {
+        int start = 0;
+        while (start < text.length()) {
+            if (text.startsWith(prefix, start)) {
+                return true;
+            }
+            int space = text.indexOf(' ', start);
+            if (space < 0) {
+                return false;
+            }
+            start = space + 1;
+        }
+        return false;
+    }
+
+    // ---- normalization ----
+
+    /**
+     * Digits of a phone number, truncated to {@link #MAX_PHONE_DIGITS}
+     */
+    public static String phoneDigits(String phone) {
+        if (phone == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(MAX_PHONE_DIGITS);
+        for (int i = 0; i < phone.length() && digits.length() < MAX_PHONE_DIGITS; i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            } else if (c >= '\u0660' && c <= '\u0669') {
+                digits.append((char) ('0' + (c - '\u0660')));
+            }
+        }
+        return digits.toString();
+    }
+
+    /**
+     * Lower-case, strip diacritics (Latin accents and Arabic harakat) and collapse separators to one space
+     */
+    public static String normalizeName(String name) {
+        if (name == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFKD);
+        StringBuilder out = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            int type = Character.getType(c);
+            if (type == Character.NON_SPACING_MARK || c == '\u0640') {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && out.length() > 0) {
+                    out.append(' ');
+                }
+                pendingSpace = false;
+                out.append(Character.toLowerCase(c));
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Encode up to 15 digits so that numeric order of the key equals lexicographic order of the digits
+     */
+    static long encodeDigits(String digits) {
+        long key = 0;
+        for (int i = 0; i < MAX_PHONE_DIGITS; i++) {
+            int value = i < digits.length() ? digits.charAt(i) - '0' + 1 : 0;
+            key = key * 11 + value;
+        }
+        return key;
+    }
+
+    static String decodePhone(long key) {
+        boolean plus = (key & PLUS_FLAG) != 0;
+        long value = key & ~PLUS_FLAG;
+        char[] digits = new char[MAX_PHONE_DIGITS];
+        int length = 0;
+        for (int i = MAX_PHONE_DIGITS - 1; i >= 0; i--) {
+            int symbol = (int) (value % 11);
+            value /= 11;
+            digits[i] = symbol == 0 ? 0 : (char) ('0' + symbol - 1);
+        }
+        StringBuilder out = new StringBuilder(MAX_PHONE_DIGITS + 1);
+        if (plus) {
+            out.append('+');
+        }
+        for (char digit : digits) {
+            if (digit == 0) {
+                break;
+            }
+            out.append(digit);
+            length++;
+        }
+        return length == 0 ? null : out.toString();
+    }
+
+    /**
+     * One search hit
+     */
+    public record Match(UUID id, String name, String phone) {
+    }
+}
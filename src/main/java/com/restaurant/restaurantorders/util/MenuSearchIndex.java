@@ -0,0 +1,224 @@
+package com.restaurant.restaurantorders.util;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable inverted index over the menu catalog.
+ * Terms come from {@link MenuTextAnalyzer}; a query term matches an indexed term exactly,
+ * as a prefix (typeahead) or within a small edit distance (typos). Names weigh more than
+ * descriptions. Updates produce a new index that reuses the already analyzed documents,
+ * so a change to one item never re-analyzes the rest of the menu.
+ */
+public final class MenuSearchIndex {
+
+    private static final float NAME_WEIGHT = 3f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final float PREFIX_FACTOR = 0.6f;
+    private static final float FUZZY_FACTOR = 0.4f;
+
+    private static final MenuSearchIndex EMPTY = new MenuSearchIndex(Map.of());
+
+    private final Map<Long, Document> documents;
+    private final NavigableMap<String, List<Posting>> postings;
+
+    private MenuSearchIndex(Map<Long, Document> documents) {
+        this.documents = documents;
+        this.postings = new TreeMap<>();
+        for (Document document : documents.values()) {
+            document.termWeights.forEach((term, weight) ->
+                    postings.computeIfAbsent(term, t -> new ArrayList<>()).add(new Posting(document.getId(), weight)));
+        }
+    }
+
+    public static MenuSearchIndex empty() {
+        return EMPTY;
+    }
+
+    public static MenuSearchIndex of(Collection<Document> documents) {
+        Map<Long, Document> byId = new HashMap<>();
+        documents.forEach(document -> byId.put(document.getId(), document));
+        return new MenuSearchIndex(Collections.unmodifiableMap(byId));
+    }
+
+    /**
+     * New index with the given documents replaced or added and the given ids removed
+     */
+    public MenuSearchIndex with(Collection<Document> changed, Collection<Long> removedIds) {
+        Map<Long, Document> byId = new HashMap<>(documents);
+        removedIds.forEach(byId::remove);
+        changed.forEach(document -> byId.put(document.getId(), document));
+        return new MenuSearchIndex(Collections.unmodifiableMap(byId));
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Ranked search over available items: items matching more query terms come first, then by score
+     */
+    public List<Hit> search(String query, int limit) {
+        List<String> queryTerms = MenuTextAnalyzer.analyze(query);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, float[]> totals = new HashMap<>();
+        for (String queryTerm : queryTerms) {
+            Map<Long, Float> best = matchTerm(queryTerm);
+            best.forEach((documentId, score) -> {
+                float[] total = totals.computeIfAbsent(documentId, id -> new float[2]);
+                total[0] += 1;
+                total[1] += score;
+            });
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        totals.forEach((documentId, total) -> {
+            Document document = documents.get(documentId);
+            if (document != null && document.isAvailable()) {
+                hits.add(new Hit(document, (int) total[0], total[1]));
+            }
+        });
+        hits.sort(Comparator.comparingInt(Hit::getMatchedTerms).reversed()
+                .thenComparing(Comparator.comparingDouble(Hit::getScore).reversed())
+                .thenComparing(hit -> hit.getDocument().getId()));
+        return hits.size() > limit ? hits.subList(0, limit) : hits;
+    }
+
+    /**
+     * Best contribution of one query term to each document
+     */
+    private Map<Long, Float> matchTerm(String queryTerm) {
+        Map<Long, Float> best = new HashMap<>();
+
+        List<Posting> exact = postings.get(queryTerm);
+        if (exact != null) {
+            exact.forEach(posting -> best.merge(posting.documentId, posting.weight, Math::max));
+        }
+
+        for (Map.Entry<String, List<Posting>> entry : postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+            float factor = PREFIX_FACTOR * queryTerm.length() / entry.getKey().length() + (1 - PREFIX_FACTOR) / 2;
+            entry.getValue().forEach(posting -> best.merge(posting.documentId, posting.weight * factor, Math::max));
+        }
+
+        if (queryTerm.length() >= 4) {
+            int maxEdits = queryTerm.length() >= 8 ? 2 : 1;
+            for (Map.Entry<String, List<Posting>> entry : postings.entrySet()) {
+                String term = entry.getKey();
+                if (Math.abs(term.length() - queryTerm.length()) <= maxEdits
+                        && !term.equals(queryTerm)
+                        && withinEditDistance(queryTerm, term, maxEdits)) {
+                    entry.getValue().forEach(posting ->
+                            best.merge(posting.documentId, posting.weight * FUZZY_FACTOR, Math::max));
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Levenshtein distance check that gives up as soon as a row exceeds maxEdits
+     */
+    static boolean withinEditDistance(String a, String b, int maxEdits) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+
+    private record Posting(long documentId, float weight) {
+    }
+
+    /**
+     * One searchable menu item; analyzed once when created
+     */
+    public static final class Document {
+        private final Long id;
+        private final String name;
+        private final String nameAr;
+        private final String description;
+        private final String descriptionAr;
+        private final BigDecimal price;
+        private final String imageUrl;
+        private final boolean available;
+        private final Map<String, Float> termWeights = new LinkedHashMap<>();
+
+        public Document(Long id, String name, String nameAr, String description, String descriptionAr,
+                        BigDecimal price, String imageUrl, boolean available) {
+            this.id = id;
+            this.name = name;
+            this.nameAr = nameAr;
+            this.description = description;
+            this.descriptionAr = descriptionAr;
+            this.price = price;
+            this.imageUrl = imageUrl;
+            this.available = available;
+            addTerms(name, NAME_WEIGHT);
+            addTerms(nameAr, NAME_WEIGHT);
+            addTerms(description, DESCRIPTION_WEIGHT);
+            addTerms(descriptionAr, DESCRIPTION_WEIGHT);
+        }
+
+        private void addTerms(String text, float weight) {
+            for (String term : MenuTextAnalyzer.analyze(text)) {
+                termWeights.merge(term, weight, Math::max);
+            }
+        }
+
+        public Long getId() { return id; }
+        public String getName() { return name; }
+        public String getNameAr() { return nameAr; }
+        public String getDescription() { return description; }
+        public String getDescriptionAr() { return descriptionAr; }
+        public BigDecimal getPrice() { return price; }
+        public String getImageUrl() { return imageUrl; }
+        public boolean isAvailable() { return available; }
+    }
+
+    /**
+     * One ranked search result
+     */
+    public static final class Hit {
+        private final Document document;
+        private final int matchedTerms;
+        private final float score;
+
+        Hit(Document document, int matchedTerms, float score) {
+            this.document = document;
+            this.matchedTerms = matchedTerms;
+            this.score = score;
+        }
+
+        public Document getDocument() { return document; }
+        public int getMatchedTerms() { return matchedTerms; }
+        public float getScore() { return score; }
+    }
+}
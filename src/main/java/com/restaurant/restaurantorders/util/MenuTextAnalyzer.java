@@ -0,0 +1,138 @@
+package com.restaurant.restaurantorders.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tokenizer and normalizer for bilingual (English/Arabic) menu text.
+ * <ul>
+ *     <li>Arabic: strips harakat and tatweel, folds alef/hamza/ya/ta-marbuta variants, drops the
+ *     definite article and a leading conjunction so that "والشاورما" and "شاورما" meet.</li>
+ *     <li>English: lower-cases, strips accents and applies a light suffix stemmer
+ *     (plural and -ing/-ed forms) so that "fries"/"fry" and "grilled"/"grill" meet.</li>
+ * </ul>
+ * The same analysis is applied to indexed text and to queries.
+ */
+public final class MenuTextAnalyzer {
+
+    private MenuTextAnalyzer() {
+    }
+
+    /**
+     * Split text into normalized, stemmed terms
+     */
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        StringBuilder token = new StringBuilder();
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKC);
+        for (int i = 0; i <= folded.length(); i++) {
+            char c = i < folded.length() ? folded.charAt(i) : ' ';
+            if (isArabicMark(c)) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                token.append(c);
+            } else if (token.length() > 0) {
+                String term = normalizeToken(token.toString());
+                if (!term.isEmpty()) {
+                    terms.add(term);
+                }
+                token.setLength(0);
+            }
+        }
+        return terms;
+    }
+
+    static String normalizeToken(String token) {
+        return isArabic(token) ? normalizeArabic(token) : stemEnglish(stripAccents(token.toLowerCase()));
+    }
+
+    static String normalizeArabic(String token) {
+        StringBuilder out = new StringBuilder(token.length());
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            switch (c) {
+                case '\u0623', '\u0625', '\u0622', '\u0671' -> out.append('\u0627');  // alef variants -> alef
+                case '\u0649', '\u0626' -> out.append('\u064a');                    // alef maqsura, ya with hamza -> ya
+                case '\u0629' -> out.append('\u0647');                              // ta marbuta -> ha
+                case '\u0624' -> out.append('\u0648');                              // waw with hamza -> waw
+                default -> {
+                    if (c >= '\u0660' && c <= '\u0669') {
+                        out.append((char) ('0' + (c - '\u0660')));
+                    } else if (!isArabicMark(c)) {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        String term = out.toString();
+        if (term.length() > 4 && term.startsWith("\u0648\u0627\u0644")) {
+            term = term.substring(3);
+        } else if (term.length() > 3 && term.startsWith("\u0627\u0644")) {
+            term = term.substring(2);
+        }
+        return term;
+    }
+
+    static String stemEnglish(String term) {
+        int length = term.length();
+        if (length <= 3) {
+            return term;
+        }
+        if (term.endsWith("ies") && length > 4) {
+            return term.substring(0, length - 3) + "y";
+        }
+        if (term.endsWith("ing") && length > 5) {
+            return undouble(term.substring(0, length - 3));
+        }
+        if (term.endsWith("ed") && length > 4) {
+            return undouble(term.substring(0, length - 2));
+        }
+        if (term.endsWith("sses") || term.endsWith("ches") || term.endsWith("shes") || term.endsWith("xes")) {
+            return term.substring(0, length - 2);
+        }
+        if (term.endsWith("s") && !term.endsWith("ss") && !term.endsWith("us")) {
+            return term.substring(0, length - 1);
+        }
+        return term;
+    }
+
+    private static String undouble(String stem) {
+        int length = stem.length();
+        if (length > 2 && stem.charAt(length - 1) == stem.charAt(length - 2)
+                && "lsz".indexOf(stem.charAt(length - 1)) < 0) {
+            return stem.substring(0, length - 1);
+        }
+        return stem;
+    }
+
+    private static String stripAccents(String token) {
+        String decomposed = Normalizer.normalize(token, Normalizer.Form.NFD);
+        StringBuilder out = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    private static boolean isArabic(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c >= '\u0600' && c <= '\u06ff') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isArabicMark(char c) {
+        return (c >= '\u064b' && c <= '\u065f') || c == '\u0670' || c == '\u0640';
+    }
+}
@@ -0,0 +1,92 @@
+package com.restaurant.restaurantorders.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money arithmetic on long minor units (scale 2, e.g. piasters/cents).
+ * Pricing works on plain longs so that a basket costs no allocation per line;
+ * amounts become BigDecimal only when they are stored on an entity or serialized.
+ * Every operation throws ArithmeticException on overflow instead of wrapping,
+ * and every operation that can lose precision takes an explicit RoundingMode.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private static final long MINOR_PER_MAJOR = 100;
+    private static final long BASIS_POINTS = 10_000;
+
+    private Money() {
+    }
+
+    /**
+     * Convert a decimal amount to minor units; amounts with more than two decimals are rounded half up
+     * like the DECIMAL(10,2) columns they end up in
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Convert minor units back to a scale-2 BigDecimal for persistence and JSON
+     */
+    public static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public static long ofMajor(long majorUnits) {
+        return Math.multiplyExact(majorUnits, MINOR_PER_MAJOR);
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    /**
+     * Unit price times quantity
+     */
+    public static long multiply(long minorUnits, int quantity) {
+        return Math.multiplyExact(minorUnits, (long) quantity);
+    }
+
+    /**
+     * Share of an amount given in basis points (1/100 of a percent), e.g. 1400 for 14% VAT
+     */
+    public static long percentage(long minorUnits, int basisPoints, RoundingMode roundingMode) {
+        return divide(Math.multiplyExact(minorUnits, (long) basisPoints), BASIS_POINTS, roundingMode);
+    }
+
+    /**
+     * Integer division of minor units with explicit rounding; the divisor must be positive
+     */
+    public static long divide(long dividend, long divisor, RoundingMode roundingMode) {
+        if (divisor <= 0) {
+            throw new ArithmeticException("Divisor must be positive: " + divisor);
+        }
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        int sign = dividend < 0 ? -1 : 1;
+        long distanceDown = Math.abs(remainder);
+        long distanceUp = divisor - distanceDown;
+        boolean awayFromZero = switch (roundingMode) {
+            case UP -> true;
+            case DOWN -> false;
+            case CEILING -> sign > 0;
+            case FLOOR -> sign < 0;
+            case HALF_UP -> distanceDown >= distanceUp;
+            case HALF_DOWN -> distanceDown > distanceUp;
+            case HALF_EVEN -> distanceDown > distanceUp || (distanceDown == distanceUp && (quotient & 1) != 0);
+            case UNNECESSARY -> throw new ArithmeticException("Rounding necessary");
+        };
+        return awayFromZero ? quotient + sign : quotient;
+    }
+}
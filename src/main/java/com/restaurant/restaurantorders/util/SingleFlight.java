@@ -0,0 +1,99 @@
+package com.restaurant.restaurantorders.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key onto one execution.
+ * The first caller runs the loader; callers arriving while it is in flight wait
+ * for and share its result. With a freshness window greater than zero, a completed
+ * result is also reused for that long. Failures are never reused.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight<V>> flights = new ConcurrentHashMap<>();
+    private final long freshnessNanos;
+
+    public SingleFlight(long freshness, TimeUnit unit) {
+        this.freshnessNanos = unit.toNanos(freshness);
+    }
+
+    /**
+     * Run the loader for this key, or join the call already in flight
+     */
+    public V execute(K key, Supplier<V> loader) {
+        Flight<V> mine = new Flight<>();
+        long now = System.nanoTime();
+        Flight<V> current = flights.compute(key,
+                (k, existing) -> existing != null && existing.isReusable(now, freshnessNanos) ? existing : mine);
+
+        if (current != mine) {
+            return current.await();
+        }
+
+        V value;
+        try {
+            value = loader.get();
+        } catch (RuntimeException | Error e) {
+            flights.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+
+        mine.completedAt = System.nanoTime();
+        mine.complete(value);
+        if (freshnessNanos == 0) {
+            flights.remove(key, mine);
+        }
+        return value;
+    }
+
+    /**
+     * Drop the entry for a key so the next caller reads fresh data
+     */
+    public void forget(K key) {
+        flights.remove(key);
+    }
+
+    /**
+     * Remove completed entries whose freshness window has passed
+     */
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        flights.values().removeIf(flight -> !flight.isReusable(now, freshnessNanos));
+    }
+
+    public int size() {
+        return flights.size();
+    }
+
+    private static final class Flight<V> extends CompletableFuture<V> {
+
+        private volatile long completedAt;
+
+        boolean isReusable(long now, long freshnessNanos) {
+            if (!isDone()) {
+                return true;
+            }
+            return !isCompletedExceptionally() && now - completedAt <= freshnessNanos;
+        }
+
+        V await() {
+            try {
+                return join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw e;
+            }
+        }
+    }
+}
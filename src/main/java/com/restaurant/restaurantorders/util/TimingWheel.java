@@ -0,0 +1,178 @@
+package com.restaurant.restaurantorders.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel (Varghese and Lauck) for many long-lived timers.
+ * Level 0 has one slot per tick; each level above covers wheelSize times the span of the one
+ * below. A timer goes to the lowest level whose span reaches its deadline, into a doubly linked
+ * slot list, so scheduling and cancelling are O(1). When a lower level wraps around, the slot of
+ * the level above that now falls within reach is cascaded down; a timer moves at most once per
+ * level before it fires, so advancing costs O(1) per tick plus O(1) amortized per timer.
+ * Time only moves through advanceTo; the wheel itself starts no threads.
+ */
+public final class TimingWheel<T> {
+
+    private static final int MAX_TICK_BITS = 62;
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final Slot<T>[][] levels;
+
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param wheelSize slots per level, a power of two
+     * @param startMillis time of the first tick; timers due before it fire on the first advance
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive");
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize must be a power of two: " + wheelSize);
+        }
+        this.tickMillis = tickMillis;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.levels = new Slot[MAX_TICK_BITS / bits][];
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Add a timer; a deadline that has already passed fires on the next tick
+     */
+    public synchronized Timeout<T> schedule(T payload, long deadlineMillis) {
+        Timeout<T> timeout = new Timeout<>(payload, deadlineMillis / tickMillis);
+        place(timeout, currentTick + 1);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Remove a timer that has not fired yet; returns false if it already fired or was cancelled
+     */
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.slot == null) {
+            return false;
+        }
+        timeout.slot.remove(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Move time forward and return the payloads of every timer that fell due, tick by tick
+     */
+    public synchronized List<T> advanceTo(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = levels.length - 1; level > 0; level--) {
+                if (levels[level] != null && (currentTick & ((1L << (bits * level)) - 1)) == 0) {
+                    cascade(levels[level][(int) ((currentTick >>> (bits * level)) & mask)]);
+                }
+            }
+            Slot<T> due = levels[0] != null ? levels[0][(int) (currentTick & mask)] : null;
+            if (due != null) {
+                for (Timeout<T> timeout = due.head; timeout != null; timeout = due.head) {
+                    due.remove(timeout);
+                    size--;
+                    expired.add(timeout.payload);
+                }
+            }
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void cascade(Slot<T> slot) {
+        if (slot == null) {
+            return;
+        }
+        for (Timeout<T> timeout = slot.head; timeout != null; timeout = slot.head) {
+            slot.remove(timeout);
+            place(timeout, currentTick);
+        }
+    }
+
+    private void place(Timeout<T> timeout, long earliestTick) {
+        long tick = Math.max(timeout.deadlineTick, earliestTick);
+        long delta = tick - currentTick;
+        int level = 0;
+        while (level < levels.length - 1 && delta >= 1L << (bits * (level + 1))) {
+            level++;
+        }
+        if (levels[level] == null) {
+            @SuppressWarnings("unchecked")
+            Slot<T>[] slots = new Slot[mask + 1];
+            levels[level] = slots;
+        }
+        int index = (int) ((tick >>> (bits * level)) & mask);
+        Slot<T> slot = levels[level][index];
+        if (slot == null) {
+            slot = new Slot<>();
+            levels[level][index] = slot;
+        }
+        slot.add(timeout);
+    }
+
+    /**
+     * Handle of a scheduled timer, used to cancel it
+     */
+    public static final class Timeout<T> {
+        private final T payload;
+        private final long deadlineTick;
+        private Slot<T> slot;
+        private Timeout<T> previous;
+        private Timeout<T> next;
+
+        private Timeout(T payload, long deadlineTick) {
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T getPayload() { return payload; }
+    }
+
+    private static final class Slot<T> {
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        void add(Timeout<T> timeout) {
+            timeout.slot = this;
+            timeout.previous = tail;
+            timeout.next = null;
+            if (tail != null) {
+                tail.next = timeout;
+            } else {
+                head = timeout;
+            }
+            tail = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            } else {
+                tail = timeout.previous;
+            }
+            timeout.slot = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Menu items and customers stay on shard 0; foreign keys cannot cross databases.
+ * Order lines keep the item name and price, so orders never depend on those rows.
+ * The constraints are looked up rather than dropped by name: databases baselined at V1 got theirs
+ * from ddl-auto=update, which names them FK followed by a hash instead of V1's names.
+ */
+public class V5_1__Drop_cross_shard_foreign_keys extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        dropForeignKeys(connection, "order_items", "menu_items");
+        dropForeignKeys(connection, "orders", "customers");
+    }
+
+    private static void dropForeignKeys(Connection connection, String table, String referencedTable) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String constraint : foreignKeys(connection, table, referencedTable)) {
+                statement.execute("ALTER TABLE " + table + " DROP CONSTRAINT " + constraint);
+            }
+        }
+    }
+
+    private static List<String> foreignKeys(Connection connection, String table, String referencedTable) throws SQLException {
+        List<String> constraints = new ArrayList<>();
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (ResultSet keys = metaData.getImportedKeys(connection.getCatalog(), connection.getSchema(), table)) {
+            while (keys.next()) {
+                String name = keys.getString("FK_NAME");
+                if (referencedTable.equalsIgnoreCase(keys.getString("PKTABLE_NAME")) && !constraints.contains(name)) {
+                    constraints.add(name);
+                }
+            }
+        }
+        return constraints;
+    }
+}
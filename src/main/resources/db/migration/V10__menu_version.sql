@@ -0,0 +1,18 @@
+-- Menu version: bumped by every bulk menu update, which also records the menu items it changed, so that
+-- other instances can refresh exactly those items. The single version row serializes bulk updates,
+-- so versions become visible in commit order.
+
+CREATE TABLE menu_version (
+    id      INTEGER NOT NULL,
+    version BIGINT  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT INTO menu_version (id, version) VALUES (1, 0);
+
+CREATE TABLE menu_changes (
+    version       BIGINT      NOT NULL,
+    menu_item_ids TEXT        NOT NULL,
+    changed_at    DATETIME(6) NOT NULL,
+    PRIMARY KEY (version)
+) ENGINE = InnoDB;
@@ -0,0 +1,75 @@
+-- Baseline schema, equivalent to what spring.jpa.hibernate.ddl-auto=update created before order archival.
+-- Existing databases are baselined at version 1 (spring.flyway.baseline-on-migrate) and start at V2.
+
+CREATE TABLE categories (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    name          VARCHAR(100) NOT NULL,
+    name_ar       VARCHAR(100),
+    description   TEXT,
+    image_url     VARCHAR(500),
+    display_order INTEGER,
+    is_active     BIT,
+    created_at    DATETIME(6)  NOT NULL,
+    updated_at    DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE menu_items (
+    id             BIGINT         NOT NULL AUTO_INCREMENT,
+    category_id    BIGINT         NOT NULL,
+    name           VARCHAR(200)   NOT NULL,
+    name_ar        VARCHAR(200),
+    description    TEXT,
+    description_ar TEXT,
+    price          DECIMAL(10, 2) NOT NULL,
+    image_url      VARCHAR(500),
+    is_available   BIT,
+    is_featured    BIT,
+    display_order  INTEGER,
+    created_at     DATETIME(6)    NOT NULL,
+    updated_at     DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_menu_items_category FOREIGN KEY (category_id) REFERENCES categories (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE customers (
+    id         BINARY(16)   NOT NULL,
+    name       VARCHAR(255) NOT NULL,
+    phone      VARCHAR(255) NOT NULL,
+    email      VARCHAR(255),
+    address    VARCHAR(255),
+    created_at DATETIME(6)  NOT NULL,
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_customers_phone UNIQUE (phone)
+) ENGINE = InnoDB;
+
+CREATE TABLE orders (
+    id               BIGINT         NOT NULL AUTO_INCREMENT,
+    customer_id      BINARY(16),
+    customer_name    VARCHAR(200)   NOT NULL,
+    customer_phone   VARCHAR(20)    NOT NULL,
+    customer_email   VARCHAR(255),
+    customer_address TEXT           NOT NULL,
+    total_amount     DECIMAL(10, 2) NOT NULL,
+    status           ENUM ('PENDING','CONFIRMED','PREPARING','READY','OUT_FOR_DELIVERY','DELIVERED','CANCELLED'),
+    notes            TEXT,
+    created_at       DATETIME(6)    NOT NULL,
+    updated_at       DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_orders_customer FOREIGN KEY (customer_id) REFERENCES customers (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE order_items (
+    id             BIGINT         NOT NULL AUTO_INCREMENT,
+    order_id       BIGINT         NOT NULL,
+    menu_item_id   BIGINT,
+    menu_item_name VARCHAR(200)   NOT NULL,
+    quantity       INTEGER        NOT NULL,
+    price_at_time  DECIMAL(10, 2) NOT NULL,
+    subtotal       DECIMAL(10, 2) NOT NULL,
+    created_at     DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_order FOREIGN KEY (order_id) REFERENCES orders (id),
+    CONSTRAINT fk_order_items_menu_item FOREIGN KEY (menu_item_id) REFERENCES menu_items (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,55 @@
+-- Archive tables for order archival, and indexes for the order, customer and menu queries on the request path.
+
+-- Databases baselined at V1 may or may not have the archive tables, depending on whether
+-- ddl-auto=update ran after archival was added
+CREATE TABLE IF NOT EXISTS orders_archive (
+    id               BIGINT         NOT NULL,
+    customer_id      BINARY(16),
+    customer_name    VARCHAR(200)   NOT NULL,
+    customer_phone   VARCHAR(20)    NOT NULL,
+    customer_email   VARCHAR(255),
+    customer_address TEXT           NOT NULL,
+    total_amount     DECIMAL(10, 2) NOT NULL,
+    status           ENUM ('PENDING','CONFIRMED','PREPARING','READY','OUT_FOR_DELIVERY','DELIVERED','CANCELLED'),
+    notes            TEXT,
+    created_at       DATETIME(6)    NOT NULL,
+    updated_at       DATETIME(6),
+    archived_at      DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS order_items_archive (
+    id             BIGINT         NOT NULL,
+    order_id       BIGINT         NOT NULL,
+    menu_item_id   BIGINT,
+    menu_item_name VARCHAR(200)   NOT NULL,
+    quantity       INTEGER        NOT NULL,
+    price_at_time  DECIMAL(10, 2) NOT NULL,
+    subtotal       DECIMAL(10, 2) NOT NULL,
+    created_at     DATETIME(6)    NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_order_items_archive_order FOREIGN KEY (order_id) REFERENCES orders_archive (id)
+) ENGINE = InnoDB;
+
+-- findByStatusOrderByCreatedAtDesc, countByStatus, findByStatusInWithItems, archival scan
+CREATE INDEX idx_orders_status_created_at ON orders (status, created_at);
+-- findTodayOrders, getTodayRevenue
+CREATE INDEX idx_orders_created_at ON orders (created_at);
+-- findByCustomerPhoneOrderByCreatedAtDesc
+CREATE INDEX idx_orders_customer_phone_created_at ON orders (customer_phone, created_at);
+
+-- order_items(order_id) and order_items_archive(order_id) already have the indexes InnoDB creates for
+-- their foreign keys, which serve the fetch joins and archival deletes
+
+-- findByCategoryIdAndIsAvailableTrueOrderByDisplayOrderAsc, findByCategoryIdWithCategory
+CREATE INDEX idx_menu_items_category_available_order ON menu_items (category_id, is_available, display_order);
+-- findByIsAvailableTrueOrderByDisplayOrderAsc, findAllAvailableWithCategory
+CREATE INDEX idx_menu_items_available_order ON menu_items (is_available, display_order);
+-- findByIsFeaturedTrueAndIsAvailableTrueOrderByDisplayOrderAsc
+CREATE INDEX idx_menu_items_featured_available_order ON menu_items (is_featured, is_available, display_order);
+
+CREATE INDEX idx_categories_active_order ON categories (is_active, display_order);
+
+-- findByEmail / existsByEmail, keyset paging on (created_at, id)
+CREATE INDEX idx_customers_email ON customers (email);
+CREATE INDEX idx_customers_created_at_id ON customers (created_at, id);
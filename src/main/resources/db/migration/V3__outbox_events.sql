@@ -0,0 +1,32 @@
+-- Transactional outbox for order events (written with the order, delivered by OutboxRelay)
+
+CREATE TABLE outbox_events (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    aggregate_id    BIGINT       NOT NULL,
+    event_type      VARCHAR(100) NOT NULL,
+    payload         TEXT         NOT NULL,
+    created_at      DATETIME(6)  NOT NULL,
+    status          ENUM ('PENDING','PUBLISHED','FAILED') NOT NULL,
+    attempts        INTEGER      NOT NULL,
+    next_attempt_at DATETIME(6)  NOT NULL,
+    last_error      VARCHAR(500),
+    published_at    DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- Relay scan: pending rows in id order
+CREATE INDEX idx_outbox_events_status_id ON outbox_events (status, id);
+-- Per-order hold-back: is an earlier event of the same order still backing off
+CREATE INDEX idx_outbox_events_aggregate_status_id ON outbox_events (aggregate_id, status, id);
+-- Clean-up of published rows
+CREATE INDEX idx_outbox_events_published_at ON outbox_events (published_at);
+
+-- Lease that lets one node at a time run the relay
+CREATE TABLE outbox_relay_lease (
+    name       VARCHAR(50)  NOT NULL,
+    owner      VARCHAR(100),
+    expires_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (name)
+) ENGINE = InnoDB;
+
+INSERT INTO outbox_relay_lease (name, owner, expires_at) VALUES ('relay', NULL, '1970-01-01 00:00:00');
@@ -0,0 +1,6 @@
+-- Client-supplied order ids for idempotent POS replays (bulk ingestion)
+
+ALTER TABLE orders ADD COLUMN client_order_id VARCHAR(64);
+ALTER TABLE orders ADD CONSTRAINT uk_orders_client_order_id UNIQUE (client_order_id);
+
+ALTER TABLE orders_archive ADD COLUMN client_order_id VARCHAR(64);
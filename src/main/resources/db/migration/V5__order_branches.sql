@@ -0,0 +1,7 @@
+-- Orders belong to a branch, and each branch's orders live on one shard (ShardRouter).
+-- Orders taken before branches were tracked belong to the first branch.
+
+ALTER TABLE orders ADD COLUMN branch_id BIGINT NOT NULL DEFAULT 1;
+ALTER TABLE orders_archive ADD COLUMN branch_id BIGINT NOT NULL DEFAULT 1;
+
+-- The foreign keys to menu_items and customers are dropped by V5_1 (db.migration), which looks up their names
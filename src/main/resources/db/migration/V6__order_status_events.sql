@@ -0,0 +1,16 @@
+-- Append-only status history: one row per transition, written in the transaction of the change.
+-- Rows are never updated and stay when their order moves to the archive.
+
+CREATE TABLE order_status_events (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    order_id    BIGINT      NOT NULL,
+    from_status ENUM ('PENDING','CONFIRMED','PREPARING','READY','OUT_FOR_DELIVERY','DELIVERED','CANCELLED'),
+    to_status   ENUM ('PENDING','CONFIRMED','PREPARING','READY','OUT_FOR_DELIVERY','DELIVERED','CANCELLED') NOT NULL,
+    changed_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+-- Order timeline
+CREATE INDEX idx_order_status_events_order_id_id ON order_status_events (order_id, id);
+-- Stage duration warm-up at startup
+CREATE INDEX idx_order_status_events_changed_at ON order_status_events (changed_at);
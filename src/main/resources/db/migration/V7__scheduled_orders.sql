@@ -0,0 +1,13 @@
+-- Pre-orders: SCHEDULED orders wait for their prep-start time, then ScheduledOrderService releases them to PENDING
+
+ALTER TABLE orders MODIFY COLUMN status
+    ENUM ('SCHEDULED','PENDING','CONFIRMED','PREPARING','READY','OUT_FOR_DELIVERY','DELIVERED','CANCELLED');
+ALTER TABLE orders_archive MODIFY COLUMN status
+    ENUM ('SCHEDULED','PENDING','CONFIRMED','PREPARING','READY','OUT_FOR_DELIVERY','DELIVERED','CANCELLED');
+ALTER TABLE order_status_events MODIFY COLUMN from_status
+    ENUM ('SCHEDULED','PENDING','CONFIRMED','PREPARING','READY','OUT_FOR_DELIVERY','DELIVERED','CANCELLED');
+ALTER TABLE order_status_events MODIFY COLUMN to_status
+    ENUM ('SCHEDULED','PENDING','CONFIRMED','PREPARING','READY','OUT_FOR_DELIVERY','DELIVERED','CANCELLED') NOT NULL;
+
+ALTER TABLE orders ADD COLUMN scheduled_for DATETIME(6);
+ALTER TABLE orders_archive ADD COLUMN scheduled_for DATETIME(6);
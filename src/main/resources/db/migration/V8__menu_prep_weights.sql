@@ -0,0 +1,5 @@
+-- Prep-cost weights for the kitchen capacity model: the station preparing an item and the
+-- station-seconds one unit of it takes
+
+ALTER TABLE menu_items ADD COLUMN prep_station VARCHAR(50) NOT NULL DEFAULT 'KITCHEN';
+ALTER TABLE menu_items ADD COLUMN prep_seconds INTEGER NOT NULL DEFAULT 120;
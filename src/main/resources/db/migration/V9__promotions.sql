@@ -0,0 +1,31 @@
+-- Promotions applied when orders are priced: percentage off items or categories (optionally only during a
+-- daily window, e.g. happy hour) and combo deals that price a set of items together
+
+CREATE TABLE promotions (
+    id                    BIGINT         NOT NULL AUTO_INCREMENT,
+    name                  VARCHAR(200)   NOT NULL,
+    type                  ENUM ('PERCENT_OFF','COMBO') NOT NULL,
+    discount_basis_points INTEGER,
+    combo_price           DECIMAL(10, 2),
+    starts_at             DATETIME(6),
+    ends_at               DATETIME(6),
+    daily_from            TIME,
+    daily_until           TIME,
+    is_active             BIT            NOT NULL,
+    created_at            DATETIME(6)    NOT NULL,
+    updated_at            DATETIME(6),
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE promotion_targets (
+    id           BIGINT  NOT NULL AUTO_INCREMENT,
+    promotion_id BIGINT  NOT NULL,
+    menu_item_id BIGINT,
+    category_id  BIGINT,
+    quantity     INTEGER NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_promotion_targets_promotion FOREIGN KEY (promotion_id) REFERENCES promotions (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+ALTER TABLE orders ADD COLUMN discount_amount DECIMAL(10, 2) NOT NULL DEFAULT 0;
+ALTER TABLE orders_archive ADD COLUMN discount_amount DECIMAL(10, 2) NOT NULL DEFAULT 0;
@@ -3,7 +3,18 @@ package com.restaurant.restaurantorders;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+/**
+ * Starts the full context against an embedded H2 database in MySQL mode, so no MySQL server is needed.
+ * Flyway still applies the migrations; Hibernate validation is off because H2 maps BINARY(16) ids differently.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:context;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+		"spring.datasource.driver-class-name=org.h2.Driver",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=none"
+})
 class DemoApplicationTests {
 
 	@Test
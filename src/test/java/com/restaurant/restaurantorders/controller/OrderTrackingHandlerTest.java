@@ -0,0 +1,86 @@
+package com.restaurant.restaurantorders.controller;
+
+import com.restaurant.restaurantorders.repository.ReactiveOrderTrackingRepository;
+import com.restaurant.restaurantorders.repository.TrackingShardStub;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+
+/**
+ * Serves the tracking routes through WebTestClient, with the repository reading one stubbed shard
+ */
+class OrderTrackingHandlerTest {
+
+    private static final long LIVE = 1L << 40 | 1;
+    private static final long ARCHIVED = 1L << 40 | 2;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        TrackingShardStub shard = new TrackingShardStub()
+                .order(false, LIVE, "PREPARING", "Burger", "Fries")
+                .order(true, ARCHIVED, "DELIVERED", "Shawarma");
+        OrderTrackingHandler handler = new OrderTrackingHandler(
+                new ReactiveOrderTrackingRepository(List.of(shard.databaseClient())));
+        client = WebTestClient.bindToRouterFunction(handler.routes()).build();
+    }
+
+    @Test
+    void liveOrderIsFound() {
+        client.get().uri("/orders/{orderId}", LIVE).exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.success").isEqualTo(true)
+                .jsonPath("$.data.id").isEqualTo(LIVE)
+                .jsonPath("$.data.status").isEqualTo("PREPARING")
+                .jsonPath("$.data.items.length()").isEqualTo(2)
+                .jsonPath("$.data.items[1].menuItemName").isEqualTo("Fries");
+
+        client.get().uri("/orders/{orderId}/status", LIVE).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data").isEqualTo("PREPARING");
+    }
+
+    @Test
+    void archivedOrderIsFound() {
+        client.get().uri("/orders/{orderId}", ARCHIVED).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.id").isEqualTo(ARCHIVED)
+                .jsonPath("$.data.items[0].menuItemName").isEqualTo("Shawarma");
+
+        client.get().uri("/orders/{orderId}/status", ARCHIVED).exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data").isEqualTo("DELIVERED");
+    }
+
+    @Test
+    void unknownOrderIsNotFound() {
+        for (String path : List.of("/orders/{orderId}", "/orders/{orderId}/status")) {
+            client.get().uri(path, 1L << 40 | 3).exchange()
+                    .expectStatus().isNotFound()
+                    .expectBody()
+                    .jsonPath("$.success").isEqualTo(false)
+                    .jsonPath("$.error.code").isEqualTo("NOT_FOUND");
+        }
+        // On a shard this node has no client for
+        client.get().uri("/orders/{orderId}/status", 1L << 40 | 2L << 16).exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void nonNumericIdIsABadRequest() {
+        client.get().uri("/orders/latest").exchange()
+                .expectStatus().isEqualTo(HttpStatus.BAD_REQUEST)
+                .expectBody()
+                .jsonPath("$.error.code").isEqualTo("INVALID_ARGUMENT");
+    }
+}
@@ -0,0 +1,71 @@
+package com.restaurant.restaurantorders.controller;
+
+import com.restaurant.restaurantorders.dto.response.RecordingStatusResponse;
+import com.restaurant.restaurantorders.service.FlightRecordingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProfilingEndpointTest {
+
+    @TempDir
+    Path dumpDirectory;
+
+    private FlightRecordingService service;
+
+    @AfterEach
+    void closeRecording() {
+        service.close();
+    }
+
+    @Test
+    void recordsStopsAndDownloadsOnce() throws Exception {
+        ProfilingEndpoint endpoint = newEndpoint();
+
+        WebEndpointResponse<Object> started = endpoint.startRecording(null, 60L, 10L, null);
+        assertEquals(200, started.getStatus());
+        assertEquals("RUNNING", ((RecordingStatusResponse) started.getBody()).getState());
+        assertEquals("default", ((RecordingStatusResponse) started.getBody()).getSettings());
+
+        assertEquals("STOPPED", ((RecordingStatusResponse) endpoint.stopRecording().getBody()).getState());
+
+        Resource file = (Resource) endpoint.downloadRecording("recording.jfr").getBody();
+        try (InputStream in = file.getInputStream()) {
+            assertTrue(in.readAllBytes().length > 0);
+        }
+        try (var remaining = Files.list(dumpDirectory)) {
+            assertEquals(0, remaining.count(), "dump is deleted after it was streamed");
+        }
+    }
+
+    @Test
+    void rejectsBoundsAboveTheLimitsAndOutOfOrderCalls() {
+        ProfilingEndpoint endpoint = newEndpoint();
+
+        assertEquals(400, endpoint.startRecording("default", null, 11L, null).getStatus());
+        assertEquals(400, endpoint.startRecording("no-such-settings", null, null, null).getStatus());
+        assertEquals(409, endpoint.stopRecording().getStatus());
+        assertEquals(409, endpoint.downloadRecording("recording.jfr").getStatus());
+
+        assertEquals(200, endpoint.startRecording("default", null, null, null).getStatus());
+        WebEndpointResponse<Object> again = endpoint.startRecording("default", null, null, null);
+        assertEquals(409, again.getStatus());
+        assertInstanceOf(Map.class, again.getBody());
+    }
+
+    private ProfilingEndpoint newEndpoint() {
+        service = new FlightRecordingService(30, 10, 60, dumpDirectory);
+        return new ProfilingEndpoint(service);
+    }
+}
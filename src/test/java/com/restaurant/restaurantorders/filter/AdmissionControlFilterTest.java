@@ -0,0 +1,55 @@
+package com.restaurant.restaurantorders.filter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.restaurantorders.config.AdmissionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AdmissionControlFilterTest {
+
+    @Test
+    void clientSuppliedKeysDoNotBuyFreshBuckets() throws Exception {
+        AdmissionControlFilter filter = filter(100);
+        assertEquals(200, createOrder(filter, "10.0.0.1", "key-1"));
+        assertEquals(200, createOrder(filter, "10.0.0.1", "key-2"));
+        assertEquals(429, createOrder(filter, "10.0.0.1", "key-3"));
+        assertEquals(200, createOrder(filter, "10.0.0.2", "key-3"));
+    }
+
+    @Test
+    void clientsBeyondTheBucketCapShareTheOverflowBucket() throws Exception {
+        AdmissionControlFilter filter = filter(1);
+        assertEquals(200, createOrder(filter, "10.0.0.1", null));
+        // New addresses now share one overflow bucket (burst 2) for the endpoint group
+        assertEquals(200, createOrder(filter, "10.0.0.2", null));
+        assertEquals(200, createOrder(filter, "10.0.0.3", null));
+        assertEquals(429, createOrder(filter, "10.0.0.4", null));
+        assertEquals(429, createOrder(filter, "10.0.0.5", null));
+    }
+
+    private static AdmissionControlFilter filter(int maxBuckets) {
+        AdmissionProperties properties = new AdmissionProperties();
+        properties.setMaxBuckets(maxBuckets);
+        properties.setEndpoints(Map.of("orders-create", new AdmissionProperties.RateLimit(0.001, 2)));
+        return new AdmissionControlFilter(properties, new SimpleMeterRegistry(), new ObjectMapper());
+    }
+
+    private static int createOrder(AdmissionControlFilter filter, String remoteAddress, String apiKey)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders");
+        request.setRemoteAddr(remoteAddress);
+        if (apiKey != null) {
+            request.addHeader("X-API-Key", apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,56 @@
+package com.restaurant.restaurantorders.mapper;
+
+import com.restaurant.restaurantorders.dto.request.CreateCustomerRequest;
+import com.restaurant.restaurantorders.dto.request.UpdateCustomerRequest;
+import com.restaurant.restaurantorders.dto.response.CustomerResponse;
+import com.restaurant.restaurantorders.entity.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Exercises the MapStruct-generated customer mapper directly, without a Spring context
+ */
+class CustomerMapperTest {
+
+    private final CustomerMapper mapper = new CustomerMapperImpl();
+
+    @Test
+    void createdCustomerRoundTripsToTheResponse() {
+        CreateCustomerRequest request = new CreateCustomerRequest("Layla Hassan", "+201000000001",
+                "layla@example.com", "12 Nile Street");
+
+        Customer customer = mapper.toEntity(request);
+        assertNull(customer.getId());
+        assertNull(customer.getCreatedAt());
+
+        UUID id = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 1, 9, 30);
+        customer.setId(id);
+        customer.setCreatedAt(createdAt);
+        customer.setUpdatedAt(createdAt);
+
+        CustomerResponse response = mapper.toResponse(customer);
+        assertEquals(new CustomerResponse(id, "Layla Hassan", "+201000000001", "layla@example.com",
+                "12 Nile Street", createdAt, createdAt), response);
+        assertEquals(List.of(response), mapper.toResponses(List.of(customer)));
+    }
+
+    @Test
+    void partialUpdateKeepsFieldsLeftNull() {
+        UUID id = UUID.randomUUID();
+        LocalDateTime createdAt = LocalDateTime.of(2026, 3, 1, 9, 30);
+        Customer customer = new Customer(id, "Layla Hassan", "+201000000001", "layla@example.com",
+                "12 Nile Street", createdAt, createdAt);
+
+        mapper.updateEntity(new UpdateCustomerRequest(null, "+201000000002", "layla.h@example.com", null), customer);
+
+        assertEquals(new Customer(id, "Layla Hassan", "+201000000001", "layla.h@example.com",
+                "12 Nile Street", createdAt, createdAt), customer);
+    }
+}
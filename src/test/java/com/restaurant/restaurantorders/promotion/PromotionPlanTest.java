@@ -0,0 +1,213 @@
+package com.restaurant.restaurantorders.promotion;
+
+import com.restaurant.restaurantorders.entity.Promotion;
+import com.restaurant.restaurantorders.entity.PromotionTarget;
+import com.restaurant.restaurantorders.util.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PromotionPlanTest {
+
+    private static final long BURGER = 1;
+    private static final long FRIES = 2;
+    private static final long COLA = 3;
+    private static final long SALAD = 4;
+    private static final long MAINS = 10;
+    private static final long DRINKS = 20;
+    private static final Map<Long, Long> CATEGORY_OF_ITEM = Map.of(BURGER, MAINS, FRIES, MAINS, COLA, DRINKS,
+            SALAD, MAINS);
+    private static final LocalDateTime NOON = LocalDateTime.of(2026, 6, 1, 12, 0);
+
+    private final Random random = new Random(42);
+    private long nextId = 1;
+
+    @Test
+    void comboUnitsAreNotDiscountedAgainByAPercentage() {
+        PromotionPlan plan = compile(
+                combo("Burger meal", "10.00", BURGER, 1, FRIES, 1),
+                percentOff("Burger day", 2000, item(BURGER)));
+
+        // One set of burger + fries saves 2.00; only the second burger gets 20% of 8.00
+        PromotionPlan.Discount discount = plan.apply(List.of(
+                line(BURGER, 2, "8.00"), line(FRIES, 1, "4.00")), NOON);
+
+        assertEquals(360, discount.amount());
+        assertEquals(Map.of("Burger meal", 200L, "Burger day", 160L), byName(discount));
+    }
+
+    @Test
+    void onlyTheBestPercentageAppliesToAUnit() {
+        PromotionPlan plan = compile(
+                percentOff("Mains 10%", 1000, category(MAINS)),
+                percentOff("Burger 25%", 2500, item(BURGER)));
+
+        PromotionPlan.Discount discount = plan.apply(List.of(
+                line(BURGER, 1, "8.00"), line(FRIES, 2, "4.00"), line(COLA, 1, "3.00")), NOON);
+
+        assertEquals(Map.of("Burger 25%", 200L, "Mains 10%", 80L), byName(discount));
+        assertEquals(280, discount.amount());
+    }
+
+    @Test
+    void overlappingCombosTakeTheBiggestSavingFirst() {
+        PromotionPlan plan = compile(
+                combo("Burger and cola", "10.00", BURGER, 1, COLA, 1),
+                combo("Burger and fries", "9.00", BURGER, 1, FRIES, 1));
+
+        // Only one burger: the fries combo saves 3.00, the cola combo 1.00
+        PromotionPlan.Discount discount = plan.apply(List.of(
+                line(BURGER, 1, "8.00"), line(FRIES, 1, "4.00"), line(COLA, 1, "3.00")), NOON);
+
+        assertEquals(Map.of("Burger and fries", 300L), byName(discount));
+    }
+
+    @Test
+    void combosNeedCompleteSetsAndPoolLinesOfTheSameItem() {
+        PromotionPlan plan = compile(combo("Two burgers", "14.00", BURGER, 2));
+
+        assertEquals(0, plan.apply(List.of(line(BURGER, 1, "8.00")), NOON).amount());
+        assertEquals(200, plan.apply(List.of(line(BURGER, 1, "8.00"), line(BURGER, 1, "8.00")), NOON).amount());
+        assertEquals(400, plan.apply(List.of(line(BURGER, 5, "8.00")), NOON).amount());
+    }
+
+    @Test
+    void comboDearerThanItsItemsIsIgnored() {
+        PromotionPlan plan = compile(
+                combo("Bad deal", "13.00", BURGER, 1, FRIES, 1),
+                percentOff("Burger day", 1000, item(BURGER)));
+
+        PromotionPlan.Discount discount = plan.apply(List.of(line(BURGER, 1, "8.00"), line(FRIES, 1, "4.00")), NOON);
+
+        assertEquals(Map.of("Burger day", 80L), byName(discount));
+    }
+
+    @Test
+    void dailyWindowsMayRunPastMidnight() {
+        Promotion lateNight = percentOff("Late night", 5000, item(COLA));
+        lateNight.setDailyFrom(LocalTime.of(22, 0));
+        lateNight.setDailyUntil(LocalTime.of(2, 0));
+        PromotionPlan plan = compile(lateNight);
+        List<PromotionPlan.Line> lines = List.of(line(COLA, 1, "3.00"));
+
+        assertEquals(150, plan.apply(lines, NOON.withHour(23)).amount());
+        assertEquals(150, plan.apply(lines, NOON.withHour(1).withMinute(59)).amount());
+        assertEquals(0, plan.apply(lines, NOON.withHour(2)).amount());
+        assertEquals(0, plan.apply(lines, NOON).amount());
+    }
+
+    @Test
+    void inactiveEndedAndNotYetStartedPromotionsGiveNothing() {
+        Promotion inactive = percentOff("Inactive", 1000, item(BURGER));
+        inactive.setIsActive(false);
+        Promotion ended = percentOff("Ended", 1000, item(BURGER));
+        ended.setEndsAt(NOON.minusDays(1));
+        Promotion upcoming = percentOff("Upcoming", 1000, item(BURGER));
+        upcoming.setStartsAt(NOON.plusDays(1));
+
+        PromotionPlan plan = compile(inactive, ended, upcoming);
+
+        assertEquals(1, plan.getPromotionCount());
+        assertEquals(PromotionPlan.Discount.NONE, plan.apply(List.of(line(BURGER, 3, "8.00")), NOON));
+        assertEquals(240, plan.apply(List.of(line(BURGER, 3, "8.00")), NOON.plusDays(2)).amount());
+    }
+
+    @Test
+    void percentagesMatchTheBestRulePerItem() {
+        long[] menuItemIds = {BURGER, FRIES, COLA, SALAD};
+        for (int round = 0; round < 200; round++) {
+            List<Promotion> promotions = new ArrayList<>();
+            Map<Long, Integer> bestBasisPoints = new HashMap<>();
+            for (int p = random.nextInt(6); p > 0; p--) {
+                int basisPoints = 1 + random.nextInt(10_000);
+                boolean byCategory = random.nextBoolean();
+                long target = byCategory ? (random.nextBoolean() ? MAINS : DRINKS)
+                        : menuItemIds[random.nextInt(menuItemIds.length)];
+                promotions.add(percentOff("P" + p, basisPoints, byCategory ? category(target) : item(target)));
+                for (long menuItemId : menuItemIds) {
+                    if (byCategory ? CATEGORY_OF_ITEM.get(menuItemId) == target : menuItemId == target) {
+                        bestBasisPoints.merge(menuItemId, basisPoints, Math::max);
+                    }
+                }
+            }
+            PromotionPlan plan = PromotionPlan.compile(promotions, CATEGORY_OF_ITEM, NOON);
+
+            List<PromotionPlan.Line> lines = new ArrayList<>();
+            long expected = 0;
+            for (long menuItemId : menuItemIds) {
+                if (random.nextBoolean()) {
+                    int quantity = 1 + random.nextInt(20);
+                    long unitPrice = 1 + random.nextInt(100_000);
+                    lines.add(new PromotionPlan.Line(menuItemId, quantity, unitPrice));
+                    expected += Money.percentage(unitPrice * quantity, bestBasisPoints.getOrDefault(menuItemId, 0),
+                            RoundingMode.HALF_UP);
+                }
+            }
+            assertEquals(expected, plan.apply(lines, NOON).amount());
+        }
+    }
+
+    private PromotionPlan compile(Promotion... promotions) {
+        return PromotionPlan.compile(List.of(promotions), CATEGORY_OF_ITEM, NOON);
+    }
+
+    private Promotion percentOff(String name, int basisPoints, PromotionTarget... targets) {
+        Promotion promotion = promotion(name, Promotion.PromotionType.PERCENT_OFF);
+        promotion.setDiscountBasisPoints(basisPoints);
+        for (PromotionTarget target : targets) {
+            promotion.addTarget(target);
+        }
+        return promotion;
+    }
+
+    private Promotion combo(String name, String price, Object... itemsAndQuantities) {
+        Promotion promotion = promotion(name, Promotion.PromotionType.COMBO);
+        promotion.setComboPrice(new BigDecimal(price));
+        for (int i = 0; i < itemsAndQuantities.length; i += 2) {
+            PromotionTarget target = item((Long) itemsAndQuantities[i]);
+            target.setQuantity((Integer) itemsAndQuantities[i + 1]);
+            promotion.addTarget(target);
+        }
+        return promotion;
+    }
+
+    private Promotion promotion(String name, Promotion.PromotionType type) {
+        Promotion promotion = new Promotion();
+        promotion.setId(nextId++);
+        promotion.setName(name);
+        promotion.setType(type);
+        return promotion;
+    }
+
+    private static PromotionTarget item(long menuItemId) {
+        PromotionTarget target = new PromotionTarget();
+        target.setMenuItemId(menuItemId);
+        return target;
+    }
+
+    private static PromotionTarget category(long categoryId) {
+        PromotionTarget target = new PromotionTarget();
+        target.setCategoryId(categoryId);
+        return target;
+    }
+
+    private static PromotionPlan.Line line(long menuItemId, int quantity, String unitPrice) {
+        return new PromotionPlan.Line(menuItemId, quantity, Money.toMinorUnits(new BigDecimal(unitPrice)));
+    }
+
+    private static Map<String, Long> byName(PromotionPlan.Discount discount) {
+        return discount.applied().stream()
+                .collect(Collectors.toMap(PromotionPlan.AppliedPromotion::name, PromotionPlan.AppliedPromotion::amount));
+    }
+}
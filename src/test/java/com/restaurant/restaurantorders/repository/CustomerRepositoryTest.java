@@ -0,0 +1,73 @@
+package com.restaurant.restaurantorders.repository;
+
+import com.restaurant.restaurantorders.dto.response.CustomerSummaryResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the customer summary stream against the Flyway schema on H2
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:customers;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomerRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM customers");
+        String[] names = {"Mona", "Ahmed", "Mohamed", "Mariam", "Omar"};
+        for (int i = 0; i < names.length; i++) {
+            jdbcTemplate.update("INSERT INTO customers (id, name, phone, address, created_at) VALUES (?, ?, ?, ?, ?)",
+                    UUID.randomUUID(), names[i], "0100000000" + i, "Street " + i,
+                    Timestamp.valueOf(START.plusMinutes(names.length - i)));
+        }
+    }
+
+    @Test
+    void summariesStreamInCreationOrderWithFilters() {
+        assertEquals(List.of("Omar", "Mariam", "Mohamed", "Ahmed", "Mona"), streamNames(START, "%"));
+        assertEquals(List.of("Mariam", "Mohamed", "Mona"), streamNames(START, "M%"));
+        assertEquals(List.of("Mohamed", "Ahmed", "Mona"), streamNames(START.plusMinutes(3), "%"));
+    }
+
+    private List<String> streamNames(LocalDateTime since, String namePattern) {
+        return transactionTemplate.execute(status -> {
+            try (Stream<CustomerSummaryResponse> summaries = customerRepository.streamSummaries(since, namePattern)) {
+                return summaries.map(CustomerSummaryResponse::getName).toList();
+            }
+        });
+    }
+}
@@ -0,0 +1,218 @@
+package com.restaurant.restaurantorders.repository;
+
+import com.restaurant.restaurantorders.dto.response.CustomerSummaryResponse;
+import com.restaurant.restaurantorders.entity.Order;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Runs the Flyway schema on MySQL, seeds a realistic data distribution and checks with EXPLAIN
+ * that the SQL generated for each hot repository query reads the given tables through an index.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.restaurant.restaurantorders.repository.QueryIndexUsageTest$CapturingInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryIndexUsageTest {
+
+    @Container
+    @ServiceConnection
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0");
+
+    private static final Pattern TABLE_ALIAS = Pattern.compile("(?i)\\b(?:from|join)\\s+(\\w+)\\s+(\\w+)");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final LocalDateTime startOfToday = LocalDate.now().atStartOfDay();
+
+    @BeforeAll
+    void seed() {
+        Random random = new Random(1);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> categories = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            categories.add(new Object[]{"Category " + i, i, i < 45, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO categories (name, display_order, is_active, created_at) VALUES (?, ?, ?, ?)",
+                categories);
+
+        // Most rows are retired or seasonal items; the live menu is a small slice
+        List<Object[]> menuItems = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            menuItems.add(new Object[]{1 + random.nextInt(50), "Item " + i, 10 + random.nextInt(200),
+                    random.nextInt(10) == 0, random.nextInt(50) == 0, random.nextInt(100), now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO menu_items (category_id, name, price, is_available, is_featured, " +
+                "display_order, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", menuItems);
+
+        List<Object[]> customers = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            customers.add(new Object[]{"Customer " + i, String.format("010%08d", i), "c" + i + "@example.com",
+                    startOfToday.minusMinutes(random.nextInt(2 * 365 * 24 * 60))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO customers (id, name, phone, email, created_at) " +
+                "VALUES (UUID_TO_BIN(UUID()), ?, ?, ?, ?)", customers);
+
+        // Mostly delivered history, a thin band of active orders, nothing yet today
+        String[] activeStatuses = {"PENDING", "CONFIRMED", "PREPARING", "READY", "OUT_FOR_DELIVERY"};
+        List<Object[]> orders = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            int roll = random.nextInt(100);
+            String status = roll < 85 ? "DELIVERED" : roll < 95 ? "CANCELLED" : activeStatuses[roll - 95];
+            orders.add(new Object[]{"Customer " + i, String.format("010%08d", random.nextInt(2000)), "Address",
+                    25, status, startOfToday.minusMinutes(1 + random.nextInt(365 * 24 * 60))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (customer_name, customer_phone, customer_address, " +
+                "total_amount, status, created_at) VALUES (?, ?, ?, ?, ?, ?)", orders);
+        jdbcTemplate.update("INSERT INTO order_items (order_id, menu_item_id, menu_item_name, quantity, " +
+                "price_at_time, subtotal, created_at) SELECT id, 1, 'Item 0', 1, 25, 25, created_at FROM orders");
+
+        jdbcTemplate.execute("ANALYZE TABLE categories, menu_items, customers, orders, order_items");
+    }
+
+    @Test
+    void orderQueriesUseIndexes() {
+        assertUsesIndexes(() -> orderRepository.findByStatusOrderByCreatedAtDesc(
+                Order.OrderStatus.PENDING, PageRequest.of(0, 20)), Set.of("orders"), "PENDING", 20);
+        assertUsesIndexes(() -> orderRepository.countByStatus(Order.OrderStatus.PENDING),
+                Set.of("orders"), "PENDING");
+        assertUsesIndexes(() -> orderRepository.findTodayOrders(startOfToday),
+                Set.of("orders"), startOfToday);
+        assertUsesIndexes(() -> orderRepository.getTodayRevenue(startOfToday),
+                Set.of("orders"), startOfToday);
+        assertUsesIndexes(() -> orderRepository.findByCustomerPhoneOrderByCreatedAtDesc("01000000042"),
+                Set.of("orders"), "01000000042");
+        assertUsesIndexes(() -> orderRepository.findByIdWithItems(42L),
+                Set.of("orders", "order_items"), 42L);
+        assertUsesIndexes(() -> orderRepository.findByStatusInWithItems(List.of(
+                        Order.OrderStatus.PENDING, Order.OrderStatus.CONFIRMED, Order.OrderStatus.PREPARING)),
+                Set.of("orders", "order_items"), "PENDING", "CONFIRMED", "PREPARING");
+    }
+
+    @Test
+    void menuQueriesUseIndexes() {
+        assertUsesIndexes(() -> menuItemRepository.findByIsAvailableTrueOrderByDisplayOrderAsc(),
+                Set.of("menu_items"));
+        assertUsesIndexes(() -> menuItemRepository.findByCategoryIdAndIsAvailableTrueOrderByDisplayOrderAsc(7L),
+                Set.of("menu_items"), 7L);
+        assertUsesIndexes(() -> menuItemRepository.findByIsFeaturedTrueAndIsAvailableTrueOrderByDisplayOrderAsc(),
+                Set.of("menu_items"));
+        assertUsesIndexes(() -> menuItemRepository.findByCategoryIdWithCategory(7L),
+                Set.of("menu_items", "categories"), 7L);
+        // categories is a handful of rows and may legitimately be scanned to drive the join
+        assertUsesIndexes(() -> menuItemRepository.findAllAvailableWithCategory(),
+                Set.of("menu_items"));
+    }
+
+    @Test
+    void customerQueriesUseIndexes() {
+        LocalDateTime since = startOfToday.minusDays(7);
+        assertUsesIndexes(() -> customerRepository.findByPhone("01000000042"),
+                Set.of("customers"), "01000000042");
+        assertUsesIndexes(() -> customerRepository.findByEmail("c42@example.com"),
+                Set.of("customers"), "c42@example.com");
+        assertUsesIndexes(() -> customerRepository.findSummaries(since, "%", PageRequest.of(0, 50)),
+                Set.of("customers"), since, "%", 50);
+    }
+
+    @Test
+    void customerSummariesStreamRowByRowOnMySql() {
+        // A streaming result set blocks other statements on its connection until it is closed
+        long streamed = transactionTemplate.execute(status -> {
+            try (Stream<CustomerSummaryResponse> summaries =
+                         customerRepository.streamSummaries(startOfToday.minusYears(3), "Customer%")) {
+                return summaries.count();
+            }
+        });
+        assertEquals(5000, streamed);
+        assertEquals(5000, customerRepository.count());
+    }
+
+    /**
+     * Run the repository call, EXPLAIN the first statement it issued with the given bind values
+     * and assert that every access to one of the given tables goes through an index
+     */
+    private void assertUsesIndexes(Runnable repositoryCall, Set<String> tables, Object... parameters) {
+        CapturingInspector.STATEMENTS.clear();
+        repositoryCall.run();
+        assertFalse(CapturingInspector.STATEMENTS.isEmpty(), "no SQL captured");
+        String sql = CapturingInspector.STATEMENTS.get(0);
+        assertEquals(parameters.length, sql.chars().filter(c -> c == '?').count(), "bind parameters of: " + sql);
+
+        Map<String, String> tableByAlias = new HashMap<>();
+        Matcher matcher = TABLE_ALIAS.matcher(sql);
+        while (matcher.find()) {
+            tableByAlias.put(matcher.group(2), matcher.group(1));
+        }
+
+        Object[] values = new Object[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            values[i] = parameters[i] instanceof Enum<?> e ? e.name() : parameters[i];
+        }
+        for (Map<String, Object> row : jdbcTemplate.queryForList("EXPLAIN " + sql, values)) {
+            String alias = (String) row.get("table");
+            String table = tableByAlias.getOrDefault(alias, alias);
+            if (tables.contains(table)) {
+                assertNotNull(row.get("key"), () -> "full scan of " + table + " in: " + sql + "\nplan: " + row);
+            }
+        }
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
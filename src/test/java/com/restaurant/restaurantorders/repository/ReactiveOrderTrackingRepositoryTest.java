@@ -0,0 +1,92 @@
+package com.restaurant.restaurantorders.repository;
+
+import com.restaurant.restaurantorders.dto.response.OrderResponse;
+import com.restaurant.restaurantorders.shard.OrderIdGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the reactive tracking reads against three stubbed shards
+ */
+class ReactiveOrderTrackingRepositoryTest {
+
+    private final List<TrackingShardStub> shards = List.of(
+            new TrackingShardStub(), new TrackingShardStub(), new TrackingShardStub());
+    private final ReactiveOrderTrackingRepository repository = new ReactiveOrderTrackingRepository(
+            shards.stream().map(TrackingShardStub::databaseClient).toList());
+
+    @Test
+    void readsGoToTheShardInTheOrderId() {
+        long onShard1 = orderId(1, 7);
+        long onShard2 = orderId(2, 7);
+        long legacy = 123_456L;
+        shards.get(1).order(false, onShard1, "PREPARING", "Burger", "Fries");
+        shards.get(2).order(false, onShard2, "READY", "Lemonade");
+        shards.get(0).order(false, legacy, "DELIVERED", "Shawarma");
+
+        assertEquals("READY", repository.findStatusById(onShard2).block());
+        assertEquals(List.of("orders"), shards.get(2).queriedTables());
+
+        OrderResponse order = repository.findByIdWithItems(onShard1).block();
+        assertEquals(onShard1, order.getId());
+        assertEquals("PREPARING", order.getStatus());
+        assertEquals(List.of("Burger", "Fries"),
+                order.getItems().stream().map(OrderResponse.OrderItemResponse::getMenuItemName).toList());
+        assertEquals(List.of("orders"), shards.get(1).queriedTables());
+
+        // Ids from before sharding carry no shard bits and live on shard 0
+        assertEquals("DELIVERED", repository.findStatusById(legacy).block());
+        assertEquals(List.of("orders"), shards.get(0).queriedTables());
+
+        // The same sequence on another shard is another order
+        assertNull(repository.findStatusById(orderId(0, 7)).block());
+        assertNull(repository.findByIdWithItems(orderId(5, 7)).block(), "no client for shard 5");
+        assertEquals(List.of("orders"), shards.get(2).queriedTables());
+    }
+
+    @Test
+    void archivedOrdersAreReadAfterTheLiveTables() {
+        long live = orderId(1, 1);
+        long archived = orderId(1, 2);
+        shards.get(1).order(false, live, "PREPARING", "Burger");
+        shards.get(1).order(true, archived, "DELIVERED", "Burger", "Fries");
+
+        assertEquals("PREPARING", repository.findStatusById(live).block());
+        assertEquals(List.of("orders"), shards.get(1).queriedTables());
+        shards.get(1).queriedTables().clear();
+
+        assertEquals("DELIVERED", repository.findStatusById(archived).block());
+        OrderResponse order = repository.findByIdWithItems(archived).block();
+        assertEquals(2, order.getItems().size());
+        assertEquals(List.of("orders", "orders_archive", "orders", "orders_archive"), shards.get(1).queriedTables());
+        shards.get(1).queriedTables().clear();
+
+        assertNull(repository.findByIdWithItems(orderId(1, 3)).block());
+        assertEquals(List.of("orders", "orders_archive"), shards.get(1).queriedTables());
+    }
+
+    @Test
+    void orderWithoutLinesHasNoItems() {
+        long orderId = orderId(0, 1);
+        shards.get(0).order(false, orderId, "PENDING");
+
+        OrderResponse order = repository.findByIdWithItems(orderId).block();
+        assertEquals(orderId, order.getId());
+        assertNull(order.getItems());
+        assertTrue(shards.get(1).queriedTables().isEmpty());
+    }
+
+    /**
+     * An id as OrderIdGenerator lays it out: generated range, shard bits, and a sequence
+     */
+    private static long orderId(int shard, long sequence) {
+        long id = (1L << 40) | ((long) shard << 16) | sequence;
+        assertEquals(shard, OrderIdGenerator.shardOf(id));
+        return id;
+    }
+}
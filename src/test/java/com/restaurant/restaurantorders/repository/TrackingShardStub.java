@@ -0,0 +1,110 @@
+package com.restaurant.restaurantorders.repository;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * One order shard for the reactive tracking reads, as a stubbed DatabaseClient over in-memory rows.
+ * Answers the queries of ReactiveOrderTrackingRepository from the live or archive tables and records
+ * which table each query read.
+ */
+public class TrackingShardStub {
+
+    private final Map<String, Map<Long, List<Map<String, Object>>>> tables = Map.of(
+            "orders", new HashMap<>(),
+            "orders_archive", new HashMap<>());
+    private final List<String> queriedTables = new ArrayList<>();
+    private final DatabaseClient databaseClient = mock(DatabaseClient.class);
+
+    public TrackingShardStub() {
+        when(databaseClient.sql(anyString())).thenAnswer(invocation -> execute(invocation.getArgument(0)));
+    }
+
+    /**
+     * Add an order with one line per item name to the live table or the archive
+     */
+    public TrackingShardStub order(boolean archived, long orderId, String status, String... itemNames) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < Math.max(1, itemNames.length); i++) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", orderId);
+            row.put("branch_id", 1L);
+            row.put("customer_name", "Tracking Customer");
+            row.put("total_amount", new BigDecimal("10.00"));
+            row.put("discount_amount", BigDecimal.ZERO);
+            row.put("status", status);
+            row.put("created_at", LocalDateTime.of(2026, 1, 1, 12, 0));
+            if (itemNames.length > 0) {
+                row.put("item_id", orderId * 10 + i);
+                row.put("menu_item_name", itemNames[i]);
+                row.put("quantity", 1);
+                row.put("price_at_time", new BigDecimal("10.00"));
+                row.put("subtotal", new BigDecimal("10.00"));
+            }
+            rows.add(row);
+        }
+        tables.get(archived ? "orders_archive" : "orders").put(orderId, rows);
+        return this;
+    }
+
+    public DatabaseClient databaseClient() {
+        return databaseClient;
+    }
+
+    /**
+     * Tables read so far, one entry per query
+     */
+    public List<String> queriedTables() {
+        return queriedTables;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private DatabaseClient.GenericExecuteSpec execute(String sql) {
+        String table = sql.contains("FROM orders_archive") ? "orders_archive" : "orders";
+        AtomicReference<Long> orderId = new AtomicReference<>();
+        DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class);
+        when(spec.bind(eq("orderId"), any())).thenAnswer(invocation -> {
+            orderId.set(invocation.getArgument(1));
+            return spec;
+        });
+        when(spec.map(any(Function.class))).thenAnswer(invocation -> {
+            Function<Readable, ?> mapping = invocation.getArgument(0);
+            RowsFetchSpec rows = mock(RowsFetchSpec.class);
+            when(rows.all()).thenAnswer(all -> query(table, orderId.get()).map(mapping));
+            when(rows.one()).thenAnswer(one -> query(table, orderId.get()).map(mapping).next());
+            return rows;
+        });
+        return spec;
+    }
+
+    private Flux<Readable> query(String table, Long orderId) {
+        queriedTables.add(table);
+        return Flux.fromIterable(tables.get(table).getOrDefault(orderId, List.of()))
+                .map(TrackingShardStub::readable);
+    }
+
+    private static Readable readable(Map<String, Object> row) {
+        Readable readable = mock(Readable.class);
+        when(readable.get(anyString(), any(Class.class)))
+                .thenAnswer(invocation -> row.get((String) invocation.getArgument(0)));
+        return readable;
+    }
+}
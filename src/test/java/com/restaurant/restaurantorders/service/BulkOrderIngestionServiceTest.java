@@ -0,0 +1,235 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.dto.request.CreateOrderRequest;
+import com.restaurant.restaurantorders.dto.response.BulkCreateOrdersResponse;
+import com.restaurant.restaurantorders.event.OrderCreatedEvent;
+import com.restaurant.restaurantorders.repository.OrderRepository;
+import com.restaurant.restaurantorders.shard.OrderIdGenerator;
+import com.restaurant.restaurantorders.shard.ShardRoutingDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs bulk ingestion against three embedded H2 shards, writing each shard's orders in chunks of two.
+ * Branches 10, 11 and 12 are mapped to shards 0, 1 and 2; the menu lives on shard 0.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk0;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "sharding.node-id=3",
+        "sharding.shards.1.url=jdbc:h2:mem:bulk1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "sharding.shards.2.url=jdbc:h2:mem:bulk2;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "sharding.branches.10=0",
+        "sharding.branches.11=1",
+        "sharding.branches.12=2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "tracking.reactive.enabled=false",
+        "outbox.relay.enabled=false",
+        "orders.archive.enabled=false",
+        "orders.bulk.chunk-size=2"
+})
+@RecordApplicationEvents
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BulkOrderIngestionServiceTest {
+
+    @Autowired
+    private BulkOrderIngestionService bulkOrderIngestionService;
+
+    @Autowired
+    private ShardRoutingDataSource dataSource;
+
+    @Autowired
+    private HiddenClientOrderIdLookups clientOrderIdLookups;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private final List<JdbcTemplate> shards = new ArrayList<>();
+    private long menuItemId;
+
+    @BeforeAll
+    void seedMenu() {
+        for (int shard = 0; shard < dataSource.getShardCount(); shard++) {
+            shards.add(new JdbcTemplate(dataSource.getShard(shard)));
+        }
+        JdbcTemplate shared = shards.get(0);
+        shared.update("INSERT INTO categories (name, display_order, is_active, created_at) " +
+                "VALUES ('Mains', 1, TRUE, CURRENT_TIMESTAMP)");
+        long categoryId = shared.queryForObject("SELECT MAX(id) FROM categories", Long.class);
+        shared.update("INSERT INTO menu_items (category_id, name, price, is_available, is_featured, display_order, " +
+                "created_at) VALUES (?, 'Shawarma', 42.50, TRUE, FALSE, 1, CURRENT_TIMESTAMP)", categoryId);
+        menuItemId = shared.queryForObject("SELECT MAX(id) FROM menu_items", Long.class);
+    }
+
+    @BeforeEach
+    void clearOrders() {
+        for (JdbcTemplate shard : shards) {
+            shard.update("DELETE FROM outbox_events");
+            shard.update("DELETE FROM order_status_events");
+            shard.update("DELETE FROM order_items");
+            shard.update("DELETE FROM orders");
+        }
+    }
+
+    @Test
+    void replayedBatchIsIdempotentAndReportedInRequestOrder() {
+        long[] branches = {11, 10, 12, 11, 10, 12, 11};
+        List<CreateOrderRequest> batch = new ArrayList<>();
+        for (int i = 0; i < branches.length; i++) {
+            batch.add(request("pos-" + i, branches[i]));
+        }
+
+        BulkCreateOrdersResponse first = bulkOrderIngestionService.ingest(batch);
+
+        assertEquals(branches.length, first.getCreated());
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < branches.length; i++) {
+            BulkCreateOrdersResponse.Result result = first.getResults().get(i);
+            assertEquals("pos-" + i, result.getClientOrderId());
+            assertEquals("CREATED", result.getOutcome());
+            int shard = shardOfBranch(branches[i]);
+            assertEquals(shard, OrderIdGenerator.shardOf(result.getOrderId()));
+            assertEquals(branches[i], count(shard, "SELECT branch_id FROM orders WHERE id = ?", result.getOrderId()));
+            assertEquals(1, count(shard, "SELECT COUNT(*) FROM order_items WHERE order_id = ?", result.getOrderId()));
+            orderIds.add(result.getOrderId());
+        }
+        assertEquals(List.of(2L, 3L, 2L), List.of(orderCount(0), orderCount(1), orderCount(2)));
+        assertEquals(orderIds.stream().sorted().toList(), events.stream(OrderCreatedEvent.class)
+                .map(OrderCreatedEvent::getOrderId)
+                .sorted()
+                .toList());
+
+        BulkCreateOrdersResponse replay = bulkOrderIngestionService.ingest(batch);
+
+        assertEquals(0, replay.getCreated());
+        assertEquals(branches.length, replay.getDuplicates());
+        assertEquals(orderIds, replay.getResults().stream().map(BulkCreateOrdersResponse.Result::getOrderId).toList());
+        assertEquals(List.of(2L, 3L, 2L), List.of(orderCount(0), orderCount(1), orderCount(2)));
+        assertEquals(branches.length, events.stream(OrderCreatedEvent.class).count());
+    }
+
+    @Test
+    void duplicatesAndInvalidOrdersInsideABatchAreRejectedAlone() {
+        CreateOrderRequest unknownItem = request("pos-unknown", 12);
+        unknownItem.setItems(List.of(new CreateOrderRequest.OrderItemRequest(menuItemId + 1000, 1)));
+
+        BulkCreateOrdersResponse response = bulkOrderIngestionService.ingest(List.of(
+                request("pos-a", 10),
+                request("pos-a", 11),
+                request(null, 11),
+                unknownItem,
+                request("pos-b", 11)));
+
+        assertEquals(List.of("CREATED", "REJECTED", "REJECTED", "REJECTED", "CREATED"),
+                response.getResults().stream().map(BulkCreateOrdersResponse.Result::getOutcome).toList());
+        assertEquals("Duplicate clientOrderId in batch", response.getResults().get(1).getError());
+        assertTrue(response.getResults().get(3).getError().startsWith("Menu item not found"));
+        assertEquals(List.of(1L, 1L, 0L), List.of(orderCount(0), orderCount(1), orderCount(2)));
+        assertEquals(2, events.stream(OrderCreatedEvent.class).count());
+    }
+
+    @Test
+    void orderIngestedConcurrentlyBecomesDuplicateAndTheRestOfItsChunkIsRetried() {
+        long existingId = bulkOrderIngestionService.ingest(List.of(request("pos-raced", 11)))
+                .getResults().get(0).getOrderId();
+
+        // A concurrent replay commits pos-raced between the up-front lookup (one query per shard) and the insert
+        clientOrderIdLookups.hideNext(shards.size());
+
+        BulkCreateOrdersResponse response = bulkOrderIngestionService.ingest(List.of(
+                request("pos-new", 11),
+                request("pos-raced", 11)));
+
+        assertEquals("CREATED", response.getResults().get(0).getOutcome());
+        assertEquals("DUPLICATE", response.getResults().get(1).getOutcome());
+        assertEquals(existingId, response.getResults().get(1).getOrderId());
+        assertEquals(2, orderCount(1));
+        assertEquals(1, count(1, "SELECT COUNT(*) FROM orders WHERE client_order_id = 'pos-new'"));
+    }
+
+    private int shardOfBranch(long branchId) {
+        return (int) (branchId - 10);
+    }
+
+    private long orderCount(int shard) {
+        return count(shard, "SELECT COUNT(*) FROM orders");
+    }
+
+    private long count(int shard, String sql, Object... args) {
+        return shards.get(shard).queryForObject(sql, Long.class, args);
+    }
+
+    private CreateOrderRequest request(String clientOrderId, long branchId) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setClientOrderId(clientOrderId);
+        request.setBranchId(branchId);
+        request.setCustomerName("POS Customer");
+        request.setCustomerPhone("01000000000");
+        request.setCustomerAddress("1 Test Street");
+        request.setItems(List.of(new CreateOrderRequest.OrderItemRequest(menuItemId, 1)));
+        return request;
+    }
+
+    @TestConfiguration
+    static class LookupConfig {
+
+        @Bean
+        static HiddenClientOrderIdLookups hiddenClientOrderIdLookups() {
+            return new HiddenClientOrderIdLookups();
+        }
+    }
+
+    /**
+     * Wraps OrderRepository so that the next few findIdsByClientOrderIds calls find nothing, as if
+     * the orders were committed by someone else right after the lookup
+     */
+    static class HiddenClientOrderIdLookups implements BeanPostProcessor {
+
+        private final AtomicInteger hidden = new AtomicInteger();
+
+        void hideNext(int lookups) {
+            hidden.set(lookups);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof OrderRepository repository)) {
+                return bean;
+            }
+            return Proxy.newProxyInstance(OrderRepository.class.getClassLoader(), new Class<?>[]{OrderRepository.class},
+                    (proxy, method, args) -> {
+                        if (method.getName().equals("findIdsByClientOrderIds")
+                                && hidden.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+                            return List.of();
+                        }
+                        try {
+                            return method.invoke(repository, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+    }
+}
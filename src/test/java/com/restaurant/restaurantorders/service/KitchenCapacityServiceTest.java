@@ -0,0 +1,133 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.config.KitchenCapacityProperties;
+import com.restaurant.restaurantorders.dto.request.CreateOrderRequest;
+import com.restaurant.restaurantorders.dto.response.KitchenCapacityResponse;
+import com.restaurant.restaurantorders.entity.MenuItem;
+import com.restaurant.restaurantorders.entity.Order;
+import com.restaurant.restaurantorders.event.OrderCreatedEvent;
+import com.restaurant.restaurantorders.event.OrderStatusChangedEvent;
+import com.restaurant.restaurantorders.exception.KitchenBusyException;
+import com.restaurant.restaurantorders.repository.MenuItemRepository;
+import com.restaurant.restaurantorders.repository.OrderRepository;
+import com.restaurant.restaurantorders.shard.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the capacity model through its event listeners, with the repositories and shard router stubbed
+ */
+class KitchenCapacityServiceTest {
+
+    private static final long BURGER = 1;
+    private static final long LEMONADE = 2;
+
+    private final MenuItemRepository menuItemRepository = mock(MenuItemRepository.class);
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    private final List<OrderCreatedEvent> openOnOtherNodes = new ArrayList<>();
+    private final Map<Long, MenuItem> menuItems = Map.of(
+            BURGER, menuItem(BURGER, "GRILL", 600),
+            LEMONADE, menuItem(LEMONADE, "BAR", 60));
+    private KitchenCapacityService service;
+
+    @BeforeEach
+    void setUp() {
+        KitchenCapacityProperties properties = new KitchenCapacityProperties();
+        properties.setAdmissionEnabled(true);
+        properties.setThrottleAfterMinutes(30);
+        properties.setPauseAfterMinutes(60);
+        properties.setDefaultParallelism(1);
+
+        List<Object[]> weights = List.of(
+                new Object[]{BURGER, "GRILL", 600},
+                new Object[]{LEMONADE, "BAR", 60});
+        when(menuItemRepository.findPrepWeights()).thenReturn(weights);
+        when(shardRouter.readAll(any())).thenAnswer(invocation -> List.of(List.copyOf(openOnOtherNodes)));
+
+        service = new KitchenCapacityService(properties, menuItemRepository, orderRepository, shardRouter,
+                new SimpleMeterRegistry());
+        service.recover();
+    }
+
+    @Test
+    void onlineOrdersAreRefusedOnlyWhenTheirOwnStationsAreBusy() {
+        // Two hours of grill work
+        service.onOrderCreated(order(100, BURGER, 12));
+
+        assertThrows(KitchenBusyException.class, () -> admit(BURGER, 1, true));
+
+        LocalDateTime before = LocalDateTime.now();
+        LocalDateTime readyAt = admit(LEMONADE, 2, true);
+        assertTrue(readyAt.isBefore(before.plusSeconds(121 + 5)), "drinks do not wait for the grill: " + readyAt);
+
+        // POS orders are quoted but never refused
+        assertTrue(admit(BURGER, 1, false).isAfter(before.plusMinutes(120)));
+    }
+
+    @Test
+    void closedOrdersLeaveTheBacklog() {
+        service.onOrderCreated(order(100, BURGER, 12));
+        service.onOrderStatusChanged(new OrderStatusChangedEvent(100L, Order.OrderStatus.PREPARING,
+                Order.OrderStatus.READY, null, LocalDateTime.now()));
+
+        assertEquals(0, service.getCapacity().getMaxWaitSeconds());
+        assertEquals("OPEN", service.getCapacity().getAdmission());
+    }
+
+    @Test
+    void resyncPicksUpOrdersFromOtherInstances() {
+        service.onOrderCreated(order(100, BURGER, 12));
+        openOnOtherNodes.add(order(200, LEMONADE, 10));
+
+        // Order 100 was completed on another node; order 200 was taken there
+        assertEquals(1, service.resync());
+
+        Map<String, Long> waits = new HashMap<>();
+        for (KitchenCapacityResponse.Station station : service.getCapacity().getStations()) {
+            waits.put(station.getStation(), station.getWaitSeconds());
+        }
+        assertEquals(Map.of("GRILL", 0L, "BAR", 600L), waits);
+        admit(BURGER, 1, true);
+    }
+
+    @Test
+    void pausedRefusesEveryOnlineOrder() {
+        service.setPaused(true);
+
+        KitchenBusyException refused = assertThrows(KitchenBusyException.class, () -> admit(LEMONADE, 1, true));
+        assertEquals(300, refused.getRetryAfterSeconds());
+        admit(LEMONADE, 1, false);
+    }
+
+    private LocalDateTime admit(long menuItemId, int quantity, boolean online) {
+        return service.admit(List.of(new CreateOrderRequest.OrderItemRequest(menuItemId, quantity)), menuItems, online);
+    }
+
+    private static OrderCreatedEvent order(long orderId, long menuItemId, int quantity) {
+        return new OrderCreatedEvent(orderId, Order.OrderStatus.PENDING, "Customer", null, null,
+                LocalDateTime.now(), List.of(new OrderCreatedEvent.Line(menuItemId, "Item", quantity)));
+    }
+
+    private static MenuItem menuItem(long id, String station, int prepSeconds) {
+        MenuItem menuItem = new MenuItem();
+        menuItem.setId(id);
+        menuItem.setPrepStation(station);
+        menuItem.setPrepSeconds(prepSeconds);
+        return menuItem;
+    }
+}
@@ -0,0 +1,147 @@
+package com.restaurant.restaurantorders.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.restaurant.restaurantorders.controller.MenuController;
+import com.restaurant.restaurantorders.entity.Category;
+import com.restaurant.restaurantorders.entity.MenuItem;
+import com.restaurant.restaurantorders.event.MenuChangedEvent;
+import com.restaurant.restaurantorders.repository.MenuItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Renders the menu from a stubbed repository and serves it through the controller's conditional GET
+ */
+class MenuCatalogServiceTest {
+
+    private final MenuItemRepository menuItemRepository = mock(MenuItemRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<MenuItem> menuItems = new ArrayList<>();
+    private MenuCatalogService service;
+    private MenuController controller;
+
+    @BeforeEach
+    void setUp() {
+        Category mains = new Category();
+        mains.setId(1L);
+        mains.setName("Mains");
+        mains.setNameAr("الأطباق الرئيسية");
+        menuItems.add(menuItem(10, mains, "Burger", "برجر", "10.00"));
+        menuItems.add(menuItem(11, mains, "Fries", null, "4.00"));
+        when(menuItemRepository.findAllAvailableWithCategory()).thenAnswer(invocation -> List.copyOf(menuItems));
+
+        service = new MenuCatalogService(menuItemRepository, objectMapper);
+        controller = new MenuController(null, service, null);
+    }
+
+    @Test
+    void etagIsStablePerLanguageUntilTheMenuChanges() throws IOException {
+        MenuCatalogService.RenderedMenu en = service.getMenu("en");
+        MenuCatalogService.RenderedMenu ar = service.getMenu("ar");
+
+        assertSame(en, service.getMenu("en"));
+        assertNotEquals(en.etag(), ar.etag());
+        assertNotEquals(en.etag(), en.gzipEtag());
+        assertEquals("برجر", itemName(ar.json(), 0));
+        // Falls back to English where there is no translation
+        assertEquals("Fries", itemName(ar.json(), 1));
+        // Unknown languages get the English menu
+        assertSame(en, service.getMenu("fr"));
+
+        // A fresh rendering of the same menu carries the same tags
+        MenuCatalogService other = new MenuCatalogService(menuItemRepository, objectMapper);
+        assertEquals(en.etag(), other.getMenu("en").etag());
+        assertEquals(ar.gzipEtag(), other.getMenu("ar").gzipEtag());
+
+        verify(menuItemRepository, times(2)).findAllAvailableWithCategory();
+    }
+
+    @Test
+    void matchingIfNoneMatchAnswersNotModified() {
+        String etag = service.getMenu("en").etag();
+
+        ResponseEntity<byte[]> revalidated = controller.getMenu("en", null, etag);
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertEquals(etag, revalidated.getHeaders().getETag());
+        assertNull(revalidated.getBody());
+
+        // The plain tag does not validate the gzip representation, nor another language
+        assertEquals(HttpStatus.OK, controller.getMenu("en", "gzip", etag).getStatusCode());
+        assertEquals(HttpStatus.OK, controller.getMenu("ar", null, etag).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, controller.getMenu("ar", null, "*").getStatusCode());
+    }
+
+    @Test
+    void gzipBodyOnlyWhenTheClientAcceptsIt() throws IOException {
+        MenuCatalogService.RenderedMenu menu = service.getMenu("en");
+
+        ResponseEntity<byte[]> plain = controller.getMenu("en", "br, deflate", null);
+        assertNull(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(menu.etag(), plain.getHeaders().getETag());
+        assertArrayEquals(menu.json(), plain.getBody());
+
+        ResponseEntity<byte[]> compressed = controller.getMenu("en", "gzip, deflate, br", null);
+        assertEquals("gzip", compressed.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(menu.gzipEtag(), compressed.getHeaders().getETag());
+        assertArrayEquals(menu.json(), gunzip(compressed.getBody()));
+
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), compressed.getHeaders().getVary());
+    }
+
+    @Test
+    void menuChangeRendersANewVersion() throws IOException {
+        MenuCatalogService.RenderedMenu before = service.getMenu("en");
+
+        menuItems.get(0).setName("Cheeseburger");
+        service.onMenuChanged(MenuChangedEvent.of(10L));
+
+        MenuCatalogService.RenderedMenu after = service.getMenu("en");
+        assertEquals("Cheeseburger", itemName(after.json(), 0));
+        assertNotEquals(before.etag(), after.etag());
+        assertEquals(HttpStatus.OK, controller.getMenu("en", null, before.etag()).getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, controller.getMenu("en", null, after.etag()).getStatusCode());
+        verify(menuItemRepository, times(2)).findAllAvailableWithCategory();
+    }
+
+    private String itemName(byte[] json, int index) throws IOException {
+        JsonNode menu = objectMapper.readTree(json).path("data");
+        return menu.path("categories").get(0).path("items").get(index).path("name").asText();
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static MenuItem menuItem(long id, Category category, String name, String nameAr, String price) {
+        MenuItem menuItem = new MenuItem();
+        menuItem.setId(id);
+        menuItem.setCategory(category);
+        menuItem.setName(name);
+        menuItem.setNameAr(nameAr);
+        menuItem.setPrice(new BigDecimal(price));
+        return menuItem;
+    }
+}
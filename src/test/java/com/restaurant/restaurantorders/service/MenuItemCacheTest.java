@@ -0,0 +1,135 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.event.MenuChangedEvent;
+import com.restaurant.restaurantorders.repository.MenuItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the menu item cache against the Flyway schema on H2, playing the other instances with plain SQL
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:menucache;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MenuItemCacheTest {
+
+    @Autowired
+    private MenuItemRepository menuItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<MenuChangedEvent> published = new ArrayList<>();
+    private MenuItemCache cache;
+    private long burger;
+    private long fries;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM menu_changes");
+        jdbcTemplate.update("UPDATE menu_version SET version = 0");
+        jdbcTemplate.update("DELETE FROM menu_items");
+        jdbcTemplate.update("DELETE FROM categories");
+        jdbcTemplate.update("INSERT INTO categories (name, display_order, is_active, created_at) " +
+                "VALUES ('Mains', 1, TRUE, CURRENT_TIMESTAMP)");
+        long categoryId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM categories", Long.class);
+        burger = insertItem(categoryId, "Burger");
+        fries = insertItem(categoryId, "Fries");
+
+        cache = new MenuItemCache(menuItemRepository, event -> {
+            published.add((MenuChangedEvent) event);
+            cache.onMenuChanged((MenuChangedEvent) event);
+        });
+        cache.load();
+    }
+
+    @Test
+    void localUpdateDoesNotSkipAVersionCommittedElsewhere() {
+        // Another instance commits version 1, then this one commits version 2 before polling
+        bulkUpdate(burger, "12.00", 1);
+        bulkUpdate(fries, "6.00", 2);
+        cache.onMenuChanged(MenuChangedEvent.of(List.of(fries), 2));
+
+        assertEquals(new BigDecimal("6.00"), price(fries));
+        assertEquals(new BigDecimal("10.00"), price(burger));
+
+        cache.pollVersion();
+
+        assertEquals(new BigDecimal("12.00"), price(burger));
+        assertEquals(2, cache.getVersion());
+        // Version 2 was applied here already and is not refreshed again
+        assertEquals(List.of(MenuChangedEvent.of(List.of(burger), 2)), published);
+
+        cache.pollVersion();
+        assertEquals(1, published.size());
+    }
+
+    @Test
+    void changesDeletedBeforeTheyWerePolledReloadTheWholeMenu() {
+        bulkUpdate(burger, "12.00", 1);
+        bulkUpdate(fries, "6.00", 2);
+        jdbcTemplate.update("DELETE FROM menu_changes WHERE version = 1");
+
+        cache.pollVersion();
+
+        assertEquals(List.of(MenuChangedEvent.all()), published);
+        assertEquals(new BigDecimal("12.00"), price(burger));
+        assertEquals(new BigDecimal("6.00"), price(fries));
+        assertEquals(2, cache.getVersion());
+    }
+
+    @Test
+    void retentionDeletesOnlyOldChanges() {
+        jdbcTemplate.update("INSERT INTO menu_changes (version, menu_item_ids, changed_at) VALUES (1, ?, ?)",
+                String.valueOf(burger), LocalDateTime.now().minusDays(2));
+        jdbcTemplate.update("INSERT INTO menu_changes (version, menu_item_ids, changed_at) VALUES (2, ?, ?)",
+                String.valueOf(fries), LocalDateTime.now());
+
+        assertEquals(1, menuItemRepository.deleteMenuChangesBefore(LocalDateTime.now().minusHours(24)));
+        assertTrue(menuItemRepository.findMenuChangesSince(0).stream()
+                .allMatch(row -> ((Number) row[0]).longValue() == 2));
+    }
+
+    private long insertItem(long categoryId, String name) {
+        jdbcTemplate.update("INSERT INTO menu_items (category_id, name, price, is_available, is_featured, " +
+                "display_order, created_at, updated_at) VALUES (?, ?, 10.00, TRUE, FALSE, 1, ?, ?)",
+                categoryId, name, LocalDateTime.now().minusHours(1), LocalDateTime.now().minusHours(1));
+        return jdbcTemplate.queryForObject("SELECT MAX(id) FROM menu_items", Long.class);
+    }
+
+    /**
+     * What MenuUpdateService commits for a one-item bulk update
+     */
+    private void bulkUpdate(long menuItemId, String price, long version) {
+        jdbcTemplate.update("UPDATE menu_items SET price = ?, updated_at = ? WHERE id = ?",
+                new BigDecimal(price), LocalDateTime.now(), menuItemId);
+        jdbcTemplate.update("UPDATE menu_version SET version = ?", version);
+        jdbcTemplate.update("INSERT INTO menu_changes (version, menu_item_ids, changed_at) VALUES (?, ?, ?)",
+                version, String.valueOf(menuItemId), LocalDateTime.now());
+    }
+
+    private BigDecimal price(long menuItemId) {
+        return cache.getAll(List.of(menuItemId)).get(menuItemId).getPrice();
+    }
+}
@@ -0,0 +1,96 @@
+package com.restaurant.restaurantorders.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the archive batches against the Flyway schema on H2
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(OrderArchiveService.class)
+class OrderArchiveServiceTest {
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearOrders() {
+        for (String table : List.of("order_items_archive", "orders_archive", "order_items", "orders")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void onlyOldTerminalOrdersMoveWithTheirItems() {
+        insertOrder(1, "DELIVERED", CUTOFF.minusDays(1), 2);
+        insertOrder(2, "CANCELLED", CUTOFF.minusDays(30), 1);
+        insertOrder(3, "DELIVERED", CUTOFF.plusMinutes(1), 1);
+        insertOrder(4, "PREPARING", CUTOFF.minusDays(1), 3);
+        insertOrder(5, "PENDING", CUTOFF.minusDays(100), 1);
+
+        assertEquals(2, orderArchiveService.archiveBatch(CUTOFF, 100));
+        assertEquals(0, orderArchiveService.archiveBatch(CUTOFF, 100));
+
+        assertEquals(List.of(3L, 4L, 5L), ids("SELECT id FROM orders ORDER BY id"));
+        assertEquals(List.of(1L, 2L), ids("SELECT id FROM orders_archive ORDER BY id"));
+        assertEquals(List.of(1L, 1L, 2L), ids("SELECT order_id FROM order_items_archive ORDER BY order_id"));
+        assertEquals(List.of(3L, 4L, 4L, 4L, 5L), ids("SELECT order_id FROM order_items ORDER BY order_id"));
+        assertEquals("DELIVERED", jdbcTemplate.queryForObject(
+                "SELECT status FROM orders_archive WHERE id = 1", String.class));
+    }
+
+    @Test
+    void batchesAreBoundedAndTakenInIdOrder() {
+        for (long id = 1; id <= 5; id++) {
+            insertOrder(id, "DELIVERED", CUTOFF.minusDays(id), 1);
+        }
+
+        assertEquals(2, orderArchiveService.archiveBatch(CUTOFF, 2));
+        assertEquals(List.of(1L, 2L), ids("SELECT id FROM orders_archive ORDER BY id"));
+        assertEquals(2, orderArchiveService.archiveBatch(CUTOFF, 2));
+        assertEquals(1, orderArchiveService.archiveBatch(CUTOFF, 2));
+        assertEquals(0, orderArchiveService.archiveBatch(CUTOFF, 2));
+        assertEquals(5, ids("SELECT order_id FROM order_items_archive").size());
+    }
+
+    private void insertOrder(long id, String status, LocalDateTime createdAt, int items) {
+        jdbcTemplate.update("INSERT INTO orders (id, customer_name, customer_phone, customer_address, total_amount, " +
+                "status, created_at) VALUES (?, 'Customer', '01000000000', '1 Test Street', 10.00, ?, ?)",
+                id, status, Timestamp.valueOf(createdAt));
+        for (int i = 0; i < items; i++) {
+            jdbcTemplate.update("INSERT INTO order_items (order_id, menu_item_name, quantity, price_at_time, subtotal, " +
+                    "created_at) VALUES (?, 'Item', 1, 10.00, 10.00, ?)", id, Timestamp.valueOf(createdAt));
+        }
+    }
+
+    private List<Long> ids(String sql) {
+        return jdbcTemplate.queryForList(sql, Long.class);
+    }
+}
@@ -0,0 +1,158 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.entity.OutboxEvent;
+import com.restaurant.restaurantorders.outbox.OutboxMessage;
+import com.restaurant.restaurantorders.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the relay against the Flyway schema on H2, with a publisher that fails for chosen orders
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<OutboxMessage> published = new ArrayList<>();
+    private final Set<Long> failingOrders = new HashSet<>();
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM outbox_events");
+        jdbcTemplate.update("UPDATE outbox_relay_lease SET owner = NULL, expires_at = '1970-01-01 00:00:00'");
+        relay = newRelay();
+    }
+
+    @Test
+    void failingOrderIsHeldBackWithoutStallingOthers() {
+        append(1L, "A1");
+        append(2L, "B1");
+        append(1L, "A2");
+        append(2L, "B2");
+        failingOrders.add(1L);
+
+        relay.relayBatch();
+        assertEquals(List.of("B1", "B2"), publishedPayloads());
+
+        // A1 is backing off, so A2 is not due even though its own next attempt has passed
+        published.clear();
+        failingOrders.clear();
+        relay.relayBatch();
+        assertTrue(published.isEmpty());
+
+        jdbcTemplate.update("UPDATE outbox_events SET next_attempt_at = ? WHERE payload = 'A1'",
+                LocalDateTime.now().minusSeconds(1));
+        relay.relayBatch();
+        assertEquals(List.of("A1", "A2"), publishedPayloads());
+        assertEquals(4, countWithStatus("PUBLISHED"));
+    }
+
+    @Test
+    void eventIsParkedAfterMaxAttemptsAndStopsHoldingBackItsOrder() {
+        append(1L, "A1");
+        append(1L, "A2");
+        failingOrders.add(1L);
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            jdbcTemplate.update("UPDATE outbox_events SET next_attempt_at = ?", LocalDateTime.now().minusSeconds(1));
+            relay.relayBatch();
+        }
+        assertEquals(1, countWithStatus("FAILED"));
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT attempts FROM outbox_events WHERE payload = 'A1'", Integer.class));
+
+        failingOrders.clear();
+        relay.relayBatch();
+        assertEquals(List.of("A2"), publishedPayloads());
+    }
+
+    @Test
+    void fullCleanBatchAsksForMore() {
+        for (int i = 0; i < 5; i++) {
+            append((long) i, "E" + i);
+        }
+        assertTrue(relay.relayBatch());
+        assertFalse(relay.relayBatch());
+        assertEquals(5, published.size());
+    }
+
+    @Test
+    void onlyOneRelayHoldsTheLeaseUntilItExpires() {
+        OutboxRelay other = newRelay();
+        assertTrue(relay.holdLease());
+        assertTrue(relay.holdLease());
+        assertFalse(other.holdLease());
+
+        jdbcTemplate.update("UPDATE outbox_relay_lease SET expires_at = ?", LocalDateTime.now().minusSeconds(1));
+        assertTrue(other.holdLease());
+        assertFalse(relay.holdLease());
+    }
+
+    private OutboxRelay newRelay() {
+        // relayBatch and holdLease work on the selected shard; the router is only needed by relay()
+        OutboxRelay outboxRelay = new OutboxRelay(outboxEventRepository, message -> {
+            if (failingOrders.contains(message.getAggregateId())) {
+                throw new IllegalStateException("downstream unavailable");
+            }
+            published.add(message);
+        }, null);
+        ReflectionTestUtils.setField(outboxRelay, "batchSize", 5);
+        ReflectionTestUtils.setField(outboxRelay, "maxBatchesPerPoll", 1);
+        ReflectionTestUtils.setField(outboxRelay, "initialBackoffMs", 60_000L);
+        ReflectionTestUtils.setField(outboxRelay, "maxBackoffMs", 60_000L);
+        ReflectionTestUtils.setField(outboxRelay, "maxAttempts", 3);
+        ReflectionTestUtils.setField(outboxRelay, "leaseMs", 30_000L);
+        return outboxRelay;
+    }
+
+    private void append(Long orderId, String payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateId(orderId);
+        event.setEventType(OutboxService.ORDER_STATUS_CHANGED);
+        event.setPayload(payload);
+        event.setCreatedAt(LocalDateTime.now());
+        event.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxEventRepository.save(event);
+    }
+
+    private List<String> publishedPayloads() {
+        return published.stream().map(OutboxMessage::getPayload).toList();
+    }
+
+    private int countWithStatus(String status) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_events WHERE status = ?", Integer.class, status);
+    }
+}
@@ -0,0 +1,137 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.entity.Order;
+import com.restaurant.restaurantorders.entity.OrderItem;
+import com.restaurant.restaurantorders.exception.ReceiptFailedException;
+import com.restaurant.restaurantorders.repository.ArchivedOrderRepository;
+import com.restaurant.restaurantorders.repository.OrderRepository;
+import com.restaurant.restaurantorders.shard.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Renders receipts of a stubbed order into a temporary directory
+ */
+class ReceiptServiceTest {
+
+    private static final long ORDER_ID = 42;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final ArchivedOrderRepository archivedOrderRepository = mock(ArchivedOrderRepository.class);
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    private final MenuItemCache menuItemCache = mock(MenuItemCache.class);
+
+    @TempDir
+    Path tempDir;
+
+    private ReceiptService service;
+
+    @BeforeEach
+    void setUp() {
+        when(shardRouter.isShard(anyInt())).thenReturn(true);
+        when(shardRouter.read(anyInt(), any())).thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+        when(orderRepository.existsById(ORDER_ID)).thenReturn(true);
+        when(orderRepository.findByIdWithItems(ORDER_ID)).thenReturn(order());
+        when(menuItemCache.getAll(anyCollection())).thenReturn(Map.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+    }
+
+    @Test
+    void receiptIsRenderedOnFirstDownload() throws Exception {
+        service = newService(tempDir.resolve("receipts"));
+
+        assertNull(service.getReceipt(ORDER_ID));
+        ReceiptService.RenderedReceipt receipt = awaitReceipt();
+
+        assertTrue(Files.readString(receipt.path()).contains("Shawarma"));
+        assertEquals(receipt, service.getReceipt(ORDER_ID));
+    }
+
+    @Test
+    void downloadFailsOnceEveryAttemptFailed() throws Exception {
+        // A file where the directory should be: every rendering fails to write
+        Path notADirectory = Files.createFile(tempDir.resolve("receipts"));
+        service = newService(notADirectory);
+
+        int accepted = 0;
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            try {
+                if (service.getReceipt(ORDER_ID) != null) {
+                    fail("No receipt can have been written");
+                }
+                accepted++;
+            } catch (ReceiptFailedException e) {
+                break;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                fail("Download still accepted after " + accepted + " tries");
+            }
+            Thread.sleep(5);
+        }
+        assertTrue(accepted >= MAX_ATTEMPTS, "each attempt was requested by a download: " + accepted);
+    }
+
+    private ReceiptService newService(Path directory) {
+        return new ReceiptService(orderRepository, archivedOrderRepository, shardRouter, menuItemCache,
+                new SimpleMeterRegistry(), directory.toString(), 1, 10, 7, MAX_ATTEMPTS);
+    }
+
+    private ReceiptService.RenderedReceipt awaitReceipt() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            ReceiptService.RenderedReceipt receipt = service.getReceipt(ORDER_ID);
+            if (receipt != null) {
+                return receipt;
+            }
+            Thread.sleep(5);
+        }
+        fail("Receipt was not rendered");
+        return null;
+    }
+
+    private static Order order() {
+        Order order = new Order();
+        order.setId(ORDER_ID);
+        order.setBranchId(1L);
+        order.setCustomerName("Test Customer");
+        order.setCustomerPhone("01000000000");
+        order.setCreatedAt(LocalDateTime.now());
+        order.setTotalAmount(new BigDecimal("85.00"));
+        OrderItem item = new OrderItem();
+        item.setMenuItemName("Shawarma");
+        item.setQuantity(2);
+        item.setPriceAtTime(new BigDecimal("42.50"));
+        item.setSubtotal(new BigDecimal("85.00"));
+        order.addOrderItem(item);
+        return order;
+    }
+}
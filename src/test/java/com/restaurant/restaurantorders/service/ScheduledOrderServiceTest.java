@@ -0,0 +1,172 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.entity.Order;
+import com.restaurant.restaurantorders.event.OrderCreatedEvent;
+import com.restaurant.restaurantorders.event.OrderStatusChangedEvent;
+import com.restaurant.restaurantorders.repository.OrderRepository;
+import com.restaurant.restaurantorders.shard.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Drives the pre-order wheel by calling tick with chosen times, with the repository and shard router
+ * stubbed. Orders are picked up before pickup by the 30 minute prep lead; failed releases are retried
+ * after 5 s, then 10 s, and so on.
+ */
+class ScheduledOrderServiceTest {
+
+    private static final long TICK_MILLIS = 100;
+    private static final long RETRY_MILLIS = 5_000;
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    private final List<OrderStatusChangedEvent> published = new ArrayList<>();
+    private final Map<Long, LocalDateTime> scheduledInDatabase = new HashMap<>();
+    private final LocalDateTime pickup = LocalDateTime.now().plusHours(2);
+    private final long releaseAt = millis(pickup.minusMinutes(30));
+    private ScheduledOrderService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        when(shardRouter.readAll(any())).thenAnswer(invocation ->
+                List.of(((Supplier<Object>) invocation.getArgument(0)).get()));
+        when(shardRouter.write(anyInt(), any())).thenAnswer(invocation ->
+                ((Supplier<Object>) invocation.getArgument(1)).get());
+        when(orderRepository.findScheduledOrders()).thenAnswer(invocation -> scheduledInDatabase.entrySet().stream()
+                .map(order -> new Object[]{order.getKey(), order.getValue()})
+                .toList());
+        when(orderRepository.findById(anyLong())).thenAnswer(invocation ->
+                Optional.of(scheduledOrder(invocation.getArgument(0))));
+        when(orderRepository.releaseScheduled(anyLong(), any())).thenReturn(1);
+
+        service = new ScheduledOrderService(orderRepository, shardRouter, event -> {
+            if (event instanceof OrderStatusChangedEvent statusChanged) {
+                published.add(statusChanged);
+            }
+        }, 30, TICK_MILLIS, 64, RETRY_MILLIS, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void orderIsReleasedAtItsPrepStartTime() {
+        service.onOrderCreated(created(1L));
+
+        service.tick(releaseAt - 1_000);
+        verify(orderRepository, never()).releaseScheduled(anyLong(), any());
+        assertTrue(published.isEmpty());
+
+        service.tick(releaseAt + TICK_MILLIS);
+        verify(orderRepository).releaseScheduled(any(), any());
+        assertEquals(1, published.size());
+        assertEquals(1L, published.get(0).getOrderId());
+        assertEquals(Order.OrderStatus.SCHEDULED, published.get(0).getOldStatus());
+        assertEquals(Order.OrderStatus.PENDING, published.get(0).getNewStatus());
+
+        // Released once only
+        service.tick(releaseAt + 60_000);
+        assertEquals(1, published.size());
+    }
+
+    @Test
+    void orderCancelledBeforeItsReleaseIsNeverReleased() {
+        service.onOrderCreated(created(1L));
+        service.onOrderCreated(created(2L));
+        service.onOrderStatusChanged(new OrderStatusChangedEvent(1L, Order.OrderStatus.SCHEDULED,
+                Order.OrderStatus.CANCELLED, null, LocalDateTime.now()));
+
+        service.tick(releaseAt + 60_000);
+
+        verify(orderRepository, never()).findById(1L);
+        assertEquals(List.of(2L), published.stream().map(OrderStatusChangedEvent::getOrderId).toList());
+    }
+
+    @Test
+    void failedReleaseIsRetriedWithBackoff() {
+        when(orderRepository.releaseScheduled(anyLong(), any()))
+                .thenThrow(new DataAccessResourceFailureException("shard unavailable"))
+                .thenThrow(new DataAccessResourceFailureException("shard unavailable"))
+                .thenReturn(1);
+        service.onOrderCreated(created(1L));
+
+        long firstAttempt = releaseAt + TICK_MILLIS;
+        service.tick(firstAttempt);
+        assertTrue(published.isEmpty());
+
+        // Retried after 5 s, which fails again; the next try waits 10 s
+        service.tick(firstAttempt + RETRY_MILLIS - 1_000);
+        verify(orderRepository, times(1)).releaseScheduled(anyLong(), any());
+        service.tick(firstAttempt + RETRY_MILLIS + TICK_MILLIS);
+        verify(orderRepository, times(2)).releaseScheduled(anyLong(), any());
+        assertTrue(published.isEmpty());
+
+        long secondAttempt = firstAttempt + RETRY_MILLIS + TICK_MILLIS;
+        service.tick(secondAttempt + 2 * RETRY_MILLIS - 1_000);
+        verify(orderRepository, times(2)).releaseScheduled(anyLong(), any());
+        service.tick(secondAttempt + 2 * RETRY_MILLIS + TICK_MILLIS);
+        verify(orderRepository, times(3)).releaseScheduled(anyLong(), any());
+        assertEquals(List.of(1L), published.stream().map(OrderStatusChangedEvent::getOrderId).toList());
+    }
+
+    @Test
+    void resyncPicksUpOrdersFromOtherNodesAndDropsOnesNoLongerScheduled() {
+        scheduledInDatabase.put(1L, pickup);
+        scheduledInDatabase.put(2L, pickup);
+        assertEquals(2, service.resync());
+
+        // Order 1 was released on another node; order 3 was taken there
+        scheduledInDatabase.remove(1L);
+        scheduledInDatabase.put(3L, pickup.plusMinutes(10));
+        assertEquals(2, service.resync());
+
+        service.tick(releaseAt + TICK_MILLIS);
+        assertEquals(List.of(2L), published.stream().map(OrderStatusChangedEvent::getOrderId).toList());
+        service.tick(releaseAt + 10 * 60_000 + TICK_MILLIS);
+        assertEquals(List.of(2L, 3L), published.stream().map(OrderStatusChangedEvent::getOrderId).toList());
+        verify(orderRepository, never()).findById(1L);
+    }
+
+    private OrderCreatedEvent created(long orderId) {
+        scheduledInDatabase.put(orderId, pickup);
+        return new OrderCreatedEvent(orderId, Order.OrderStatus.SCHEDULED, "Customer", null, pickup,
+                LocalDateTime.now(), List.of());
+    }
+
+    private static Order scheduledOrder(long orderId) {
+        Order order = new Order();
+        order.setId(orderId);
+        order.setStatus(Order.OrderStatus.SCHEDULED);
+        order.setUpdatedAt(LocalDateTime.now());
+        return order;
+    }
+
+    private static long millis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,228 @@
+package com.restaurant.restaurantorders.service;
+
+import com.restaurant.restaurantorders.config.ShardingProperties;
+import com.restaurant.restaurantorders.dto.request.CreateOrderRequest;
+import com.restaurant.restaurantorders.dto.request.OrderField;
+import com.restaurant.restaurantorders.dto.response.OrderResponse;
+import com.restaurant.restaurantorders.entity.Order;
+import com.restaurant.restaurantorders.exception.ResourceNotFoundException;
+import com.restaurant.restaurantorders.shard.OrderIdGenerator;
+import com.restaurant.restaurantorders.shard.ShardRoutingDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the order service against three embedded H2 databases standing in for MySQL shards.
+ * Branches 10, 11 and 12 are mapped to shards 0, 1 and 2; the menu lives on shard 0.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shard0;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "sharding.node-id=3",
+        "sharding.shards.1.url=jdbc:h2:mem:shard1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "sharding.shards.2.url=jdbc:h2:mem:shard2;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "sharding.branches.10=0",
+        "sharding.branches.11=1",
+        "sharding.branches.12=2",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "tracking.reactive.enabled=false",
+        "outbox.relay.enabled=false",
+        "orders.archive.enabled=false",
+        "kitchen.capacity.admission-enabled=true"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ShardedOrderServiceTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ShardRoutingDataSource dataSource;
+
+    private final List<JdbcTemplate> shards = new ArrayList<>();
+    private long menuItemId;
+
+    @BeforeAll
+    void seedMenu() {
+        for (int shard = 0; shard < dataSource.getShardCount(); shard++) {
+            shards.add(new JdbcTemplate(dataSource.getShard(shard)));
+        }
+        JdbcTemplate shared = shards.get(0);
+        shared.update("INSERT INTO categories (name, display_order, is_active, created_at) " +
+                "VALUES ('Mains', 1, TRUE, CURRENT_TIMESTAMP)");
+        long categoryId = shared.queryForObject("SELECT MAX(id) FROM categories", Long.class);
+        shared.update("INSERT INTO menu_items (category_id, name, price, is_available, is_featured, display_order, " +
+                "created_at) VALUES (?, 'Shawarma', 42.50, TRUE, FALSE, 1, CURRENT_TIMESTAMP)", categoryId);
+        menuItemId = shared.queryForObject("SELECT MAX(id) FROM menu_items", Long.class);
+    }
+
+    @BeforeEach
+    void clearOrders() {
+        for (JdbcTemplate shard : shards) {
+            shard.update("DELETE FROM outbox_events");
+            shard.update("DELETE FROM order_status_events");
+            shard.update("DELETE FROM order_items");
+            shard.update("DELETE FROM orders");
+        }
+    }
+
+    @Test
+    void ordersAreStoredWithTheirItemsAndEventsOnTheBranchShard() {
+        assertEquals(3, shards.size());
+        long[][] branchToShard = {{10, 0}, {11, 1}, {12, 2}, {5, 2}};
+
+        for (long[] mapping : branchToShard) {
+            OrderResponse order = orderService.createOrder(request(mapping[0]));
+            int shard = (int) mapping[1];
+
+            assertEquals(shard, OrderIdGenerator.shardOf(order.getId()));
+            assertEquals(mapping[0], order.getBranchId());
+            for (int other = 0; other < shards.size(); other++) {
+                int expected = other == shard ? 1 : 0;
+                assertEquals(expected, count(other, "SELECT COUNT(*) FROM orders WHERE id = ?", order.getId()));
+                assertEquals(expected, count(other, "SELECT COUNT(*) FROM order_items WHERE order_id = ?", order.getId()));
+                assertEquals(expected, count(other, "SELECT COUNT(*) FROM outbox_events WHERE aggregate_id = ?", order.getId()));
+            }
+        }
+    }
+
+    @Test
+    void singleOrderOperationsRunOnTheShardInTheOrderId() {
+        OrderResponse created = orderService.createOrder(request(12));
+
+        OrderResponse read = orderService.getOrderById(created.getId());
+        assertEquals(created.getId(), read.getId());
+        assertEquals(1, read.getItems().size());
+
+        orderService.updateOrderStatus(created.getId(), Order.OrderStatus.CONFIRMED);
+        assertEquals("CONFIRMED", shards.get(2).queryForObject(
+                "SELECT status FROM orders WHERE id = ?", String.class, created.getId()));
+
+        Map<String, Object> fields = orderService.getOrderFields(created.getId(),
+                OrderField.parse("status,branchId,items"));
+        assertEquals("CONFIRMED", fields.get("status"));
+        assertEquals(12L, fields.get("branchId"));
+        assertEquals(1, ((List<?>) fields.get("items")).size());
+
+        long onMissingShard = (1L << 40) | (5L << 16);
+        assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderById(onMissingShard));
+    }
+
+    @Test
+    void listingsAndTodayStatsMergeAllShards() {
+        long[] branches = {10, 11, 12, 11, 10, 11};
+        List<Long> newestFirst = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < branches.length; i++) {
+            OrderResponse order = orderService.createOrder(request(branches[i]));
+            // Interleave creation times across shards so the merge order is observable
+            shards.get(OrderIdGenerator.shardOf(order.getId())).update("UPDATE orders SET created_at = ? WHERE id = ?",
+                    Timestamp.valueOf(now.minusSeconds(branches.length - i)), order.getId());
+            newestFirst.add(0, order.getId());
+        }
+
+        Sort newest = Sort.by(Sort.Direction.DESC, "createdAt");
+        Page<OrderResponse> first = orderService.getAllOrders(PageRequest.of(0, 4, newest));
+        Page<OrderResponse> second = orderService.getAllOrders(PageRequest.of(1, 4, newest));
+        assertEquals(6, first.getTotalElements());
+        assertEquals(newestFirst.subList(0, 4), first.getContent().stream().map(OrderResponse::getId).toList());
+        assertEquals(newestFirst.subList(4, 6), second.getContent().stream().map(OrderResponse::getId).toList());
+
+        Page<OrderResponse> pending = orderService.getOrdersByStatus(Order.OrderStatus.PENDING, PageRequest.of(0, 3, newest));
+        assertEquals(6, pending.getTotalElements());
+        assertEquals(newestFirst.subList(0, 3), pending.getContent().stream().map(OrderResponse::getId).toList());
+
+        Page<Map<String, Object>> projected = orderService.getOrdersFields(null, PageRequest.of(0, 5, newest),
+                OrderField.parse("status,items"));
+        assertEquals(newestFirst.subList(0, 5), projected.getContent().stream().map(order -> order.get("id")).toList());
+        assertTrue(projected.getContent().stream().allMatch(order -> ((List<?>) order.get("items")).size() == 1));
+        assertTrue(projected.getContent().stream().noneMatch(order -> order.containsKey("createdAt")));
+
+        OrderService.TodayStats stats = orderService.getTodayStats();
+        assertEquals(6, stats.getTodayOrdersCount());
+        assertEquals(6, stats.getPendingOrdersCount());
+        assertEquals(0, new BigDecimal("255.00").compareTo(stats.getTodayRevenue()));
+    }
+
+    @Test
+    void generatedIdsAreUniqueOrderedAndSafeForJavaScript() {
+        ShardingProperties properties = new ShardingProperties();
+        properties.setNodeId(7);
+        OrderIdGenerator generator = new OrderIdGenerator(properties);
+        Set<Long> seen = new HashSet<>();
+        long previous = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long id = generator.nextId(2);
+            assertTrue(seen.add(id));
+            assertTrue(id > previous);
+            assertTrue(id < 1L << 53);
+            assertEquals(2, OrderIdGenerator.shardOf(id));
+            previous = id;
+        }
+        assertEquals(0, OrderIdGenerator.shardOf(123_456L), "ids from before sharding are on shard 0");
+    }
+
+    @Test
+    void nodeIdMustBeConfigured() {
+        assertThrows(IllegalStateException.class, () -> new OrderIdGenerator(new ShardingProperties()));
+    }
+
+    @Test
+    void foreignKeysToShardZeroTablesAreDroppedOnEveryShard() {
+        for (JdbcTemplate shard : shards) {
+            Set<String> referenced = new HashSet<>();
+            shard.execute((ConnectionCallback<Void>) connection -> {
+                for (String table : List.of("orders", "order_items")) {
+                    try (ResultSet keys = connection.getMetaData().getImportedKeys(
+                            connection.getCatalog(), connection.getSchema(), table)) {
+                        while (keys.next()) {
+                            referenced.add(keys.getString("PKTABLE_NAME").toLowerCase());
+                        }
+                    }
+                }
+                return null;
+            });
+            assertEquals(Set.of("orders"), referenced);
+        }
+    }
+
+    private long count(int shard, String sql, Object... args) {
+        return shards.get(shard).queryForObject(sql, Long.class, args);
+    }
+
+    private CreateOrderRequest request(long branchId) {
+        CreateOrderRequest request = new CreateOrderRequest();
+        request.setBranchId(branchId);
+        request.setCustomerName("Test Customer");
+        request.setCustomerPhone("01000000000");
+        request.setCustomerAddress("1 Test Street");
+        request.setItems(List.of(new CreateOrderRequest.OrderItemRequest(menuItemId, 1)));
+        return request;
+    }
+}
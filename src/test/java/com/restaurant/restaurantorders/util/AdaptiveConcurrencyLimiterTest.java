@@ -0,0 +1,133 @@
+package com.restaurant.restaurantorders.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int ROUND_SAMPLES = 50;
+
+    @Test
+    void admitsUpToTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        assertEquals(4, limiter.getInFlight());
+
+        limiter.releaseWithoutSample();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void growsTowardsTheMaximumWhileLatencyIsFlatAndTrafficReachesTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+        for (int round = 0; round < 50; round++) {
+            runRound(limiter, limiter.getLimit(), 10 * MILLIS);
+        }
+        assertEquals(40, limiter.getLimit());
+    }
+
+    @Test
+    void doesNotGrowWhenTrafficStaysFarBelowTheLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+        for (int round = 0; round < 50; round++) {
+            runRound(limiter, 2, 10 * MILLIS);
+        }
+        assertEquals(20, limiter.getLimit());
+    }
+
+    @Test
+    void shrinksWhileLatencyKeepsRisingButNotBelowTheMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40);
+        for (int round = 0; round < 5; round++) {
+            runRound(limiter, limiter.getLimit(), 10 * MILLIS);
+        }
+
+        runRound(limiter, limiter.getLimit(), 50 * MILLIS);
+        assertTrue(limiter.getLimit() < 40, "limit should drop once latency quintuples");
+
+        int lowest = limiter.getLimit();
+        long rtt = 50 * MILLIS;
+        for (int round = 0; round < 90; round++) {
+            rtt += rtt / 4;
+            runRound(limiter, limiter.getLimit(), rtt);
+            lowest = Math.min(lowest, limiter.getLimit());
+        }
+        assertTrue(lowest >= 4, "limit went below the minimum: " + lowest);
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void acceptsASustainedLatencyShiftAsTheNewBaseline() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40);
+        for (int round = 0; round < 5; round++) {
+            runRound(limiter, limiter.getLimit(), 10 * MILLIS);
+        }
+        for (int round = 0; round < 10; round++) {
+            runRound(limiter, limiter.getLimit(), 100 * MILLIS);
+        }
+        int shrunk = limiter.getLimit();
+        assertTrue(shrunk < 40);
+        for (int round = 0; round < 200; round++) {
+            runRound(limiter, limiter.getLimit(), 100 * MILLIS);
+        }
+        assertTrue(limiter.getLimit() > shrunk);
+    }
+
+    @Test
+    void recoversAfterLatencyReturnsToNormal() {
+        AdaptiveConcurrencyLimiter limiter = limiter(20);
+        for (int round = 0; round < 5; round++) {
+            runRound(limiter, limiter.getLimit(), 10 * MILLIS);
+        }
+        for (int round = 0; round < 20; round++) {
+            runRound(limiter, limiter.getLimit(), 200 * MILLIS);
+        }
+        int overloadedLimit = limiter.getLimit();
+        for (int round = 0; round < 100; round++) {
+            runRound(limiter, limiter.getLimit(), 10 * MILLIS);
+        }
+        assertTrue(limiter.getLimit() > overloadedLimit);
+    }
+
+    @Test
+    void rejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveConcurrencyLimiter(10, 0, 20, 1, TimeUnit.SECONDS, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveConcurrencyLimiter(10, 30, 20, 1, TimeUnit.SECONDS, 1));
+    }
+
+    /**
+     * Limit 4..40, recomputed once every ROUND_SAMPLES samples (zero-length window), i.e. once per round
+     */
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, 4, 40, 0, TimeUnit.MILLISECONDS, ROUND_SAMPLES);
+    }
+
+    /**
+     * One window: waves of up to `concurrent` overlapping requests until ROUND_SAMPLES have completed
+     */
+    private static void runRound(AdaptiveConcurrencyLimiter limiter, int concurrent, long rttNanos) {
+        int samples = 0;
+        while (samples < ROUND_SAMPLES) {
+            int acquired = 0;
+            while (acquired < Math.min(concurrent, ROUND_SAMPLES - samples) && limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(rttNanos);
+            }
+            samples += acquired;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.restaurant.restaurantorders.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerPrefixIndexTest {
+
+    private static final String[] WORDS = {"ahmed", "ahmad", "ali", "alia", "mohamed", "mona", "omar", "sara",
+            "salma", "hassan", "hussein", "nour"};
+
+    private final Random random = new Random(42);
+
+    @Test
+    void matchesBruteForceUnderRandomPutsReplacesAndRemoves() {
+        CustomerPrefixIndex index = new CustomerPrefixIndex(16);
+        Map<UUID, String[]> model = new HashMap<>();
+        List<UUID> ids = new ArrayList<>();
+
+        for (int step = 0; step < 3_000; step++) {
+            int action = random.nextInt(10);
+            if (action < 6 || ids.isEmpty()) {
+                UUID id = new UUID(random.nextLong(), random.nextLong());
+                put(index, model, id);
+                ids.add(id);
+            } else if (action < 8) {
+                put(index, model, ids.get(random.nextInt(ids.size())));
+            } else {
+                UUID id = ids.remove(random.nextInt(ids.size()));
+                index.remove(id);
+                model.remove(id);
+            }
+            if (step % 50 == 0) {
+                assertMatchesModel(index, model);
+            }
+        }
+        assertMatchesModel(index, model);
+    }
+
+    @Test
+    void bulkLoadAnswersLikeIncrementalInserts() {
+        CustomerPrefixIndex bulk = new CustomerPrefixIndex(16);
+        CustomerPrefixIndex incremental = new CustomerPrefixIndex(16);
+        bulk.startBulkLoad();
+        for (int i = 0; i < 2_000; i++) {
+            UUID id = new UUID(random.nextLong(), random.nextLong());
+            String name = randomName();
+            String phone = randomPhone();
+            bulk.put(id, name, phone);
+            incremental.put(id, name, phone);
+        }
+        bulk.finishBulkLoad();
+
+        for (String prefix : List.of("0", "010", "0101", "012", "2")) {
+            assertEquals(incremental.searchPhone(prefix, 5_000), bulk.searchPhone(prefix, 5_000));
+        }
+        for (String query : List.of("a", "ah", "ali", "mo sa", "hussein nour")) {
+            assertEquals(Set.copyOf(incremental.searchName(query, 5_000)), Set.copyOf(bulk.searchName(query, 5_000)));
+        }
+    }
+
+    @Test
+    void phonePrefixEdgeCases() {
+        CustomerPrefixIndex index = new CustomerPrefixIndex();
+        UUID plain = UUID.randomUUID();
+        UUID international = UUID.randomUUID();
+        UUID longNumber = UUID.randomUUID();
+        index.put(plain, "Ahmed", "0100 123-4567");
+        index.put(international, "Sara", "+20 100 123 9999");
+        index.put(longNumber, "Omar", "123456789012345678");
+
+        assertTrue(index.searchPhone("", 10).isEmpty());
+        assertTrue(index.searchPhone("abc", 10).isEmpty());
+        assertEquals(List.of(plain), idsOf(index.searchPhone("0100", 10)));
+        // Arabic-Indic digits are the same digits
+        assertEquals(List.of(plain), idsOf(index.searchPhone("٠١٠٠", 10)));
+        // The leading + is kept for display but not part of the searchable digits
+        assertEquals("+201001239999", index.searchPhone("2010", 10).get(0).phone());
+        // Only the first 15 digits are kept, so a longer prefix still finds it
+        assertEquals(List.of(longNumber), idsOf(index.searchPhone("1234567890123456789", 10)));
+        assertEquals("123456789012345", index.searchPhone("123", 10).get(0).phone());
+        assertTrue(index.searchPhone("0101", 10).isEmpty());
+    }
+
+    @Test
+    void phoneSearchRespectsLimitAndOrder() {
+        CustomerPrefixIndex index = new CustomerPrefixIndex();
+        for (int i = 9; i >= 0; i--) {
+            index.put(UUID.randomUUID(), "Customer " + i, "010000000" + i);
+        }
+        List<CustomerPrefixIndex.Match> matches = index.searchPhone("0100", 3);
+        assertEquals(List.of("0100000000", "0100000001", "0100000002"),
+                matches.stream().map(CustomerPrefixIndex.Match::phone).toList());
+    }
+
+    @Test
+    void nameSearchNormalizesAccentsArabicMarksAndSeparators() {
+        CustomerPrefixIndex index = new CustomerPrefixIndex();
+        UUID latin = UUID.randomUUID();
+        UUID arabic = UUID.randomUUID();
+        index.put(latin, "José  Martínez-López", "0100");
+        index.put(arabic, "مُحَمَّد علي", "0111");
+
+        assertEquals(List.of(latin), idsOf(index.searchName("jose", 10)));
+        assertEquals(List.of(latin), idsOf(index.searchName("LOP mart", 10)));
+        assertEquals(List.of(arabic), idsOf(index.searchName("محمد", 10)));
+        assertEquals(List.of(arabic), idsOf(index.searchName("عل مح", 10)));
+        assertTrue(index.searchName("martinez jose x", 10).isEmpty());
+        assertTrue(index.searchName("  - ", 10).isEmpty());
+    }
+
+    @Test
+    void replacingACustomerReindexesNameAndPhone() {
+        CustomerPrefixIndex index = new CustomerPrefixIndex();
+        UUID id = UUID.randomUUID();
+        index.put(id, "Mona Hassan", "0100");
+        index.put(id, "Mona Said", "0122");
+
+        assertEquals(1, index.size());
+        assertTrue(index.searchName("hassan", 10).isEmpty());
+        assertTrue(index.searchPhone("0100", 10).isEmpty());
+        assertEquals(List.of(id), idsOf(index.searchName("said", 10)));
+        assertEquals(List.of(id), idsOf(index.searchPhone("0122", 10)));
+
+        index.remove(id);
+        index.remove(id);
+        assertEquals(0, index.size());
+        assertTrue(index.searchName("mona", 10).isEmpty());
+    }
+
+    @Test
+    void customerWithoutPhoneIsFoundByNameOnly() {
+        CustomerPrefixIndex index = new CustomerPrefixIndex();
+        UUID id = UUID.randomUUID();
+        index.put(id, "Nour", null);
+        assertEquals(List.of(id), idsOf(index.searchName("no", 10)));
+        assertNull(index.searchName("no", 10).get(0).phone());
+    }
+
+    private void put(CustomerPrefixIndex index, Map<UUID, String[]> model, UUID id) {
+        String name = randomName();
+        String phone = randomPhone();
+        index.put(id, name, phone);
+        model.put(id, new String[]{name, phone});
+    }
+
+    private String randomName() {
+        int words = 1 + random.nextInt(3);
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            name.append(i > 0 ? " " : "").append(Character.toUpperCase(word.charAt(0))).append(word.substring(1));
+        }
+        return name.toString();
+    }
+
+    private String randomPhone() {
+        StringBuilder phone = new StringBuilder("01");
+        for (int i = 0; i < 4; i++) {
+            phone.append(random.nextInt(3));
+        }
+        return phone.toString();
+    }
+
+    private void assertMatchesModel(CustomerPrefixIndex index, Map<UUID, String[]> model) {
+        assertEquals(model.size(), index.size());
+        for (String prefix : List.of("0", "01", "010", "0120", "0122", "01201")) {
+            Set<UUID> expected = new HashSet<>();
+            model.forEach((id, customer) -> {
+                if (customer[1].startsWith(prefix)) {
+                    expected.add(id);
+                }
+            });
+            List<CustomerPrefixIndex.Match> matches = index.searchPhone(prefix, 10_000);
+            assertEquals(expected, new HashSet<>(idsOf(matches)), "phone prefix " + prefix);
+            for (int i = 1; i < matches.size(); i++) {
+                assertTrue(matches.get(i - 1).phone().compareTo(matches.get(i).phone()) <= 0);
+            }
+        }
+        for (String query : List.of("a", "ah", "ahm", "ali", "alia", "mo", "s", "sal ah", "hu no", "omar omar")) {
+            Set<UUID> expected = new HashSet<>();
+            model.forEach((id, customer) -> {
+                if (matchesAllWords(customer[0].toLowerCase(), query.split(" "))) {
+                    expected.add(id);
+                }
+            });
+            assertEquals(expected, new HashSet<>(idsOf(index.searchName(query, 10_000))), "name query " + query);
+        }
+    }
+
+    private static boolean matchesAllWords(String name, String[] queryWords) {
+        for (String queryWord : queryWords) {
+            boolean found = false;
+            for (String word : name.split(" ")) {
+                found |= word.startsWith(queryWord);
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<UUID> idsOf(List<CustomerPrefixIndex.Match> matches) {
+        return matches.stream().map(CustomerPrefixIndex.Match::id).toList();
+    }
+}
@@ -0,0 +1,119 @@
+package com.restaurant.restaurantorders.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DurationHistogramTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    void smallValuesHaveTheirOwnBucket() {
+        for (int value = 0; value < 256; value++) {
+            assertEquals(value, DurationHistogram.countsIndex(value));
+            assertEquals(value, DurationHistogram.highestEquivalentValue(value));
+        }
+        // From 256 on, buckets double in width with every power of two
+        assertEquals(DurationHistogram.countsIndex(256), DurationHistogram.countsIndex(257));
+        assertEquals(DurationHistogram.countsIndex(256) + 1, DurationHistogram.countsIndex(258));
+        assertEquals(DurationHistogram.countsIndex(512), DurationHistogram.countsIndex(515));
+        assertEquals(DurationHistogram.countsIndex(512) + 1, DurationHistogram.countsIndex(516));
+    }
+
+    @Test
+    void bucketsAreContiguousAndWithinRelativeError() {
+        int last = DurationHistogram.countsIndex(1L << 45);
+        for (int index = 0; index < last; index++) {
+            long highest = DurationHistogram.highestEquivalentValue(index);
+            assertEquals(index, DurationHistogram.countsIndex(highest));
+            assertEquals(index + 1, DurationHistogram.countsIndex(highest + 1));
+        }
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong(1L << (1 + random.nextInt(45)));
+            long highest = DurationHistogram.highestEquivalentValue(DurationHistogram.countsIndex(value));
+            assertTrue(highest >= value);
+            assertTrue(highest - value <= value / 128, "value " + value + " reported as " + highest);
+        }
+    }
+
+    @Test
+    void percentilesMatchSortedValuesAtBucketPrecision() {
+        DurationHistogram histogram = new DurationHistogram(3_600_000);
+        long[] values = new long[5_000];
+        for (int i = 0; i < values.length; i++) {
+            // Long-tailed, like stage durations in milliseconds
+            values[i] = (long) Math.min(3_600_000, Math.exp(random.nextDouble() * 14));
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{0, 1, 25, 50, 90, 99, 99.9, 100}) {
+            long exact = values[(int) Math.max(0, Math.ceil(percentile / 100 * values.length) - 1)];
+            long expected = Math.min(DurationHistogram.highestEquivalentValue(DurationHistogram.countsIndex(exact)),
+                    values[values.length - 1]);
+            assertEquals(expected, histogram.getValueAtPercentile(percentile), "p" + percentile);
+        }
+        assertEquals(values[values.length - 1], histogram.getMaxValue());
+        assertEquals(Arrays.stream(values).sum() / values.length, histogram.getMean());
+    }
+
+    @Test
+    void clampsOutOfRangeValues() {
+        DurationHistogram histogram = new DurationHistogram(1_000);
+        histogram.record(-5);
+        histogram.record(5_000);
+
+        assertEquals(2, histogram.getTotalCount());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(1_000, histogram.getValueAtPercentile(100));
+        assertEquals(1_000, histogram.getValueAtPercentile(250));
+        assertEquals(1_000, histogram.getMaxValue());
+        assertEquals(500, histogram.getMean());
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        DurationHistogram histogram = new DurationHistogram(1_000);
+        assertEquals(0, histogram.getValueAtPercentile(99));
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getMaxValue());
+        assertThrows(IllegalArgumentException.class, () -> new DurationHistogram(255));
+    }
+
+    @Test
+    void concurrentRecordsAreAllCounted() throws Exception {
+        DurationHistogram histogram = new DurationHistogram(100_000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 50_000; i++) {
+                        histogram.record(i % 1_000);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(200_000, histogram.getTotalCount());
+        assertEquals(999, histogram.getMaxValue());
+        assertEquals(499, histogram.getMean());
+        assertEquals(DurationHistogram.highestEquivalentValue(DurationHistogram.countsIndex(499)),
+                histogram.getValueAtPercentile(50));
+    }
+}
@@ -0,0 +1,104 @@
+package com.restaurant.restaurantorders.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongIntHashMapTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    void matchesHashMapUnderRandomUpdates() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> model = new HashMap<>();
+        for (int i = 0; i < 200_000; i++) {
+            // A small key range forces long probe chains, frequent removals and reinsertion
+            long key = random.nextInt(2_000) - 1_000;
+            int delta = random.nextInt(7) - 3;
+            int expected = model.getOrDefault(key, 0) + delta;
+            if (expected == 0) {
+                model.remove(key);
+            } else {
+                model.put(key, expected);
+            }
+            assertEquals(expected, map.addTo(key, delta));
+        }
+        assertSameContents(model, map);
+    }
+
+    @Test
+    void growsPastManyResizes() {
+        LongIntHashMap map = new LongIntHashMap(4);
+        for (long key = 1; key <= 100_000; key++) {
+            map.addTo(key * 1_000_003, (int) key);
+        }
+        assertEquals(100_000, map.size());
+        for (long key = 1; key <= 100_000; key++) {
+            assertEquals((int) key, map.get(key * 1_000_003));
+        }
+    }
+
+    @Test
+    void removalKeepsCollidingKeysReachable() {
+        LongIntHashMap map = new LongIntHashMap(16);
+        // Consecutive multiples of the table size pile up in neighbouring slots
+        for (long key = 1; key <= 9; key++) {
+            map.addTo(key << 32, 1);
+        }
+        for (long key = 1; key <= 9; key += 2) {
+            assertEquals(0, map.addTo(key << 32, -1));
+        }
+        for (long key = 1; key <= 9; key++) {
+            assertEquals(key % 2 == 0 ? 1 : 0, map.get(key << 32));
+        }
+        assertEquals(4, map.size());
+    }
+
+    @Test
+    void zeroKeyIsStoredOutsideTheTable() {
+        LongIntHashMap map = new LongIntHashMap();
+        assertEquals(0, map.get(0));
+        assertEquals(5, map.addTo(0, 5));
+        assertEquals(1, map.size());
+        assertEquals(5, map.put(0, 7));
+        assertEquals(7, map.remove(0));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void putAndRemoveReturnPreviousValue() {
+        LongIntHashMap map = new LongIntHashMap();
+        assertEquals(0, map.put(42, 3));
+        assertEquals(3, map.put(42, 9));
+        assertEquals(9, map.get(42));
+        assertEquals(9, map.remove(42));
+        assertEquals(0, map.remove(42));
+        assertEquals(0, map.put(42, 0));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void clearEmptiesTheMap() {
+        LongIntHashMap map = new LongIntHashMap();
+        for (long key = -50; key <= 50; key++) {
+            map.addTo(key, 1);
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.get(7));
+        assertEquals(0, map.get(0));
+    }
+
+    private static void assertSameContents(Map<Long, Integer> model, LongIntHashMap map) {
+        assertEquals(model.size(), map.size());
+        Map<Long, Integer> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(model, visited);
+    }
+}
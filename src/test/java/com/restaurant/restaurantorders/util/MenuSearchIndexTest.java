@@ -0,0 +1,84 @@
+package com.restaurant.restaurantorders.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MenuSearchIndexTest {
+
+    private static final MenuSearchIndex.Document SHAWARMA =
+            document(1L, "Chicken Shawarma", "شاورما دجاج", "Wrapped with garlic sauce", true);
+    private static final MenuSearchIndex.Document FRIES =
+            document(2L, "French Fries", "بطاطس", "Crispy fried potatoes", true);
+    private static final MenuSearchIndex.Document PLATTER =
+            document(3L, "Mixed Grill Platter", "مشويات", "Chicken with fries and rice", true);
+    private static final MenuSearchIndex.Document SOLD_OUT =
+            document(4L, "Chicken Soup", "شوربة دجاج", "Daily soup", false);
+
+    private final MenuSearchIndex index = MenuSearchIndex.of(List.of(SHAWARMA, FRIES, PLATTER, SOLD_OUT));
+
+    @Test
+    void nameMatchesOutrankDescriptionMatches() {
+        assertEquals(List.of(1L, 3L), ids(index.search("chicken", 10)));
+    }
+
+    @Test
+    void documentsMatchingMoreTermsComeFirst() {
+        // The platter mentions both terms, only in its description; the single-term name hits tie and go by id
+        assertEquals(List.of(3L, 1L, 2L), ids(index.search("chicken fries", 10)));
+    }
+
+    @Test
+    void matchesPrefixesTyposAndArabic() {
+        assertEquals(List.of(1L), ids(index.search("shaw", 10)));
+        assertEquals(List.of(1L), ids(index.search("shawarmma", 10)));
+        assertEquals(List.of(1L, 3L), ids(index.search("chiken", 10)));
+        assertEquals(List.of(1L), ids(index.search("الشاورما", 10)));
+        // Terms shorter than four letters are not matched fuzzily
+        assertTrue(index.search("fsh", 10).isEmpty());
+    }
+
+    @Test
+    void unavailableItemsAndEmptyQueriesReturnNothing() {
+        assertTrue(index.search("soup", 10).isEmpty());
+        assertTrue(index.search("  ", 10).isEmpty());
+        assertEquals(1, index.search("chicken", 1).size());
+    }
+
+    @Test
+    void equalScoresAreOrderedById() {
+        MenuSearchIndex twins = MenuSearchIndex.of(List.of(
+                document(9L, "Falafel", null, null, true),
+                document(5L, "Falafel", null, null, true)));
+        assertEquals(List.of(5L, 9L), ids(twins.search("falafel", 10)));
+    }
+
+    @Test
+    void withReplacesAndRemovesWithoutTouchingTheOriginal() {
+        MenuSearchIndex.Document renamed = document(2L, "Sweet Potato Fries", null, null, true);
+        MenuSearchIndex updated = index.with(List.of(renamed), Set.of(1L));
+
+        assertEquals(3, updated.size());
+        assertTrue(updated.search("shawarma", 10).isEmpty());
+        assertEquals(List.of(2L), ids(updated.search("sweet", 10)));
+        assertTrue(updated.search("french", 10).isEmpty());
+
+        assertEquals(4, index.size());
+        assertEquals(List.of(1L), ids(index.search("shawarma", 10)));
+        assertEquals(List.of(2L), ids(index.search("french", 10)));
+    }
+
+    private static MenuSearchIndex.Document document(Long id, String name, String nameAr, String description,
+                                                     boolean available) {
+        return new MenuSearchIndex.Document(id, name, nameAr, description, null, BigDecimal.TEN, null, available);
+    }
+
+    private static List<Long> ids(List<MenuSearchIndex.Hit> hits) {
+        return hits.stream().map(hit -> hit.getDocument().getId()).toList();
+    }
+}
@@ -0,0 +1,93 @@
+package com.restaurant.restaurantorders.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MenuTextAnalyzerTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    void splitsOnPunctuationAndStemsEnglish() {
+        assertEquals(List.of("grill", "chicken", "fry"), MenuTextAnalyzer.analyze("Grilled Chicken & Fries"));
+        assertEquals(List.of("fish", "chip", "2pc"), MenuTextAnalyzer.analyze("Fish, Chips (2pcs)"));
+        assertTrue(MenuTextAnalyzer.analyze(null).isEmpty());
+        assertTrue(MenuTextAnalyzer.analyze("  -- ").isEmpty());
+    }
+
+    @Test
+    void stemmerHandlesSuffixEdgeCases() {
+        assertEquals("grill", MenuTextAnalyzer.stemEnglish("grilling"));
+        assertEquals("stop", MenuTextAnalyzer.stemEnglish("stopped"));
+        assertEquals("box", MenuTextAnalyzer.stemEnglish("boxes"));
+        assertEquals("glass", MenuTextAnalyzer.stemEnglish("glass"));
+        assertEquals("hummus", MenuTextAnalyzer.stemEnglish("hummus"));
+        // Terms of three letters or fewer are left alone
+        assertEquals("fry", MenuTextAnalyzer.stemEnglish("fry"));
+        assertEquals("pie", MenuTextAnalyzer.stemEnglish("pies"));
+    }
+
+    @Test
+    void stripsAccentsFromLatinText() {
+        assertEquals(List.of("creme", "brulee"), MenuTextAnalyzer.analyze("Crème Brûlée"));
+    }
+
+    @Test
+    void foldsArabicVariantsMarksAndArticle() {
+        List<String> plain = MenuTextAnalyzer.analyze("شاورما");
+        assertEquals(plain, MenuTextAnalyzer.analyze("الشاورما"));
+        assertEquals(plain, MenuTextAnalyzer.analyze("والشاورما"));
+        assertEquals(plain, MenuTextAnalyzer.analyze("شـاورما"));
+        assertEquals(MenuTextAnalyzer.analyze("فلافل"), MenuTextAnalyzer.analyze("فَلافِل"));
+        assertEquals(MenuTextAnalyzer.analyze("ارز"), MenuTextAnalyzer.analyze("أرز"));
+        assertEquals(MenuTextAnalyzer.analyze("دجاجه"), MenuTextAnalyzer.analyze("دجاجة"));
+        assertEquals(List.of("3"), MenuTextAnalyzer.analyze("٣"));
+        // A short word that only looks like it carries the article keeps its letters
+        assertEquals(List.of("الو"), MenuTextAnalyzer.analyze("الو"));
+    }
+
+    @Test
+    void editDistanceMatchesFullLevenshtein() {
+        assertTrue(MenuSearchIndex.withinEditDistance("kitten", "sitting", 3));
+        assertTrue(!MenuSearchIndex.withinEditDistance("kitten", "sitting", 2));
+        assertTrue(MenuSearchIndex.withinEditDistance("", "ab", 2));
+        assertTrue(!MenuSearchIndex.withinEditDistance("", "ab", 1));
+
+        for (int i = 0; i < 2_000; i++) {
+            String a = randomWord();
+            String b = randomWord();
+            int distance = levenshtein(a, b);
+            for (int maxEdits = 0; maxEdits <= 3; maxEdits++) {
+                assertEquals(distance <= maxEdits, MenuSearchIndex.withinEditDistance(a, b, maxEdits), a + " / " + b);
+            }
+        }
+    }
+
+    private String randomWord() {
+        char[] word = new char[random.nextInt(7)];
+        for (int i = 0; i < word.length; i++) {
+            word[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(word);
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    d[i][j] = i + j;
+                } else {
+                    int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                    d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+}
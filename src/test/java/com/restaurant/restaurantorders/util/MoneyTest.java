@@ -0,0 +1,66 @@
+package com.restaurant.restaurantorders.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    private final Random random = new Random(42);
+
+    @Test
+    void basketTotalsMatchBigDecimalArithmetic() {
+        for (int basket = 0; basket < 10_000; basket++) {
+            BigDecimal expectedTotal = BigDecimal.ZERO;
+            long total = 0;
+            int lines = 1 + random.nextInt(20);
+            for (int line = 0; line < lines; line++) {
+                BigDecimal price = BigDecimal.valueOf(random.nextInt(10_000_000), 2);
+                int quantity = 1 + random.nextInt(100);
+
+                BigDecimal expectedSubtotal = price.multiply(BigDecimal.valueOf(quantity));
+                long subtotal = Money.multiply(Money.toMinorUnits(price), quantity);
+                assertEquals(expectedSubtotal, Money.toBigDecimal(subtotal));
+
+                expectedTotal = expectedTotal.add(expectedSubtotal);
+                total = Money.add(total, subtotal);
+            }
+            assertEquals(expectedTotal, Money.toBigDecimal(total));
+        }
+    }
+
+    @Test
+    void percentageMatchesBigDecimalRounding() {
+        RoundingMode[] modes = {RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR,
+                RoundingMode.HALF_UP, RoundingMode.HALF_DOWN, RoundingMode.HALF_EVEN};
+        for (int i = 0; i < 100_000; i++) {
+            long amount = random.nextInt(20_000_001) - 10_000_000;
+            int basisPoints = random.nextInt(10_001);
+            RoundingMode mode = modes[random.nextInt(modes.length)];
+
+            BigDecimal expected = Money.toBigDecimal(amount)
+                    .multiply(BigDecimal.valueOf(basisPoints))
+                    .divide(BigDecimal.valueOf(10_000), Money.SCALE, mode);
+            assertEquals(expected, Money.toBigDecimal(Money.percentage(amount, basisPoints, mode)));
+        }
+    }
+
+    @Test
+    void roundsExtraDecimalsHalfUp() {
+        assertEquals(1235, Money.toMinorUnits(new BigDecimal("12.345")));
+        assertEquals(-1235, Money.toMinorUnits(new BigDecimal("-12.345")));
+        assertEquals(1200, Money.toMinorUnits(new BigDecimal("12")));
+    }
+
+    @Test
+    void overflowThrows() {
+        assertThrows(ArithmeticException.class, () -> Money.add(Long.MAX_VALUE, 1));
+        assertThrows(ArithmeticException.class, () -> Money.multiply(Long.MAX_VALUE / 2, 3));
+        assertThrows(ArithmeticException.class, () -> Money.divide(1, 3, RoundingMode.UNNECESSARY));
+    }
+}
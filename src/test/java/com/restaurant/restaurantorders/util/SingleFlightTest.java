@@ -0,0 +1,150 @@
+package com.restaurant.restaurantorders.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    @Test
+    void concurrentCallersShareOneExecution() throws Exception {
+        SingleFlight<String, Object> singleFlight = new SingleFlight<>(0, TimeUnit.MILLISECONDS);
+        AtomicInteger loads = new AtomicInteger();
+        AtomicInteger arrived = new AtomicInteger();
+        CountDownLatch allArrived = new CountDownLatch(1);
+        Object result = new Object();
+
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    if (arrived.incrementAndGet() == CALLERS) {
+                        allArrived.countDown();
+                    }
+                    return singleFlight.execute("order-1", () -> {
+                        loads.incrementAndGet();
+                        await(allArrived);
+                        // Give the last callers time to join the flight after announcing themselves
+                        sleep(200);
+                        return result;
+                    });
+                }));
+            }
+            for (Future<Object> future : futures) {
+                assertSame(result, future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(0, singleFlight.size());
+    }
+
+    @Test
+    void differentKeysDoNotShare() {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(1, TimeUnit.MINUTES);
+        assertEquals("a", singleFlight.execute("a", () -> "a"));
+        assertEquals("b", singleFlight.execute("b", () -> "b"));
+        assertEquals(2, singleFlight.size());
+    }
+
+    @Test
+    void failuresReachWaitersAndAreNotReused() throws Exception {
+        SingleFlight<String, String> singleFlight = new SingleFlight<>(1, TimeUnit.MINUTES);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> singleFlight.execute("k", () -> {
+                loading.countDown();
+                await(release);
+                throw new IllegalStateException("database down");
+            }));
+            await(loading);
+            Future<String> waiter = executor.submit(() -> singleFlight.execute("k", () -> "unused"));
+            sleep(100);
+            release.countDown();
+            ExecutionException leaderFailure = assertThrows(ExecutionException.class,
+                    () -> leader.get(10, TimeUnit.SECONDS));
+            ExecutionException waiterFailure = assertThrows(ExecutionException.class,
+                    () -> waiter.get(10, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, leaderFailure.getCause());
+            assertInstanceOf(IllegalStateException.class, waiterFailure.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals("recovered", singleFlight.execute("k", () -> "recovered"));
+    }
+
+    @Test
+    void completedResultIsReusedWithinFreshnessWindow() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(1, TimeUnit.MINUTES);
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals(1, singleFlight.execute("stats", loads::incrementAndGet));
+        assertEquals(1, singleFlight.execute("stats", loads::incrementAndGet));
+        assertEquals(1, loads.get());
+
+        singleFlight.forget("stats");
+        assertEquals(2, singleFlight.execute("stats", loads::incrementAndGet));
+    }
+
+    @Test
+    void expiredResultsAreReloadedAndPurged() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(20, TimeUnit.MILLISECONDS);
+        AtomicInteger loads = new AtomicInteger();
+        singleFlight.execute("stats", loads::incrementAndGet);
+        sleep(50);
+        assertEquals(2, singleFlight.execute("stats", loads::incrementAndGet));
+
+        sleep(50);
+        singleFlight.purgeExpired();
+        assertEquals(0, singleFlight.size());
+    }
+
+    @Test
+    void withoutFreshnessNothingIsKept() {
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(0, TimeUnit.MILLISECONDS);
+        AtomicInteger loads = new AtomicInteger();
+        singleFlight.execute("order-1", loads::incrementAndGet);
+        singleFlight.execute("order-1", loads::incrementAndGet);
+        assertEquals(2, loads.get());
+        assertEquals(0, singleFlight.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.restaurant.restaurantorders.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+    private static final long TICK = 10;
+
+    private final Random random = new Random(42);
+
+    @Test
+    void matchesBruteForceModelUnderRandomSchedulesCancelsAndAdvances() {
+        // A small wheel has many levels, so timers cascade through several of them and wrap often
+        for (int wheelSize : new int[]{2, 4, 8, 64}) {
+            long start = 1_234_567 + random.nextInt(1_000);
+            TimingWheel<Integer> wheel = new TimingWheel<>(TICK, wheelSize, start);
+            Map<Integer, Long> dueTick = new HashMap<>();
+            Map<Integer, TimingWheel.Timeout<Integer>> handles = new HashMap<>();
+            List<Integer> live = new ArrayList<>();
+            long now = start;
+            int nextId = 0;
+
+            for (int step = 0; step < 4_000; step++) {
+                int action = random.nextInt(10);
+                if (action < 5) {
+                    long deadline = now + randomOffset();
+                    int id = nextId++;
+                    handles.put(id, wheel.schedule(id, deadline));
+                    dueTick.put(id, Math.max(deadline / TICK, now / TICK + 1));
+                    live.add(id);
+                } else if (action < 7 && !live.isEmpty()) {
+                    Integer id = live.remove(random.nextInt(live.size()));
+                    assertTrue(wheel.cancel(handles.get(id)));
+                    assertFalse(wheel.cancel(handles.get(id)));
+                    dueTick.remove(id);
+                } else {
+                    now += random.nextInt(10) == 0 ? random.nextInt(20_000) : random.nextInt(200);
+                    long nowTick = now / TICK;
+                    List<Integer> fired = wheel.advanceTo(now);
+
+                    List<Integer> expected = new ArrayList<>();
+                    dueTick.forEach((id, tick) -> {
+                        if (tick <= nowTick) {
+                            expected.add(id);
+                        }
+                    });
+                    assertEquals(expected.size(), fired.size(), "wheel " + wheelSize + " step " + step);
+                    long previousTick = Long.MIN_VALUE;
+                    for (Integer id : fired) {
+                        Long tick = dueTick.remove(id);
+                        assertTrue(tick != null && tick <= nowTick, "timer " + id + " fired early or twice");
+                        assertTrue(tick >= previousTick, "timers fire in deadline order");
+                        previousTick = tick;
+                        live.remove(id);
+                        assertFalse(wheel.cancel(handles.get(id)));
+                    }
+                }
+                assertEquals(dueTick.size(), wheel.size());
+            }
+        }
+    }
+
+    @Test
+    void pastDeadlinesFireOnTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 8, 1_000);
+        wheel.schedule("late", 0);
+        wheel.schedule("now", 1_000);
+
+        assertTrue(wheel.advanceTo(1_009).isEmpty());
+        assertEquals(List.of("late", "now"), wheel.advanceTo(1_010));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void farTimerSurvivesManyRotationsOfEveryLowerLevel() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 4, 0);
+        long deadline = TICK * (4L * 4 * 4 * 4 * 4 * 3 + 7);
+        wheel.schedule("far", deadline);
+
+        assertTrue(wheel.advanceTo(deadline - 1).isEmpty());
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("far"), wheel.advanceTo(deadline));
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(0, 8, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(TICK, 6, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<>(TICK, 1, 0));
+    }
+
+    private long randomOffset() {
+        return switch (random.nextInt(4)) {
+            case 0 -> -random.nextInt(500);
+            case 1 -> random.nextInt(100);
+            case 2 -> random.nextInt(5_000);
+            default -> random.nextInt(500_000);
+        };
+    }
+}
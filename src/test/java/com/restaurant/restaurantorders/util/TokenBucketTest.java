@@ -0,0 +1,73 @@
+package com.restaurant.restaurantorders.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long START = 5 * SECOND;
+
+    @Test
+    void fullBucketGrantsTheBurstThenReportsTheWait() {
+        TokenBucket bucket = new TokenBucket(10, 4);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(0, bucket.tryAcquire(START));
+        }
+        assertEquals(SECOND / 10, bucket.tryAcquire(START));
+    }
+
+    @Test
+    void refillsOnePermitPerEmissionInterval() {
+        TokenBucket bucket = new TokenBucket(10, 1);
+        assertEquals(0, bucket.tryAcquire(START));
+        assertEquals(SECOND / 10 - 1, bucket.tryAcquire(START + 1));
+        assertEquals(0, bucket.tryAcquire(START + SECOND / 10));
+        assertTrue(bucket.tryAcquire(START + SECOND / 10) > 0);
+    }
+
+    @Test
+    void sustainedRateMatchesConfiguration() {
+        TokenBucket bucket = new TokenBucket(20, 5);
+        int granted = 0;
+        // Ask every millisecond for ten seconds
+        for (long now = START; now < START + 10 * SECOND; now += TimeUnit.MILLISECONDS.toNanos(1)) {
+            if (bucket.tryAcquire(now) == 0) {
+                granted++;
+            }
+        }
+        assertEquals(20 * 10 + 5, granted, 1);
+    }
+
+    @Test
+    void rejectedCallsDoNotConsumePermits() {
+        TokenBucket bucket = new TokenBucket(1, 1);
+        assertEquals(0, bucket.tryAcquire(START));
+        for (int i = 0; i < 100; i++) {
+            assertTrue(bucket.tryAcquire(START + i) > 0);
+        }
+        assertEquals(0, bucket.tryAcquire(START + SECOND));
+    }
+
+    @Test
+    void idleOnceCompletelyRefilled() {
+        TokenBucket bucket = new TokenBucket(10, 3);
+        assertTrue(bucket.isIdle(START));
+        bucket.tryAcquire(START);
+        bucket.tryAcquire(START);
+        assertFalse(bucket.isIdle(START + SECOND / 10));
+        assertTrue(bucket.isIdle(START + 2 * SECOND / 10));
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0));
+    }
+}